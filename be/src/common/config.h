@@ -841,6 +841,10 @@ CONF_Int16(jdbc_minimum_idle_connections, "1");
 // this setting only applies when jdbc_minimum_idle_connections is less than jdbc_connection_pool_size.
 // The minimum allowed value is 10000(10 seconds).
 CONF_Int32(jdbc_connection_idle_timeout_ms, "600000");
+// the maximum amount of time that a scanner waits for a connection from the connection pool,
+// the scanners of the splits of a table wait for each other if there are more than jdbc_connection_pool_size.
+// The default is the same as HikariCP's default.
+CONF_Int32(jdbc_connection_timeout_ms, "30000");
 
 // spill dirs
 CONF_String(spill_local_storage_dir, "${STARROCKS_HOME}/spill");
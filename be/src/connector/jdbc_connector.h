@@ -75,6 +75,8 @@ private:
     ObjectPool* _pool = &_obj_pool;
     RuntimeState* _runtime_state = nullptr;
     JDBCScanner* _scanner = nullptr;
+    // the range predicate if the scan is split by FE
+    std::string _split_predicate;
     int64_t _rows_read = 0;
     int64_t _bytes_read = 0;
 };
@@ -16,6 +16,7 @@
 
 #include <memory>
 
+#include "column/binary_column.h"
 #include "column/column_helper.h"
 #include "column/column_viewer.h"
 #include "column/nullable_column.h"
@@ -64,12 +65,12 @@ Status JDBCScanner::get_next(RuntimeState* state, ChunkPtr* chunk, bool* eos) {
         *eos = true;
         return Status::OK();
     }
-    jobject jchunk = nullptr;
-    size_t jchunk_rows = 0;
-    LOCAL_REF_GUARD(jchunk);
-    RETURN_IF_ERROR(_get_next_chunk(&jchunk, &jchunk_rows));
-    RETURN_IF_ERROR(_fill_chunk(jchunk, jchunk_rows, chunk));
-    return Status::OK();
+    long chunk_meta = 0;
+    size_t chunk_rows = 0;
+    RETURN_IF_ERROR(_get_next_chunk(&chunk_meta, &chunk_rows));
+    Status st = _fill_chunk(chunk_meta, chunk_rows, chunk);
+    RETURN_IF_ERROR(_release_off_heap_table());
+    return st;
 }
 
 Status JDBCScanner::close(RuntimeState* state) {
@@ -110,7 +111,7 @@ Status JDBCScanner::_init_jdbc_scan_context(RuntimeState* state) {
 
     jmethodID constructor = env->GetMethodID(
             scan_context_cls, "<init>",
-            "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;IIII)V");
+            "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;IIIII)V");
     jstring driver_class_name = env->NewStringUTF(_scan_ctx.driver_class_name.c_str());
     LOCAL_REF_GUARD_ENV(env, driver_class_name);
     jstring jdbc_url = env->NewStringUTF(_scan_ctx.jdbc_url.c_str());
@@ -134,10 +135,15 @@ Status JDBCScanner::_init_jdbc_scan_context(RuntimeState* state) {
     if (UNLIKELY(idle_timeout_ms < MINIMUM_ALLOWED_JDBC_CONNECTION_IDLE_TIMEOUT_MS)) {
         idle_timeout_ms = MINIMUM_ALLOWED_JDBC_CONNECTION_IDLE_TIMEOUT_MS;
     }
+    int connection_timeout_ms = config::jdbc_connection_timeout_ms;
+    if (UNLIKELY(connection_timeout_ms < MINIMUM_ALLOWED_JDBC_CONNECTION_TIMEOUT_MS)) {
+        connection_timeout_ms = MINIMUM_ALLOWED_JDBC_CONNECTION_TIMEOUT_MS;
+    }
 
     auto scan_ctx =
             env->NewObject(scan_context_cls, constructor, driver_class_name, jdbc_url, user, passwd, sql,
-                           statement_fetch_size, connection_pool_size, minimum_idle_connections, idle_timeout_ms);
+                           statement_fetch_size, connection_pool_size, minimum_idle_connections, idle_timeout_ms,
+                           connection_timeout_ms);
     _jdbc_scan_context = env->NewGlobalRef(scan_ctx);
     LOCAL_REF_GUARD_ENV(env, scan_ctx);
     CHECK_JAVA_EXCEPTION(env, "construct JDBCScanContext failed")
@@ -166,7 +172,9 @@ Status JDBCScanner::_init_jdbc_scanner() {
     // init jmethod
     _scanner_has_next = env->GetMethodID(_jdbc_scanner_cls->clazz(), "hasNext", "()Z");
     DCHECK(_scanner_has_next != nullptr);
-    _scanner_get_next_chunk = env->GetMethodID(_jdbc_scanner_cls->clazz(), "getNextChunk", "()Ljava/util/List;");
+    _scanner_get_next_chunk = env->GetMethodID(_jdbc_scanner_cls->clazz(), "getNextOffHeapChunk", "()J");
+    _scanner_release_off_heap_table = env->GetMethodID(_jdbc_scanner_cls->clazz(), "releaseOffHeapTable", "()V");
+    DCHECK(_scanner_release_off_heap_table != nullptr);
 
     _scanner_result_rows = env->GetMethodID(_jdbc_scanner_cls->clazz(), "getResultNumRows", "()I");
     DCHECK(_scanner_result_rows != nullptr);
@@ -350,17 +358,88 @@ Status JDBCScanner::_has_next(bool* result) {
     return Status::OK();
 }
 
-Status JDBCScanner::_get_next_chunk(jobject* chunk, size_t* num_rows) {
+Status JDBCScanner::_get_next_chunk(long* chunk_meta, size_t* num_rows) {
     auto* env = JVMFunctionHelper::getInstance().getEnv();
     SCOPED_TIMER(_profile.io_timer);
     COUNTER_UPDATE(_profile.io_counter, 1);
-    *chunk = env->CallObjectMethod(_jdbc_scanner.handle(), _scanner_get_next_chunk);
-    CHECK_JAVA_EXCEPTION(env, "getNextChunk failed")
+    *chunk_meta = env->CallLongMethod(_jdbc_scanner.handle(), _scanner_get_next_chunk);
+    CHECK_JAVA_EXCEPTION(env, "getNextOffHeapChunk failed")
     *num_rows = env->CallIntMethod(_jdbc_scanner.handle(), _scanner_result_rows);
     CHECK_JAVA_EXCEPTION(env, "getResultNumRows failed")
     return Status::OK();
 }
 
+Status JDBCScanner::_release_off_heap_table() {
+    auto* env = JVMFunctionHelper::getInstance().getEnv();
+    env->CallVoidMethod(_jdbc_scanner.handle(), _scanner_release_off_heap_table);
+    CHECK_JAVA_EXCEPTION(env, "releaseOffHeapTable failed")
+    return Status::OK();
+}
+
+template <LogicalType type, typename CppType>
+static void append_primitive_data(Column* column, const char* data, size_t num_rows) {
+    auto* runtime_column = down_cast<RunTimeColumnType<type>*>(column);
+    runtime_column->resize_uninitialized(num_rows);
+    memcpy(runtime_column->get_data().data(), data, num_rows * sizeof(CppType));
+}
+
+// The off-heap table written by JDBCScanner.getNextOffHeapChunk is laid out as the meta of
+// [num_rows, col0_nulls, col0_data, col1_nulls, col1_offsets, col1_data, ...],
+// a string column has the offsets and the data, and the other columns only have the data.
+Status JDBCScanner::_fill_column(const long* chunk_meta, int* meta_index, size_t num_rows, size_t col_idx) {
+    auto* nullable_column = down_cast<NullableColumn*>(_result_chunk->columns()[col_idx].get());
+    const auto* nulls = reinterpret_cast<const uint8_t*>(chunk_meta[(*meta_index)++]);
+    NullData& null_data = nullable_column->null_column_data();
+    null_data.resize(num_rows);
+    memcpy(null_data.data(), nulls, num_rows);
+
+    Column* data_column = nullable_column->data_column().get();
+    switch (_result_column_types[col_idx]) {
+    case TYPE_BOOLEAN:
+        append_primitive_data<TYPE_BOOLEAN, uint8_t>(
+                data_column, reinterpret_cast<const char*>(chunk_meta[(*meta_index)++]), num_rows);
+        break;
+    case TYPE_SMALLINT:
+        append_primitive_data<TYPE_SMALLINT, int16_t>(
+                data_column, reinterpret_cast<const char*>(chunk_meta[(*meta_index)++]), num_rows);
+        break;
+    case TYPE_INT:
+        append_primitive_data<TYPE_INT, int32_t>(data_column,
+                                                 reinterpret_cast<const char*>(chunk_meta[(*meta_index)++]), num_rows);
+        break;
+    case TYPE_BIGINT:
+        append_primitive_data<TYPE_BIGINT, int64_t>(
+                data_column, reinterpret_cast<const char*>(chunk_meta[(*meta_index)++]), num_rows);
+        break;
+    case TYPE_FLOAT:
+        append_primitive_data<TYPE_FLOAT, float>(data_column,
+                                                 reinterpret_cast<const char*>(chunk_meta[(*meta_index)++]), num_rows);
+        break;
+    case TYPE_DOUBLE:
+        append_primitive_data<TYPE_DOUBLE, double>(
+                data_column, reinterpret_cast<const char*>(chunk_meta[(*meta_index)++]), num_rows);
+        break;
+    case TYPE_VARCHAR: {
+        const auto* offsets_ptr = reinterpret_cast<const uint32_t*>(chunk_meta[(*meta_index)++]);
+        const auto* bytes_ptr = reinterpret_cast<const uint8_t*>(chunk_meta[(*meta_index)++]);
+        auto* binary_column = down_cast<BinaryColumn*>(data_column);
+        Bytes& bytes = binary_column->get_bytes();
+        Offsets& offsets = binary_column->get_offset();
+        uint32_t total_length = offsets_ptr[num_rows];
+        bytes.resize(total_length);
+        offsets.resize(num_rows + 1);
+        memcpy(offsets.data(), offsets_ptr, (num_rows + 1) * sizeof(uint32_t));
+        memcpy(bytes.data(), bytes_ptr, total_length);
+        binary_column->invalidate_slice_cache();
+        break;
+    }
+    default:
+        return Status::NotSupported(fmt::format("Unsupported JDBC result type on column[{}]",
+                                                _slot_descs[col_idx]->col_name()));
+    }
+    return Status::OK();
+}
+
 Status JDBCScanner::_close_jdbc_scanner() {
     auto* env = JVMFunctionHelper::getInstance().getEnv();
     if (_jdbc_scanner.handle() == nullptr) {
@@ -378,23 +457,21 @@ Status JDBCScanner::_close_jdbc_scanner() {
     return Status::OK();
 }
 
-Status JDBCScanner::_fill_chunk(jobject jchunk, size_t num_rows, ChunkPtr* chunk) {
+Status JDBCScanner::_fill_chunk(long chunk_meta, size_t num_rows, ChunkPtr* chunk) {
     SCOPED_TIMER(_profile.fill_chunk_timer);
-    // get result from JNI
+    // copy the result from the off-heap table
     {
-        auto& helper = JVMFunctionHelper::getInstance();
-        auto* env = helper.getEnv();
+        const auto* meta = reinterpret_cast<const long*>(chunk_meta);
+        int meta_index = 0;
+        DCHECK_EQ(meta[meta_index], num_rows);
+        meta_index++;
 
         COUNTER_UPDATE(_profile.rows_read_counter, num_rows);
         (*chunk)->reset();
 
         for (size_t i = 0; i < _slot_descs.size(); i++) {
-            jobject jcolumn = helper.list_get(jchunk, i);
-            LOCAL_REF_GUARD_ENV(env, jcolumn);
             auto& result_column = _result_chunk->columns()[i];
-            auto st =
-                    helper.get_result_from_boxed_array(_result_column_types[i], result_column.get(), jcolumn, num_rows);
-            RETURN_IF_ERROR(st);
+            RETURN_IF_ERROR(_fill_column(meta, &meta_index, num_rows, i));
             // check data's length for string type
             auto origin_type = _slot_descs[i]->type().type;
             if (origin_type == TYPE_VARCHAR || origin_type == TYPE_CHAR) {
@@ -79,9 +79,13 @@ private:
 
     Status _has_next(bool* result);
 
-    Status _get_next_chunk(jobject* chunk, size_t* num_rows);
+    Status _get_next_chunk(long* chunk_meta, size_t* num_rows);
 
-    Status _fill_chunk(jobject jchunk, size_t num_rows, ChunkPtr* chunk);
+    Status _fill_chunk(long chunk_meta, size_t num_rows, ChunkPtr* chunk);
+
+    Status _fill_column(const long* chunk_meta, int* meta_index, size_t num_rows, size_t col_idx);
+
+    Status _release_off_heap_table();
 
     Status _close_jdbc_scanner();
 
@@ -100,6 +104,7 @@ private:
 
     jmethodID _scanner_has_next;
     jmethodID _scanner_get_next_chunk;
+    jmethodID _scanner_release_off_heap_table;
     jmethodID _scanner_result_rows;
     jmethodID _scanner_close;
     // JDBCUtil method
@@ -124,5 +129,7 @@ private:
 
     static const int32_t DEFAULT_JDBC_CONNECTION_POOL_SIZE = 8;
     static const int32_t MINIMUM_ALLOWED_JDBC_CONNECTION_IDLE_TIMEOUT_MS = 10000;
+    // the minimum connection timeout of HikariCP
+    static const int32_t MINIMUM_ALLOWED_JDBC_CONNECTION_TIMEOUT_MS = 250;
 };
 } // namespace starrocks
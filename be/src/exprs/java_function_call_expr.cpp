@@ -39,6 +39,50 @@
 
 namespace starrocks {
 
+#define APPLY_FOR_JNI_PRIMITIVE_TYPE(M) \
+    M(TYPE_BOOLEAN, Boolean, jboolean)  \
+    M(TYPE_TINYINT, Byte, jbyte)        \
+    M(TYPE_SMALLINT, Short, jshort)     \
+    M(TYPE_INT, Int, jint)              \
+    M(TYPE_BIGINT, Long, jlong)         \
+    M(TYPE_FLOAT, Float, jfloat)        \
+    M(TYPE_DOUBLE, Double, jdouble)
+
+// create a java primitive array and copy the data of column into it if column is not null
+static jarray new_primitive_array(JNIEnv* env, LogicalType type, const Column* column, int num_rows) {
+    switch (type) {
+#define M(NAME, JTYPE, CTYPE)                                                                                    \
+    case NAME: {                                                                                                 \
+        auto arr = env->New##JTYPE##Array(num_rows);                                                             \
+        if (arr != nullptr && column != nullptr) {                                                               \
+            env->Set##JTYPE##ArrayRegion(arr, 0, num_rows, reinterpret_cast<const CTYPE*>(column->raw_data())); \
+        }                                                                                                        \
+        return arr;                                                                                              \
+    }
+        APPLY_FOR_JNI_PRIMITIVE_TYPE(M)
+#undef M
+    default:
+        DCHECK(false) << "udf unsupport type" << type;
+        return nullptr;
+    }
+}
+
+static void get_primitive_array_region(JNIEnv* env, LogicalType type, jarray arr, Column* column, int num_rows) {
+    switch (type) {
+#define M(NAME, JTYPE, CTYPE)                                                              \
+    case NAME: {                                                                           \
+        env->Get##JTYPE##ArrayRegion(static_cast<CTYPE##Array>(arr), 0, num_rows,          \
+                                     reinterpret_cast<CTYPE*>(column->mutable_raw_data())); \
+        break;                                                                             \
+    }
+        APPLY_FOR_JNI_PRIMITIVE_TYPE(M)
+#undef M
+    default:
+        DCHECK(false) << "udf unsupport type" << type;
+        break;
+    }
+}
+
 struct UDFFunctionCallHelper {
     JavaUDFContext* fn_desc;
     JavaMethodDescriptor* call_desc;
@@ -60,6 +104,10 @@ struct UDFFunctionCallHelper {
             }
         }
 
+        if (!call_desc->method_desc[0].is_box) {
+            return call_primitive(ctx, columns, size);
+        }
+
         for (const auto& col : columns) {
             input_cols.emplace_back(col.get());
         }
@@ -81,6 +129,60 @@ struct UDFFunctionCallHelper {
         return result_cols;
     }
 
+    // The evaluate method only has primitive arguments and return type, the column data are copied into
+    // java primitive arrays and the result is copied back, no object is created for each row.
+    // The row is null if any argument is null, and evaluate is not called for it.
+    ColumnPtr call_primitive(FunctionContext* ctx, const Columns& columns, size_t size) {
+        auto& helper = JVMFunctionHelper::getInstance();
+        JNIEnv* env = helper.getEnv();
+        int num_cols = ctx->get_num_args();
+
+        auto null_column = NullColumn::create(size, 0);
+        auto& nulls = null_column->get_data();
+        for (const auto& column : columns) {
+            if (column->only_null()) {
+                return ColumnHelper::create_const_null_column(size);
+            }
+            if (column->is_nullable()) {
+                const auto& arg_nulls = down_cast<const NullableColumn*>(column.get())->immutable_null_column_data();
+                for (size_t i = 0; i < size; ++i) {
+                    nulls[i] |= arg_nulls[i];
+                }
+            }
+        }
+
+        // null array, arguments and result
+        env->PushLocalFrame(num_cols + 2);
+        auto defer = DeferOp([env]() { env->PopLocalFrame(nullptr); });
+        jbyteArray null_arr = env->NewByteArray(size);
+        RETURN_IF_UNLIKELY_NULL(null_arr, ColumnHelper::create_const_null_column(size));
+        env->SetByteArrayRegion(null_arr, 0, size, reinterpret_cast<const jbyte*>(nulls.data()));
+
+        std::vector<jobject> input_arrs;
+        for (int i = 0; i < num_cols; ++i) {
+            const Column* data_column = ColumnHelper::get_data_column(columns[i].get());
+            jarray arr = new_primitive_array(env, call_desc->method_desc[i + 1].type, data_column, size);
+            RETURN_IF_UNLIKELY_NULL(arr, ColumnHelper::create_const_null_column(size));
+            input_arrs.emplace_back(arr);
+        }
+        LogicalType return_type = call_desc->method_desc[0].type;
+        jarray result_arr = new_primitive_array(env, return_type, nullptr, size);
+        RETURN_IF_UNLIKELY_NULL(result_arr, ColumnHelper::create_const_null_column(size));
+
+        // call UDF method
+        bool ok = fn_desc->call_stub->batch_evaluate(size, null_arr, input_arrs.data(), num_cols, result_arr);
+        RETURN_IF_UNLIKELY(!ok, ColumnHelper::create_const_null_column(size));
+
+        // get result
+        auto res = ColumnHelper::create_column(TypeDescriptor(return_type), true);
+        auto* nullable_res = down_cast<NullableColumn*>(res.get());
+        nullable_res->data_column()->resize(size);
+        get_primitive_array_region(env, return_type, result_arr, nullable_res->data_column().get(), size);
+        nullable_res->null_column_data().swap(nulls);
+        nullable_res->update_has_null();
+        return res;
+    }
+
     ColumnPtr get_boxed_result(FunctionContext* ctx, jobject result, size_t num_rows) {
         if (result == nullptr) {
             return ColumnHelper::create_const_null_column(num_rows);
@@ -852,6 +852,24 @@ jobject BatchEvaluateStub::batch_evaluate(int num_rows, jobject* input, int cols
     return res;
 }
 
+bool BatchEvaluateStub::batch_evaluate(int num_rows, jobject nulls, jobject* input, int cols, jobject result) {
+    jvalue jni_inputs[4 + cols];
+    jni_inputs[0].i = num_rows;
+    jni_inputs[1].l = _caller;
+    jni_inputs[2].l = nulls;
+    for (int i = 0; i < cols; ++i) {
+        jni_inputs[3 + i].l = input[i];
+    }
+    jni_inputs[3 + cols].l = result;
+    auto* env = JVMFunctionHelper::getInstance().getEnv();
+    env->CallStaticVoidMethodA(_stub_clazz.clazz(), env->FromReflectedMethod(_stub_method.handle()), jni_inputs);
+    if (env->ExceptionCheck()) {
+        CHECK_UDF_CALL_EXCEPTION(env, this->_ctx);
+        return false;
+    }
+    return true;
+}
+
 void UDAFFunction::update(jvalue* val) {
     auto [env, helper] = JVMFunctionHelper::getInstanceWithEnv();
     jmethodID update = _ctx->update->get_method_id();
@@ -348,6 +348,8 @@ public:
 
     FunctionContext* ctx() { return _ctx; }
     jobject batch_evaluate(int num_rows, jobject* input, int cols);
+    // evaluate with primitive arrays, the result is written into result, return false if exception happened
+    bool batch_evaluate(int num_rows, jobject nulls, jobject* input, int cols, jobject result);
 
 private:
     FunctionContext* _ctx;
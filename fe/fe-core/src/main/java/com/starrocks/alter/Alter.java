@@ -957,6 +957,8 @@ public class Alter {
                             "table " + olapTable.getName() + " is colocate table, cannot change replicationNum");
                 }
                 partitionInfo.setReplicationNum(partition.getId(), newReplicationNum);
+                // the tablets may lack or have redundant replicas now
+                GlobalStateMgr.getCurrentState().getTabletChecker().markPartitionDirty(partition);
                 // update default replication num if this table is unpartitioned table
                 if (partitionInfo.getType() == PartitionType.UNPARTITIONED) {
                     olapTable.setReplicationNum(newReplicationNum);
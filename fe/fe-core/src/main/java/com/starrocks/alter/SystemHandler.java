@@ -155,6 +155,7 @@ public class SystemHandler extends AlterHandler {
             for (Backend backend : decommissionBackends) {
                 backend.setDecommissioned(true);
                 GlobalStateMgr.getCurrentState().getEditLog().logBackendStateChange(backend);
+                GlobalStateMgr.getCurrentState().getTabletChecker().markBackendDirty(backend.getId());
                 LOG.info("set backend {} to decommission", backend.getId());
             }
 
@@ -258,6 +259,7 @@ public class SystemHandler extends AlterHandler {
         for (Backend backend : backends) {
             if (backend.setDecommissioned(false)) {
                 GlobalStateMgr.getCurrentState().getEditLog().logBackendStateChange(backend);
+                GlobalStateMgr.getCurrentState().getTabletChecker().markBackendDirty(backend.getId());
             } else {
                 LOG.info("backend is not decommissioned[{}]", backend.getHost());
             }
@@ -51,8 +51,10 @@ import com.starrocks.common.UserException;
 import com.starrocks.common.io.Text;
 import com.starrocks.common.io.Writable;
 import com.starrocks.common.util.DebugUtil;
+import com.starrocks.common.util.IntentionLock;
 import com.starrocks.common.util.QueryableReentrantReadWriteLock;
 import com.starrocks.common.util.Util;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.persist.CreateTableInfo;
 import com.starrocks.persist.DropInfo;
 import com.starrocks.server.CatalogMgr;
@@ -66,6 +68,7 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -104,6 +107,12 @@ public class Database extends MetaObject implements Writable {
     private String fullQualifiedName;
     private QueryableReentrantReadWriteLock rwLock;
 
+    // Taken under the db read lock, the SHARED mode by the db readers and the INTENTION mode by the table lockers,
+    // see writeLockTables()
+    private final IntentionLock intentionLock = new IntentionLock();
+    // table id -> lock of the table, removed when the table is dropped
+    private final Map<Long, QueryableReentrantReadWriteLock> tableLocks = new ConcurrentHashMap<>();
+
     // table family group map
     private Map<Long, Table> idToTable;
     private Map<String, Table> nameToTable;
@@ -160,6 +169,9 @@ public class Database extends MetaObject implements Writable {
 
     private void logSlowLockEventIfNeeded(long startMs, String type, String threadDump) {
         long endMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_DB_LOCK_WAIT_LATENCY.update(endMs - startMs);
+        }
         if (endMs - startMs > Config.slow_lock_threshold_ms &&
                 endMs > lastSlowLockLogTime + Config.slow_lock_log_every_ms) {
             lastSlowLockLogTime = endMs;
@@ -177,6 +189,7 @@ public class Database extends MetaObject implements Writable {
         long startMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
         String threadDump = getOwnerInfo(rwLock.getOwner());
         this.rwLock.readLock().lock();
+        lockSharedMode();
         logSlowLockEventIfNeeded(startMs, "readLock", threadDump);
     }
 
@@ -185,11 +198,12 @@ public class Database extends MetaObject implements Writable {
         long startMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
         String threadDump = getOwnerInfo(rwLock.getOwner());
         this.rwLock.readLock().lock();
+        lockSharedMode();
         logSlowLockEventIfNeeded(startMs, "readLock", threadDump);
         if (exist) {
             return true;
         } else {
-            this.rwLock.readLock().unlock();
+            readUnlock();
             return false;
         }
     }
@@ -202,6 +216,11 @@ public class Database extends MetaObject implements Writable {
                 logTryLockFailureEvent("readLock", threadDump);
                 return false;
             }
+            if (!tryLockSharedMode(startMs, timeout, unit)) {
+                this.rwLock.readLock().unlock();
+                logTryLockFailureEvent("readLock", "table lockers are running");
+                return false;
+            }
             logSlowLockEventIfNeeded(startMs, "tryReadLock", threadDump);
             return true;
         } catch (InterruptedException e) {
@@ -219,11 +238,16 @@ public class Database extends MetaObject implements Writable {
                 logTryLockFailureEvent("readLock", threadDump);
                 return false;
             }
+            if (!tryLockSharedMode(startMs, timeout, unit)) {
+                this.rwLock.readLock().unlock();
+                logTryLockFailureEvent("readLock", "table lockers are running");
+                return false;
+            }
             logSlowLockEventIfNeeded(startMs, "tryReadLock", threadDump);
             if (exist) {
                 return true;
             } else {
-                this.rwLock.readLock().unlock();
+                readUnlock();
                 return false;
             }
         } catch (InterruptedException e) {
@@ -234,9 +258,30 @@ public class Database extends MetaObject implements Writable {
     }
 
     public void readUnlock() {
+        if (intentionLock.isHeldByCurrentThread()) {
+            intentionLock.unlock();
+        }
         this.rwLock.readLock().unlock();
     }
 
+    // The db readers exclude the table lockers only when table level lock is enabled, or when the thread
+    // already holds the intention lock, so the nested locks are released in order.
+    // readUnlock() checks whether the intention lock is held rather than the config, which is mutable.
+    private void lockSharedMode() {
+        if (Config.enable_table_level_lock || intentionLock.isHeldByCurrentThread()) {
+            intentionLock.lock(IntentionLock.Mode.SHARED);
+        }
+    }
+
+    private boolean tryLockSharedMode(long startMs, long timeout, TimeUnit unit) throws InterruptedException {
+        if (Config.enable_table_level_lock || intentionLock.isHeldByCurrentThread()) {
+            long remainingMs = unit.toMillis(timeout) -
+                    (TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS) - startMs);
+            return intentionLock.tryLock(IntentionLock.Mode.SHARED, Math.max(0, remainingMs), TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
     public void writeLock() {
         long startMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
         String threadDump = getOwnerInfo(rwLock.getOwner());
@@ -305,6 +350,105 @@ public class Database extends MetaObject implements Writable {
         return this.rwLock.writeLock().isHeldByCurrentThread();
     }
 
+    /*
+     * Table locks are the second level of the hierarchical db lock.
+     * Readers or writers of tables hold the db read lock together with the INTENTION mode of the intention lock,
+     * and the locks of the tables in shared or exclusive mode, so writers of different tables in the same db don't
+     * block each other, while the db write lock still excludes all of them.
+     * The db readers, which don't take table locks and expect the whole db not to be changed, hold the SHARED mode,
+     * so they exclude the table lockers.
+     * Tables are locked in the order of table id, so locking multiple tables is deadlock free.
+     */
+
+    public void writeLockTables(Collection<Long> tableIds) {
+        lockIntentionMode();
+        for (QueryableReentrantReadWriteLock tableLock : getTableLocks(tableIds)) {
+            long startMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+            tableLock.writeLock().lock();
+            updateTableLockWaitTime(startMs);
+        }
+    }
+
+    public boolean tryWriteLockTables(Collection<Long> tableIds, long timeout, TimeUnit unit) {
+        long deadlineNs = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            if (!this.rwLock.readLock().tryLock(timeout, unit)) {
+                logTryLockFailureEvent("tryWriteLockTables", getOwnerInfo(rwLock.getOwner()));
+                return false;
+            }
+            if (!intentionLock.tryLock(IntentionLock.Mode.INTENTION, deadlineNs - System.nanoTime(),
+                    TimeUnit.NANOSECONDS)) {
+                this.rwLock.readLock().unlock();
+                logTryLockFailureEvent("tryWriteLockTables", "db readers are running");
+                return false;
+            }
+        } catch (InterruptedException e) {
+            LOG.warn("failed to try write lock tables at db[" + id + "]", e);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        List<QueryableReentrantReadWriteLock> locks = getTableLocks(tableIds);
+        List<QueryableReentrantReadWriteLock> locked = Lists.newArrayList();
+        try {
+            for (QueryableReentrantReadWriteLock tableLock : locks) {
+                long startMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (!tableLock.writeLock().tryLock(deadlineNs - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    logTryLockFailureEvent("tryWriteLockTables", getOwnerInfo(tableLock.getOwner()));
+                    break;
+                }
+                updateTableLockWaitTime(startMs);
+                locked.add(tableLock);
+            }
+        } catch (InterruptedException e) {
+            LOG.warn("failed to try write lock tables at db[" + id + "]", e);
+            Thread.currentThread().interrupt();
+        }
+        if (locked.size() == locks.size()) {
+            return true;
+        }
+        for (QueryableReentrantReadWriteLock tableLock : Lists.reverse(locked)) {
+            tableLock.writeLock().unlock();
+        }
+        readUnlock();
+        return false;
+    }
+
+    public void writeUnlockTables(Collection<Long> tableIds) {
+        for (QueryableReentrantReadWriteLock tableLock : Lists.reverse(getTableLocks(tableIds))) {
+            tableLock.writeLock().unlock();
+        }
+        readUnlock();
+    }
+
+    private void lockIntentionMode() {
+        long startMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+        String threadDump = getOwnerInfo(rwLock.getOwner());
+        this.rwLock.readLock().lock();
+        intentionLock.lock(IntentionLock.Mode.INTENTION);
+        logSlowLockEventIfNeeded(startMs, "intentionLock", threadDump);
+    }
+
+    // Dropped tables are skipped, the db write lock held by drop excludes the table lockers,
+    // so no lock is created again after it's removed on drop.
+    private List<QueryableReentrantReadWriteLock> getTableLocks(Collection<Long> tableIds) {
+        List<Long> sortedIds = tableIds.stream().distinct().sorted().collect(Collectors.toList());
+        List<QueryableReentrantReadWriteLock> locks = Lists.newArrayListWithCapacity(sortedIds.size());
+        for (Long tableId : sortedIds) {
+            if (!idToTable.containsKey(tableId)) {
+                continue;
+            }
+            locks.add(tableLocks.computeIfAbsent(tableId, k -> new QueryableReentrantReadWriteLock(true)));
+        }
+        return locks;
+    }
+
+    private void updateTableLockWaitTime(long startMs) {
+        if (MetricRepo.isInit) {
+            long endMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+            MetricRepo.HISTO_TABLE_LOCK_WAIT_LATENCY.update(endMs - startMs);
+        }
+    }
+
     public long getId() {
         return id;
     }
@@ -559,6 +703,7 @@ public class Database extends MetaObject implements Writable {
             if (table != null) {
                 this.nameToTable.remove(tableName);
                 this.idToTable.remove(table.getId());
+                this.tableLocks.remove(table.getId());
             }
         } finally {
             writeUnlock();
@@ -570,6 +715,7 @@ public class Database extends MetaObject implements Writable {
         if (table != null) {
             this.nameToTable.remove(tableName);
             this.idToTable.remove(table.getId());
+            this.tableLocks.remove(table.getId());
         }
     }
 
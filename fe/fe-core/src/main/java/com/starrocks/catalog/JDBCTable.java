@@ -15,6 +15,8 @@
 
 package com.starrocks.catalog;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.starrocks.analysis.DescriptorTable;
@@ -45,6 +47,12 @@ public class JDBCTable extends Table {
     private String jdbcTable;
     private Map<String, String> properties;
     private String dbName;
+    // The column to split the scan by ranges, and the [min, max] range of its values, the values of date
+    // and datetime columns are in epoch days and epoch seconds. The range is queried from the remote table
+    // only when a scan of the table is split, at most once per table, and it's cached by JDBCMetadata.
+    // Only set for the tables of jdbc catalog, never persisted.
+    private Column splitColumn;
+    private Supplier<long[]> splitRange;
 
     public JDBCTable() {
         super(TableType.JDBC);
@@ -74,6 +82,22 @@ public class JDBCTable extends Table {
         return properties.get(propertyKey);
     }
 
+    public void setSplitColumn(Column splitColumn, Supplier<long[]> splitRangeLoader) {
+        this.splitColumn = splitColumn;
+        this.splitRange = Suppliers.memoize(splitRangeLoader);
+    }
+
+    public Column getSplitColumn() {
+        return splitColumn;
+    }
+
+    /**
+     * @return the [min, max] range of the split column, or null if it's unknown
+     */
+    public long[] getSplitRange() {
+        return splitRange == null ? null : splitRange.get();
+    }
+
     private void validate(Map<String, String> properties) throws DdlException {
         if (properties == null) {
             throw new DdlException("Please set properties of jdbc table, they are: table and resource");
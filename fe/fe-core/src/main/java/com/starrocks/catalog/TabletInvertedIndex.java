@@ -36,12 +36,11 @@ package com.starrocks.catalog;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
-import com.google.common.collect.Table;
+import com.google.common.util.concurrent.Striped;
 import com.starrocks.catalog.Replica.ReplicaState;
 import com.starrocks.common.Config;
 import com.starrocks.common.Pair;
@@ -64,6 +63,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
@@ -78,25 +80,41 @@ public class TabletInvertedIndex {
 
     public static final int NOT_EXIST_VALUE = -1;
 
+    private static final int TABLET_LOCK_STRIPES = 1024;
+
+    // Rough heap usage of an entry, including the boxed keys and the hash map nodes,
+    // used to estimate the memory usage of the index.
+    private static final long TABLET_ENTRY_BYTES = 200;
+    private static final long REPLICA_ENTRY_BYTES = 300;
+
     public static final TabletMeta NOT_EXIST_TABLET_META = new TabletMeta(NOT_EXIST_VALUE, NOT_EXIST_VALUE,
             NOT_EXIST_VALUE, NOT_EXIST_VALUE, NOT_EXIST_VALUE, TStorageMedium.HDD);
 
+    // Only guards forceDeleteTablets
     private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
+    // The index maps are concurrent maps, so readers such as the planner never block.
+    // Writers of the same tablet are serialized by the striped lock of the tablet id,
+    // which keeps the maps of a tablet consistent with each other.
+    private final Striped<Lock> tabletLocks = Striped.lock(TABLET_LOCK_STRIPES);
+
     // tablet id -> tablet meta
-    private Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
+    private final Map<Long, TabletMeta> tabletMetaMap = new ConcurrentHashMap<>();
 
     // replica id -> tablet id
-    private Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
+    private final Map<Long, Long> replicaToTabletMap = new ConcurrentHashMap<>();
 
     // tablet id -> backend set
     private Map<Long, Set<Long>> forceDeleteTablets = Maps.newHashMap();
 
     // tablet id -> (backend id -> replica)
-    private Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
+    private final Map<Long, Map<Long, Replica>> replicaMetaTable = new ConcurrentHashMap<>();
     // backing replica table, for visiting backend replicas faster.
+    // It is partitioned by backend, reports of different backends are processed concurrently.
     // backend id -> (tablet id -> replica)
-    private Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
+    private final Map<Long, Map<Long, Replica>> backingReplicaMetaTable = new ConcurrentHashMap<>();
+
+    private final AtomicLong replicaNum = new AtomicLong(0);
 
     public TabletInvertedIndex() {
     }
@@ -144,162 +162,160 @@ public class TabletInvertedIndex {
             backendStorageTypeCnt = be.getAvailableBackendStorageTypeCnt();
         }
 
-        readLock();
         long start = System.currentTimeMillis();
-        try {
-            LOG.debug("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                // traverse replicas in meta with this backend
-                for (Map.Entry<Long, Replica> entry : replicaMetaWithBackend.entrySet()) {
-                    long tabletId = entry.getKey();
-                    Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-                    TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
-
-                    if (tabletMeta.isLakeTablet()) {
-                        continue;
-                    }
+        LOG.debug("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
+        Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
+        if (replicaMetaWithBackend != null) {
+            // traverse replicas in meta with this backend
+            for (Map.Entry<Long, Replica> entry : replicaMetaWithBackend.entrySet()) {
+                long tabletId = entry.getKey();
+                TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
+                if (tabletMeta == null) {
+                    // the tablet is deleted concurrently
+                    continue;
+                }
 
-                    if (backendTablets.containsKey(tabletId)) {
-                        TTablet backendTablet = backendTablets.get(tabletId);
-                        Replica replica = entry.getValue();
-                        for (TTabletInfo backendTabletInfo : backendTablet.getTablet_infos()) {
-                            if (backendTabletInfo.isSetIs_error_state()) {
-                                replica.setIsErrorState(backendTabletInfo.is_error_state);
+                if (tabletMeta.isLakeTablet()) {
+                    continue;
+                }
+
+                if (backendTablets.containsKey(tabletId)) {
+                    TTablet backendTablet = backendTablets.get(tabletId);
+                    Replica replica = entry.getValue();
+                    for (TTabletInfo backendTabletInfo : backendTablet.getTablet_infos()) {
+                        if (backendTabletInfo.isSetIs_error_state()) {
+                            replica.setIsErrorState(backendTabletInfo.is_error_state);
+                        }
+                        if (tabletMeta.containsSchemaHash(backendTabletInfo.getSchema_hash())) {
+                            foundTabletsWithValidSchema.add(tabletId);
+                            // 1. (intersection)
+                            if (needSync(replica, backendTabletInfo)) {
+                                // need sync
+                                tabletSyncMap.put(tabletMeta.getDbId(), tabletId);
                             }
-                            if (tabletMeta.containsSchemaHash(backendTabletInfo.getSchema_hash())) {
-                                foundTabletsWithValidSchema.add(tabletId);
-                                // 1. (intersection)
-                                if (needSync(replica, backendTabletInfo)) {
-                                    // need sync
-                                    tabletSyncMap.put(tabletMeta.getDbId(), tabletId);
-                                }
 
-                                // check and set path,
-                                // path info of replica is only saved in Leader FE
-                                if (backendTabletInfo.isSetPath_hash() &&
-                                        replica.getPathHash() != backendTabletInfo.getPath_hash()) {
-                                    replica.setPathHash(backendTabletInfo.getPath_hash());
-                                }
+                            // check and set path,
+                            // path info of replica is only saved in Leader FE
+                            if (backendTabletInfo.isSetPath_hash() &&
+                                    replica.getPathHash() != backendTabletInfo.getPath_hash()) {
+                                replica.setPathHash(backendTabletInfo.getPath_hash());
+                            }
 
-                                if (backendTabletInfo.isSetSchema_hash() && replica.getState() == ReplicaState.NORMAL
-                                        && replica.getSchemaHash() != backendTabletInfo.getSchema_hash()) {
-                                    // update the schema hash only when replica is normal
-                                    replica.setSchemaHash(backendTabletInfo.getSchema_hash());
-                                }
+                            if (backendTabletInfo.isSetSchema_hash() && replica.getState() == ReplicaState.NORMAL
+                                    && replica.getSchemaHash() != backendTabletInfo.getSchema_hash()) {
+                                // update the schema hash only when replica is normal
+                                replica.setSchemaHash(backendTabletInfo.getSchema_hash());
+                            }
 
-                                if (needRecover(replica, tabletMeta.getOldSchemaHash(), backendTabletInfo)) {
-                                    LOG.warn("replica {} of tablet {} on backend {} need recovery. "
-                                                    + "replica in FE: {}, report version {}, report schema hash: {},"
-                                                    + " is bad: {}, is version missing: {}",
-                                            replica.getId(), tabletId, backendId, replica,
-                                            backendTabletInfo.getVersion(),
-                                            backendTabletInfo.getSchema_hash(),
-                                            backendTabletInfo.isSetUsed() ? backendTabletInfo.isUsed() : "unknown",
-                                            backendTabletInfo.isSetVersion_miss() ? backendTabletInfo.isVersion_miss() :
-                                                    "unset");
-                                    tabletRecoveryMap.put(tabletMeta.getDbId(), tabletId);
-                                }
+                            if (needRecover(replica, tabletMeta.getOldSchemaHash(), backendTabletInfo)) {
+                                LOG.warn("replica {} of tablet {} on backend {} need recovery. "
+                                                + "replica in FE: {}, report version {}, report schema hash: {},"
+                                                + " is bad: {}, is version missing: {}",
+                                        replica.getId(), tabletId, backendId, replica,
+                                        backendTabletInfo.getVersion(),
+                                        backendTabletInfo.getSchema_hash(),
+                                        backendTabletInfo.isSetUsed() ? backendTabletInfo.isUsed() : "unknown",
+                                        backendTabletInfo.isSetVersion_miss() ? backendTabletInfo.isVersion_miss() :
+                                                "unset");
+                                tabletRecoveryMap.put(tabletMeta.getDbId(), tabletId);
+                            }
 
-                                // check if tablet needs migration
-                                long partitionId = tabletMeta.getPartitionId();
-                                TStorageMedium storageMedium = storageMediumMap.get(partitionId);
-                                if (storageMedium != null && backendTabletInfo.isSetStorage_medium()) {
-                                    // If storage medium is less than 1, there is no need to send migration tasks to BE.
-                                    // Because BE will ignore this request.
-                                    if (storageMedium != backendTabletInfo.getStorage_medium()) {
-                                        if (backendStorageTypeCnt <= 1) {
-                                            LOG.debug("available storage medium type count is less than 1, " +
-                                                            "no need to send migrate task. tabletId={}, backendId={}.",
-                                                    tabletId, backendId);
-                                        } else if (tabletMigrationMap.size() <=
-                                                Config.tablet_sched_max_migration_task_sent_once) {
-                                            tabletMigrationMap.put(storageMedium, tabletId);
-                                        }
-                                    }
-                                    if (storageMedium != tabletMeta.getStorageMedium()) {
-                                        tabletMeta.setStorageMedium(storageMedium);
+                            // check if tablet needs migration
+                            long partitionId = tabletMeta.getPartitionId();
+                            TStorageMedium storageMedium = storageMediumMap.get(partitionId);
+                            if (storageMedium != null && backendTabletInfo.isSetStorage_medium()) {
+                                // If storage medium is less than 1, there is no need to send migration tasks to BE.
+                                // Because BE will ignore this request.
+                                if (storageMedium != backendTabletInfo.getStorage_medium()) {
+                                    if (backendStorageTypeCnt <= 1) {
+                                        LOG.debug("available storage medium type count is less than 1, " +
+                                                        "no need to send migrate task. tabletId={}, backendId={}.",
+                                                tabletId, backendId);
+                                    } else if (tabletMigrationMap.size() <=
+                                            Config.tablet_sched_max_migration_task_sent_once) {
+                                        tabletMigrationMap.put(storageMedium, tabletId);
                                     }
                                 }
-                                // check if we should clear transactions
-                                if (backendTabletInfo.isSetTransaction_ids()) {
-                                    List<Long> transactionIds = backendTabletInfo.getTransaction_ids();
-                                    GlobalTransactionMgr transactionMgr =
-                                            GlobalStateMgr.getCurrentGlobalTransactionMgr();
-                                    for (Long transactionId : transactionIds) {
-                                        TransactionState transactionState =
-                                                transactionMgr.getTransactionState(tabletMeta.getDbId(), transactionId);
-                                        if (transactionState == null ||
-                                                transactionState.getTransactionStatus() == TransactionStatus.ABORTED) {
-                                            transactionsToClear.put(transactionId, tabletMeta.getPartitionId());
-                                            LOG.debug("transaction id [{}] is not valid any more, "
-                                                    + "clear it from backend [{}]", transactionId, backendId);
-                                        } else if (transactionState.getTransactionStatus() ==
-                                                TransactionStatus.VISIBLE) {
-                                            TableCommitInfo tableCommitInfo =
-                                                    transactionState.getTableCommitInfo(tabletMeta.getTableId());
-                                            PartitionCommitInfo partitionCommitInfo =
-                                                    tableCommitInfo.getPartitionCommitInfo(partitionId);
-                                            if (partitionCommitInfo == null) {
-                                                /*
-                                                 * This may happen as follows:
-                                                 * 1. txn is committed on BE, and report commit info to FE
-                                                 * 2. FE received report and begin to assemble partitionCommitInfos.
-                                                 * 3. At the same time, some partitions have been dropped, so
-                                                 *    partitionCommitInfos does not contain these partitions.
-                                                 * 4. So we will not able to get partitionCommitInfo here.
-                                                 *
-                                                 * Just print a log to observe
-                                                 */
-                                                LOG.info(
-                                                        "failed to find partition commit info. table: {}, " +
-                                                                "partition: {}, tablet: {}, txn_id: {}",
-                                                        tabletMeta.getTableId(), partitionId, tabletId,
-                                                        transactionState.getTransactionId());
-                                            } else {
-                                                TPartitionVersionInfo versionInfo =
-                                                        new TPartitionVersionInfo(tabletMeta.getPartitionId(),
-                                                                partitionCommitInfo.getVersion(), 0);
-                                                Map<Long, Map<Long, TPartitionVersionInfo>> txnMap =
-                                                        transactionsToPublish.get(transactionState.getDbId());
-                                                if (txnMap == null) {
-                                                    txnMap = Maps.newHashMap();
-                                                    transactionsToPublish.put(transactionState.getDbId(), txnMap);
-                                                }
-                                                Map<Long, TPartitionVersionInfo> partitionMap =
-                                                        txnMap.get(transactionId);
-                                                if (partitionMap == null) {
-                                                    partitionMap = Maps.newHashMap();
-                                                    txnMap.put(transactionId, partitionMap);
-                                                }
-                                                partitionMap.put(versionInfo.getPartition_id(), versionInfo);
-                                                transactionsToCommitTime.put(transactionId,
-                                                        transactionState.getCommitTime());
+                                if (storageMedium != tabletMeta.getStorageMedium()) {
+                                    tabletMeta.setStorageMedium(storageMedium);
+                                }
+                            }
+                            // check if we should clear transactions
+                            if (backendTabletInfo.isSetTransaction_ids()) {
+                                List<Long> transactionIds = backendTabletInfo.getTransaction_ids();
+                                GlobalTransactionMgr transactionMgr =
+                                        GlobalStateMgr.getCurrentGlobalTransactionMgr();
+                                for (Long transactionId : transactionIds) {
+                                    TransactionState transactionState =
+                                            transactionMgr.getTransactionState(tabletMeta.getDbId(), transactionId);
+                                    if (transactionState == null ||
+                                            transactionState.getTransactionStatus() == TransactionStatus.ABORTED) {
+                                        transactionsToClear.put(transactionId, tabletMeta.getPartitionId());
+                                        LOG.debug("transaction id [{}] is not valid any more, "
+                                                + "clear it from backend [{}]", transactionId, backendId);
+                                    } else if (transactionState.getTransactionStatus() ==
+                                            TransactionStatus.VISIBLE) {
+                                        TableCommitInfo tableCommitInfo =
+                                                transactionState.getTableCommitInfo(tabletMeta.getTableId());
+                                        PartitionCommitInfo partitionCommitInfo =
+                                                tableCommitInfo.getPartitionCommitInfo(partitionId);
+                                        if (partitionCommitInfo == null) {
+                                            /*
+                                             * This may happen as follows:
+                                             * 1. txn is committed on BE, and report commit info to FE
+                                             * 2. FE received report and begin to assemble partitionCommitInfos.
+                                             * 3. At the same time, some partitions have been dropped, so
+                                             *    partitionCommitInfos does not contain these partitions.
+                                             * 4. So we will not able to get partitionCommitInfo here.
+                                             *
+                                             * Just print a log to observe
+                                             */
+                                            LOG.info(
+                                                    "failed to find partition commit info. table: {}, " +
+                                                            "partition: {}, tablet: {}, txn_id: {}",
+                                                    tabletMeta.getTableId(), partitionId, tabletId,
+                                                    transactionState.getTransactionId());
+                                        } else {
+                                            TPartitionVersionInfo versionInfo =
+                                                    new TPartitionVersionInfo(tabletMeta.getPartitionId(),
+                                                            partitionCommitInfo.getVersion(), 0);
+                                            Map<Long, Map<Long, TPartitionVersionInfo>> txnMap =
+                                                    transactionsToPublish.get(transactionState.getDbId());
+                                            if (txnMap == null) {
+                                                txnMap = Maps.newHashMap();
+                                                transactionsToPublish.put(transactionState.getDbId(), txnMap);
                                             }
+                                            Map<Long, TPartitionVersionInfo> partitionMap =
+                                                    txnMap.get(transactionId);
+                                            if (partitionMap == null) {
+                                                partitionMap = Maps.newHashMap();
+                                                txnMap.put(transactionId, partitionMap);
+                                            }
+                                            partitionMap.put(versionInfo.getPartition_id(), versionInfo);
+                                            transactionsToCommitTime.put(transactionId,
+                                                    transactionState.getCommitTime());
                                         }
                                     }
-                                } // end for txn id
-
-                                // update replica's version count
-                                // no need to write log, and no need to get db lock.
-                                if (backendTabletInfo.isSetVersion_count()) {
-                                    replica.setVersionCount(backendTabletInfo.getVersion_count());
                                 }
-                            } else {
-                                // tablet with invalid schema hash
-                                foundTabletsWithInvalidSchema.put(tabletId, backendTabletInfo);
-                            } // end for be tablet info
-                        }
-                    } else {
-                        // 2. (meta - be)
-                        // may need delete from meta
-                        LOG.debug("backend[{}] does not report tablet[{}-{}]", backendId, tabletId, tabletMeta);
-                        tabletDeleteFromMeta.put(tabletMeta.getDbId(), tabletId);
+                            } // end for txn id
+
+                            // update replica's version count
+                            // no need to write log, and no need to get db lock.
+                            if (backendTabletInfo.isSetVersion_count()) {
+                                replica.setVersionCount(backendTabletInfo.getVersion_count());
+                            }
+                        } else {
+                            // tablet with invalid schema hash
+                            foundTabletsWithInvalidSchema.put(tabletId, backendTabletInfo);
+                        } // end for be tablet info
                     }
-                } // end for replicaMetaWithBackend
-            }
-        } finally {
-            readUnlock();
+                } else {
+                    // 2. (meta - be)
+                    // may need delete from meta
+                    LOG.debug("backend[{}] does not report tablet[{}-{}]", backendId, tabletId, tabletMeta);
+                    tabletDeleteFromMeta.put(tabletMeta.getDbId(), tabletId);
+                }
+            } // end for replicaMetaWithBackend
         }
 
         long end = System.currentTimeMillis();
@@ -311,34 +327,19 @@ public class TabletInvertedIndex {
     }
 
     public Long getTabletIdByReplica(long replicaId) {
-        readLock();
-        try {
-            return replicaToTabletMap.get(replicaId);
-        } finally {
-            readUnlock();
-        }
+        return replicaToTabletMap.get(replicaId);
     }
 
     public TabletMeta getTabletMeta(long tabletId) {
-        readLock();
-        try {
-            return tabletMetaMap.get(tabletId);
-        } finally {
-            readUnlock();
-        }
+        return tabletMetaMap.get(tabletId);
     }
 
     public List<TabletMeta> getTabletMetaList(List<Long> tabletIdList) {
         List<TabletMeta> tabletMetaList = new ArrayList<>(tabletIdList.size());
-        readLock();
-        try {
-            for (Long tabletId : tabletIdList) {
-                tabletMetaList.add(tabletMetaMap.getOrDefault(tabletId, NOT_EXIST_TABLET_META));
-            }
-            return tabletMetaList;
-        } finally {
-            readUnlock();
+        for (Long tabletId : tabletIdList) {
+            tabletMetaList.add(tabletMetaMap.getOrDefault(tabletId, NOT_EXIST_TABLET_META));
         }
+        return tabletMetaList;
     }
 
     private boolean needSync(Replica replicaInFe, TTabletInfo backendTabletInfo) {
@@ -422,13 +423,14 @@ public class TabletInvertedIndex {
         if (GlobalStateMgr.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        Lock tabletLock = tabletLocks.get(tabletId);
+        tabletLock.lock();
         try {
             tabletMetaMap.putIfAbsent(tabletId, tabletMeta);
 
             LOG.debug("add tablet: {}", tabletId);
         } finally {
-            writeUnlock();
+            tabletLock.unlock();
         }
     }
 
@@ -493,23 +495,25 @@ public class TabletInvertedIndex {
         if (GlobalStateMgr.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        Lock tabletLock = tabletLocks.get(tabletId);
+        tabletLock.lock();
         try {
-            Map<Long, Replica> replicas = replicaMetaTable.rowMap().remove(tabletId);
+            Map<Long, Replica> replicas = replicaMetaTable.remove(tabletId);
             if (replicas != null) {
                 for (Replica replica : replicas.values()) {
                     replicaToTabletMap.remove(replica.getId());
                 }
 
                 for (long backendId : replicas.keySet()) {
-                    backingReplicaMetaTable.remove(backendId, tabletId);
+                    removeBackingReplica(backendId, tabletId);
                 }
+                replicaNum.addAndGet(-replicas.size());
             }
             tabletMetaMap.remove(tabletId);
 
             LOG.debug("delete tablet: {}", tabletId);
         } finally {
-            writeUnlock();
+            tabletLock.unlock();
         }
     }
 
@@ -517,16 +521,22 @@ public class TabletInvertedIndex {
         if (GlobalStateMgr.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        Lock tabletLock = tabletLocks.get(tabletId);
+        tabletLock.lock();
         try {
             Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            replicaMetaTable.put(tabletId, replica.getBackendId(), replica);
+            Replica oldReplica = replicaMetaTable.computeIfAbsent(tabletId, k -> new ConcurrentHashMap<>(4))
+                    .put(replica.getBackendId(), replica);
+            if (oldReplica == null) {
+                replicaNum.incrementAndGet();
+            }
             replicaToTabletMap.put(replica.getId(), tabletId);
-            backingReplicaMetaTable.put(replica.getBackendId(), tabletId, replica);
+            backingReplicaMetaTable.computeIfAbsent(replica.getBackendId(), k -> new ConcurrentHashMap<>())
+                    .put(tabletId, replica);
             LOG.debug("add replica {} of tablet {} in backend {}",
                     replica.getId(), tabletId, replica.getBackendId());
         } finally {
-            writeUnlock();
+            tabletLock.unlock();
         }
     }
 
@@ -534,14 +544,19 @@ public class TabletInvertedIndex {
         if (GlobalStateMgr.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        Lock tabletLock = tabletLocks.get(tabletId);
+        tabletLock.lock();
         try {
             Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            if (replicaMetaTable.containsRow(tabletId)) {
-                Replica replica = replicaMetaTable.remove(tabletId, backendId);
+            Map<Long, Replica> replicas = replicaMetaTable.get(tabletId);
+            if (replicas != null) {
+                Replica replica = replicas.remove(backendId);
+                if (replicas.isEmpty()) {
+                    replicaMetaTable.remove(tabletId);
+                }
                 replicaToTabletMap.remove(replica.getId());
-                replicaMetaTable.remove(tabletId, backendId);
-                backingReplicaMetaTable.remove(backendId, tabletId);
+                removeBackingReplica(backendId, tabletId);
+                replicaNum.decrementAndGet();
                 LOG.debug("delete replica {} of tablet {} in backend {}",
                         replica.getId(), tabletId, backendId);
             } else {
@@ -550,30 +565,29 @@ public class TabletInvertedIndex {
                 LOG.error("tablet[{}] contains no replica in inverted index", tabletId);
             }
         } finally {
-            writeUnlock();
+            tabletLock.unlock();
         }
     }
 
-    public Replica getReplica(long tabletId, long backendId) {
-        readLock();
-        try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId), tabletId);
-            return replicaMetaTable.get(tabletId, backendId);
-        } finally {
-            readUnlock();
+    private void removeBackingReplica(long backendId, long tabletId) {
+        Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
+        if (replicaMetaWithBackend != null) {
+            replicaMetaWithBackend.remove(tabletId);
         }
     }
 
+    public Replica getReplica(long tabletId, long backendId) {
+        Preconditions.checkState(tabletMetaMap.containsKey(tabletId), tabletId);
+        Map<Long, Replica> replicas = replicaMetaTable.get(tabletId);
+        return replicas == null ? null : replicas.get(backendId);
+    }
+
     public List<Replica> getReplicasByTabletId(long tabletId) {
-        readLock();
-        try {
-            if (replicaMetaTable.containsRow(tabletId)) {
-                return Lists.newArrayList(replicaMetaTable.row(tabletId).values());
-            }
-            return Lists.newArrayList();
-        } finally {
-            readUnlock();
+        Map<Long, Replica> replicas = replicaMetaTable.get(tabletId);
+        if (replicas != null) {
+            return Lists.newArrayList(replicas.values());
         }
+        return Lists.newArrayList();
     }
 
     /**
@@ -584,73 +598,50 @@ public class TabletInvertedIndex {
      * @return list of replica or null if backend not found
      */
     public List<Replica> getReplicasOnBackendByTabletIds(List<Long> tabletIds, long backendId) {
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                List<Replica> replicas = Lists.newArrayList();
-                for (long tabletId : tabletIds) {
-                    replicas.add(replicaMetaWithBackend.get(tabletId));
-                }
-                return replicas;
+        Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
+        if (replicaMetaWithBackend != null) {
+            List<Replica> replicas = Lists.newArrayList();
+            for (long tabletId : tabletIds) {
+                replicas.add(replicaMetaWithBackend.get(tabletId));
             }
-            return null;
-        } finally {
-            readUnlock();
+            return replicas;
         }
+        return null;
     }
 
     public List<Long> getTabletIdsByBackendId(long backendId) {
         List<Long> tabletIds = Lists.newArrayList();
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                tabletIds.addAll(replicaMetaWithBackend.keySet());
-            }
-        } finally {
-            readUnlock();
+        Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
+        if (replicaMetaWithBackend != null) {
+            tabletIds.addAll(replicaMetaWithBackend.keySet());
         }
         return tabletIds;
     }
 
     public List<Long> getTabletIdsByBackendIdAndStorageMedium(long backendId, TStorageMedium storageMedium) {
         List<Long> tabletIds = Lists.newArrayList();
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                tabletIds = replicaMetaWithBackend.keySet().stream().filter(
-                        id -> tabletMetaMap.get(id).getStorageMedium() == storageMedium).collect(Collectors.toList());
-            }
-        } finally {
-            readUnlock();
+        Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
+        if (replicaMetaWithBackend != null) {
+            tabletIds = replicaMetaWithBackend.keySet().stream().filter(id -> {
+                TabletMeta tabletMeta = tabletMetaMap.get(id);
+                return tabletMeta != null && tabletMeta.getStorageMedium() == storageMedium;
+            }).collect(Collectors.toList());
         }
         return tabletIds;
     }
 
     public long getTabletNumByBackendId(long backendId) {
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                return replicaMetaWithBackend.size();
-            }
-        } finally {
-            readUnlock();
+        Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
+        if (replicaMetaWithBackend != null) {
+            return replicaMetaWithBackend.size();
         }
         return 0;
     }
 
     public long getTabletNumByBackendIdAndPathHash(long backendId, long pathHash) {
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                return replicaMetaWithBackend.values().stream().filter(r -> r.getPathHash() == pathHash).count();
-            }
-        } finally {
-            readUnlock();
+        Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
+        if (replicaMetaWithBackend != null) {
+            return replicaMetaWithBackend.values().stream().filter(r -> r.getPathHash() == pathHash).count();
         }
         return 0;
     }
@@ -659,37 +650,47 @@ public class TabletInvertedIndex {
         Map<TStorageMedium, Long> replicaNumMap = Maps.newHashMap();
         long hddNum = 0;
         long ssdNum = 0;
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                for (long tabletId : replicaMetaWithBackend.keySet()) {
-                    if (tabletMetaMap.get(tabletId).getStorageMedium() == TStorageMedium.HDD) {
-                        hddNum++;
-                    } else {
-                        ssdNum++;
-                    }
+        Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.get(backendId);
+        if (replicaMetaWithBackend != null) {
+            for (long tabletId : replicaMetaWithBackend.keySet()) {
+                TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
+                if (tabletMeta == null) {
+                    continue;
+                }
+                if (tabletMeta.getStorageMedium() == TStorageMedium.HDD) {
+                    hddNum++;
+                } else {
+                    ssdNum++;
                 }
             }
-        } finally {
-            readUnlock();
         }
         replicaNumMap.put(TStorageMedium.HDD, hddNum);
         replicaNumMap.put(TStorageMedium.SSD, ssdNum);
         return replicaNumMap;
     }
 
+    public long getTabletNum() {
+        return tabletMetaMap.size();
+    }
+
+    public long getReplicaNum() {
+        return replicaNum.get();
+    }
+
+    /**
+     * Estimated heap usage of the index in bytes, the index is not persisted and can be a large part of FE heap.
+     */
+    public long estimateMemoryUsage() {
+        return getTabletNum() * TABLET_ENTRY_BYTES + getReplicaNum() * REPLICA_ENTRY_BYTES;
+    }
+
     // just for test
     public void clear() {
-        writeLock();
-        try {
-            tabletMetaMap.clear();
-            replicaToTabletMap.clear();
-            replicaMetaTable.clear();
-            backingReplicaMetaTable.clear();
-        } finally {
-            writeUnlock();
-        }
+        tabletMetaMap.clear();
+        replicaToTabletMap.clear();
+        replicaMetaTable.clear();
+        backingReplicaMetaTable.clear();
+        replicaNum.set(0);
     }
 }
 
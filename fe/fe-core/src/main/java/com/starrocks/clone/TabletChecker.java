@@ -44,12 +44,15 @@ import com.starrocks.catalog.LocalTablet;
 import com.starrocks.catalog.LocalTablet.TabletStatus;
 import com.starrocks.catalog.MaterializedIndex;
 import com.starrocks.catalog.MaterializedIndex.IndexExtState;
+import com.starrocks.catalog.MaterializedIndex.IndexState;
 import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Partition.PartitionState;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Table.TableType;
 import com.starrocks.catalog.Tablet;
+import com.starrocks.catalog.TabletInvertedIndex;
+import com.starrocks.catalog.TabletMeta;
 import com.starrocks.clone.TabletScheduler.AddResult;
 import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
@@ -62,15 +65,23 @@ import com.starrocks.system.SystemInfoService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /*
  * This checker is responsible for checking all unhealthy tablets.
  * It does not responsible for any scheduler of tablet repairing or balance
+ *
+ * Checking all tablets holds the db locks for a long time on large clusters, so all tablets are only checked
+ * every tablet_checker_full_check_interval_seconds as a safety net. In the rounds between, only the dirty tablets
+ * are checked, which are marked when the state of their replicas changes (tablet report, backend down/up or
+ * decommission, failed publish version), and the unhealthy tablets which are not repaired yet stay dirty.
  */
 public class TabletChecker extends LeaderDaemon {
     private static final Logger LOG = LogManager.getLogger(TabletChecker.class);
@@ -84,6 +95,30 @@ public class TabletChecker extends LeaderDaemon {
     // priority of replicas of partitions in this table will be set to VERY_HIGH if not healthy
     private com.google.common.collect.Table<Long, Long, Set<PrioPart>> prios = HashBasedTable.create();
 
+    // tablets to be checked in the next round
+    private final Set<Long> dirtyTabletIds = ConcurrentHashMap.newKeySet();
+    // backends whose tablets are all to be checked in the next round
+    private final Set<Long> dirtyBackendIds = ConcurrentHashMap.newKeySet();
+    private long lastFullCheckTimeMs = 0;
+
+    private enum CheckResult {
+        HEALTHY,
+        IN_SCHEDULER,
+        NOT_READY,
+        NO_HEALTHY_SOURCE,
+        ADDED,
+        ALREADY_IN,
+        LIMIT_EXCEED
+    }
+
+    private static class CheckCounter {
+        long totalTabletNum = 0;
+        long unhealthyTabletNum = 0;
+        long addToSchedulerTabletNum = 0;
+        long tabletInScheduler = 0;
+        long tabletNotReady = 0;
+    }
+
     // represent a partition which need to be repaired preferentially
     public static class PrioPart {
         public long partId;
@@ -178,7 +213,8 @@ public class TabletChecker extends LeaderDaemon {
     }
 
     /*
-     * For each cycle, TabletChecker will check all OlapTable's tablet.
+     * For each cycle, TabletChecker will check all OlapTable's tablet if the full check interval is reached,
+     * otherwise only the dirty tablets.
      * If a tablet is not healthy, a TabletInfo will be created and sent to TabletScheduler for repairing.
      */
     @Override
@@ -192,7 +228,18 @@ public class TabletChecker extends LeaderDaemon {
             return;
         }
 
-        checkAllTablets();
+        long nowMs = System.currentTimeMillis();
+        if (nowMs - lastFullCheckTimeMs >= Config.tablet_checker_full_check_interval_seconds * 1000L) {
+            // the tablets marked dirty before are covered by the full check
+            dirtyBackendIds.clear();
+            dirtyTabletIds.clear();
+            if (checkAllTablets()) {
+                lastFullCheckTimeMs = nowMs;
+            }
+        } else {
+            checkTabletsOnlyInPrios();
+            checkDirtyTablets();
+        }
 
         removePriosIfNecessary();
 
@@ -203,18 +250,62 @@ public class TabletChecker extends LeaderDaemon {
     /**
      * Check the manually repaired table/partition first,
      * so that they can be scheduled for repair at first place.
+     *
+     * @return false if the check is stopped because the tablet scheduler is full
+     */
+    private boolean checkAllTablets() {
+        boolean isPriosFinished = checkTabletsOnlyInPrios();
+        return checkTabletsNotInPrios() && isPriosFinished;
+    }
+
+    private boolean checkTabletsOnlyInPrios() {
+        return doCheck(true);
+    }
+
+    private boolean checkTabletsNotInPrios() {
+        return doCheck(false);
+    }
+
+    /**
+     * Mark the tablet to be checked in the next round, called when the state of its replicas changes.
      */
-    private void checkAllTablets() {
-        checkTabletsOnlyInPrios();
-        checkTabletsNotInPrios();
+    public void markTabletDirty(long tabletId) {
+        if (globalStateMgr.isLeader()) {
+            dirtyTabletIds.add(tabletId);
+        }
     }
 
-    private void checkTabletsOnlyInPrios() {
-        doCheck(true);
+    public void markTabletsDirty(Collection<Long> tabletIds) {
+        if (globalStateMgr.isLeader()) {
+            dirtyTabletIds.addAll(tabletIds);
+        }
     }
 
-    private void checkTabletsNotInPrios() {
-        doCheck(false);
+    /**
+     * Mark all tablets on the backend to be checked in the next round, called when the backend is down, up,
+     * decommissioned or dropped.
+     */
+    public void markBackendDirty(long backendId) {
+        if (globalStateMgr.isLeader()) {
+            dirtyBackendIds.add(backendId);
+        }
+    }
+
+    /**
+     * Mark all tablets of the partition to be checked in the next round, called when its replication num changes.
+     */
+    public void markPartitionDirty(Partition partition) {
+        if (globalStateMgr.isLeader()) {
+            for (MaterializedIndex idx : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
+                for (Tablet tablet : idx.getTablets()) {
+                    dirtyTabletIds.add(tablet.getId());
+                }
+            }
+        }
+    }
+
+    public int getDirtyTabletNum() {
+        return dirtyTabletIds.size();
     }
 
     /**
@@ -239,13 +330,10 @@ public class TabletChecker extends LeaderDaemon {
         }
     }
 
-    private void doCheck(boolean checkInPrios) {
+    private boolean doCheck(boolean checkInPrios) {
         long start = System.nanoTime();
-        long totalTabletNum = 0;
-        long unhealthyTabletNum = 0;
-        long addToSchedulerTabletNum = 0;
-        long tabletInScheduler = 0;
-        long tabletNotReady = 0;
+        CheckCounter counter = new CheckCounter();
+        boolean isFinished = true;
 
         long lockTotalTime = 0;
         long lockStart;
@@ -327,57 +415,17 @@ public class TabletChecker extends LeaderDaemon {
                          */
                         for (MaterializedIndex idx : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
                             for (Tablet tablet : idx.getTablets()) {
-                                LocalTablet localTablet = (LocalTablet) tablet;
-                                totalTabletNum++;
-
-                                if (tabletScheduler.containsTablet(tablet.getId())) {
-                                    tabletInScheduler++;
-                                    continue;
-                                }
-
-                                Pair<TabletStatus, TabletSchedCtx.Priority> statusWithPrio =
-                                        localTablet.getHealthStatusWithPriority(
-                                                infoService,
-                                                partition.getVisibleVersion(),
-                                                replicaNum,
-                                                aliveBeIdsInCluster);
-
-                                if (statusWithPrio.first == TabletStatus.HEALTHY) {
-                                    // Only set last status check time when status is healthy.
-                                    localTablet.setLastStatusCheckTime(System.currentTimeMillis());
-                                    continue;
-                                } else if (isPartitionInPrios) {
-                                    statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
+                                CheckResult result = checkTablet(db, olapTbl, partition, idx, (LocalTablet) tablet,
+                                        replicaNum, aliveBeIdsInCluster, isPartitionInPrios, counter);
+                                if (result != CheckResult.HEALTHY && result != CheckResult.IN_SCHEDULER
+                                        && isPartitionInPrios) {
                                     prioPartIsHealthy = false;
                                 }
-
-                                unhealthyTabletNum++;
-
-                                if (!localTablet.readyToBeRepaired(statusWithPrio.first, statusWithPrio.second)) {
-                                    tabletNotReady++;
-                                    continue;
-                                }
-
-                                TabletSchedCtx tabletCtx = new TabletSchedCtx(
-                                        TabletSchedCtx.Type.REPAIR,
-                                        db.getId(), olapTbl.getId(),
-                                        partition.getId(), idx.getId(), tablet.getId(),
-                                        System.currentTimeMillis());
-                                // the tablet status will be set again when being scheduled
-                                tabletCtx.setTabletStatus(statusWithPrio.first);
-                                tabletCtx.setOrigPriority(statusWithPrio.second);
-                                tabletCtx.setTablet(localTablet);
-                                if (!tryChooseSrcBeforeSchedule(tabletCtx)) {
-                                    continue;
-                                }
-
-                                AddResult res = tabletScheduler.addTablet(tabletCtx, false /* not force */);
-                                if (res == AddResult.LIMIT_EXCEED) {
+                                if (result == CheckResult.LIMIT_EXCEED) {
                                     LOG.info("number of scheduling tablets in tablet scheduler"
                                             + " exceed to limit. stop tablet checker");
+                                    isFinished = false;
                                     break DATABASE;
-                                } else if (res == AddResult.ADDED) {
-                                    addToSchedulerTabletNum++;
                                 }
                             }
                         } // indices
@@ -401,16 +449,220 @@ public class TabletChecker extends LeaderDaemon {
         long cost = (System.nanoTime() - start) / 1000000;
         lockTotalTime = lockTotalTime / 1000000;
 
-        stat.counterTabletCheckCostMs.addAndGet(cost);
-        stat.counterTabletChecked.addAndGet(totalTabletNum);
-        stat.counterUnhealthyTabletNum.addAndGet(unhealthyTabletNum);
-        stat.counterTabletAddToBeScheduled.addAndGet(addToSchedulerTabletNum);
+        updateStat(counter, cost);
 
         LOG.info("finished to check tablets. checkInPrios: {}, " +
                         "unhealthy/total/added/in_sched/not_ready: {}/{}/{}/{}/{}, " +
                         "cost: {} ms, in lock time: {} ms",
-                checkInPrios, unhealthyTabletNum, totalTabletNum, addToSchedulerTabletNum,
-                tabletInScheduler, tabletNotReady, cost, lockTotalTime);
+                checkInPrios, counter.unhealthyTabletNum, counter.totalTabletNum, counter.addToSchedulerTabletNum,
+                counter.tabletInScheduler, counter.tabletNotReady, cost, lockTotalTime);
+        return isFinished;
+    }
+
+    /**
+     * Check the tablets marked dirty since the last round, the tablets are grouped by db so that
+     * each db lock is acquired once, and released every tablet_checker_partition_batch_num tablets.
+     * The tablets of tables in prios are left to checkTabletsOnlyInPrios.
+     */
+    private void checkDirtyTablets() {
+        long start = System.nanoTime();
+        TabletInvertedIndex invertedIndex = GlobalStateMgr.getCurrentInvertedIndex();
+        Set<Long> tabletIds = Sets.newHashSet();
+        for (Iterator<Long> iter = dirtyBackendIds.iterator(); iter.hasNext(); ) {
+            tabletIds.addAll(invertedIndex.getTabletIdsByBackendId(iter.next()));
+            iter.remove();
+        }
+        for (Iterator<Long> iter = dirtyTabletIds.iterator(); iter.hasNext(); ) {
+            tabletIds.add(iter.next());
+            iter.remove();
+        }
+        if (tabletIds.isEmpty()) {
+            return;
+        }
+
+        List<Pair<Long, TabletMeta>> tablets = Lists.newArrayListWithCapacity(tabletIds.size());
+        for (long tabletId : tabletIds) {
+            TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+            if (tabletMeta != null && !tabletMeta.isLakeTablet()) {
+                tablets.add(Pair.create(tabletId, tabletMeta));
+            }
+        }
+        tablets.sort(Comparator.comparingLong((Pair<Long, TabletMeta> p) -> p.second.getDbId())
+                .thenComparingLong(p -> p.second.getTableId())
+                .thenComparingLong(p -> p.second.getPartitionId()));
+
+        CheckCounter counter = new CheckCounter();
+        List<Long> aliveBeIdsInCluster = infoService.getBackendIds(true);
+        int from = 0;
+        while (from < tablets.size()) {
+            long dbId = tablets.get(from).second.getDbId();
+            int to = from;
+            while (to < tablets.size() && tablets.get(to).second.getDbId() == dbId) {
+                to++;
+            }
+            int checked = checkDirtyTabletsOfDb(dbId, tablets.subList(from, to), aliveBeIdsInCluster, counter);
+            if (from + checked < to) {
+                LOG.info("number of scheduling tablets in tablet scheduler exceed to limit. stop tablet checker");
+                for (Pair<Long, TabletMeta> tablet : tablets.subList(from + checked, tablets.size())) {
+                    dirtyTabletIds.add(tablet.first);
+                }
+                break;
+            }
+            from = to;
+        }
+
+        long cost = (System.nanoTime() - start) / 1000000;
+        updateStat(counter, cost);
+
+        LOG.info("finished to check dirty tablets. unhealthy/total/added/in_sched/not_ready: {}/{}/{}/{}/{}, " +
+                        "cost: {} ms", counter.unhealthyTabletNum, counter.totalTabletNum,
+                counter.addToSchedulerTabletNum, counter.tabletInScheduler, counter.tabletNotReady, cost);
+    }
+
+    /**
+     * @return number of tablets checked, less than the given tablets if the tablet scheduler is full
+     */
+    private int checkDirtyTabletsOfDb(long dbId, List<Pair<Long, TabletMeta>> tablets,
+                                      List<Long> aliveBeIdsInCluster, CheckCounter counter) {
+        Database db = globalStateMgr.getDbIncludeRecycleBin(dbId);
+        if (db == null || db.isInfoSchemaDb()) {
+            return tablets.size();
+        }
+
+        int batchNum = Config.tablet_checker_partition_batch_num;
+        int checked = 0;
+        db.readLock();
+        try {
+            for (Pair<Long, TabletMeta> tabletWithMeta : tablets) {
+                checked++;
+                if (checked % batchNum == 0) {
+                    // release lock, so that lock can be acquired by other threads.
+                    db.readUnlock();
+                    db.readLock();
+                }
+                long tabletId = tabletWithMeta.first;
+                TabletMeta tabletMeta = tabletWithMeta.second;
+                Table table = globalStateMgr.getTableIncludeRecycleBin(db, tabletMeta.getTableId());
+                if (table == null || !table.needSchedule(false) || table.isCloudNativeTableOrMaterializedView()) {
+                    continue;
+                }
+                if (isTableInPrios(dbId, table.getId())) {
+                    dirtyTabletIds.add(tabletId);
+                    continue;
+                }
+                OlapTable olapTbl = (OlapTable) table;
+                Partition partition = globalStateMgr.getPartitionIncludeRecycleBin(olapTbl,
+                        tabletMeta.getPartitionId());
+                if (partition == null) {
+                    continue;
+                }
+                if (partition.getState() != PartitionState.NORMAL) {
+                    // check it again when the alter job is finished
+                    dirtyTabletIds.add(tabletId);
+                    continue;
+                }
+                short replicaNum = globalStateMgr.getReplicationNumIncludeRecycleBin(olapTbl.getPartitionInfo(),
+                        partition.getId());
+                if (replicaNum == (short) -1) {
+                    continue;
+                }
+                MaterializedIndex idx = partition.getIndex(tabletMeta.getIndexId());
+                if (idx == null || idx.getState() == IndexState.SHADOW) {
+                    continue;
+                }
+                Tablet tablet = idx.getTablet(tabletId);
+                if (tablet == null) {
+                    continue;
+                }
+
+                CheckResult result = checkTablet(db, olapTbl, partition, idx, (LocalTablet) tablet, replicaNum,
+                        aliveBeIdsInCluster, false, counter);
+                if (result == CheckResult.LIMIT_EXCEED) {
+                    return checked;
+                }
+            }
+        } finally {
+            db.readUnlock();
+        }
+        return tablets.size();
+    }
+
+    /**
+     * Check the health of the tablet and add it to the tablet scheduler if it needs to be repaired.
+     * Unhealthy tablets which are not added stay dirty, so that they are checked again in the next round.
+     * Should be called with the db read lock held.
+     */
+    private CheckResult checkTablet(Database db, OlapTable olapTbl, Partition partition, MaterializedIndex idx,
+                                    LocalTablet localTablet, short replicaNum, List<Long> aliveBeIdsInCluster,
+                                    boolean isPartitionInPrios, CheckCounter counter) {
+        CheckResult result = doCheckTablet(db, olapTbl, partition, idx, localTablet, replicaNum,
+                aliveBeIdsInCluster, isPartitionInPrios, counter);
+        if (result != CheckResult.HEALTHY && result != CheckResult.ADDED) {
+            dirtyTabletIds.add(localTablet.getId());
+        }
+        return result;
+    }
+
+    private CheckResult doCheckTablet(Database db, OlapTable olapTbl, Partition partition, MaterializedIndex idx,
+                                      LocalTablet localTablet, short replicaNum, List<Long> aliveBeIdsInCluster,
+                                      boolean isPartitionInPrios, CheckCounter counter) {
+        counter.totalTabletNum++;
+
+        if (tabletScheduler.containsTablet(localTablet.getId())) {
+            counter.tabletInScheduler++;
+            return CheckResult.IN_SCHEDULER;
+        }
+
+        Pair<TabletStatus, TabletSchedCtx.Priority> statusWithPrio =
+                localTablet.getHealthStatusWithPriority(
+                        infoService,
+                        partition.getVisibleVersion(),
+                        replicaNum,
+                        aliveBeIdsInCluster);
+
+        if (statusWithPrio.first == TabletStatus.HEALTHY) {
+            // Only set last status check time when status is healthy.
+            localTablet.setLastStatusCheckTime(System.currentTimeMillis());
+            return CheckResult.HEALTHY;
+        } else if (isPartitionInPrios) {
+            statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
+        }
+
+        counter.unhealthyTabletNum++;
+
+        if (!localTablet.readyToBeRepaired(statusWithPrio.first, statusWithPrio.second)) {
+            counter.tabletNotReady++;
+            return CheckResult.NOT_READY;
+        }
+
+        TabletSchedCtx tabletCtx = new TabletSchedCtx(
+                TabletSchedCtx.Type.REPAIR,
+                db.getId(), olapTbl.getId(),
+                partition.getId(), idx.getId(), localTablet.getId(),
+                System.currentTimeMillis());
+        // the tablet status will be set again when being scheduled
+        tabletCtx.setTabletStatus(statusWithPrio.first);
+        tabletCtx.setOrigPriority(statusWithPrio.second);
+        tabletCtx.setTablet(localTablet);
+        if (!tryChooseSrcBeforeSchedule(tabletCtx)) {
+            return CheckResult.NO_HEALTHY_SOURCE;
+        }
+
+        AddResult res = tabletScheduler.addTablet(tabletCtx, false /* not force */);
+        if (res == AddResult.LIMIT_EXCEED) {
+            return CheckResult.LIMIT_EXCEED;
+        } else if (res == AddResult.ADDED) {
+            counter.addToSchedulerTabletNum++;
+            return CheckResult.ADDED;
+        }
+        return CheckResult.ALREADY_IN;
+    }
+
+    private void updateStat(CheckCounter counter, long costMs) {
+        stat.counterTabletCheckCostMs.addAndGet(costMs);
+        stat.counterTabletChecked.addAndGet(counter.totalTabletNum);
+        stat.counterUnhealthyTabletNum.addAndGet(counter.unhealthyTabletNum);
+        stat.counterTabletAddToBeScheduled.addAndGet(counter.addToSchedulerTabletNum);
     }
 
     private boolean isTableInPrios(long dbId, long tblId) {
@@ -585,7 +585,7 @@ public class TabletSchedCtx implements Comparable<TabletSchedCtx> {
 
             long srcPathHash;
             try {
-                srcPathHash = slot.takeSlot(srcReplica.getPathHash());
+                srcPathHash = slot.takeSlot(srcReplica.getPathHash(), getTabletSize());
             } catch (SchedException e) {
                 LOG.info("take slot from replica {}(belonged backend {}) failed, {}", srcReplica.getId(),
                         srcReplica.getBackendId(), e.getMessage());
@@ -669,7 +669,7 @@ public class TabletSchedCtx implements Comparable<TabletSchedCtx> {
                     + chosenReplica.getBackendId());
         }
 
-        long destPathHash = slot.takeSlot(chosenReplica.getPathHash());
+        long destPathHash = slot.takeSlot(chosenReplica.getPathHash(), getTabletSize());
         if (destPathHash == -1) {
             throw new SchedException(Status.SCHEDULE_RETRY, "path busy, wait for next round");
         }
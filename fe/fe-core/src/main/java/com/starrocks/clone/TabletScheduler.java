@@ -41,6 +41,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.starrocks.catalog.CatalogRecycleBin;
 import com.starrocks.catalog.ColocateTableIndex;
 import com.starrocks.catalog.ColocateTableIndex.GroupId;
@@ -64,6 +65,7 @@ import com.starrocks.clone.TabletSchedCtx.Type;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.Config;
 import com.starrocks.common.Pair;
+import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.util.LeaderDaemon;
 import com.starrocks.persist.ReplicaPersistInfo;
 import com.starrocks.server.GlobalStateMgr;
@@ -82,11 +84,15 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -121,6 +127,12 @@ public class TabletScheduler extends LeaderDaemon {
 
     private static final long CLUSTER_LOAD_STATISTICS_LOGGING_INTERVAL_MS = 60000; // 1min
 
+    // the clone bandwidth of a path can be reserved for at most this long ahead, see PathSlot.takeSlot()
+    private static final long CLONE_BANDWIDTH_BURST_MS = 60000; // 1min
+
+    // all balance tablets are scheduled in the same shard, as the rebalancer is not thread safe
+    private static final long BALANCE_SHARD_KEY = -1L;
+
     /**
      * If the number of tablets which have finished scheduling is less than the
      * (total number of tablets per bucket in colocate group) * COLOCATE_BACKEND_RESET_RATIO,
@@ -163,6 +175,9 @@ public class TabletScheduler extends LeaderDaemon {
     private TabletSchedulerStat stat;
     private Rebalancer rebalancer;
 
+    // schedule the tablets of different tables in parallel
+    private ExecutorService scheduleExecutor;
+
     // result of adding a tablet to pendingTablets
     public enum AddResult {
         ADDED, // success to add
@@ -483,66 +498,7 @@ public class TabletScheduler extends LeaderDaemon {
         }
 
         AgentBatchTask batchTask = new AgentBatchTask();
-        for (TabletSchedCtx tabletCtx : currentBatch) {
-            try {
-                // reset errMsg for new scheduler round
-                tabletCtx.setErrMsg(null);
-                scheduleTablet(tabletCtx, batchTask);
-            } catch (SchedException e) {
-                tabletCtx.increaseFailedSchedCounter();
-                tabletCtx.setErrMsg(e.getMessage());
-
-                if (e.getStatus() == Status.SCHEDULE_RETRY) {
-                    LOG.debug("scheduling for tablet[{}] failed, type: {}, reason: {}",
-                            tabletCtx.getTabletId(), tabletCtx.getType().name(), e.getMessage());
-                    if (tabletCtx.getType() == Type.BALANCE) {
-                        // if balance is disabled, remove this tablet
-                        if (Config.tablet_sched_disable_balance) {
-                            finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED,
-                                    "disable balance and " + e.getMessage());
-                        } else {
-                            // remove the balance task if it fails to be scheduled many times
-                            if (tabletCtx.getFailedSchedCounter() > 10) {
-                                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED,
-                                        "schedule failed too many times and " + e.getMessage());
-                            } else {
-                                // we must release resource it currently holds, and be scheduled again
-                                tabletCtx.releaseResource(this);
-                                // adjust priority to avoid some higher priority always be the first in pendingTablets
-                                stat.counterTabletScheduledFailed.incrementAndGet();
-                                dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
-                            }
-                        }
-                    } else {
-                        // we must release resource it currently holds, and be scheduled again
-                        tabletCtx.releaseResource(this);
-                        // adjust priority to avoid some higher priority always be the first in pendingTablets
-                        stat.counterTabletScheduledFailed.incrementAndGet();
-                        dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
-                    }
-                } else if (e.getStatus() == Status.FINISHED) {
-                    // schedule redundant tablet will throw this exception
-                    stat.counterTabletScheduledSucceeded.incrementAndGet();
-                    finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.FINISHED, e.getMessage());
-                } else {
-                    Preconditions.checkState(e.getStatus() == Status.UNRECOVERABLE, e.getStatus());
-                    // discard
-                    stat.counterTabletScheduledDiscard.incrementAndGet();
-                    finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getMessage());
-                }
-                continue;
-            } catch (Exception e) {
-                LOG.warn("got unexpected exception, discard this schedule. tablet: {}",
-                        tabletCtx.getTabletId(), e);
-                stat.counterTabletScheduledFailed.incrementAndGet();
-                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.UNEXPECTED, e.getMessage());
-                continue;
-            }
-
-            Preconditions.checkState(tabletCtx.getState() == TabletSchedCtx.State.RUNNING);
-            stat.counterTabletScheduledSucceeded.incrementAndGet();
-            addToRunningTablets(tabletCtx);
-        }
+        scheduleTablets(currentBatch, batchTask);
 
         // must send task after adding tablet info to runningTablets.
         for (AgentTask task : batchTask.getAllTasks()) {
@@ -559,6 +515,128 @@ public class TabletScheduler extends LeaderDaemon {
         stat.counterTabletScheduleCostMs.addAndGet(cost);
     }
 
+    /**
+     * Tablets are sharded by table, the shards are scheduled in parallel and the tablets in a shard are scheduled
+     * one by one in the order of priority. The destination of a tablet is chosen while scheduling it with the
+     * table lock held, and the per path slots are taken atomically, so shards of different tables don't conflict.
+     */
+    private void scheduleTablets(List<TabletSchedCtx> tabletCtxs, AgentBatchTask batchTask) {
+        Map<Long, List<TabletSchedCtx>> shards = Maps.newLinkedHashMap();
+        for (TabletSchedCtx tabletCtx : tabletCtxs) {
+            long shardKey = tabletCtx.getType() == Type.BALANCE ? BALANCE_SHARD_KEY : tabletCtx.getTblId();
+            shards.computeIfAbsent(shardKey, k -> Lists.newArrayList()).add(tabletCtx);
+        }
+        if (shards.size() <= 1 || Config.tablet_sched_schedule_thread_num <= 1) {
+            for (TabletSchedCtx tabletCtx : tabletCtxs) {
+                scheduleTabletAndHandleResult(tabletCtx, batchTask);
+            }
+            return;
+        }
+
+        if (scheduleExecutor == null) {
+            scheduleExecutor = ThreadPoolManager.newDaemonFixedThreadPool(Config.tablet_sched_schedule_thread_num,
+                    Integer.MAX_VALUE, "tablet-scheduler-worker", true);
+        }
+        List<List<TabletSchedCtx>> shardList = Lists.newArrayList(shards.values());
+        List<Future<AgentBatchTask>> futures = Lists.newArrayListWithCapacity(shardList.size());
+        for (List<TabletSchedCtx> shard : shardList) {
+            futures.add(scheduleExecutor.submit(() -> {
+                AgentBatchTask shardBatchTask = new AgentBatchTask();
+                for (TabletSchedCtx tabletCtx : shard) {
+                    scheduleTabletAndHandleResult(tabletCtx, shardBatchTask);
+                }
+                return shardBatchTask;
+            }));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                // the tablets scheduled by the shard are already in runningTablets, so wait for its tasks
+                // even if interrupted, the interrupt status is restored after waiting
+                Uninterruptibles.getUninterruptibly(futures.get(i)).getAllTasks().forEach(batchTask::addTask);
+            } catch (ExecutionException e) {
+                LOG.warn("failed to schedule tablets", e);
+                finalizeUnsentTablets(shardList.get(i), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The clone tasks of the tablets are lost, finalize the tablets which are running or not handled yet,
+     * so that they are released and can be added again by the tablet checker.
+     */
+    private void finalizeUnsentTablets(List<TabletSchedCtx> tabletCtxs, String reason) {
+        for (TabletSchedCtx tabletCtx : tabletCtxs) {
+            if (containsTablet(tabletCtx.getTabletId()) && !isInPendingTablets(tabletCtx)) {
+                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.UNEXPECTED, "failed to schedule: " + reason);
+            }
+        }
+    }
+
+    private synchronized boolean isInPendingTablets(TabletSchedCtx tabletCtx) {
+        return pendingTablets.contains(tabletCtx);
+    }
+
+    private void scheduleTabletAndHandleResult(TabletSchedCtx tabletCtx, AgentBatchTask batchTask) {
+        try {
+            // reset errMsg for new scheduler round
+            tabletCtx.setErrMsg(null);
+            scheduleTablet(tabletCtx, batchTask);
+        } catch (SchedException e) {
+            tabletCtx.increaseFailedSchedCounter();
+            tabletCtx.setErrMsg(e.getMessage());
+
+            if (e.getStatus() == Status.SCHEDULE_RETRY) {
+                LOG.debug("scheduling for tablet[{}] failed, type: {}, reason: {}",
+                        tabletCtx.getTabletId(), tabletCtx.getType().name(), e.getMessage());
+                if (tabletCtx.getType() == Type.BALANCE) {
+                    // if balance is disabled, remove this tablet
+                    if (Config.tablet_sched_disable_balance) {
+                        finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED,
+                                "disable balance and " + e.getMessage());
+                    } else {
+                        // remove the balance task if it fails to be scheduled many times
+                        if (tabletCtx.getFailedSchedCounter() > 10) {
+                            finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED,
+                                    "schedule failed too many times and " + e.getMessage());
+                        } else {
+                            // we must release resource it currently holds, and be scheduled again
+                            tabletCtx.releaseResource(this);
+                            // adjust priority to avoid some higher priority always be the first in pendingTablets
+                            stat.counterTabletScheduledFailed.incrementAndGet();
+                            dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
+                        }
+                    }
+                } else {
+                    // we must release resource it currently holds, and be scheduled again
+                    tabletCtx.releaseResource(this);
+                    // adjust priority to avoid some higher priority always be the first in pendingTablets
+                    stat.counterTabletScheduledFailed.incrementAndGet();
+                    dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
+                }
+            } else if (e.getStatus() == Status.FINISHED) {
+                // schedule redundant tablet will throw this exception
+                stat.counterTabletScheduledSucceeded.incrementAndGet();
+                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.FINISHED, e.getMessage());
+            } else {
+                Preconditions.checkState(e.getStatus() == Status.UNRECOVERABLE, e.getStatus());
+                // discard
+                stat.counterTabletScheduledDiscard.incrementAndGet();
+                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getMessage());
+            }
+            return;
+        } catch (Exception e) {
+            LOG.warn("got unexpected exception, discard this schedule. tablet: {}",
+                    tabletCtx.getTabletId(), e);
+            stat.counterTabletScheduledFailed.incrementAndGet();
+            finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.UNEXPECTED, e.getMessage());
+            return;
+        }
+
+        Preconditions.checkState(tabletCtx.getState() == TabletSchedCtx.State.RUNNING);
+        stat.counterTabletScheduledSucceeded.incrementAndGet();
+        addToRunningTablets(tabletCtx);
+    }
+
     private synchronized void addToRunningTablets(TabletSchedCtx tabletCtx) {
         runningTablets.put(tabletCtx.getTabletId(), tabletCtx);
     }
@@ -599,7 +677,9 @@ public class TabletScheduler extends LeaderDaemon {
         }
 
         Pair<TabletStatus, TabletSchedCtx.Priority> statusPair;
-        db.writeLock();
+        List<Long> lockedTableIds = Config.enable_table_level_lock
+                ? Collections.singletonList(tabletCtx.getTblId()) : null;
+        writeLockForSchedule(db, lockedTableIds);
         try {
             OlapTable tbl = (OlapTable) globalStateMgr.getTableIncludeRecycleBin(db, tabletCtx.getTblId());
             if (tbl == null) {
@@ -709,7 +789,25 @@ public class TabletScheduler extends LeaderDaemon {
 
             handleTabletByTypeAndStatus(statusPair.first, tabletCtx, batchTask);
         } finally {
+            writeUnlockForSchedule(db, lockedTableIds);
+        }
+    }
+
+    // With table level lock, only the table of the tablet is locked, so tablets of different tables in the
+    // same db can be scheduled in parallel. Otherwise lock the whole db.
+    private static void writeLockForSchedule(Database db, List<Long> tableIds) {
+        if (tableIds == null) {
+            db.writeLock();
+        } else {
+            db.writeLockTables(tableIds);
+        }
+    }
+
+    private static void writeUnlockForSchedule(Database db, List<Long> tableIds) {
+        if (tableIds == null) {
             db.writeUnlock();
+        } else {
+            db.writeUnlockTables(tableIds);
         }
     }
 
@@ -1287,7 +1385,7 @@ public class TabletScheduler extends LeaderDaemon {
                 continue;
             }
 
-            if (slot.takeSlot(rootPathLoadStatistic.getPathHash()) != -1) {
+            if (slot.takeSlot(rootPathLoadStatistic.getPathHash(), tabletCtx.getTabletSize()) != -1) {
                 return rootPathLoadStatistic;
             }
         }
@@ -1704,6 +1802,16 @@ public class TabletScheduler extends LeaderDaemon {
          * If the specified 'pathHash' has available slot, decrease the slot number and return this path hash
          */
         public synchronized long takeSlot(long pathHash) throws SchedException {
+            return takeSlot(pathHash, 0);
+        }
+
+        /**
+         * Same as takeSlot(pathHash), and if tablet_sched_clone_bandwidth_per_path_mb is set, the bandwidth of the
+         * path for copying 'copySize' bytes is also reserved. The path is throttled if its bandwidth is already
+         * reserved for more than CLONE_BANDWIDTH_BURST_MS ahead, so a disk is not flooded by clone tasks no matter
+         * how many slots it has.
+         */
+        public synchronized long takeSlot(long pathHash, long copySize) throws SchedException {
             if (pathHash == -1) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("path hash is not set.", new Exception());
@@ -1719,6 +1827,15 @@ public class TabletScheduler extends LeaderDaemon {
             if (slot.available <= 0) {
                 return -1;
             }
+            long bandwidthBytesPerSec = Config.tablet_sched_clone_bandwidth_per_path_mb * 1024L * 1024L;
+            if (bandwidthBytesPerSec > 0 && copySize > 0) {
+                long nowMs = System.currentTimeMillis();
+                long reserveStartMs = Math.max(nowMs, slot.bandwidthReservedUntilMs);
+                if (reserveStartMs - nowMs > CLONE_BANDWIDTH_BURST_MS) {
+                    return -1;
+                }
+                slot.bandwidthReservedUntilMs = reserveStartMs + copySize * 1000L / bandwidthBytesPerSec;
+            }
             slot.available--;
             return pathHash;
         }
@@ -1790,6 +1907,9 @@ public class TabletScheduler extends LeaderDaemon {
         public long totalCopySize = 0;
         public long totalCopyTimeMs = 0;
 
+        // the bandwidth of the path is reserved by the taken slots until this time
+        public long bandwidthReservedUntilMs = 0;
+
         public Slot(int total) {
             this.total = total;
             this.available = total;
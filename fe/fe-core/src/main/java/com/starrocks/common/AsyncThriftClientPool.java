@@ -0,0 +1,445 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common;
+
+import com.starrocks.thrift.TNetworkAddress;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.thrift.TApplicationException;
+import org.apache.thrift.TException;
+import org.apache.thrift.TServiceClient;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TProtocolUtil;
+import org.apache.thrift.protocol.TType;
+import org.apache.thrift.transport.TMemoryBuffer;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking thrift client pool. The calls to an endpoint are pipelined on a few connections which are shared
+ * by all the callers and driven by a small number of event loop threads, so a fan-out to many endpoints costs
+ * neither a thread nor a socket per outstanding call.
+ * <p>
+ * The servers use the unframed binary protocol and process the requests of a connection one by one, so the
+ * responses are matched with the calls in the order they are sent. Each request carries the next sequence id
+ * of its connection, and a response which doesn't echo the sequence id of the oldest pending call closes the
+ * connection. A call which times out breaks the order too, so its connection is closed and all the calls
+ * pending on it fail.
+ * <p>
+ * The requests and responses are serialized by the generated thrift client, e.g.
+ * <pre>
+ *     pool.call(address, client -> client.send_submit_tasks(tasks), BackendService.Client::recv_submit_tasks)
+ * </pre>
+ * The returned futures are completed in the event loop, callers must not block in their callbacks.
+ */
+public class AsyncThriftClientPool<C extends TServiceClient> {
+    private static final Logger LOG = LogManager.getLogger(AsyncThriftClientPool.class);
+
+    @FunctionalInterface
+    public interface Sender<C> {
+        void send(C client) throws TException;
+    }
+
+    @FunctionalInterface
+    public interface Receiver<C, R> {
+        R receive(C client) throws TException;
+    }
+
+    private final Constructor<C> clientConstructor;
+    private final int timeoutMs;
+    private final int maxConnectionsPerEndpoint;
+    private final Bootstrap bootstrap;
+    private final Map<TNetworkAddress, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public AsyncThriftClientPool(String className, int numEventLoops, int maxConnectionsPerEndpoint, int timeoutMs) {
+        try {
+            Class<C> clientClass = (Class<C>) Class.forName("com.starrocks.thrift." + className + "$Client");
+            this.clientConstructor = clientClass.getConstructor(TProtocol.class, TProtocol.class);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("unknown thrift service " + className, e);
+        }
+        this.timeoutMs = timeoutMs;
+        this.maxConnectionsPerEndpoint = Math.max(1, maxConnectionsPerEndpoint);
+        // the event loop threads are started on the first call
+        this.bootstrap = new Bootstrap()
+                .group(new NioEventLoopGroup(numEventLoops, new DefaultThreadFactory("async-thrift-" + className, true)))
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeoutMs);
+    }
+
+    /**
+     * Send the request written by the sender to the address, and read the response by the receiver.
+     *
+     * @return the future of the result of the receiver, it fails if the call can't be sent, the connection
+     * is broken or the response isn't received in time
+     */
+    public <R> CompletableFuture<R> call(TNetworkAddress address, Sender<C> sender, Receiver<C, R> receiver) {
+        PendingCall<R> call;
+        try {
+            call = new PendingCall<>(sender, receiver);
+        } catch (TException | ReflectiveOperationException | RuntimeException e) {
+            CompletableFuture<R> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+        endpoints.computeIfAbsent(address, Endpoint::new).pick().send(call);
+        return call.future;
+    }
+
+    /**
+     * Close the connections to the address, e.g. when the backend is dropped, the pending calls fail.
+     */
+    public void removeEndpoint(TNetworkAddress address) {
+        Endpoint endpoint = endpoints.remove(address);
+        if (endpoint != null) {
+            endpoint.closeAll();
+        }
+    }
+
+    public int getNumConnections(TNetworkAddress address) {
+        Endpoint endpoint = endpoints.get(address);
+        return endpoint == null ? 0 : endpoint.getNumConnections();
+    }
+
+    private class PendingCall<R> {
+        private final TMemoryInputTransport input = new TMemoryInputTransport();
+        private final TMemoryBuffer output = new TMemoryBuffer(128);
+        private final C client;
+        private final Receiver<C, R> receiver;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+        // the sequence id written by the client, which expects it in the response
+        private final int clientSeqId;
+        // the sequence id of the call on its connection
+        private int seqId;
+        private ScheduledFuture<?> timeoutFuture;
+
+        private PendingCall(Sender<C> sender, Receiver<C, R> receiver)
+                throws TException, ReflectiveOperationException {
+            this.client = clientConstructor.newInstance(new TBinaryProtocol(input), new TBinaryProtocol(output));
+            this.receiver = receiver;
+            sender.send(client);
+            this.clientSeqId = readSeqId(output.getArray(), output.length());
+        }
+
+        private void setSeqId(int seqId) throws TException {
+            this.seqId = seqId;
+            writeSeqId(output.getArray(), output.length(), seqId);
+        }
+
+        private ByteBuf getRequest() {
+            return Unpooled.wrappedBuffer(output.getArray(), 0, output.length());
+        }
+
+        private void complete(byte[] response) {
+            cancelTimeout();
+            try {
+                // restore the sequence id which the client checks
+                writeSeqId(response, response.length, clientSeqId);
+                input.reset(response);
+                future.complete(receiver.receive(client));
+            } catch (TException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        private void fail(Throwable cause) {
+            cancelTimeout();
+            future.completeExceptionally(cause);
+        }
+
+        private void cancelTimeout() {
+            if (timeoutFuture != null) {
+                timeoutFuture.cancel(false);
+            }
+        }
+    }
+
+    private class Endpoint {
+        private final TNetworkAddress address;
+        private final List<Connection> connections = new ArrayList<>();
+
+        private Endpoint(TNetworkAddress address) {
+            this.address = address;
+        }
+
+        /**
+         * Pick the connection with the fewest pending calls, a new connection is opened only if all the
+         * connections are busy, so an endpoint which is called rarely keeps a single connection.
+         */
+        private synchronized Connection pick() {
+            Connection best = null;
+            for (Connection connection : connections) {
+                if (best == null || connection.numPendingCalls.get() < best.numPendingCalls.get()) {
+                    best = connection;
+                }
+            }
+            if (best == null || (best.numPendingCalls.get() > 0 && connections.size() < maxConnectionsPerEndpoint)) {
+                best = new Connection(this);
+                connections.add(best);
+                best.connect();
+            }
+            return best;
+        }
+
+        private synchronized void remove(Connection connection) {
+            connections.remove(connection);
+        }
+
+        private void closeAll() {
+            List<Connection> closing;
+            synchronized (this) {
+                closing = new ArrayList<>(connections);
+            }
+            for (Connection connection : closing) {
+                connection.connectFuture.channel().eventLoop().execute(() -> connection.close(
+                        new TTransportException(TTransportException.NOT_OPEN, "endpoint " + address + " is removed")));
+            }
+        }
+
+        private synchronized int getNumConnections() {
+            return connections.size();
+        }
+    }
+
+    private class Connection extends SimpleChannelInboundHandler<byte[]> {
+        private final Endpoint endpoint;
+        private final AtomicInteger numPendingCalls = new AtomicInteger(0);
+        private ChannelFuture connectFuture;
+        // the calls which are sent and waiting for the responses, only accessed in the event loop
+        private final Deque<PendingCall<?>> pendingCalls = new ArrayDeque<>();
+        private int lastSeqId = 0;
+        private Throwable closeCause;
+
+        private Connection(Endpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private void connect() {
+            connectFuture = bootstrap.clone().handler(new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(Channel channel) {
+                    channel.pipeline().addLast(new ThriftMessageDecoder(), Connection.this);
+                }
+            }).connect(endpoint.address.getHostname(), endpoint.address.getPort());
+            connectFuture.addListener(f -> {
+                if (!f.isSuccess()) {
+                    close(f.cause());
+                }
+            });
+        }
+
+        private void send(PendingCall<?> call) {
+            numPendingCalls.incrementAndGet();
+            Channel channel = connectFuture.channel();
+            channel.eventLoop().execute(() -> {
+                if (closeCause != null) {
+                    numPendingCalls.decrementAndGet();
+                    call.fail(closeCause);
+                    return;
+                }
+                try {
+                    call.setSeqId(++lastSeqId);
+                } catch (TException e) {
+                    numPendingCalls.decrementAndGet();
+                    call.fail(e);
+                    return;
+                }
+                pendingCalls.addLast(call);
+                call.timeoutFuture = channel.eventLoop().schedule(() -> {
+                    if (!call.future.isDone()) {
+                        close(new TimeoutException("call to " + endpoint.address + " timed out after " + timeoutMs + "ms"));
+                    }
+                }, timeoutMs, TimeUnit.MILLISECONDS);
+                // the listeners are notified in order, so are the requests written
+                if (connectFuture.isDone()) {
+                    write(channel, call);
+                } else {
+                    connectFuture.addListener(f -> {
+                        if (f.isSuccess()) {
+                            write(channel, call);
+                        }
+                    });
+                }
+            });
+        }
+
+        private void write(Channel channel, PendingCall<?> call) {
+            channel.writeAndFlush(call.getRequest()).addListener(f -> {
+                if (!f.isSuccess()) {
+                    close(f.cause());
+                }
+            });
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, byte[] response) {
+            PendingCall<?> call = pendingCalls.peekFirst();
+            if (call == null) {
+                close(new TTransportException("unexpected response from " + endpoint.address));
+                return;
+            }
+            try {
+                int seqId = readSeqId(response, response.length);
+                if (seqId != call.seqId) {
+                    close(new TApplicationException(TApplicationException.BAD_SEQUENCE_ID, "response from " +
+                            endpoint.address + " has sequence id " + seqId + ", expected " + call.seqId));
+                    return;
+                }
+                pendingCalls.pollFirst();
+                numPendingCalls.decrementAndGet();
+                call.complete(response);
+            } catch (TException e) {
+                close(e);
+            }
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            close(new TTransportException(TTransportException.END_OF_FILE,
+                    "connection to " + endpoint.address + " is closed"));
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            close(cause);
+        }
+
+        // called in the event loop
+        private void close(Throwable cause) {
+            if (closeCause == null) {
+                closeCause = cause;
+                endpoint.remove(this);
+                connectFuture.channel().close();
+                if (!pendingCalls.isEmpty()) {
+                    LOG.warn("close connection to {} with {} pending calls", endpoint.address, pendingCalls.size(),
+                            cause);
+                }
+            }
+            PendingCall<?> call;
+            while ((call = pendingCalls.pollFirst()) != null) {
+                numPendingCalls.decrementAndGet();
+                call.fail(closeCause);
+            }
+        }
+    }
+
+    // the sequence id is the last field of the message header
+    private static int getSeqIdOffset(byte[] message, int length) throws TException {
+        TMemoryInputTransport transport = new TMemoryInputTransport(message, 0, length);
+        new TBinaryProtocol(transport).readMessageBegin();
+        return transport.getBufferPosition() - 4;
+    }
+
+    private static int readSeqId(byte[] message, int length) throws TException {
+        return ByteBuffer.wrap(message).getInt(getSeqIdOffset(message, length));
+    }
+
+    private static void writeSeqId(byte[] message, int length, int seqId) throws TException {
+        ByteBuffer.wrap(message).putInt(getSeqIdOffset(message, length), seqId);
+    }
+
+    /**
+     * Split the unframed stream into messages by parsing them. A partial message is parsed again when more
+     * bytes arrive, which is cheap for the small responses of the calls made through this pool.
+     */
+    private static class ThriftMessageDecoder extends ByteToMessageDecoder {
+        @Override
+        protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+            int start = in.readerIndex();
+            TProtocol protocol = new TBinaryProtocol(new ByteBufTransport(in));
+            try {
+                protocol.readMessageBegin();
+                TProtocolUtil.skip(protocol, TType.STRUCT);
+                protocol.readMessageEnd();
+            } catch (TTransportException e) {
+                if (e.getType() == TTransportException.END_OF_FILE) {
+                    in.readerIndex(start);
+                    return;
+                }
+                throw e;
+            }
+            byte[] message = new byte[in.readerIndex() - start];
+            in.getBytes(start, message);
+            out.add(message);
+        }
+    }
+
+    private static class ByteBufTransport extends TTransport {
+        private final ByteBuf buf;
+
+        private ByteBufTransport(ByteBuf buf) {
+            this.buf = buf;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) throws TTransportException {
+            if (buf.readableBytes() < len) {
+                throw new TTransportException(TTransportException.END_OF_FILE);
+            }
+            buf.readBytes(bytes, off, len);
+            return len;
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -85,4 +85,7 @@ public class ClientPool {
             new GenericPool("BackendService", backendConfig, backendTimeoutMs);
     public static GenericPool<TFileBrokerService.Client> brokerPool =
             new GenericPool("TFileBrokerService", brokerPoolConfig, brokerTimeoutMs);
+    public static AsyncThriftClientPool<BackendService.Client> asyncBackendPool =
+            new AsyncThriftClientPool<>("BackendService", Config.thrift_async_client_event_loop_num,
+                    Config.thrift_async_client_max_connections_per_endpoint, backendTimeoutMs);
 }
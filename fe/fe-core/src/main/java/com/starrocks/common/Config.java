@@ -141,6 +141,14 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long slow_lock_log_every_ms = 3000L;
 
+    /**
+     * If true, transaction commit and publish lock the db in shared mode and only the written tables
+     * exclusively, so loads of different tables in the same db don't block each other.
+     * They still exclude the operations holding the db read lock, which expect the whole db not to be changed.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_table_level_lock = false;
+
     /**
      * dump_log_dir:
      * This specifies FE dump log dir.
@@ -334,6 +342,21 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int edit_log_roll_num = 50000;
 
+    /**
+     * The number of threads to serialize or deserialize the databases in parallel
+     * when saving or loading image.
+     */
+    @ConfField(mutable = true)
+    public static int metadata_image_parallelism = 4;
+
+    /**
+     * Whether to save the databases in image as independently checksummed blocks, which are serialized and
+     * deserialized in parallel. It bumps the meta version of the image and the edit log, after which FE can't
+     * be rolled back to the versions which don't support it, so enable it after the upgrade is finished.
+     */
+    @ConfField
+    public static boolean enable_image_db_blocks = false;
+
     /**
      * whether ignore unknown log id
      * when fe rolls back to low version, there may be log id that low version fe can not recognise
@@ -494,6 +517,29 @@ public class Config extends ConfigBase {
     @ConfField
     public static int max_agent_task_threads_num = 4096;
 
+    /**
+     * Whether to send the agent tasks to backends through the non-blocking thrift client, which pipelines
+     * the calls on a few shared connections per backend instead of holding a thread and a socket per call.
+     * Note that the responses of a connection come back in order, so a call which times out closes its
+     * connection and fails all the other calls pipelined on it, and the failed agent tasks are resent later.
+     * Experimental, off by default.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_async_agent_task_rpc = false;
+
+    /**
+     * num of event loop threads of each non-blocking thrift client pool.
+     */
+    @ConfField
+    public static int thrift_async_client_event_loop_num = 4;
+
+    /**
+     * max num of connections to each endpoint of the non-blocking thrift client pool,
+     * the calls to the same endpoint are pipelined on them.
+     */
+    @ConfField
+    public static int thrift_async_client_max_connections_per_endpoint = 2;
+
     /**
      * This config will decide whether to resend agent task when create_time for agent_task is set,
      * only when current_time - create_time > agent_task_resend_wait_time_ms can ReportHandler do resend agent task
@@ -658,6 +704,25 @@ public class Config extends ConfigBase {
     @ConfField
     public static int max_mysql_service_task_threads_num = 4096;
 
+    /**
+     * The size of the direct buffer used by a mysql connection to send the results.
+     */
+    @ConfField
+    public static int mysql_send_buffer_size = 256 * 1024;
+
+    /**
+     * The max num of idle send buffers kept in the pool, they are shared by all the mysql connections.
+     */
+    @ConfField
+    public static int mysql_send_buffer_pool_size = 16;
+
+    /**
+     * The max bytes of the direct send buffers, both in use and idle in the pool. The connections sending
+     * beyond it use heap buffers.
+     */
+    @ConfField
+    public static long mysql_send_buffer_max_direct_memory = 64L * 1024 * 1024;
+
     /**
      * modifies the version string returned by following situations:
      * select version();
@@ -1045,6 +1110,21 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int max_query_retry_time = 2;
 
+    /**
+     * The max number of optimized plans cached by the plan cache, which is enabled by session variable
+     * `enable_plan_cache`. The constants are part of the cache key, only the re-runs of the byte-identical
+     * normalized query hit the cache, queries only differing in constants are cached as different plans.
+     */
+    @ConfField
+    public static long plan_cache_capacity = 1024;
+
+    /**
+     * The seconds a plan is kept in the plan cache after it is cached.
+     * Statistics refreshed in the background are taken into account after the plan expires.
+     */
+    @ConfField
+    public static long plan_cache_expire_sec = 300;
+
     /**
      * In order not to wait too long for create table(index), set a max timeout.
      */
@@ -1131,6 +1211,19 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, aliases = {"schedule_slot_num_per_path"})
     public static int tablet_sched_slot_num_per_path = 8;
 
+    /**
+     * The clone bandwidth in MB/s of each path, as source or destination, used to throttle the clone tasks
+     * sent to a path besides the slot number. 0 means no limit.
+     */
+    @ConfField(mutable = true)
+    public static long tablet_sched_clone_bandwidth_per_path_mb = 0;
+
+    /**
+     * Number of threads to schedule the pending tablets of different tables in parallel.
+     */
+    @ConfField
+    public static int tablet_sched_schedule_thread_num = 4;
+
     // if the number of scheduled tablets in TabletScheduler exceed max_scheduling_tablets
     // skip checking.
     @ConfField(mutable = true, aliases = {"max_scheduling_tablets"})
@@ -1219,6 +1312,13 @@ public class Config extends ConfigBase {
     @ConfField
     public static int tablet_sched_checker_interval_seconds = 20;
 
+    /**
+     * Interval of checking all tablets. In the rounds between, tablet checker only checks the tablets whose
+     * replicas changed since the last round. Set to 0 to check all tablets in every round.
+     */
+    @ConfField(mutable = true)
+    public static long tablet_checker_full_check_interval_seconds = 600;
+
     @ConfField(mutable = true)
     public static int tablet_sched_max_migration_task_sent_once = 1000;
 
@@ -1233,6 +1333,13 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int report_queue_size = 100;
 
+    /**
+     * Number of threads to handle the reports from backends. The reports of a backend are handled by
+     * the same thread, and the reports of different backends are handled in parallel.
+     */
+    @ConfField
+    public static int report_handler_thread_num = 4;
+
     /**
      * If set to true, metric collector will be run as a daemon timer to collect metrics at fix interval
      */
@@ -1441,6 +1548,13 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int expr_children_limit = 10000;
 
+    /**
+     * The DFA cache of the sql parser is shared by all the sessions and grows with the variety of parsed sql.
+     * It's cleared when the number of cached DFA states exceeds this limit, 0 means no limit.
+     */
+    @ConfField(mutable = true)
+    public static int sql_parser_dfa_cache_max_states = 500000;
+
     @ConfField(mutable = true)
     public static long max_planner_scalar_rewrite_num = 100000;
 
@@ -1535,6 +1649,23 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long statistic_max_full_collect_data_size = 100L * 1024 * 1024 * 1024; // 100G
 
+    /**
+     * Collect the full statistics of the newly loaded partitions in the next round of auto collection,
+     * even out of the auto analyze time window. The statistics of each partition are merged with the
+     * others when queried, so only the loaded partitions are scanned.
+     * It only works if enable_collect_full_statistic is true, and only for the tables covered by an auto
+     * analyze job, whose columns and properties are used.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_statistic_collect_on_load = false;
+
+    /**
+     * Skip the collection on load if the loaded partitions of a table are larger than this,
+     * their statistics are left to the auto collection.
+     */
+    @ConfField(mutable = true)
+    public static long statistic_collect_on_load_max_data_size = 10L * 1024 * 1024 * 1024; // 10G
+
     /**
      * Max row count in statistics collect per query
      */
@@ -1641,6 +1772,41 @@ public class Config extends ConfigBase {
     @ConfField
     public static long remote_file_cache_ttl_s = 3600 * 36L;
 
+    /**
+     * Whether to keep the partitions, partition statistics and remote file lists of hive catalogs
+     * in a local disk cache as the second tier of the memory caches, so that they survive FE restarts.
+     * The disk caches of the catalogs which enable hms events incremental sync are cleared when FE starts,
+     * because the events while FE is down are not synced.
+     */
+    @ConfField
+    public static boolean enable_connector_metadata_disk_cache = false;
+
+    /**
+     * Dir of the connector metadata disk cache
+     */
+    @ConfField
+    public static String connector_metadata_disk_cache_path = StarRocksFE.STARROCKS_HOME_DIR + "/caches/connector";
+
+    /**
+     * Capacity of each connector metadata disk cache of a catalog, default 2GB
+     */
+    @ConfField
+    public static long connector_metadata_disk_cache_capacity = 2147483648L;
+
+    /**
+     * Max number of pending writes of the connector metadata disk caches, the writes exceeding it are skipped
+     */
+    @ConfField
+    public static int connector_metadata_disk_cache_write_queue_size = 100000;
+
+    /**
+     * The [min, max] range of the split column of a jdbc catalog table is queried by MIN/MAX on the remote table,
+     * and reused by the split scans of the table within the ttl. The ranges only need to be roughly right, the
+     * first and the last ranges of a split scan are unbounded.
+     */
+    @ConfField
+    public static long jdbc_split_range_cache_ttl_s = 600;
+
     /**
      * The maximum number of partitions to fetch from the metastore in one RPC.
      */
@@ -2026,6 +2192,15 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int metadata_journal_max_batch_cnt = 100;
 
+    /**
+     * If true, JournalWriter commits a batch in a separate thread and begins to write the next batch
+     * without waiting for the previous commit, at most one batch is being committed at the same time.
+     * Journals are kept collecting into the next batch until the previous commit finishes,
+     * so the batch size grows with the commit latency.
+     **/
+    @ConfField
+    public static boolean metadata_journal_enable_pipelined_commit = false;
+
     /**
      * jaeger tracing endpoint, empty thing disables tracing
      */
@@ -2060,6 +2235,13 @@ public class Config extends ConfigBase {
     @ConfField
     public static int experimental_lake_publish_version_threads = 16;
 
+    /**
+     * Number of threads to finish the published transactions of olap tables. The transactions of a database
+     * are finished by the same thread in order, and different databases are finished in parallel.
+     */
+    @ConfField
+    public static int publish_version_finish_threads = 8;
+
     @ConfField(mutable = true)
     public static boolean enable_new_publish_mechanism = false;
 
@@ -2078,6 +2260,21 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int profile_info_reserved_num = 500;
 
+    /**
+     * Max total size of the compressed profile contents reserved by `ProfileManager`, the oldest profiles are
+     * removed when exceeded. The contents are kept out of the heap.
+     * Default value: 128MB
+     */
+    @ConfField
+    public static long profile_info_reserved_bytes = 128L * 1024 * 1024;
+
+    /**
+     * If not empty, the profile contents are kept in a memory mapped file of this path rather than the direct
+     * memory, so a larger `profile_info_reserved_bytes` can be used without pinning the memory.
+     */
+    @ConfField
+    public static String profile_info_storage_path = "";
+
     /**
      * format of profile infos reserved by `ProfileManager` for recently executed query.
      * Default value: "default"
@@ -25,6 +25,19 @@ public class StarRocksFEMetaVersion {
     //support hive external read
     public static final int VERSION_3 = 3;
 
+    //databases in image are saved as independently checksummed blocks, only written if
+    //Config.enable_image_db_blocks is true
+    public static final int VERSION_4 = 4;
+
     // note: when increment meta version, should assign the latest version to VERSION_CURRENT
-    public static final int VERSION_CURRENT = VERSION_3;
+    public static final int VERSION_CURRENT = VERSION_4;
+
+    /**
+     * The version of the image and the meta version log written by this FE. VERSION_CURRENT can always be read,
+     * but VERSION_4 is only written once it's enabled, so that FE can still be rolled back to the older versions
+     * which can't read it.
+     */
+    public static int getWriteVersion() {
+        return Config.enable_image_db_blocks ? VERSION_4 : VERSION_3;
+    }
 }
@@ -0,0 +1,115 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common.util;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * A lock with two modes, each mode is shared by its holders and excludes the other mode:
+ * SHARED is held by the readers which expect nothing in the db to be changed,
+ * INTENTION is held by the lockers of some tables in the db, which may change the tables under the table locks.
+ *
+ * The first holder of a mode takes the room for the mode, and the last holder releases it. All lockers pass a
+ * fair turnstile, the first holder of a mode waits for the room in the turnstile, so that the lockers of the
+ * other mode which come later wait for it, and neither mode starves.
+ *
+ * It's reentrant: a thread holding either mode gets any mode again without waiting, so code called
+ * under one mode can take the other mode.
+ */
+public class IntentionLock {
+    public enum Mode {
+        SHARED,
+        INTENTION
+    }
+
+    private final ReentrantLock turnstile = new ReentrantLock(true);
+    private final Semaphore room = new Semaphore(1);
+    // number of threads holding each mode, guarded by the switch of the mode
+    private final int[] holders = new int[Mode.values().length];
+    private final Object[] switches = {new Object(), new Object()};
+    // hold count and the mode of the current thread
+    private final ThreadLocal<int[]> holdCount = ThreadLocal.withInitial(() -> new int[2]);
+
+    public void lock(Mode mode) {
+        int[] count = holdCount.get();
+        if (count[0] > 0) {
+            count[0]++;
+            return;
+        }
+        turnstile.lock();
+        try {
+            synchronized (switches[mode.ordinal()]) {
+                // the room is held by the other mode, its holders release it with the other switch
+                if (holders[mode.ordinal()] == 0) {
+                    room.acquireUninterruptibly();
+                }
+                holders[mode.ordinal()]++;
+            }
+        } finally {
+            turnstile.unlock();
+        }
+        count[0] = 1;
+        count[1] = mode.ordinal();
+    }
+
+    public boolean tryLock(Mode mode, long timeout, TimeUnit unit) throws InterruptedException {
+        int[] count = holdCount.get();
+        if (count[0] > 0) {
+            count[0]++;
+            return true;
+        }
+        long deadlineNs = System.nanoTime() + unit.toNanos(timeout);
+        if (!turnstile.tryLock(timeout, unit)) {
+            return false;
+        }
+        try {
+            synchronized (switches[mode.ordinal()]) {
+                if (holders[mode.ordinal()] == 0 &&
+                        !room.tryAcquire(deadlineNs - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    return false;
+                }
+                holders[mode.ordinal()]++;
+            }
+        } finally {
+            turnstile.unlock();
+        }
+        count[0] = 1;
+        count[1] = mode.ordinal();
+        return true;
+    }
+
+    public void unlock() {
+        int[] count = holdCount.get();
+        if (count[0] <= 0) {
+            throw new IllegalMonitorStateException("intention lock is not held by current thread");
+        }
+        if (--count[0] > 0) {
+            return;
+        }
+        // release the mode taken by the outermost lock
+        int mode = count[1];
+        synchronized (switches[mode]) {
+            if (--holders[mode] == 0) {
+                room.release();
+            }
+        }
+    }
+
+    public boolean isHeldByCurrentThread() {
+        return holdCount.get()[0] > 0;
+    }
+}
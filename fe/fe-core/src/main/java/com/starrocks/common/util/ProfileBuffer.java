@@ -0,0 +1,152 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common.util;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Ring buffer of the compressed profiles, kept out of the heap.
+ * <p>
+ * The profiles are appended one after another, and when the buffer is full the oldest ones are overwritten
+ * and marked as evicted, so the memory is bounded by the size of the buffer rather than the number of profiles.
+ * The buffer is direct memory, or a memory mapped file if a path is given, in which case the OS can page it
+ * out and a larger buffer can be used for longer retention.
+ * <p>
+ * Not thread safe, the caller must make sure that append and remove are not concurrent with any other operation.
+ */
+public class ProfileBuffer {
+    private static final Logger LOG = LogManager.getLogger(ProfileBuffer.class);
+
+    public static class Slot {
+        private final int offset;
+        private final int length;
+        private boolean isEvicted = false;
+
+        private Slot(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public boolean isEvicted() {
+            return isEvicted;
+        }
+    }
+
+    private final ByteBuffer storage;
+    // in the order of append, which is also the order of eviction
+    private final Deque<Slot> slots = new ArrayDeque<>();
+    private int writePos = 0;
+    private long usedBytes = 0;
+
+    public ProfileBuffer(ByteBuffer storage) {
+        this.storage = storage;
+    }
+
+    public static ProfileBuffer create(long capacity, String path) {
+        int size = (int) Math.min(capacity, Integer.MAX_VALUE);
+        if (!Strings.isNullOrEmpty(path)) {
+            File file = new File(path);
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                // the mapping is still valid after the channel is closed
+                ProfileBuffer buffer = new ProfileBuffer(channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+                file.deleteOnExit();
+                return buffer;
+            } catch (IOException e) {
+                LOG.warn("failed to map profile buffer file {}, use direct memory instead", path, e);
+            }
+        }
+        return new ProfileBuffer(ByteBuffer.allocateDirect(size));
+    }
+
+    /**
+     * Append the data and evict the oldest slots which are overwritten.
+     *
+     * @return the slot of the data, or null if the data is larger than the buffer
+     */
+    public Slot append(byte[] data) {
+        int length = data.length;
+        if (length > storage.capacity()) {
+            return null;
+        }
+        if (slots.isEmpty()) {
+            writePos = 0;
+        }
+
+        int start = writePos;
+        if (start + length > storage.capacity()) {
+            // Wrap around, the slots after the write position are older than the others,
+            // evict them as the space at the end is wasted.
+            while (!slots.isEmpty() && slots.peekFirst().offset >= writePos) {
+                removeOldest();
+            }
+            start = 0;
+        }
+        while (!slots.isEmpty() && slots.peekFirst().offset >= start &&
+                slots.peekFirst().offset < start + length) {
+            removeOldest();
+        }
+
+        ByteBuffer dup = storage.duplicate();
+        dup.position(start);
+        dup.put(data);
+
+        Slot slot = new Slot(start, length);
+        slots.addLast(slot);
+        writePos = start + length;
+        usedBytes += length;
+        return slot;
+    }
+
+    public byte[] read(Slot slot) {
+        Preconditions.checkState(!slot.isEvicted);
+        byte[] data = new byte[slot.length];
+        ByteBuffer dup = storage.duplicate();
+        dup.position(slot.offset);
+        dup.get(data);
+        return data;
+    }
+
+    public void removeOldest() {
+        Slot slot = slots.pollFirst();
+        if (slot != null) {
+            slot.isEvicted = true;
+            usedBytes -= slot.length;
+        }
+    }
+
+    public int getNumSlots() {
+        return slots.size();
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public int getCapacity() {
+        return storage.capacity();
+    }
+}
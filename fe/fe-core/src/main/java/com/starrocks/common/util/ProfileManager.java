@@ -62,6 +62,8 @@ import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
  * why the element in the finished profile arary is not RuntimeProfile,
  * the purpose is let coordinator can destruct earlier(the fragment profile is in Coordinator)
  *
+ * The compressed profile contents are kept in a ProfileBuffer out of the heap, bounded by
+ * Config.profile_info_reserved_bytes, and only decompressed when they are read.
  */
 public class ProfileManager {
     private static final Logger LOG = LogManager.getLogger(ProfileManager.class);
@@ -85,15 +87,19 @@ public class ProfileManager {
     private class ProfileElement {
         public Map<String, String> infoStrings = Maps.newHashMap();
         public byte[] profileContent;
+        // the compressed profile content in profileBuffer, after the element is pushed
+        public ProfileBuffer.Slot profileSlot;
     }
 
-    // only protect profileDeque; profileMap is concurrent, no need to protect
+    // protect profileDeque and profileBuffer; profileMap is concurrent, no need to protect
     private ReentrantReadWriteLock lock;
     private ReadLock readLock;
     private WriteLock writeLock;
 
     private Deque<ProfileElement> profileDeque;
     private Map<String, ProfileElement> profileMap; // from QueryId to RuntimeProfile
+    // allocated on the first push, so no memory is reserved if profiles are never collected
+    private ProfileBuffer profileBuffer;
 
     public static ProfileManager getInstance() {
         if (INSTANCE == null) {
@@ -152,14 +158,32 @@ public class ProfileManager {
                     + "may be forget to insert 'QUERY_ID' column into infoStrings");
         }
 
-        profileMap.put(queryId, element);
+        if (element.profileContent == null) {
+            return profileString;
+        }
+
         writeLock.lock();
         try {
             if (profileDeque.size() >= Config.profile_info_reserved_num) {
-                profileMap.remove(profileDeque.getFirst().infoStrings.get(QUERY_ID));
-                profileDeque.removeFirst();
+                removeFirstAfterLock();
+            }
+            if (profileBuffer == null) {
+                profileBuffer = ProfileBuffer.create(Config.profile_info_reserved_bytes,
+                        Config.profile_info_storage_path);
+            }
+            element.profileSlot = profileBuffer.append(element.profileContent);
+            if (element.profileSlot == null) {
+                LOG.warn("profile of query {} is too large to reserve, compressed length: {}",
+                        queryId, element.profileContent.length);
+                return profileString;
+            }
+            element.profileContent = null;
+            // the profiles overwritten by this one
+            while (!profileDeque.isEmpty() && profileDeque.getFirst().profileSlot.isEvicted()) {
+                removeFirstAfterLock();
             }
             profileDeque.addLast(element);
+            profileMap.put(queryId, element);
         } finally {
             writeLock.unlock();
         }
@@ -167,6 +191,14 @@ public class ProfileManager {
         return profileString;
     }
 
+    private void removeFirstAfterLock() {
+        ProfileElement first = profileDeque.removeFirst();
+        profileMap.remove(first.infoStrings.get(QUERY_ID), first);
+        if (!first.profileSlot.isEvicted()) {
+            profileBuffer.removeOldest();
+        }
+    }
+
     public List<List<String>> getAllQueries() {
         List<List<String>> result = Lists.newArrayList();
         readLock.lock();
@@ -189,19 +221,31 @@ public class ProfileManager {
     }
 
     public String getProfile(String queryID) {
-        ProfileElement element = new ProfileElement();
+        byte[] profileContent;
         readLock.lock();
         try {
-            element = profileMap.get(queryID);
-            if (element == null) {
+            ProfileElement element = profileMap.get(queryID);
+            if (element == null || element.profileSlot.isEvicted()) {
                 return null;
             }
+            profileContent = profileBuffer.read(element.profileSlot);
+        } finally {
+            readLock.unlock();
+        }
 
-            return CompressionUtils.gzipDecompressString(element.profileContent);
+        try {
+            return CompressionUtils.gzipDecompressString(profileContent);
         } catch (IOException e) {
             LOG.warn("Decompress profile content failed, length: {}, reason: {}",
-                    element.profileContent.length, e.getMessage());
+                    profileContent.length, e.getMessage());
             return null;
+        }
+    }
+
+    public long getReservedBytes() {
+        readLock.lock();
+        try {
+            return profileBuffer == null ? 0 : profileBuffer.getUsedBytes();
         } finally {
             readLock.unlock();
         }
@@ -18,12 +18,19 @@ package com.starrocks.connector;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.gson.reflect.TypeToken;
 import com.starrocks.connector.exception.StarRocksConnectorException;
+import com.starrocks.connector.hive.HiveRemoteFileIO;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
 
+import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
@@ -39,17 +46,45 @@ public class CachingRemoteFileIO implements RemoteFileIO {
 
     public static final long NEVER_EVICT = -1;
     public static final long NEVER_REFRESH = -1;
+    private static final String DISK_CACHE_KEY_SEPARATOR = "\u0001";
+    private static final String DISK_CACHE_NAME = "remote_files";
+    private static final Type DISK_CACHE_VALUE_TYPE = new TypeToken<List<PersistentFileDesc>>() { }.getType();
+
     private final RemoteFileIO fileIO;
     private final LoadingCache<RemotePathKey, List<RemoteFileDesc>> cache;
+    // null if the disk cache is disabled
+    private final LocalDiskCache<List<PersistentFileDesc>> diskCache;
 
     protected CachingRemoteFileIO(RemoteFileIO fileIO,
                                Executor executor,
                                long expireAfterWriteSec,
                                long refreshIntervalSec,
                                long maxSize) {
+        this(fileIO, executor, expireAfterWriteSec, refreshIntervalSec, maxSize, null);
+    }
+
+    private CachingRemoteFileIO(RemoteFileIO fileIO,
+                                Executor executor,
+                                long expireAfterWriteSec,
+                                long refreshIntervalSec,
+                                long maxSize,
+                                LocalDiskCache<List<PersistentFileDesc>> diskCache) {
         this.fileIO = fileIO;
+        this.diskCache = diskCache;
         this.cache = newCacheBuilder(expireAfterWriteSec, refreshIntervalSec, maxSize)
-                .build(asyncReloading(CacheLoader.from(this::loadRemoteFiles), executor));
+                .build(asyncReloading(new CacheLoader<RemotePathKey, List<RemoteFileDesc>>() {
+                    @Override
+                    public List<RemoteFileDesc> load(@NotNull RemotePathKey key) {
+                        return loadRemoteFiles(key);
+                    }
+
+                    @Override
+                    public ListenableFuture<List<RemoteFileDesc>> reload(@NotNull RemotePathKey key,
+                                                                         @NotNull List<RemoteFileDesc> oldValue) {
+                        // the disk cache is not newer than the memory cache, refresh from the remote
+                        return Futures.immediateFuture(loadRemoteFilesFromRemote(key));
+                    }
+                }, executor));
     }
 
     public static CachingRemoteFileIO createCatalogLevelInstance(RemoteFileIO fileIO, Executor executor,
@@ -57,6 +92,22 @@ public class CachingRemoteFileIO implements RemoteFileIO {
         return new CachingRemoteFileIO(fileIO, executor, expireAfterWrite, refreshInterval, maxSize);
     }
 
+    /**
+     * @param diskCacheCatalogName if not null, the file lists are also cached in the local disk cache
+     *                             of the catalog, see {@link LocalDiskCache}
+     */
+    public static CachingRemoteFileIO createCatalogLevelInstance(RemoteFileIO fileIO, Executor executor,
+                                                                 long expireAfterWrite, long refreshInterval,
+                                                                 long maxSize, String diskCacheCatalogName) {
+        LocalDiskCache<List<PersistentFileDesc>> diskCache = null;
+        // the replica hosts of the blocks can only be restored by hive remote file io
+        if (diskCacheCatalogName != null && fileIO instanceof HiveRemoteFileIO) {
+            diskCache = LocalDiskCache.create(diskCacheCatalogName, DISK_CACHE_NAME, expireAfterWrite,
+                    DISK_CACHE_VALUE_TYPE);
+        }
+        return new CachingRemoteFileIO(fileIO, executor, expireAfterWrite, refreshInterval, maxSize, diskCache);
+    }
+
     public static CachingRemoteFileIO createQueryLevelInstance(RemoteFileIO fileIO, long maxSize) {
         return new CachingRemoteFileIO(
                 fileIO,
@@ -77,7 +128,24 @@ public class CachingRemoteFileIO implements RemoteFileIO {
     }
 
     public List<RemoteFileDesc> loadRemoteFiles(RemotePathKey pathKey) {
-        return fileIO.getRemoteFiles(pathKey).get(pathKey);
+        if (diskCache != null) {
+            List<PersistentFileDesc> persistentFiles = diskCache.get(toDiskCacheKey(pathKey));
+            if (persistentFiles != null) {
+                HiveRemoteFileIO hiveRemoteFileIO = (HiveRemoteFileIO) fileIO;
+                return persistentFiles.stream().map(file -> file.toRemoteFileDesc(hiveRemoteFileIO))
+                        .collect(Collectors.toList());
+            }
+        }
+        return loadRemoteFilesFromRemote(pathKey);
+    }
+
+    private List<RemoteFileDesc> loadRemoteFilesFromRemote(RemotePathKey pathKey) {
+        List<RemoteFileDesc> files = fileIO.getRemoteFiles(pathKey).get(pathKey);
+        if (diskCache != null) {
+            diskCache.put(toDiskCacheKey(pathKey),
+                    files.stream().map(PersistentFileDesc::new).collect(Collectors.toList()));
+        }
+        return files;
     }
 
     public Map<RemotePathKey, List<RemoteFileDesc>> getPresentRemoteFiles(List<RemotePathKey> paths) {
@@ -95,15 +163,41 @@ public class CachingRemoteFileIO implements RemoteFileIO {
     }
 
     public void updateRemoteFiles(RemotePathKey pathKey) {
-        cache.put(pathKey, loadRemoteFiles(pathKey));
+        cache.put(pathKey, loadRemoteFilesFromRemote(pathKey));
     }
 
     public synchronized void invalidateAll() {
         cache.invalidateAll();
+        if (diskCache != null) {
+            diskCache.invalidateAll();
+        }
     }
 
     public void invalidatePartition(RemotePathKey pathKey) {
         cache.invalidate(pathKey);
+        if (diskCache != null) {
+            diskCache.invalidate(toDiskCacheKey(pathKey));
+        }
+    }
+
+    /**
+     * Invalidate the file lists under the base path in the disk cache, including those not loaded in memory.
+     */
+    public void invalidateDiskCache(String basePath) {
+        if (diskCache == null) {
+            return;
+        }
+        String basePathWithSlash = basePath.endsWith("/") ? basePath : basePath + "/";
+        diskCache.invalidateIf(key -> {
+            String path = key.substring(0, key.indexOf(DISK_CACHE_KEY_SEPARATOR));
+            String pathWithSlash = path.endsWith("/") ? path : path + "/";
+            return pathWithSlash.startsWith(basePathWithSlash);
+        });
+    }
+
+    private static String toDiskCacheKey(RemotePathKey pathKey) {
+        return pathKey.getPath() + DISK_CACHE_KEY_SEPARATOR + pathKey.isRecursive() + DISK_CACHE_KEY_SEPARATOR +
+                pathKey.getHudiTableLocation().orElse("");
     }
 
     private static CacheBuilder<Object, Object> newCacheBuilder(long expiresAfterWriteSec, long refreshSec, long maximumSize) {
@@ -119,4 +213,46 @@ public class CachingRemoteFileIO implements RemoteFileIO {
         cacheBuilder.maximumSize(maximumSize);
         return cacheBuilder;
     }
+
+    // the persistent form of RemoteFileDesc in the disk cache, the hosts are kept instead of the host ids
+    // which are only valid in the current process
+    private static class PersistentFileDesc {
+        private String fileName;
+        private String compression;
+        private long length;
+        private List<PersistentBlockDesc> blockDescs;
+        private List<String> hudiDeltaLogs;
+
+        private PersistentFileDesc(RemoteFileDesc fileDesc) {
+            this.fileName = fileDesc.getFileName();
+            this.compression = fileDesc.getCompression();
+            this.length = fileDesc.getLength();
+            this.blockDescs = fileDesc.getBlockDescs().stream().map(PersistentBlockDesc::new)
+                    .collect(Collectors.toList());
+            this.hudiDeltaLogs = fileDesc.getHudiDeltaLogs();
+        }
+
+        private RemoteFileDesc toRemoteFileDesc(HiveRemoteFileIO remoteFileIO) {
+            ImmutableList<RemoteFileBlockDesc> blocks = blockDescs.stream()
+                    .map(block -> remoteFileIO.buildRemoteFileBlockDesc(block.offset, block.length,
+                            remoteFileIO.getReplicaHostIds(block.replicaHosts)))
+                    .collect(ImmutableList.toImmutableList());
+            // the delta logs are null if they were null when written
+            ImmutableList<String> deltaLogs = hudiDeltaLogs == null ? ImmutableList.of() :
+                    ImmutableList.copyOf(hudiDeltaLogs);
+            return new RemoteFileDesc(fileName, compression, length, blocks, deltaLogs);
+        }
+    }
+
+    private static class PersistentBlockDesc {
+        private long offset;
+        private long length;
+        private String[] replicaHosts;
+
+        private PersistentBlockDesc(RemoteFileBlockDesc blockDesc) {
+            this.offset = blockDesc.getOffset();
+            this.length = blockDesc.getLength();
+            this.replicaHosts = blockDesc.getReplicaHosts();
+        }
+    }
 }
@@ -0,0 +1,365 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.starrocks.common.Config;
+import com.starrocks.common.ThreadPoolManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Second tier of the connector metadata caches on the local disk, so that the metadata of external tables
+ * survives FE restarts and leader switches instead of being fetched from the remote again.
+ * <p>
+ * Each entry is stored in a file named by the hash of its key, the first line of the file is the key and the
+ * rest is the value in json. The keys, sizes and write times of the entries are indexed in memory, the index is
+ * rebuilt from the files when the cache is created, and the files are evicted in LRU order once the total size
+ * exceeds the capacity. Entries older than the ttl are treated as absent. Like the memory cache, it's up to the
+ * caller to invalidate the entries which are changed in the remote.
+ * <p>
+ * Files are written asynchronously, a get right after a put may miss.
+ */
+public class LocalDiskCache<V> {
+    private static final Logger LOG = LogManager.getLogger(LocalDiskCache.class);
+
+    // bump it when the serialized format of any cached value changes, files of other versions are ignored
+    private static final int FORMAT_VERSION = 1;
+    private static final String TMP_FILE_SUFFIX = ".tmp";
+    // the min and max of the column statistics may be infinite
+    private static final Gson GSON = new GsonBuilder().serializeSpecialFloatingPointValues().create();
+
+    private static final ThreadPoolExecutor WRITE_EXECUTOR = ThreadPoolManager.newDaemonThreadPool(1, 1,
+            60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(Config.connector_metadata_disk_cache_write_queue_size),
+            new ThreadPoolExecutor.AbortPolicy(), "connector-disk-cache-writer", true);
+
+    private static class IndexEntry {
+        private final int size;
+        private final long writeTimeMs;
+        private volatile boolean isWritten;
+
+        private IndexEntry(int size, long writeTimeMs, boolean isWritten) {
+            this.size = size;
+            this.writeTimeMs = writeTimeMs;
+            this.isWritten = isWritten;
+        }
+    }
+
+    private final Path dir;
+    private final long expireAfterWriteMs;
+    private final Type valueType;
+    private final Executor writeExecutor;
+    private final Cache<String, IndexEntry> index;
+    // The invalidations while the index is being loaded, the files of the keys which are not indexed yet
+    // are checked against them before being indexed. Null once the index is loaded.
+    private List<Predicate<String>> loadingInvalidations;
+
+    /**
+     * Create the disk cache of a catalog under {@link Config#connector_metadata_disk_cache_path},
+     * the index is loaded from the existing files in the background.
+     *
+     * @param expireAfterWriteSec negative to never expire
+     */
+    public static <V> LocalDiskCache<V> create(String catalogName, String cacheName, long expireAfterWriteSec,
+                                               Type valueType) {
+        Path dir = Paths.get(Config.connector_metadata_disk_cache_path, catalogName, cacheName,
+                "v" + FORMAT_VERSION);
+        LocalDiskCache<V> cache = new LocalDiskCache<>(dir, Config.connector_metadata_disk_cache_capacity,
+                expireAfterWriteSec, valueType, WRITE_EXECUTOR);
+        // record the invalidations before the loader starts
+        cache.beginLoading();
+        Thread loader = new Thread(cache::loadIndex, "connector-disk-cache-loader-" + catalogName + "-" + cacheName);
+        loader.setDaemon(true);
+        loader.start();
+        return cache;
+    }
+
+    /**
+     * Delete the disk caches of the catalog, the caches must not be created yet.
+     */
+    public static void deleteCatalog(String catalogName) {
+        deleteDir(Paths.get(Config.connector_metadata_disk_cache_path, catalogName));
+    }
+
+    /**
+     * Delete the disk caches of the dropped catalog after the pending writes, which are skipped because the
+     * caches are invalidated, so that the writes don't create the dirs again.
+     */
+    public static void deleteDroppedCatalog(String catalogName) {
+        try {
+            WRITE_EXECUTOR.execute(() -> deleteCatalog(catalogName));
+        } catch (RejectedExecutionException e) {
+            deleteCatalog(catalogName);
+        }
+    }
+
+    private static void deleteDir(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        // delete the files before their dirs
+        try (Stream<Path> stream = Files.walk(dir)) {
+            stream.sorted(Comparator.reverseOrder()).forEach(LocalDiskCache::deleteFile);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("failed to delete disk cache dir {}", dir, e);
+        }
+    }
+
+    LocalDiskCache(Path dir, long capacity, long expireAfterWriteSec, Type valueType, Executor writeExecutor) {
+        this.dir = dir;
+        this.expireAfterWriteMs = expireAfterWriteSec >= 0 ? TimeUnit.SECONDS.toMillis(expireAfterWriteSec) : -1;
+        this.valueType = valueType;
+        this.writeExecutor = writeExecutor;
+        // use sync evictionListener to avoid deleting the file newly written for the same key
+        this.index = Caffeine.newBuilder()
+                .maximumWeight(capacity)
+                .weigher((Weigher<String, IndexEntry>) (key, entry) -> entry.size)
+                .evictionListener((String key, IndexEntry entry, RemovalCause cause) -> deleteFile(getFile(key)))
+                .build();
+    }
+
+    /**
+     * Rebuild the index from the files on disk, the entries put before are kept.
+     */
+    void loadIndex() {
+        beginLoading();
+        try {
+            loadIndexFromFiles();
+        } finally {
+            synchronized (this) {
+                loadingInvalidations = null;
+            }
+        }
+    }
+
+    synchronized void beginLoading() {
+        if (loadingInvalidations == null) {
+            loadingInvalidations = new ArrayList<>();
+        }
+    }
+
+    private void loadIndexFromFiles() {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        long startMs = System.currentTimeMillis();
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(dir)) {
+            files = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("failed to list the files of disk cache {}", dir, e);
+            return;
+        }
+        for (Path file : files) {
+            try {
+                long writeTimeMs = Files.getLastModifiedTime(file).toMillis();
+                if (file.getFileName().toString().endsWith(TMP_FILE_SUFFIX)) {
+                    if (writeTimeMs < startMs) {
+                        // left by a crash while writing
+                        deleteFile(file);
+                    }
+                    continue;
+                }
+                if (isExpired(writeTimeMs)) {
+                    deleteFile(file);
+                    continue;
+                }
+                String key;
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    key = GSON.fromJson(reader.readLine(), String.class);
+                }
+                if (key == null || !file.equals(getFile(key))) {
+                    deleteFile(file);
+                    continue;
+                }
+                IndexEntry entry = new IndexEntry((int) Files.size(file), writeTimeMs, true);
+                // atomic with recording the invalidations, so an invalidation either sees the key indexed or
+                // is seen here
+                synchronized (this) {
+                    if (index.asMap().containsKey(key)) {
+                        // put after the loading started, it's newer
+                        continue;
+                    }
+                    if (loadingInvalidations.stream().anyMatch(predicate -> predicate.test(key))) {
+                        deleteFile(file);
+                        continue;
+                    }
+                    index.put(key, entry);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("failed to load disk cache file {}, delete it", file, e);
+                deleteFile(file);
+            }
+        }
+        LOG.info("loaded {} entries of disk cache {} in {}ms", index.estimatedSize(), dir,
+                System.currentTimeMillis() - startMs);
+    }
+
+    /**
+     * @return the cached value, or null if it's absent, expired or failed to read
+     */
+    public V get(String key) {
+        IndexEntry entry = index.getIfPresent(key);
+        if (entry == null || !entry.isWritten) {
+            return null;
+        }
+        if (isExpired(entry.writeTimeMs)) {
+            invalidate(key);
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(getFile(key), StandardCharsets.UTF_8)) {
+            String fileKey = GSON.fromJson(reader.readLine(), String.class);
+            if (!key.equals(fileKey)) {
+                invalidate(key);
+                return null;
+            }
+            return GSON.fromJson(reader, valueType);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("failed to read disk cache of {} in {}, invalidate it", key, dir, e);
+            invalidate(key);
+            return null;
+        }
+    }
+
+    public void put(String key, V value) {
+        byte[] data;
+        try {
+            data = (GSON.toJson(key) + "\n" + GSON.toJson(value, valueType)).getBytes(StandardCharsets.UTF_8);
+        } catch (RuntimeException e) {
+            LOG.warn("failed to serialize disk cache of {} in {}", key, dir, e);
+            invalidate(key);
+            return;
+        }
+        IndexEntry entry = new IndexEntry(data.length, System.currentTimeMillis(), false);
+        index.put(key, entry);
+        try {
+            writeExecutor.execute(() -> write(key, entry, data));
+        } catch (RejectedExecutionException e) {
+            // too many pending writes, skip it
+            index.asMap().remove(key, entry);
+        }
+    }
+
+    private void write(String key, IndexEntry entry, byte[] data) {
+        Path file = getFile(key);
+        Path tmpFile = file.resolveSibling(file.getFileName() + TMP_FILE_SUFFIX);
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = Files.newOutputStream(tmpFile)) {
+                out.write(data);
+            }
+        } catch (IOException e) {
+            LOG.warn("failed to write disk cache of {} in {}", key, dir, e);
+            deleteFile(tmpFile);
+            index.asMap().remove(key, entry);
+            return;
+        }
+        // The entry may be invalidated, evicted or replaced while writing, only move the file in place
+        // if it's still the current one, which is atomic with the invalidation of the key.
+        index.asMap().computeIfPresent(key, (k, current) -> {
+            if (current != entry) {
+                return current;
+            }
+            try {
+                Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                entry.isWritten = true;
+                return entry;
+            } catch (IOException e) {
+                LOG.warn("failed to write disk cache of {} in {}", key, dir, e);
+                return null;
+            }
+        });
+        deleteFile(tmpFile);
+    }
+
+    public void invalidate(String key) {
+        recordLoadingInvalidation(key::equals);
+        invalidateIndexed(key);
+    }
+
+    private void invalidateIndexed(String key) {
+        // delete the file even if the key is not indexed, in case the index is still being loaded
+        index.asMap().compute(key, (k, entry) -> {
+            deleteFile(getFile(k));
+            return null;
+        });
+    }
+
+    public void invalidateIf(Predicate<String> keyPredicate) {
+        // the keys of the files which are not indexed yet are invalidated by the loading
+        recordLoadingInvalidation(keyPredicate);
+        List<String> keys = new ArrayList<>(index.asMap().keySet());
+        keys.stream().filter(keyPredicate).forEach(this::invalidateIndexed);
+    }
+
+    private synchronized void recordLoadingInvalidation(Predicate<String> keyPredicate) {
+        if (loadingInvalidations != null) {
+            loadingInvalidations.add(keyPredicate);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidateIf(key -> true);
+    }
+
+    public long size() {
+        index.cleanUp();
+        return index.estimatedSize();
+    }
+
+    private boolean isExpired(long writeTimeMs) {
+        return expireAfterWriteMs >= 0 && System.currentTimeMillis() - writeTimeMs > expireAfterWriteMs;
+    }
+
+    private Path getFile(String key) {
+        String hash = Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8).toString();
+        return dir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("failed to delete disk cache file {}", file, e);
+        }
+    }
+}
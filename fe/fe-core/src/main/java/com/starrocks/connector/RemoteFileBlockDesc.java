@@ -45,6 +45,15 @@ public class RemoteFileBlockDesc {
         return replicaHostIds;
     }
 
+    // ip:port of the replicas
+    public String[] getReplicaHosts() {
+        String[] hosts = new String[replicaHostIds.length];
+        for (int i = 0; i < replicaHostIds.length; i++) {
+            hosts[i] = remoteFileIO.getBlockHost(replicaHostIds[i]);
+        }
+        return hosts;
+    }
+
     public String getDataNodeIp(long hostId) {
         return remoteFileIO.getHdfsDataNodeIp(hostId);
     }
@@ -324,6 +324,7 @@ public class CacheUpdateProcessor {
 
         if (remoteFileIO.isPresent()) {
             refreshRemoteFiles(tableLocation, Operator.DROP, Lists.newArrayList(), true);
+            remoteFileIO.get().invalidateDiskCache(tableLocation);
         }
     }
 
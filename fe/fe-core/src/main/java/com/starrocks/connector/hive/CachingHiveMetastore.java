@@ -24,12 +24,15 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.HiveMetaStoreTable;
 import com.starrocks.catalog.HiveTable;
 import com.starrocks.catalog.Table;
 import com.starrocks.common.Config;
+import com.starrocks.connector.LocalDiskCache;
 import com.starrocks.connector.exception.StarRocksConnectorException;
 import com.starrocks.connector.hive.events.MetastoreNotificationFetchException;
 import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
@@ -63,6 +66,7 @@ public class CachingHiveMetastore implements IHiveMetastore {
     public static final long NEVER_CACHE = 0;
     public static final long NEVER_EVICT = -1;
     public static final long NEVER_REFRESH = -1;
+    private static final String DISK_CACHE_KEY_SEPARATOR = "\u0001";
     private final boolean enableListNameCache;
     protected final IHiveMetastore metastore;
 
@@ -82,6 +86,12 @@ public class CachingHiveMetastore implements IHiveMetastore {
     protected LoadingCache<HiveTableName, HivePartitionStats> tableStatsCache;
     protected LoadingCache<HivePartitionName, HivePartitionStats> partitionStatsCache;
 
+    // The second tier of partitionCache and partitionStatsCache which survives restarts, null if disabled.
+    // The disk caches are written through when the partitions are loaded from the metastore or updated by events,
+    // and invalidated together with the memory caches.
+    private LocalDiskCache<Partition> partitionDiskCache;
+    private LocalDiskCache<HivePartitionStats> partitionStatsDiskCache;
+
     public static CachingHiveMetastore createQueryLevelInstance(IHiveMetastore metastore, long perQueryCacheMaxSize) {
         return new CachingHiveMetastore(
                 metastore,
@@ -98,6 +108,25 @@ public class CachingHiveMetastore implements IHiveMetastore {
         return new CachingHiveMetastore(metastore, executor, expireAfterWrite, refreshInterval, maxSize, enableListNamesCache);
     }
 
+    /**
+     * @param diskCacheCatalogName if not null, the partitions and partition statistics are also cached
+     *                             in the local disk cache of the catalog, see {@link LocalDiskCache}
+     */
+    public static CachingHiveMetastore createCatalogLevelInstance(IHiveMetastore metastore, Executor executor,
+                                                                  long expireAfterWrite, long refreshInterval,
+                                                                  long maxSize, boolean enableListNamesCache,
+                                                                  String diskCacheCatalogName) {
+        CachingHiveMetastore cachingHiveMetastore = new CachingHiveMetastore(metastore, executor, expireAfterWrite,
+                refreshInterval, maxSize, enableListNamesCache);
+        if (diskCacheCatalogName != null) {
+            cachingHiveMetastore.partitionDiskCache = LocalDiskCache.create(
+                    diskCacheCatalogName, "partitions", expireAfterWrite, Partition.class);
+            cachingHiveMetastore.partitionStatsDiskCache = LocalDiskCache.create(
+                    diskCacheCatalogName, "partition_stats", expireAfterWrite, HivePartitionStats.class);
+        }
+        return cachingHiveMetastore;
+    }
+
     protected CachingHiveMetastore(IHiveMetastore metastore, Executor executor, long expireAfterWriteSec,
                                    long refreshIntervalSec, long maxSize, boolean enableListNamesCache) {
         this.metastore = metastore;
@@ -128,13 +157,22 @@ public class CachingHiveMetastore implements IHiveMetastore {
                 .build(asyncReloading(new CacheLoader<HivePartitionName, Partition>() {
                     @Override
                     public Partition load(@NotNull HivePartitionName key) {
-                        return loadPartition(key);
+                        Partition partition = getFromDiskCache(partitionDiskCache, key);
+                        return partition != null ? partition : loadPartition(key);
                     }
 
                     @Override
                     public Map<HivePartitionName, Partition> loadAll(
                             @NotNull Iterable<? extends HivePartitionName> partitionKeys) {
-                        return loadPartitionsByNames(partitionKeys);
+                        return loadAllThroughDiskCache(partitionDiskCache, partitionKeys,
+                                CachingHiveMetastore.this::loadPartitionsByNames);
+                    }
+
+                    @Override
+                    public ListenableFuture<Partition> reload(@NotNull HivePartitionName key,
+                                                              @NotNull Partition oldValue) {
+                        // the disk cache is not newer than the memory cache, refresh from the metastore
+                        return Futures.immediateFuture(loadPartition(key));
                     }
                 }, executor));
 
@@ -145,13 +183,22 @@ public class CachingHiveMetastore implements IHiveMetastore {
                 .build(asyncReloading(new CacheLoader<HivePartitionName, HivePartitionStats>() {
                     @Override
                     public HivePartitionStats load(@NotNull HivePartitionName key) {
-                        return loadPartitionStatistics(key);
+                        HivePartitionStats stats = getFromDiskCache(partitionStatsDiskCache, key);
+                        return stats != null ? stats : loadPartitionStatistics(key);
                     }
 
                     @Override
                     public Map<HivePartitionName, HivePartitionStats> loadAll(
                             @NotNull Iterable<? extends HivePartitionName> partitionKeys) {
-                        return loadPartitionsStatistics(partitionKeys);
+                        return loadAllThroughDiskCache(partitionStatsDiskCache, partitionKeys,
+                                CachingHiveMetastore.this::loadPartitionsStatistics);
+                    }
+
+                    @Override
+                    public ListenableFuture<HivePartitionStats> reload(@NotNull HivePartitionName key,
+                                                                       @NotNull HivePartitionStats oldValue) {
+                        // the disk cache is not newer than the memory cache, refresh from the metastore
+                        return Futures.immediateFuture(loadPartitionStatistics(key));
                     }
                 }, executor));
     }
@@ -236,7 +283,10 @@ public class CachingHiveMetastore implements IHiveMetastore {
     }
 
     public Partition loadPartition(HivePartitionName key) {
-        return metastore.getPartition(key.getDatabaseName(), key.getTableName(), key.getPartitionValues());
+        Partition partition = metastore.getPartition(key.getDatabaseName(), key.getTableName(),
+                key.getPartitionValues());
+        putToDiskCache(partitionDiskCache, key, partition);
+        return partition;
     }
 
     public Map<String, Partition> getPartitionsByNames(String dbName, String tblName, List<String> partitionNames) {
@@ -269,6 +319,7 @@ public class CachingHiveMetastore implements IHiveMetastore {
             Optional<Partition> optPartition = partitionName.getPartitionNames().map(partitionsByNames::get);
             Preconditions.checkState(optPartition.isPresent());
             partitions.put(partitionName, optPartition.get());
+            putToDiskCache(partitionDiskCache, partitionName, optPartition.get());
         }
         return partitions.build();
     }
@@ -313,7 +364,9 @@ public class CachingHiveMetastore implements IHiveMetastore {
         Map<String, HivePartitionStats> partitionsStatistics = metastore
                 .getPartitionStatistics(table, Lists.newArrayList(optPartitionNames.get()));
 
-        return partitionsStatistics.get(optPartitionNames.get());
+        HivePartitionStats stats = partitionsStatistics.get(optPartitionNames.get());
+        putToDiskCache(partitionStatsDiskCache, hivePartitionName, stats);
+        return stats;
     }
 
     private Map<HivePartitionName, HivePartitionStats> loadPartitionsStatistics(
@@ -325,11 +378,70 @@ public class CachingHiveMetastore implements IHiveMetastore {
                 Streams.stream(partitionNames).map(partitionName -> partitionName.getPartitionNames().get())
                         .collect(Collectors.toList()));
 
-        return partitionsStatistics.entrySet().stream().collect(Collectors.toMap(
-                entry -> HivePartitionName.of(
+        Map<HivePartitionName, HivePartitionStats> result = partitionsStatistics.entrySet().stream().collect(
+                Collectors.toMap(entry -> HivePartitionName.of(
                         hivePartitionName.getDatabaseName(), hivePartitionName.getTableName(), entry.getKey()),
-                Map.Entry::getValue
+                        Map.Entry::getValue
         ));
+        result.forEach((name, stats) -> putToDiskCache(partitionStatsDiskCache, name, stats));
+        return result;
+    }
+
+    private <T> T getFromDiskCache(LocalDiskCache<T> diskCache, HivePartitionName hivePartitionName) {
+        return diskCache != null ? diskCache.get(toDiskCacheKey(hivePartitionName)) : null;
+    }
+
+    private <T> void putToDiskCache(LocalDiskCache<T> diskCache, HivePartitionName hivePartitionName, T value) {
+        if (diskCache != null && value != null) {
+            diskCache.put(toDiskCacheKey(hivePartitionName), value);
+        }
+    }
+
+    private <T> void invalidateDiskCache(LocalDiskCache<T> diskCache, HivePartitionName hivePartitionName) {
+        if (diskCache != null) {
+            diskCache.invalidate(toDiskCacheKey(hivePartitionName));
+        }
+    }
+
+    private void invalidateTableInDiskCaches(String dbName, String tableName) {
+        String tableKeyPrefix = toDiskCacheKey(HivePartitionName.of(dbName, tableName, Lists.newArrayList()));
+        for (LocalDiskCache<?> diskCache : Lists.newArrayList(partitionDiskCache, partitionStatsDiskCache)) {
+            if (diskCache != null) {
+                diskCache.invalidateIf(key -> key.startsWith(tableKeyPrefix));
+            }
+        }
+    }
+
+    /**
+     * Get the values of the partitions from the disk cache, and load the missing ones by the remote loader,
+     * which writes them to the disk cache.
+     */
+    private <T> Map<HivePartitionName, T> loadAllThroughDiskCache(
+            LocalDiskCache<T> diskCache, Iterable<? extends HivePartitionName> partitionNames,
+            Function<List<HivePartitionName>, Map<HivePartitionName, T>> remoteLoader) {
+        Map<HivePartitionName, T> result = Maps.newHashMap();
+        List<HivePartitionName> missingNames = Lists.newArrayList();
+        for (HivePartitionName partitionName : partitionNames) {
+            T value = getFromDiskCache(diskCache, partitionName);
+            if (value != null) {
+                result.put(partitionName, value);
+            } else {
+                missingNames.add(partitionName);
+            }
+        }
+        if (!missingNames.isEmpty()) {
+            result.putAll(remoteLoader.apply(missingNames));
+        }
+        return result;
+    }
+
+    // db, table and partition values, the key of an unpartitioned table is the prefix of all partitions
+    private static String toDiskCacheKey(HivePartitionName hivePartitionName) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(hivePartitionName.getDatabaseName()).append(DISK_CACHE_KEY_SEPARATOR);
+        sb.append(hivePartitionName.getTableName()).append(DISK_CACHE_KEY_SEPARATOR);
+        sb.append(String.join(DISK_CACHE_KEY_SEPARATOR, hivePartitionName.getPartitionValues()));
+        return sb.toString();
     }
 
     @Override
@@ -374,10 +486,10 @@ public class CachingHiveMetastore implements IHiveMetastore {
             }
 
             refreshPartitionNames = refreshPartitions(presentPartitionNames, updatedPartitionKeys,
-                    this::loadPartitionsByNames, partitionCache);
+                    this::loadPartitionsByNames, partitionCache, partitionDiskCache);
             if (Config.enable_refresh_hive_partitions_statistics) {
                 refreshPartitions(presentPartitionStatistics, updatedPartitionKeys,
-                        this::loadPartitionsStatistics, partitionStatsCache);
+                        this::loadPartitionsStatistics, partitionStatsCache, partitionStatsDiskCache);
             }
         }
         return refreshPartitionNames;
@@ -404,7 +516,8 @@ public class CachingHiveMetastore implements IHiveMetastore {
     private <T> List<HivePartitionName> refreshPartitions(List<HivePartitionName> presentInCache,
                                        List<String> partitionNamesInHMS,
                                        Function<List<HivePartitionName>, Map<HivePartitionName, T>> reload,
-                                       LoadingCache<HivePartitionName, T> cache) {
+                                       LoadingCache<HivePartitionName, T> cache,
+                                       LocalDiskCache<T> diskCache) {
         List<HivePartitionName> needToRefresh = Lists.newArrayList();
         List<HivePartitionName> needToInvalidate = Lists.newArrayList();
         for (HivePartitionName name : presentInCache) {
@@ -425,6 +538,7 @@ public class CachingHiveMetastore implements IHiveMetastore {
             }
         }
         cache.invalidateAll(needToInvalidate);
+        needToInvalidate.forEach(name -> invalidateDiskCache(diskCache, name));
         return needToRefresh;
     }
 
@@ -479,6 +593,10 @@ public class CachingHiveMetastore implements IHiveMetastore {
         partitionCache.invalidateAll();
         tableStatsCache.invalidateAll();
         partitionStatsCache.invalidateAll();
+        if (partitionDiskCache != null) {
+            partitionDiskCache.invalidateAll();
+            partitionStatsDiskCache.invalidateAll();
+        }
     }
 
     public synchronized void invalidateTable(String dbName, String tableName) {
@@ -490,6 +608,7 @@ public class CachingHiveMetastore implements IHiveMetastore {
         presentPartitions.forEach(p -> partitionCache.invalidate(p));
         List<HivePartitionName> presentPartitionStats = getPresentPartitionNames(partitionStatsCache, dbName, tableName);
         presentPartitionStats.forEach(p -> partitionStatsCache.invalidate(p));
+        invalidateTableInDiskCaches(dbName, tableName);
     }
 
     public synchronized void invalidatePartition(HivePartitionName partitionName) {
@@ -497,6 +616,8 @@ public class CachingHiveMetastore implements IHiveMetastore {
         partitionKeysCache.invalidate(hiveTableName);
         partitionCache.invalidate(partitionName);
         partitionStatsCache.invalidate(partitionName);
+        invalidateDiskCache(partitionDiskCache, partitionName);
+        invalidateDiskCache(partitionStatsDiskCache, partitionName);
     }
 
     public boolean isTablePresent(HiveTableName tableName) {
@@ -516,13 +637,16 @@ public class CachingHiveMetastore implements IHiveMetastore {
             Map<String, HiveColumnStats> columnStats = get(tableStatsCache, hiveTableName).getColumnStats();
             HivePartitionStats updatedPartitionStats = createPartitionStats(commonStats, columnStats);
             tableStatsCache.put(hiveTableName, updatedPartitionStats);
-            partitionCache.put(HivePartitionName.of(dbName, tableName, Lists.newArrayList()), partition);
+            HivePartitionName hivePartitionName = HivePartitionName.of(dbName, tableName, Lists.newArrayList());
+            partitionCache.put(hivePartitionName, partition);
+            putToDiskCache(partitionDiskCache, hivePartitionName, partition);
         } else {
             partitionKeysCache.invalidate(hiveTableName);
             List<HivePartitionName> presentPartitions = getPresentPartitionNames(partitionCache, dbName, tableName);
             presentPartitions.forEach(p -> partitionCache.invalidate(p));
             List<HivePartitionName> presentPartitionStats = getPresentPartitionNames(partitionStatsCache, dbName, tableName);
             presentPartitionStats.forEach(p -> partitionStatsCache.invalidate(p));
+            invalidateTableInDiskCaches(dbName, tableName);
         }
     }
 
@@ -535,6 +659,8 @@ public class CachingHiveMetastore implements IHiveMetastore {
         partitionKeysCache.invalidate(hiveTableName);
         partitionCache.put(hivePartitionName, partition);
         partitionStatsCache.put(hivePartitionName, updatedPartitionStats);
+        putToDiskCache(partitionDiskCache, hivePartitionName, partition);
+        putToDiskCache(partitionStatsDiskCache, hivePartitionName, updatedPartitionStats);
     }
 
     private HivePartitionStats createPartitionStats(HiveCommonStats commonStats, Map<String, HiveColumnStats> columnStats) {
@@ -17,11 +17,13 @@ package com.starrocks.connector.hive;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.starrocks.common.Config;
 import com.starrocks.common.util.Util;
 import com.starrocks.connector.Connector;
 import com.starrocks.connector.ConnectorContext;
 import com.starrocks.connector.ConnectorMetadata;
 import com.starrocks.connector.HdfsEnvironment;
+import com.starrocks.connector.LocalDiskCache;
 import com.starrocks.connector.RemoteFileIO;
 import com.starrocks.credential.CloudConfiguration;
 import com.starrocks.credential.CloudConfigurationFactory;
@@ -49,6 +51,11 @@ public class HiveConnector implements Connector {
         this.cloudConfiguration = CloudConfigurationFactory.buildCloudConfigurationForStorage(properties);
         HdfsEnvironment hdfsEnvironment = new HdfsEnvironment(cloudConfiguration);
         this.internalMgr = new HiveConnectorInternalMgr(catalogName, properties, hdfsEnvironment);
+        if (Config.enable_connector_metadata_disk_cache && internalMgr.enableHmsEventsIncrementalSync()) {
+            // The events are pulled from the current event id after FE starts, the changes made in the metastore
+            // while FE was down are never applied to the disk caches, so start with empty ones.
+            LocalDiskCache.deleteCatalog(catalogName);
+        }
         this.metadataFactory = createMetadataFactory();
         validate();
         onCreate();
@@ -107,6 +114,7 @@ public class HiveConnector implements Connector {
     public void shutdown() {
         internalMgr.shutdown();
         metadataFactory.getCacheUpdateProcessor().ifPresent(CacheUpdateProcessor::invalidateAll);
+        LocalDiskCache.deleteDroppedCatalog(catalogName);
         GlobalStateMgr.getCurrentState().getMetastoreEventsProcessor().unRegisterCacheUpdateProcessor(catalogName);
         GlobalStateMgr.getCurrentState().getConnectorTableMetadataProcessor().unRegisterCacheUpdateProcessor(catalogName);
     }
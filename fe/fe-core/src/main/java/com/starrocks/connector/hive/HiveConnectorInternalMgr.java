@@ -97,7 +97,8 @@ public class HiveConnectorInternalMgr {
                     hmsConf.getCacheTtlSec(),
                     enableHmsEventsIncrementalSync ? NEVER_REFRESH : hmsConf.getCacheRefreshIntervalSec(),
                     hmsConf.getCacheMaxNum(),
-                    hmsConf.enableListNamesCache());
+                    hmsConf.enableListNamesCache(),
+                    Config.enable_connector_metadata_disk_cache ? catalogName : null);
         }
 
         return baseHiveMetastore;
@@ -119,7 +120,8 @@ public class HiveConnectorInternalMgr {
                     new ReentrantExecutor(refreshRemoteFileExecutor, remoteFileConf.getPerQueryCacheMaxSize()),
                     remoteFileConf.getCacheTtlSec(),
                     enableHmsEventsIncrementalSync ? NEVER_REFRESH : remoteFileConf.getCacheRefreshIntervalSec(),
-                    remoteFileConf.getCacheMaxSize());
+                    remoteFileConf.getCacheMaxSize(),
+                    Config.enable_connector_metadata_disk_cache ? catalogName : null);
         }
 
         return baseRemoteFileIO;
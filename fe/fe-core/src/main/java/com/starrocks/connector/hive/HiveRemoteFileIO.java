@@ -150,6 +150,10 @@ public class HiveRemoteFileIO implements RemoteFileIO {
         });
     }
 
+    public String getBlockHost(long hostId) {
+        return idToBlockHost.get(hostId);
+    }
+
     public String getHdfsDataNodeIp(long hostId) {
         String hostPort = idToBlockHost.get(hostId);
         return hostPort.split(":")[0];
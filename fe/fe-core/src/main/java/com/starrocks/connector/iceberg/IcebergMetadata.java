@@ -38,7 +38,13 @@ import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
 import com.starrocks.sql.optimizer.statistics.Statistics;
 import org.apache.iceberg.BaseTable;
 import org.apache.iceberg.CombinedScanTask;
+import org.apache.iceberg.DataFile;
 import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.ManifestFiles;
+import org.apache.iceberg.ManifestReader;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.TableScan;
 import org.apache.iceberg.catalog.Namespace;
@@ -46,7 +52,11 @@ import org.apache.iceberg.catalog.TableIdentifier;
 import org.apache.iceberg.exceptions.NoSuchTableException;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.FileIO;
+import org.apache.iceberg.types.Conversions;
 import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.Tasks;
+import org.apache.iceberg.util.ThreadPools;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
@@ -56,6 +66,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -170,16 +181,82 @@ public class IcebergMetadata implements ConnectorMetadata {
                 .anyMatch(partitionField -> !partitionField.transform().isIdentity())) {
             return partitionNames;
         }
-        TableScan tableScan = icebergTable.newScan();
-        List<FileScanTask> tasks = Lists.newArrayList(tableScan.planFiles());
-
-        for (FileScanTask fileScanTask : tasks) {
-            StructLike partition = fileScanTask.file().partition();
-            partitionNames.add(convertIcebergPartitionToPartitionName(icebergTable.spec(), partition));
+        Snapshot snapshot = icebergTable.currentSnapshot();
+        if (snapshot == null) {
+            return partitionNames;
         }
+
+        // Collect the partitions from the manifests in parallel instead of planning all the files.
+        // A manifest whose partition summaries have the same lower and upper bounds contains only one partition,
+        // which is got from the manifest list without reading the manifest.
+        Set<String> partitionNameSet = ConcurrentHashMap.newKeySet();
+        FileIO io = icebergTable.io();
+        Map<Integer, PartitionSpec> specs = icebergTable.specs();
+        Tasks.foreach(snapshot.dataManifests(io))
+                .executeWith(ThreadPools.getWorkerPool())
+                .stopOnFailure()
+                .throwFailureWhenFinished()
+                .run(manifest -> {
+                    if (!manifest.hasAddedFiles() && !manifest.hasExistingFiles()) {
+                        return;
+                    }
+                    PartitionSpec spec = specs.get(manifest.partitionSpecId());
+                    StructLike partition = getSinglePartition(spec, manifest);
+                    if (partition != null) {
+                        partitionNameSet.add(convertIcebergPartitionToPartitionName(spec, partition));
+                        return;
+                    }
+                    try (ManifestReader<DataFile> reader = ManifestFiles.read(manifest, io, specs)
+                            .select(ImmutableList.of("partition"))) {
+                        for (DataFile file : reader) {
+                            partitionNameSet.add(convertIcebergPartitionToPartitionName(spec, file.partition()));
+                        }
+                    } catch (IOException e) {
+                        throw new StarRocksConnectorException("Failed to read manifest %s, msg: %s",
+                                manifest.path(), e.getMessage());
+                    }
+                });
+        partitionNames.addAll(partitionNameSet);
         return partitionNames;
     }
 
+    /**
+     * Returns the partition of all the files in the manifest, or null if the manifest may contain multiple
+     * partitions or the partition summaries are absent.
+     */
+    private static StructLike getSinglePartition(PartitionSpec spec, ManifestFile manifest) {
+        List<ManifestFile.PartitionFieldSummary> summaries = manifest.partitions();
+        if (summaries == null || summaries.size() != spec.fields().size()) {
+            return null;
+        }
+        List<Types.NestedField> partitionFields = spec.partitionType().fields();
+        Object[] values = new Object[summaries.size()];
+        for (int i = 0; i < summaries.size(); i++) {
+            ManifestFile.PartitionFieldSummary summary = summaries.get(i);
+            if (summary.containsNull() || Boolean.TRUE.equals(summary.containsNaN()) || summary.lowerBound() == null ||
+                    !summary.lowerBound().equals(summary.upperBound())) {
+                return null;
+            }
+            values[i] = Conversions.fromByteBuffer(partitionFields.get(i).type(), summary.lowerBound());
+        }
+        return new StructLike() {
+            @Override
+            public int size() {
+                return values.length;
+            }
+
+            @Override
+            public <T> T get(int pos, Class<T> javaClass) {
+                return javaClass.cast(values[pos]);
+            }
+
+            @Override
+            public <T> void set(int pos, T value) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
     @Override
     public List<RemoteFileInfo> getRemoteFileInfos(Table table, List<PartitionKey> partitionKeys,
                                                    long snapshotId, ScalarOperator predicate) {
@@ -199,7 +276,8 @@ public class IcebergMetadata implements ConnectorMetadata {
 
             ImmutableList.Builder<FileScanTask> builder = ImmutableList.builder();
             org.apache.iceberg.Table nativeTable = table.getNativeTable();
-            TableScan scan = nativeTable.newScan().useSnapshot(snapshotId);
+            // read the manifests in parallel, the tasks are added to the cached list as they are planned
+            TableScan scan = nativeTable.newScan().useSnapshot(snapshotId).planWith(ThreadPools.getWorkerPool());
             if (icebergPredicate.op() != Expression.Operation.TRUE) {
                 scan = scan.filter(icebergPredicate);
             }
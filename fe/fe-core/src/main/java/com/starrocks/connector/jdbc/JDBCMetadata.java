@@ -15,15 +15,20 @@
 
 package com.starrocks.connector.jdbc;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.ImmutableList;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.JDBCResource;
+import com.starrocks.catalog.JDBCTable;
 import com.starrocks.catalog.Table;
+import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
 import com.starrocks.connector.ConnectorMetadata;
 import com.starrocks.connector.ConnectorTableId;
 import com.starrocks.connector.exception.StarRocksConnectorException;
+import com.starrocks.qe.ConnectContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -31,16 +36,30 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class JDBCMetadata implements ConnectorMetadata {
 
     private static Logger LOG = LogManager.getLogger(JDBCMetadata.class);
 
+    // The split column of a table is declared by the catalog property "split_column.<db>.<table>",
+    // or else the first column of the primary key is used if it's an integer, date or datetime column.
+    public static final String SPLIT_COLUMN_PREFIX = "split_column.";
+
+    private static final long SPLIT_RANGE_CACHE_MAX_SIZE = 10000;
+
     private Map<String, String> properties;
     private JDBCSchemaResolver schemaResolver;
+    // The [min, max] ranges of the split columns keyed by db, table and column, a table is loaded by every query,
+    // so the ranges are cached here instead of in the table. The failed queries are not cached.
+    private final Cache<List<String>, long[]> splitRangeCache = Caffeine.newBuilder()
+            .expireAfterWrite(Config.jdbc_split_range_cache_ttl_s, TimeUnit.SECONDS)
+            .maximumSize(SPLIT_RANGE_CACHE_MAX_SIZE)
+            .build();
 
     public JDBCMetadata(Map<String, String> properties) {
         this.properties = properties;
@@ -113,12 +132,65 @@ public class JDBCMetadata implements ConnectorMetadata {
             if (fullSchema.isEmpty()) {
                 return null;
             }
-            return schemaResolver.getTable(ConnectorTableId.CONNECTOR_ID_GENERATOR.getNextId().asInt(),
+            Table table = schemaResolver.getTable(ConnectorTableId.CONNECTOR_ID_GENERATOR.getNextId().asInt(),
                     tblName, fullSchema, dbName, properties);
+            ConnectContext context = ConnectContext.get();
+            if (context != null && context.getSessionVariable().getJdbcScanSplitNum() > 1) {
+                setSplitColumn(connection, dbName, tblName, (JDBCTable) table);
+            }
+            return table;
         } catch (SQLException | DdlException e) {
             LOG.warn(e.getMessage());
             return null;
         }
     }
 
+    private void setSplitColumn(Connection connection, String dbName, String tblName, JDBCTable table) {
+        try {
+            Column splitColumn = getSplitColumn(connection, dbName, tblName, table);
+            if (splitColumn != null) {
+                // MIN/MAX may scan the remote table, so it's only queried when a scan is split
+                table.setSplitColumn(splitColumn, () -> splitRangeCache.get(
+                        Arrays.asList(dbName, tblName, splitColumn.getName()),
+                        key -> getSplitRange(dbName, tblName, splitColumn)));
+            }
+        } catch (SQLException e) {
+            // scan the table without splits
+            LOG.warn("failed to get the split column of table {}.{}", dbName, tblName, e);
+        }
+    }
+
+    private long[] getSplitRange(String dbName, String tblName, Column splitColumn) {
+        try (Connection connection = getConnection()) {
+            return schemaResolver.getSplitRange(connection, dbName, tblName, splitColumn);
+        } catch (SQLException e) {
+            // scan the table without splits
+            LOG.warn("failed to get the split range of table {}.{}", dbName, tblName, e);
+            return null;
+        }
+    }
+
+    private Column getSplitColumn(Connection connection, String dbName, String tblName, JDBCTable table)
+            throws SQLException {
+        String columnName = properties.get(SPLIT_COLUMN_PREFIX + dbName + "." + tblName);
+        if (columnName == null) {
+            try (ResultSet keySet = schemaResolver.getPrimaryKeys(connection, dbName, tblName)) {
+                while (keySet.next()) {
+                    if (keySet.getInt("KEY_SEQ") == 1) {
+                        columnName = keySet.getString("COLUMN_NAME");
+                        break;
+                    }
+                }
+            }
+        }
+        if (columnName == null) {
+            return null;
+        }
+        Column column = table.getColumn(columnName);
+        if (column == null || !(column.getType().isIntegerType() || column.getType().isDateType())) {
+            LOG.info("column {} of table {}.{} can't be used to split the scan", columnName, dbName, tblName);
+            return null;
+        }
+        return column;
+    }
 }
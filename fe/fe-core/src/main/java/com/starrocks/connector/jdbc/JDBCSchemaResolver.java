@@ -27,6 +27,9 @@ import com.starrocks.connector.exception.StarRocksConnectorException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -58,6 +61,53 @@ public abstract class JDBCSchemaResolver {
         return connection.getMetaData().getColumns(dbName, null, tblName, "%");
     }
 
+    public ResultSet getPrimaryKeys(Connection connection, String dbName, String tblName) throws SQLException {
+        return connection.getMetaData().getPrimaryKeys(dbName, null, tblName);
+    }
+
+    public String quoteIdentifier(String identifier) {
+        return identifier;
+    }
+
+    public String getQualifiedTableName(String dbName, String tblName) {
+        return quoteIdentifier(dbName) + "." + quoteIdentifier(tblName);
+    }
+
+    /**
+     * Get the min and max values of the split column, the values of date and datetime columns
+     * are converted to epoch days and epoch seconds.
+     *
+     * @return null if the table is empty
+     */
+    public long[] getSplitRange(Connection connection, String dbName, String tblName, Column column)
+            throws SQLException {
+        String columnName = quoteIdentifier(column.getName());
+        String sql = String.format("SELECT MIN(%s), MAX(%s) FROM %s", columnName, columnName,
+                getQualifiedTableName(dbName, tblName));
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            long[] range = new long[2];
+            for (int i = 0; i < 2; i++) {
+                if (column.getType().isIntegerType()) {
+                    range[i] = resultSet.getLong(i + 1);
+                } else {
+                    Timestamp value = resultSet.getTimestamp(i + 1);
+                    if (value != null) {
+                        range[i] = column.getType().isDate() ? value.toLocalDateTime().toLocalDate().toEpochDay() :
+                                value.toLocalDateTime().toEpochSecond(ZoneOffset.UTC);
+                    }
+                }
+                if (resultSet.wasNull()) {
+                    return null;
+                }
+            }
+            return range;
+        }
+    }
+
     public Table getTable(long id, String name, List<Column> schema, String dbName,
                           Map<String, String> properties) throws DdlException {
         return new JDBCTable(id, name, schema, dbName, properties);
@@ -51,6 +51,11 @@ public class MysqlSchemaResolver extends JDBCSchemaResolver {
         }
     }
 
+    @Override
+    public String quoteIdentifier(String identifier) {
+        return "`" + identifier + "`";
+    }
+
     @Override
     public Type convertColumnType(int dataType, String typeName, int columnSize, int digits) {
         PrimitiveType primitiveType;
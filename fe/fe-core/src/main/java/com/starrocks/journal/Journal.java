@@ -62,5 +62,11 @@ public interface Journal {
     // abort current batch
     public void batchWriteAbort() throws InterruptedException, JournalException;
 
+    // detach current batch, so that the next batch can begin while the detached one is being committed.
+    // return null if the journal doesn't support it, the caller should call batchWriteCommit() instead.
+    public default JournalBatch batchWriteDetach() throws InterruptedException, JournalException {
+        return null;
+    }
+
     public String getPrefix();
 }
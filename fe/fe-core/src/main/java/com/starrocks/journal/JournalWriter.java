@@ -16,6 +16,7 @@
 package com.starrocks.journal;
 
 import com.starrocks.common.Config;
+import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.util.Daemon;
 import com.starrocks.common.util.Util;
 import com.starrocks.metric.MetricRepo;
@@ -25,6 +26,9 @@ import org.apache.logging.log4j.Logger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * An independent thread to write journals by batch asynchronously.
@@ -64,9 +68,18 @@ public class JournalWriter {
     /** Last timestamp in millisecond to log the commit triggered by delay. */
     private long lastLogTimeForDelayTriggeredCommit = -1;
 
+    // if true, commit batch in committer thread while appending the next batch
+    private final boolean pipelinedCommit;
+    private final ExecutorService committer;
+    // the batch being committed in committer thread, only accessed by JournalWriter thread
+    private CommittingBatch committingBatch = null;
+
     public JournalWriter(Journal journal, BlockingQueue<JournalTask> journalQueue) {
         this.journal = journal;
         this.journalQueue = journalQueue;
+        this.pipelinedCommit = Config.metadata_journal_enable_pipelined_commit;
+        this.committer = pipelinedCommit ?
+                ThreadPoolManager.newDaemonFixedThreadPool(1, Integer.MAX_VALUE, "journal-committer", true) : null;
     }
 
     /**
@@ -90,6 +103,7 @@ public class JournalWriter {
                     LOG.error(msg, e);
                     // TODO we should exit gracefully on InterruptedException
                     Util.stdoutWithTime(msg);
+                    close();
                     System.exit(-1);
                 }
             }
@@ -97,10 +111,19 @@ public class JournalWriter {
         d.start();
     }
 
+    /**
+     * Stop the committer thread, the batch being committed is still committed.
+     */
+    public void close() {
+        if (committer != null) {
+            committer.shutdown();
+        }
+    }
+
     protected void writeOneBatch() throws InterruptedException {
         // waiting if necessary until an element becomes available
         currentJournal = journalQueue.take();
-        long nextJournalId = nextVisibleJournalId;
+        long nextJournalId = committingBatch == null ? nextVisibleJournalId : committingBatch.endJournalId;
         initBatch();
 
         try {
@@ -115,35 +138,135 @@ public class JournalWriter {
                     break;
                 }
 
-                currentJournal = journalQueue.take();
+                currentJournal = takeNextJournal();
+                if (currentJournal == null) {
+                    break;
+                }
             }
         } catch (JournalException e) {
             // abort current task
             LOG.warn("failed to write batch, will abort current journal {} and commit", currentJournal, e);
             abortJournalTask(currentJournal, e.getMessage());
         } finally {
+            if (!pipelinedCommit || !commitInPipeline(nextJournalId)) {
+                commitCurrentBatch(nextJournalId);
+            }
+        }
+    }
+
+    private void commitCurrentBatch(long nextJournalId) throws InterruptedException {
+        try {
+            // commit
+            journal.batchWriteCommit();
+            LOG.debug("batch write commit success, from {} - {}", nextVisibleJournalId, nextJournalId);
+            nextVisibleJournalId = nextJournalId;
+            markCurrentBatchSucceed();
+        } catch (JournalException e) {
+            // abort
+            LOG.warn("failed to commit batch, will abort current {} journals.",
+                    currentBatchTasks.size(), e);
             try {
-                // commit
-                journal.batchWriteCommit();
-                LOG.debug("batch write commit success, from {} - {}", nextVisibleJournalId, nextJournalId);
-                nextVisibleJournalId = nextJournalId;
-                markCurrentBatchSucceed();
-            } catch (JournalException e) {
-                // abort
-                LOG.warn("failed to commit batch, will abort current {} journals.",
-                        currentBatchTasks.size(), e);
-                try {
-                    journal.batchWriteAbort();
-                } catch (JournalException e2) {
-                    LOG.warn("failed to abort batch, will ignore and continue.", e);
-                }
-                abortCurrentBatch(e.getMessage());
+                journal.batchWriteAbort();
+            } catch (JournalException e2) {
+                LOG.warn("failed to abort batch, will ignore and continue.", e);
             }
+            abortCurrentBatch(e.getMessage());
         }
 
-        rollJournalAfterBatch();
+        rollJournalCounter += currentBatchTasks.size();
+        rollJournalIfNeeded();
 
-        updateBatchMetrics();
+        updateBatchMetrics(currentBatchTasks, startTimeNano, uncommittedEstimatedBytes);
+    }
+
+    /**
+     * Detach current batch and commit it in the committer thread, so that the next batch can be appended while
+     * this one is being committed.
+     *
+     * @return false if the journal doesn't support pipelined commit, current batch should be committed directly
+     */
+    private boolean commitInPipeline(long nextJournalId) throws InterruptedException {
+        JournalBatch batch;
+        try {
+            batch = journal.batchWriteDetach();
+        } catch (JournalException e) {
+            LOG.warn("failed to detach batch, will abort current {} journals.", currentBatchTasks.size(), e);
+            abortCurrentBatch(e.getMessage());
+            return true;
+        }
+        if (batch == null) {
+            return false;
+        }
+
+        // batch N+1 can only be committed after batch N is committed, to avoid holes in journal ids
+        waitForCommittingBatch();
+        CommittingBatch committing = new CommittingBatch(batch, currentBatchTasks, nextJournalId,
+                startTimeNano, uncommittedEstimatedBytes);
+        committing.future = committer.submit(() -> {
+            committing.commit();
+            return null;
+        });
+        committingBatch = committing;
+        // the tasks are handed over to the committing batch
+        currentBatchTasks = new ArrayList<>();
+
+        // journal can only be rolled when there's no running txn
+        if (rollJournalCounter + committing.tasks.size() >= Config.edit_log_roll_num || forceRollJournal) {
+            waitForCommittingBatch();
+            rollJournalIfNeeded();
+        }
+        return true;
+    }
+
+    /**
+     * Wait until the batch in committer thread is committed.
+     */
+    private void waitForCommittingBatch() throws InterruptedException {
+        if (committingBatch == null) {
+            return;
+        }
+        CommittingBatch batch = committingBatch;
+        committingBatch = null;
+        try {
+            batch.future.get();
+        } catch (ExecutionException e) {
+            String msg = String.format("failed to commit journals from %d to %d, will exit",
+                    nextVisibleJournalId, batch.endJournalId);
+            LOG.error(msg, e);
+            Util.stdoutWithTime(msg);
+            // TODO exit gracefully
+            System.exit(-1);
+        }
+        LOG.debug("batch write commit success, from {} - {}", nextVisibleJournalId, batch.endJournalId);
+        nextVisibleJournalId = batch.endJournalId;
+        rollJournalCounter += batch.tasks.size();
+
+        updateBatchMetrics(batch.tasks, batch.startTimeNano, batch.estimatedBytes);
+    }
+
+    /**
+     * Take the next journal for current batch.
+     * If pipelined commit is enabled, keep collecting journals while the previous batch is being committed, since
+     * current batch can not be committed before that anyway. If there is no journal to append, block until the
+     * previous batch is committed, the journals which arrive meanwhile are still collected into current batch.
+     *
+     * @return null if current batch should be committed now
+     */
+    private JournalTask takeNextJournal() throws InterruptedException {
+        if (committingBatch == null) {
+            // shouldCommitNow() makes sure that the queue is not empty
+            return journalQueue.take();
+        }
+        JournalTask task = journalQueue.poll();
+        if (task != null) {
+            return task;
+        }
+        try {
+            committingBatch.future.get();
+        } catch (ExecutionException e) {
+            // reported when current batch waits for it
+        }
+        return journalQueue.poll();
     }
 
     private void initBatch() {
@@ -209,22 +332,22 @@ public class JournalWriter {
             return true;
         }
 
-        // 4. no more journal in queue
-        return journalQueue.peek() == null;
+        // 4. no more journal in queue, and no batch is being committed
+        return journalQueue.peek() == null && (committingBatch == null || committingBatch.future.isDone());
     }
 
     /**
      * update all metrics after batch write
      */
-    private void updateBatchMetrics() {
+    private void updateBatchMetrics(List<JournalTask> batchTasks, long batchStartTimeNano, long batchBytes) {
         if (MetricRepo.isInit) {
-            MetricRepo.COUNTER_EDIT_LOG_WRITE.increase((long) currentBatchTasks.size());
-            MetricRepo.HISTO_JOURNAL_WRITE_LATENCY.update((System.nanoTime() - startTimeNano) / 1000000);
-            MetricRepo.HISTO_JOURNAL_WRITE_BATCH.update(currentBatchTasks.size());
-            MetricRepo.HISTO_JOURNAL_WRITE_BYTES.update(uncommittedEstimatedBytes);
+            MetricRepo.COUNTER_EDIT_LOG_WRITE.increase((long) batchTasks.size());
+            MetricRepo.HISTO_JOURNAL_WRITE_LATENCY.update((System.nanoTime() - batchStartTimeNano) / 1000000);
+            MetricRepo.HISTO_JOURNAL_WRITE_BATCH.update(batchTasks.size());
+            MetricRepo.HISTO_JOURNAL_WRITE_BYTES.update(batchBytes);
             MetricRepo.GAUGE_STACKED_JOURNAL_NUM.setValue((long) journalQueue.size());
 
-            for (JournalTask e : currentBatchTasks) {
+            for (JournalTask e : batchTasks) {
                 MetricRepo.COUNTER_EDIT_LOG_SIZE_BYTES.increase(e.estimatedSizeByte());
             }
         }
@@ -247,8 +370,7 @@ public class JournalWriter {
         return false;
     }
 
-    private void rollJournalAfterBatch() {
-        rollJournalCounter += currentBatchTasks.size();
+    private void rollJournalIfNeeded() {
         if (rollJournalCounter >= Config.edit_log_roll_num || needForceRollJournal()) {
             try {
                 journal.rollJournal(nextVisibleJournalId);
@@ -270,4 +392,52 @@ public class JournalWriter {
             rollJournalCounter = 0;
         }
     }
+
+    /**
+     * A detached batch committed by committer thread.
+     */
+    private class CommittingBatch {
+        private final JournalBatch batch;
+        private final List<JournalTask> tasks;
+        // the next journal id after this batch is committed
+        private final long endJournalId;
+        private final long startTimeNano;
+        private final long estimatedBytes;
+        private Future<?> future;
+
+        CommittingBatch(JournalBatch batch, List<JournalTask> tasks, long endJournalId, long startTimeNano,
+                        long estimatedBytes) {
+            this.batch = batch;
+            this.tasks = tasks;
+            this.endJournalId = endJournalId;
+            this.startTimeNano = startTimeNano;
+            this.estimatedBytes = estimatedBytes;
+        }
+
+        /**
+         * Run in committer thread, notify the callers as soon as the batch is committed.
+         */
+        private void commit() throws InterruptedException {
+            long commitStartNano = System.nanoTime();
+            try {
+                batch.commit();
+                for (JournalTask t : tasks) {
+                    t.markSucceed();
+                }
+            } catch (JournalException e) {
+                LOG.warn("failed to commit batch, will abort current {} journals.", tasks.size(), e);
+                try {
+                    batch.abort();
+                } catch (JournalException e2) {
+                    LOG.warn("failed to abort batch, will ignore and continue.", e);
+                }
+                for (JournalTask t : tasks) {
+                    abortJournalTask(t, e.getMessage());
+                }
+            }
+            if (MetricRepo.isInit) {
+                MetricRepo.HISTO_JOURNAL_COMMIT_LATENCY.update((System.nanoTime() - commitStartNano) / 1000000);
+            }
+        }
+    }
 }
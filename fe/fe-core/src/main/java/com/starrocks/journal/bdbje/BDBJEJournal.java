@@ -44,6 +44,7 @@ import com.sleepycat.je.Transaction;
 import com.starrocks.common.Pair;
 import com.starrocks.common.io.DataOutputBuffer;
 import com.starrocks.journal.Journal;
+import com.starrocks.journal.JournalBatch;
 import com.starrocks.journal.JournalCursor;
 import com.starrocks.journal.JournalException;
 import com.starrocks.journal.JournalInconsistentException;
@@ -389,80 +390,103 @@ public class BDBJEJournal implements Journal {
             throw new JournalException("failed to commit because no running txn!");
         }
 
-        JournalException exception = null;
         try {
-            for (int i = 0; i < RETRY_TIME; i++) {
-                // retry cleanups
-                if (i != 0) {
-                    Thread.sleep(SLEEP_INTERVAL_SEC * 1000L);
+            commitTransaction(currentTrasaction, uncommitedDatas, currentJournalDB);
+        } finally {
+            // always reset current txn
+            currentTrasaction = null;
+            uncommitedDatas.clear();
+        }
+    }
 
-                    if (currentTrasaction == null || !currentTrasaction.isValid()) {
-                        try {
-                            rebuildCurrentTransaction();
-                        } catch (JournalException e) {
-                            // failed to rebuild txn, will continune to next attempt
-                            LOG.warn("failed to commit journal after retried {} times! failed to rebuild txn",
-                                    i + 1, e);
-                            currentTrasaction = null;
-                            exception = e;
-                            continue;
-                        }
-                    }
-                } // if i != 0
+    /**
+     * detach current batch
+     * for bdb: hand over current transaction and its uncommitted kvs to the returned batch,
+     * so that a new transaction can begin before the detached one is committed.
+     */
+    @Override
+    public JournalBatch batchWriteDetach() throws InterruptedException, JournalException {
+        if (currentTrasaction == null) {
+            throw new JournalException("failed to detach because no running txn!");
+        }
+        JournalBatch batch = new BDBJournalBatch(currentTrasaction, uncommitedDatas, currentJournalDB);
+        currentTrasaction = null;
+        uncommitedDatas = new ArrayList<>();
+        return batch;
+    }
 
-                // commit
-                try {
-                    if (currentTrasaction != null) {
-                        currentTrasaction.commit();
+    private void commitTransaction(Transaction txn, List<Pair<DatabaseEntry, DatabaseEntry>> datas,
+                                   CloseSafeDatabase journalDB) throws InterruptedException, JournalException {
+        JournalException exception = null;
+        for (int i = 0; i < RETRY_TIME; i++) {
+            // retry cleanups
+            if (i != 0) {
+                Thread.sleep(SLEEP_INTERVAL_SEC * 1000L);
+
+                if (txn == null || !txn.isValid()) {
+                    try {
+                        txn = rebuildTransaction(datas, journalDB);
+                    } catch (JournalException e) {
+                        // failed to rebuild txn, will continune to next attempt
+                        LOG.warn("failed to commit journal after retried {} times! failed to rebuild txn",
+                                i + 1, e);
+                        txn = null;
+                        exception = e;
+                        continue;
                     }
-                    return;
-                } catch (DatabaseException e) {
-                    String errMsg = String.format("failed to commit journal after retried %d times! txn[%s] db[%s]",
-                            i + 1, currentTrasaction, currentJournalDB);
-                    LOG.error(errMsg, e);
-                    exception = new JournalException(errMsg);
-                    exception.initCause(e);
                 }
+            } // if i != 0
+
+            // commit
+            try {
+                if (txn != null) {
+                    txn.commit();
+                }
+                return;
+            } catch (DatabaseException e) {
+                String errMsg = String.format("failed to commit journal after retried %d times! txn[%s] db[%s]",
+                        i + 1, txn, journalDB);
+                LOG.error(errMsg, e);
+                exception = new JournalException(errMsg);
+                exception.initCause(e);
             }
-            // failed after retried
-            if (exception != null) {
-                throw exception;
-            }
-        } finally {
-            // always reset current txn
-            currentTrasaction = null;
-            uncommitedDatas.clear();
+        }
+        // failed after retried
+        if (exception != null) {
+            throw exception;
         }
     }
 
     /**
      * txn can be invalid if commit fails on exception
-     * in this case, we rebuild the current transaction with `uncommitedDatas`
+     * in this case, we rebuild the transaction with uncommitted kvs
      * there's no need to retry while we were rebuilding since we have retried outside this function
      */
-    private void rebuildCurrentTransaction() throws JournalException {
-        LOG.warn("transaction is invalid, rebuild the txn with {} kvs", uncommitedDatas.size());
+    private Transaction rebuildTransaction(List<Pair<DatabaseEntry, DatabaseEntry>> datas,
+                                           CloseSafeDatabase journalDB) throws JournalException {
+        LOG.warn("transaction is invalid, rebuild the txn with {} kvs", datas.size());
 
+        Transaction txn = null;
         try {
             //  begin transaction
-            currentTrasaction = currentJournalDB.getDb().getEnvironment().beginTransaction(
-                    null, bdbEnvironment.getTxnConfig());
+            txn = journalDB.getDb().getEnvironment().beginTransaction(null, bdbEnvironment.getTxnConfig());
             // append
-            for (Pair<DatabaseEntry, DatabaseEntry> kvPair : uncommitedDatas) {
+            for (Pair<DatabaseEntry, DatabaseEntry> kvPair : datas) {
                 DatabaseEntry theKey = kvPair.first;
                 DatabaseEntry theData = kvPair.second;
-                OperationStatus status = currentJournalDB.put(currentTrasaction, theKey, theData);
+                OperationStatus status = journalDB.put(txn, theKey, theData);
                 if (status != OperationStatus.SUCCESS) {
                     String msg = String.format(
                             "failed to append journal! status[%s] db[%s] key[%s] data[%s]",
-                            status, currentJournalDB, theKey, theData);
+                            status, journalDB, theKey, theData);
                     LOG.warn(msg);
                     throw new JournalException(msg);
                 }
             }
-            LOG.info("rebuild txn succeed. new txn {}", currentTrasaction);
+            LOG.info("rebuild txn succeed. new txn {}", txn);
+            return txn;
         } catch (DatabaseException e) {
-            String errMsg = String.format("failed to rebuild txn! txn[%s] db[%s]", currentTrasaction, currentJournalDB);
+            String errMsg = String.format("failed to rebuild txn! txn[%s] db[%s]", txn, journalDB);
             LOG.error(errMsg, e);
             JournalException exception = new JournalException(errMsg);
             exception.initCause(e);
@@ -492,6 +516,39 @@ public class BDBJEJournal implements Journal {
         }
     }
 
+    /**
+     * A detached bdb transaction, committed by the pipelined journal writer.
+     */
+    private class BDBJournalBatch implements JournalBatch {
+        private final Transaction txn;
+        private final List<Pair<DatabaseEntry, DatabaseEntry>> datas;
+        private final CloseSafeDatabase journalDB;
+
+        BDBJournalBatch(Transaction txn, List<Pair<DatabaseEntry, DatabaseEntry>> datas,
+                        CloseSafeDatabase journalDB) {
+            this.txn = txn;
+            this.datas = datas;
+            this.journalDB = journalDB;
+        }
+
+        @Override
+        public void commit() throws InterruptedException, JournalException {
+            commitTransaction(txn, datas, journalDB);
+        }
+
+        @Override
+        public void abort() throws InterruptedException, JournalException {
+            try {
+                txn.abort();
+            } catch (DatabaseException e) {
+                JournalException exception = new JournalException(String.format(
+                        "failed to abort batch write! txn[%s] db[%s]", txn, journalDB));
+                exception.initCause(e);
+                throw exception;
+            }
+        }
+    }
+
     private String getFullDatabaseName(long dbId) {
         return prefix + Long.toString(dbId);
     }
@@ -56,12 +56,14 @@ import com.starrocks.catalog.Replica;
 import com.starrocks.catalog.Replica.ReplicaState;
 import com.starrocks.catalog.TabletInvertedIndex;
 import com.starrocks.catalog.TabletMeta;
+import com.starrocks.clone.TabletChecker;
 import com.starrocks.clone.TabletSchedCtx;
 import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
 import com.starrocks.common.InternalErrorCode;
 import com.starrocks.common.MetaNotFoundException;
 import com.starrocks.common.Pair;
+import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.util.Daemon;
 import com.starrocks.common.util.TimeUtils;
 import com.starrocks.metric.GaugeMetric;
@@ -115,6 +117,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 public class ReportHandler extends Daemon {
@@ -136,18 +139,29 @@ public class ReportHandler extends Daemon {
 
     private BlockingQueue<ReportTask> reportQueue = Queues.newLinkedBlockingQueue();
 
+    // The latest report of each backend and type which has not been handled yet. A report is handled after
+    // it's taken from this map, so the reports received before that are superseded by the newer ones.
     private Map<ReportType, Map<Long, ReportTask>> pendingTaskMap = Maps.newHashMap();
 
+    // Reports of a backend are always handled by the same single thread executor, so they are handled
+    // in the order of arrival, while the reports of different backends are handled in parallel.
+    private final ExecutorService[] reportExecutors;
+
     public ReportHandler() {
         super("ReportHandler");
         GaugeMetric<Long> gaugeQueueSize = new GaugeMetric<Long>(
                 "report_queue_size", MetricUnit.NOUNIT, "report queue size") {
             @Override
             public Long getValue() {
-                return (long) reportQueue.size();
+                return (long) getPendingTaskNum();
             }
         };
         MetricRepo.addMetric(gaugeQueueSize);
+        reportExecutors = new ExecutorService[Math.max(1, Config.report_handler_thread_num)];
+        for (int i = 0; i < reportExecutors.length; i++) {
+            reportExecutors[i] = ThreadPoolManager.newDaemonFixedThreadPool(1, Integer.MAX_VALUE,
+                    "report-handler-" + i, false);
+        }
         pendingTaskMap.put(ReportType.TABLET_REPORT, Maps.newHashMap());
         pendingTaskMap.put(ReportType.DISK_REPORT, Maps.newHashMap());
         pendingTaskMap.put(ReportType.TASK_REPORT, Maps.newHashMap());
@@ -266,7 +280,7 @@ public class ReportHandler extends Daemon {
         } catch (Exception e) {
             tStatus.setStatus_code(TStatusCode.INTERNAL_ERROR);
             List<String> errorMsgs = Lists.newArrayList();
-            errorMsgs.add("failed to put report task to queue. queue size: " + reportQueue.size());
+            errorMsgs.add("failed to put report task to queue. queue size: " + getPendingTaskNum());
             errorMsgs.add("err: " + e.getMessage());
             tStatus.setError_msgs(errorMsgs);
 
@@ -275,7 +289,7 @@ public class ReportHandler extends Daemon {
         }
 
         LOG.debug("report received from be/computeNode {}. type: {}, current queue size: {}",
-                beId, reportType, reportQueue.size());
+                beId, reportType, getPendingTaskNum());
         return result;
     }
 
@@ -297,11 +311,39 @@ public class ReportHandler extends Daemon {
                 reportQueue.put(reportTask);
             } else {
                 LOG.info("update be {} report task, type: {}", oldTask.beId, oldTask.type);
+                if (MetricRepo.isInit) {
+                    MetricRepo.COUNTER_REPORT_SKIPPED.increase(1L);
+                }
             }
             pendingTaskMap.get(reportTask.type).put(reportTask.beId, reportTask);
         }
     }
 
+    public int getPendingTaskNum() {
+        synchronized (pendingTaskMap) {
+            return pendingTaskMap.values().stream().mapToInt(Map::size).sum();
+        }
+    }
+
+    private void handleLatestTask(ReportType type, long beId) {
+        ReportTask task;
+        synchronized (pendingTaskMap) {
+            task = pendingTaskMap.get(type).remove(beId);
+        }
+        if (task == null) {
+            LOG.warn("pendingTaskMap not exists, be: {}, type: {}", beId, type);
+            return;
+        }
+        try {
+            task.exec();
+        } catch (Exception e) {
+            LOG.warn("got exception when executing report, be: {}, type: {}", beId, type, e);
+        }
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_REPORT_LATENCY.update(System.currentTimeMillis() - task.receiveTimeMs);
+        }
+    }
+
     private Map<Long, TTablet> buildTabletMap(List<TTablet> tabletList) {
         Map<Long, TTablet> tabletMap = Maps.newHashMap();
         for (TTablet tTablet : tabletList) {
@@ -324,6 +366,7 @@ public class ReportHandler extends Daemon {
         private long reportVersion;
         private List<TWorkGroup> activeWorkGroups;
         private TResourceUsage resourceUsage;
+        private final long receiveTimeMs = System.currentTimeMillis();
 
         public ReportTask(long beId, ReportType type, Map<TTaskType, Set<Long>> tasks,
                           Map<String, TDisk> disks,
@@ -414,6 +457,13 @@ public class ReportHandler extends Daemon {
         // 4. handle (be - meta)
         deleteFromBackend(backendTablets, foundTabletsWithValidSchema, foundTabletsWithInvalidSchema, backendId);
 
+        // the replicas of these tablets are changed, check their health in the next round of tablet checker
+        TabletChecker tabletChecker = GlobalStateMgr.getCurrentState().getTabletChecker();
+        tabletChecker.markTabletsDirty(tabletSyncMap.values());
+        tabletChecker.markTabletsDirty(tabletDeleteFromMeta.values());
+        tabletChecker.markTabletsDirty(tabletRecoveryMap.values());
+        tabletChecker.markTabletsDirty(foundTabletsWithInvalidSchema.keySet());
+
         // 5. migration (ssd <-> hdd)
         handleMigration(tabletMigrationMap, backendId);
 
@@ -807,6 +857,7 @@ public class ReportHandler extends Daemon {
                                         LOG.warn("tablet {} has only one replica {} on backend {}"
                                                         + " and it is lost, set it as bad",
                                                 tabletId, replica.getId(), backendId);
+                                        GlobalStateMgr.getCurrentState().getTabletChecker().markTabletDirty(tabletId);
                                         BackendTabletsInfo tabletsInfo = new BackendTabletsInfo(backendId);
                                         tabletsInfo.setBad(true);
                                         ReplicaPersistInfo replicaPersistInfo = ReplicaPersistInfo.createForReport(
@@ -1096,6 +1147,7 @@ public class ReportHandler extends Daemon {
                                 if (replica.setBad(true)) {
                                     LOG.warn("set bad for replica {} of tablet {} on backend {}",
                                             replica.getId(), tabletId, backendId);
+                                    GlobalStateMgr.getCurrentState().getTabletChecker().markTabletDirty(tabletId);
                                     ReplicaPersistInfo replicaPersistInfo = ReplicaPersistInfo.createForReport(
                                             dbId, tableId, partitionId, indexId, tabletId, backendId, replica.getId());
                                     backendTabletsInfo.addReplicaInfo(replicaPersistInfo);
@@ -1461,19 +1513,12 @@ public class ReportHandler extends Daemon {
     @Override
     protected void runOneCycle() {
         while (true) {
-            ReportTask task = null;
             try {
-                task = reportQueue.take();
-                synchronized (pendingTaskMap) {
-                    // using the lastest task
-                    long beId = task.beId;
-                    task = pendingTaskMap.get(task.type).get(beId);
-                    if (task == null) {
-                        throw new Exception("pendingTaskMap not exists " + beId);
-                    }
-                    pendingTaskMap.get(task.type).remove(task.beId, task);
-                }
-                task.exec();
+                ReportTask task = reportQueue.take();
+                // the task may have been superseded when it's handled, the latest one is handled then
+                ReportType type = task.type;
+                long beId = task.beId;
+                reportExecutors[(int) (beId % reportExecutors.length)].submit(() -> handleLatestTask(type, beId));
             } catch (Exception e) {
                 LOG.warn("got interupted exception when executing report", e);
             }
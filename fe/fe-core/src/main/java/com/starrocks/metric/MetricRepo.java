@@ -39,6 +39,7 @@ import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Table.Cell;
 import com.starrocks.alter.Alter;
 import com.starrocks.alter.AlterJobV2;
 import com.starrocks.backup.AbstractJob;
@@ -69,6 +70,8 @@ import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.service.ExecuteEnv;
 import com.starrocks.system.Backend;
 import com.starrocks.system.SystemInfoService;
+import com.starrocks.task.AgentTaskQueue;
+import com.starrocks.thrift.TTaskType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -108,6 +111,7 @@ public final class MetricRepo {
 
     public static LongCounterMetric COUNTER_LOAD_ADD;
     public static LongCounterMetric COUNTER_LOAD_FINISHED;
+    public static LongCounterMetric COUNTER_AGENT_TASK_SUBMIT_FAILED;
     public static LongCounterMetric COUNTER_EDIT_LOG_WRITE;
     public static LongCounterMetric COUNTER_EDIT_LOG_READ;
     public static LongCounterMetric COUNTER_EDIT_LOG_SIZE_BYTES;
@@ -117,6 +121,7 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_TXN_BEGIN;
     public static LongCounterMetric COUNTER_TXN_FAILED;
     public static LongCounterMetric COUNTER_TXN_SUCCESS;
+    public static LongCounterMetric COUNTER_REPORT_SKIPPED;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_ROWS;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_RECEIVED_BYTES;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_ERROR_ROWS;
@@ -127,6 +132,13 @@ public final class MetricRepo {
     public static Histogram HISTO_JOURNAL_WRITE_LATENCY;
     public static Histogram HISTO_JOURNAL_WRITE_BATCH;
     public static Histogram HISTO_JOURNAL_WRITE_BYTES;
+    public static Histogram HISTO_JOURNAL_COMMIT_LATENCY;
+    public static Histogram HISTO_DB_LOCK_WAIT_LATENCY;
+    public static Histogram HISTO_TABLE_LOCK_WAIT_LATENCY;
+    public static Histogram HISTO_QUERY_QUEUE_PENDING_TIME;
+    public static Histogram HISTO_REPORT_LATENCY;
+    public static Histogram HISTO_TXN_PUBLISH_LATENCY;
+    public static Histogram HISTO_TXN_VISIBLE_LATENCY;
 
     // following metrics will be updated by metric calculator
     public static GaugeMetricImpl<Double> GAUGE_QUERY_PER_SECOND;
@@ -258,6 +270,34 @@ public final class MetricRepo {
         };
         STARROCKS_METRIC_REGISTER.addMetric(scheduledTabletNum);
 
+        // tablet inverted index
+        GaugeMetric<Long> invertedIndexTabletNum = new GaugeMetric<Long>(
+                "tablet_inverted_index_tablet_num", MetricUnit.NOUNIT, "number of tablets in tablet inverted index") {
+            @Override
+            public Long getValue() {
+                return GlobalStateMgr.getCurrentInvertedIndex().getTabletNum();
+            }
+        };
+        STARROCKS_METRIC_REGISTER.addMetric(invertedIndexTabletNum);
+
+        GaugeMetric<Long> invertedIndexReplicaNum = new GaugeMetric<Long>(
+                "tablet_inverted_index_replica_num", MetricUnit.NOUNIT, "number of replicas in tablet inverted index") {
+            @Override
+            public Long getValue() {
+                return GlobalStateMgr.getCurrentInvertedIndex().getReplicaNum();
+            }
+        };
+        STARROCKS_METRIC_REGISTER.addMetric(invertedIndexReplicaNum);
+
+        GaugeMetric<Long> invertedIndexMemory = new GaugeMetric<Long>(
+                "tablet_inverted_index_memory", MetricUnit.BYTES, "estimated heap usage of tablet inverted index") {
+            @Override
+            public Long getValue() {
+                return GlobalStateMgr.getCurrentInvertedIndex().estimateMemoryUsage();
+            }
+        };
+        STARROCKS_METRIC_REGISTER.addMetric(invertedIndexMemory);
+
         // routine load jobs
         RoutineLoadManager routineLoadManger = GlobalStateMgr.getCurrentState().getRoutineLoadManager();
         for (RoutineLoadJob.JobState state : RoutineLoadJob.JobState.values()) {
@@ -370,6 +410,9 @@ public final class MetricRepo {
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_ROUTINE_LOAD_PAUSED);
         COUNTER_LOAD_FINISHED = new LongCounterMetric("load_finished", MetricUnit.REQUESTS, "total load finished");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_LOAD_FINISHED);
+        COUNTER_AGENT_TASK_SUBMIT_FAILED = new LongCounterMetric("agent_task_submit_failed", MetricUnit.REQUESTS,
+                "counter of failed submissions of agent tasks to backends");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_AGENT_TASK_SUBMIT_FAILED);
         COUNTER_EDIT_LOG_WRITE =
                 new LongCounterMetric("edit_log_write", MetricUnit.OPERATIONS, "counter of edit log write into bdbje");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_EDIT_LOG_WRITE);
@@ -396,6 +439,10 @@ public final class MetricRepo {
         COUNTER_TXN_FAILED = new LongCounterMetric("txn_failed", MetricUnit.REQUESTS, "counter of failed transactions");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_TXN_FAILED);
 
+        COUNTER_REPORT_SKIPPED = new LongCounterMetric("report_skipped", MetricUnit.REQUESTS,
+                "counter of backend reports superseded by a newer report before being handled");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_REPORT_SKIPPED);
+
         COUNTER_ROUTINE_LOAD_ROWS =
                 new LongCounterMetric("routine_load_rows", MetricUnit.ROWS, "total rows of routine load");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_ROUTINE_LOAD_ROWS);
@@ -439,6 +486,22 @@ public final class MetricRepo {
                 METRIC_REGISTER.histogram(MetricRegistry.name("journal", "write", "batch"));
         HISTO_JOURNAL_WRITE_BYTES =
                 METRIC_REGISTER.histogram(MetricRegistry.name("journal", "write", "bytes"));
+        HISTO_JOURNAL_COMMIT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("journal", "commit", "latency", "ms"));
+        HISTO_DB_LOCK_WAIT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("lock", "db", "wait", "latency", "ms"));
+        HISTO_TABLE_LOCK_WAIT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("lock", "table", "wait", "latency", "ms"));
+        HISTO_QUERY_QUEUE_PENDING_TIME =
+                METRIC_REGISTER.histogram(MetricRegistry.name("query_queue", "pending", "time", "ms"));
+        HISTO_REPORT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("report", "latency", "ms"));
+        // from commit to visible
+        HISTO_TXN_PUBLISH_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("txn", "publish", "latency", "ms"));
+        // from begin to visible
+        HISTO_TXN_VISIBLE_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("txn", "visible", "latency", "ms"));
 
         // init system metrics
         initSystemMetrics();
@@ -645,6 +708,9 @@ public final class MetricRepo {
         // database metrics
         collectDatabaseMetrics(visitor);
 
+        // agent task metrics
+        collectAgentTaskMetrics(visitor);
+
         // table metrics
         if (collectTableMetrics) {
             collectTableMetrics(visitor, minifyTableMetrics);
@@ -724,6 +790,26 @@ public final class MetricRepo {
         visitor.visit(databaseNum);
     }
 
+    // number of queued agent tasks of each backend and task type, only the non-empty ones are collected
+    private static void collectAgentTaskMetrics(MetricVisitor visitor) {
+        if (!GlobalStateMgr.getCurrentState().isLeader()) {
+            return;
+        }
+        SystemInfoService infoService = GlobalStateMgr.getCurrentSystemInfo();
+        for (Cell<Long, TTaskType, Integer> cell : AgentTaskQueue.getTaskNumByBackendAndType().cellSet()) {
+            Backend be = infoService.getBackend(cell.getRowKey());
+            if (be == null) {
+                continue;
+            }
+            GaugeMetricImpl<Integer> taskNum = new GaugeMetricImpl<>(
+                    "agent_task_num", MetricUnit.NOUNIT, "number of queued agent tasks");
+            taskNum.setValue(cell.getValue());
+            taskNum.addLabel(new MetricLabel("backend", be.getHost() + ":" + be.getHeartbeatPort()));
+            taskNum.addLabel(new MetricLabel("type", cell.getColumnKey().name()));
+            visitor.visit(taskNum);
+        }
+    }
+
     private static void collectRoutineLoadProcessMetrics(MetricVisitor visitor) {
         for (GaugeMetricImpl<Long> metric : GAUGE_ROUTINE_LOAD_LAGS) {
             visitor.visit(metric);
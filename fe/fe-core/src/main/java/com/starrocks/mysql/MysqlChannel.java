@@ -65,6 +65,7 @@ public class MysqlChannel {
     protected ByteBuffer headerByteBuffer = ByteBuffer.allocate(PACKET_HEADER_LEN);
     // default packet byte buffer for most packet
     protected ByteBuffer defaultBuffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+    // borrowed from MysqlSendBufferPool when sending, and returned after the response is flushed
     protected ByteBuffer sendBuffer;
 
     private SSLChannel sslChannel;
@@ -236,6 +237,17 @@ public class MysqlChannel {
         isSend = true;
     }
 
+    private void send(ByteBuffer[] buffers) throws IOException {
+        if (sslChannel != null) {
+            for (ByteBuffer buffer : buffers) {
+                sslChannel.write(buffer);
+            }
+        } else {
+            realNetSend(buffers);
+        }
+        isSend = true;
+    }
+
     public void realNetSend(ByteBuffer buffer) throws IOException {
         long bufLen = buffer.remaining();
         long writeLen = channel.write(buffer);
@@ -246,6 +258,19 @@ public class MysqlChannel {
         channel.write(buffer);
     }
 
+    // gathering write, to send the buffered data and a large packet by one system call without copy
+    public void realNetSend(ByteBuffer[] buffers) throws IOException {
+        long bufLen = 0;
+        for (ByteBuffer buffer : buffers) {
+            bufLen += buffer.remaining();
+        }
+        long writeLen = channel.write(buffers);
+        if (bufLen != writeLen) {
+            throw new IOException("Write mysql packet failed.[write=" + writeLen
+                    + ", needToWrite=" + bufLen + "]");
+        }
+    }
+
     public void flush() throws IOException {
         if (null == sendBuffer || sendBuffer.position() == 0) {
             // Nothing to send
@@ -262,17 +287,19 @@ public class MysqlChannel {
         isSend = true;
     }
 
-    public void initBuffer(int bufferSize) {
+    private void initBuffer() {
         if (this.sendBuffer == null) {
-            // The buffer size shouldn't too large or shouldn't too small
-            bufferSize = Math.min(bufferSize, 2 * 1024 * 1024);
-            bufferSize = Math.max(bufferSize, 256 * 1024);
-            this.sendBuffer = ByteBuffer.allocate(bufferSize);
+            this.sendBuffer = MysqlSendBufferPool.getInstance().borrow();
         }
     }
 
-    public boolean isSendBufferNull() {
-        return this.sendBuffer == null;
+    // Return the send buffer to the pool after the response is flushed or the command fails, the data not flushed
+    // is dropped. Must be called by the thread which sends the packets.
+    public void releaseBuffer() {
+        if (sendBuffer != null) {
+            MysqlSendBufferPool.getInstance().release(sendBuffer);
+            sendBuffer = null;
+        }
     }
 
     private void writeHeader(int length) throws IOException {
@@ -289,22 +316,28 @@ public class MysqlChannel {
     }
 
     private void writeBuffer(ByteBuffer buffer) throws IOException {
-        // If too long for buffer, send buffered data.
-        if (sendBuffer.remaining() < buffer.remaining()) {
-            // Flush data in buffer.
-            flush();
+        if (buffer.remaining() <= sendBuffer.remaining()) {
+            sendBuffer.put(buffer);
+            return;
         }
-        // Send this buffer if large enough
-        if (buffer.remaining() > sendBuffer.remaining()) {
-            send(buffer);
+        // Send the buffered data together with this buffer if it's larger than the send buffer,
+        // rather than copying it.
+        if (buffer.remaining() > sendBuffer.capacity()) {
+            sendBuffer.flip();
+            try {
+                send(new ByteBuffer[] {sendBuffer, buffer});
+            } finally {
+                sendBuffer.clear();
+            }
             return;
         }
-        // Put it to
+        // If too long for buffer, send buffered data.
+        flush();
         sendBuffer.put(buffer);
     }
 
     public void sendOnePacket(ByteBuffer packet) throws IOException {
-        initBuffer(DEFAULT_BUFFER_SIZE);
+        initBuffer();
         int bufLen;
         int oldLimit = packet.limit();
         while (oldLimit - packet.position() >= MAX_PHYSICAL_PACKET_LENGTH) {
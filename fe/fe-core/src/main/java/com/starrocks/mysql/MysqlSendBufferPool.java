@@ -0,0 +1,90 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.mysql;
+
+import com.starrocks.common.Config;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of the direct buffers used by mysql channels to send packets.
+ * <p>
+ * A channel borrows a buffer when it starts to send the response of a command and returns it after the
+ * response is flushed, so the buffers are only held by the connections which are sending, rather than by all
+ * the idle connections. Sending from a direct buffer also saves the copy to the temporary direct buffer of JDK.
+ * <p>
+ * The direct buffers in use and idle in the pool are bounded by {@link Config#mysql_send_buffer_max_direct_memory},
+ * a heap buffer is borrowed instead when the limit is reached, and it's left to GC after returned.
+ * At most {@link Config#mysql_send_buffer_pool_size} idle buffers are kept, the others are released.
+ */
+public class MysqlSendBufferPool {
+    private static final MysqlSendBufferPool INSTANCE = new MysqlSendBufferPool(Config.mysql_send_buffer_size,
+            Config.mysql_send_buffer_pool_size,
+            (int) Math.max(1, Config.mysql_send_buffer_max_direct_memory / Config.mysql_send_buffer_size));
+
+    private final int bufferSize;
+    private final int maxIdleBuffers;
+    private final int maxDirectBuffers;
+    private final ConcurrentLinkedQueue<ByteBuffer> idleBuffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger numIdleBuffers = new AtomicInteger(0);
+    // the direct buffers allocated by the pool and not released yet, including the idle ones
+    private final AtomicInteger numDirectBuffers = new AtomicInteger(0);
+
+    public static MysqlSendBufferPool getInstance() {
+        return INSTANCE;
+    }
+
+    public MysqlSendBufferPool(int bufferSize, int maxIdleBuffers, int maxDirectBuffers) {
+        this.bufferSize = bufferSize;
+        this.maxIdleBuffers = Math.min(maxIdleBuffers, maxDirectBuffers);
+        this.maxDirectBuffers = maxDirectBuffers;
+    }
+
+    public ByteBuffer borrow() {
+        ByteBuffer buffer = idleBuffers.poll();
+        if (buffer != null) {
+            numIdleBuffers.decrementAndGet();
+            return buffer;
+        }
+        if (numDirectBuffers.incrementAndGet() > maxDirectBuffers) {
+            numDirectBuffers.decrementAndGet();
+            return ByteBuffer.allocate(bufferSize);
+        }
+        return ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    public void release(ByteBuffer buffer) {
+        if (!buffer.isDirect() || buffer.capacity() != bufferSize) {
+            return;
+        }
+        if (numIdleBuffers.incrementAndGet() > maxIdleBuffers) {
+            numIdleBuffers.decrementAndGet();
+            numDirectBuffers.decrementAndGet();
+            return;
+        }
+        buffer.clear();
+        idleBuffers.offer(buffer);
+    }
+
+    public int getNumIdleBuffers() {
+        return numIdleBuffers.get();
+    }
+
+    public int getNumDirectBuffers() {
+        return numDirectBuffers.get();
+    }
+}
@@ -93,12 +93,14 @@ public class AcceptListener implements ChannelListener<AcceptingChannel<StreamCo
                             MysqlProto.sendResponsePacket(context);
                             throw new AfterConnectedException("Reach limit of connections");
                         }
+                        context.getMysqlChannel().releaseBuffer();
                         context.setStartTime();
                         ConnectProcessor processor = new ConnectProcessor(context);
                         context.startAcceptQuery(processor);
                     } catch (AfterConnectedException e) {
                         // do not need to print log for this kind of exception.
                         // just clean up the context;
+                        context.getMysqlChannel().releaseBuffer();
                         context.cleanup();
                     } catch (Throwable e) {
                         if (e instanceof Error) {
@@ -107,6 +109,7 @@ public class AcceptListener implements ChannelListener<AcceptingChannel<StreamCo
                             // should be unexpected exception, so print warn log
                             LOG.warn("connect processor exception because ", e);
                         }
+                        context.getMysqlChannel().releaseBuffer();
                         context.cleanup();
                     } finally {
                         ConnectContext.remove();
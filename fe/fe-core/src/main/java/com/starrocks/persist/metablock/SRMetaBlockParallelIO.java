@@ -0,0 +1,182 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.persist.metablock;
+
+import com.starrocks.common.Config;
+import com.starrocks.common.ThreadPoolManager;
+import com.starrocks.meta.MetaContext;
+import com.starrocks.server.GlobalStateMgr;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * Save or load independent objects of an image section in parallel, each object is saved as a block:
+ *
+ * +------------------+
+ * |  length (int)    |
+ * +------------------+
+ * |  checksum (long) | crc32 of data
+ * +------------------+
+ * |      data        |
+ * +------------------+
+ *
+ * Blocks are serialized or deserialized in a thread pool, and written or consumed in order by the calling thread.
+ * At most 2 * parallelism blocks are kept in memory, so a large section is streamed rather than materialized.
+ */
+public class SRMetaBlockParallelIO {
+
+    // whether the current pool thread is working for the checkpoint thread
+    private static final ThreadLocal<Boolean> WORKS_FOR_CHECKPOINT = ThreadLocal.withInitial(() -> false);
+
+    public interface BlockSerializer<T> {
+        void write(T object, DataOutputStream dos) throws IOException;
+    }
+
+    public interface BlockDeserializer<T> {
+        T read(DataInputStream dis) throws IOException;
+    }
+
+    public interface BlockConsumer<T> {
+        void accept(T object) throws IOException;
+    }
+
+    public static <T> void write(DataOutputStream dos, Collection<T> objects, BlockSerializer<T> serializer)
+            throws IOException {
+        int parallelism = Math.max(1, Config.metadata_image_parallelism);
+        ExecutorService executor = newExecutor(parallelism, "image-block-writer");
+        MetaContext metaContext = MetaContext.get();
+        boolean isCheckpoint = GlobalStateMgr.isCheckpointThread();
+        try {
+            Deque<Future<byte[]>> pending = new ArrayDeque<>();
+            for (T object : objects) {
+                pending.addLast(executor.submit(() -> {
+                    setWorkerContext(metaContext, isCheckpoint);
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    try (DataOutputStream out = new DataOutputStream(bytes)) {
+                        serializer.write(object, out);
+                    } finally {
+                        WORKS_FOR_CHECKPOINT.remove();
+                    }
+                    return bytes.toByteArray();
+                }));
+                if (pending.size() >= parallelism * 2) {
+                    writeBlock(dos, getResult(pending.pollFirst()));
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeBlock(dos, getResult(pending.pollFirst()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public static <T> void read(DataInputStream dis, int numBlocks, BlockDeserializer<T> deserializer,
+                                BlockConsumer<T> consumer) throws IOException {
+        int parallelism = Math.max(1, Config.metadata_image_parallelism);
+        ExecutorService executor = newExecutor(parallelism, "image-block-reader");
+        MetaContext metaContext = MetaContext.get();
+        boolean isCheckpoint = GlobalStateMgr.isCheckpointThread();
+        try {
+            Deque<Future<T>> pending = new ArrayDeque<>();
+            for (int i = 0; i < numBlocks; i++) {
+                byte[] block = readBlock(dis);
+                pending.addLast(executor.submit(() -> {
+                    setWorkerContext(metaContext, isCheckpoint);
+                    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(block))) {
+                        return deserializer.read(in);
+                    } finally {
+                        WORKS_FOR_CHECKPOINT.remove();
+                    }
+                }));
+                if (pending.size() >= parallelism * 2) {
+                    consumer.accept(getResult(pending.pollFirst()));
+                }
+            }
+            while (!pending.isEmpty()) {
+                consumer.accept(getResult(pending.pollFirst()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void writeBlock(DataOutputStream dos, byte[] block) throws IOException {
+        CRC32 crc32 = new CRC32();
+        crc32.update(block, 0, block.length);
+        dos.writeInt(block.length);
+        dos.writeLong(crc32.getValue());
+        dos.write(block);
+    }
+
+    private static byte[] readBlock(DataInputStream dis) throws IOException {
+        int length = dis.readInt();
+        long expectChecksum = dis.readLong();
+        byte[] block = new byte[length];
+        dis.readFully(block);
+        CRC32 crc32 = new CRC32();
+        crc32.update(block, 0, length);
+        if (crc32.getValue() != expectChecksum) {
+            throw new IOException(String.format("image block checksum mismatch, expect %d actual %d, length %d",
+                    expectChecksum, crc32.getValue(), length));
+        }
+        return block;
+    }
+
+    /**
+     * Workers of the checkpoint thread inherit its MetaContext, and GlobalStateMgr.getCurrentState()
+     * returns the checkpoint instance in them, as it does in the checkpoint thread.
+     */
+    private static void setWorkerContext(MetaContext metaContext, boolean isCheckpoint) {
+        if (metaContext != null) {
+            metaContext.setThreadLocalInfo();
+        }
+        WORKS_FOR_CHECKPOINT.set(isCheckpoint);
+    }
+
+    public static boolean isCheckpointWorker() {
+        return WORKS_FOR_CHECKPOINT.get();
+    }
+
+    private static <V> V getResult(Future<V> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted when processing image block", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("failed to process image block", e.getCause());
+        }
+    }
+
+    private static ExecutorService newExecutor(int parallelism, String name) {
+        // the pool lives only during one image section, so its metrics are not registered
+        return ThreadPoolManager.newDaemonFixedThreadPool(parallelism, parallelism * 2, name, false);
+    }
+}
@@ -27,24 +27,40 @@ import com.starrocks.analysis.TupleDescriptor;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.JDBCResource;
 import com.starrocks.catalog.JDBCTable;
+import com.starrocks.catalog.Type;
 import com.starrocks.common.UserException;
 import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.system.Backend;
 import com.starrocks.thrift.TExplainLevel;
 import com.starrocks.thrift.TJDBCScanNode;
+import com.starrocks.thrift.TJDBCScanRange;
+import com.starrocks.thrift.TNetworkAddress;
 import com.starrocks.thrift.TPlanNode;
 import com.starrocks.thrift.TPlanNodeType;
+import com.starrocks.thrift.TScanRange;
+import com.starrocks.thrift.TScanRangeLocation;
 import com.starrocks.thrift.TScanRangeLocations;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * full scan on JDBC table.
+ * <p>
+ * If the table has a split column, the scan can be split into ranges of the split column,
+ * and each range is a scan range which can be scanned by any backend.
  */
 public class JDBCScanNode extends ScanNode {
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     private final List<String> columns = new ArrayList<>();
     private final List<String> filters = new ArrayList<>();
+    private final List<String> splitPredicates = new ArrayList<>();
+    private List<TScanRangeLocations> scanRangeLocations = null;
     private String tableName;
     private JDBCTable table;
 
@@ -77,6 +93,14 @@ public class JDBCScanNode extends ScanNode {
         StringBuilder output = new StringBuilder();
         output.append(prefix).append("TABLE: ").append(tableName).append("\n");
         output.append(prefix).append("QUERY: ").append(getJDBCQueryStr()).append("\n");
+        if (!splitPredicates.isEmpty()) {
+            output.append(prefix).append("SPLITS: ").append(splitPredicates.size()).append("\n");
+            if (detailLevel == TExplainLevel.VERBOSE) {
+                for (String predicate : splitPredicates) {
+                    output.append(prefix).append("  ").append(predicate).append("\n");
+                }
+            }
+        }
         return output.toString();
     }
 
@@ -120,14 +144,102 @@ public class JDBCScanNode extends ScanNode {
 
             sMap.put(slotRef, tmpRef);
         }
+        boolean isMySQL = isMySQL();
+        ArrayList<Expr> mysqlConjuncts = Expr.cloneList(conjuncts, sMap);
+        for (Expr p : mysqlConjuncts) {
+            filters.add(p.toJDBCSQL(isMySQL));
+        }
+    }
+
+    private boolean isMySQL() {
         JDBCResource resource = (JDBCResource) GlobalStateMgr.getCurrentState().getResourceMgr()
                 .getResource(table.getResourceName());
         // Compatible with jdbc catalog
         String jdbcURI = resource != null ? resource.getProperty(JDBCResource.URI) : table.getProperty(JDBCResource.URI);
-        boolean isMySQL = jdbcURI.startsWith("jdbc:mysql");
-        ArrayList<Expr> mysqlConjuncts = Expr.cloneList(conjuncts, sMap);
-        for (Expr p : mysqlConjuncts) {
-            filters.add(p.toJDBCSQL(isMySQL));
+        return jdbcURI.startsWith("jdbc:mysql");
+    }
+
+    /**
+     * Split the scan into at most splitNum ranges of the split column, every range is assigned to
+     * one of the alive backends.
+     */
+    public void computeSplits(int splitNum) {
+        Column splitColumn = table.getSplitColumn();
+        if (splitNum <= 1 || splitColumn == null) {
+            return;
+        }
+        // the bounds are queried from the remote table only here, when the scan will be split
+        long[] splitRange = table.getSplitRange();
+        if (splitRange == null) {
+            return;
+        }
+        String columnName = isMySQL() ? "`" + splitColumn.getName() + "`" : splitColumn.getName();
+        splitPredicates.addAll(getSplitPredicates(columnName, splitColumn.getType(),
+                splitRange[0], splitRange[1], splitNum));
+        if (splitPredicates.isEmpty()) {
+            return;
+        }
+
+        List<TScanRangeLocation> locations = new ArrayList<>();
+        for (Backend be : GlobalStateMgr.getCurrentSystemInfo().getIdToBackend().values()) {
+            if (be.isAlive()) {
+                TScanRangeLocation location = new TScanRangeLocation();
+                location.setBackend_id(be.getId());
+                location.setServer(new TNetworkAddress(be.getHost(), be.getBePort()));
+                locations.add(location);
+            }
+        }
+        scanRangeLocations = new ArrayList<>();
+        for (String predicate : splitPredicates) {
+            TScanRange scanRange = new TScanRange();
+            scanRange.setJdbc_scan_range(new TJDBCScanRange().setSplit_predicate(predicate));
+            TScanRangeLocations rangeLocations = new TScanRangeLocations();
+            rangeLocations.setScan_range(scanRange);
+            rangeLocations.setLocations(locations);
+            scanRangeLocations.add(rangeLocations);
+        }
+    }
+
+    /**
+     * The first range has no lower bound and includes nulls, the last range has no upper bound,
+     * so all rows are covered even if the bounds are stale.
+     */
+    static List<String> getSplitPredicates(String columnName, Type type, long lowerBound, long upperBound,
+                                           int splitNum) {
+        List<String> predicates = new ArrayList<>();
+        long span;
+        try {
+            span = Math.subtractExact(upperBound, lowerBound);
+        } catch (ArithmeticException e) {
+            return predicates;
+        }
+        long step = span / splitNum + 1;
+        List<String> splitPoints = new ArrayList<>();
+        for (int i = 1; i < splitNum && step * i <= span; i++) {
+            splitPoints.add(toLiteral(type, lowerBound + step * i));
+        }
+        if (splitPoints.isEmpty()) {
+            return predicates;
+        }
+        predicates.add(columnName + " < " + splitPoints.get(0) + " OR " + columnName + " IS NULL");
+        for (int i = 1; i < splitPoints.size(); i++) {
+            predicates.add(columnName + " >= " + splitPoints.get(i - 1) + " AND " + columnName + " < " +
+                    splitPoints.get(i));
+        }
+        predicates.add(columnName + " >= " + splitPoints.get(splitPoints.size() - 1));
+        return predicates;
+    }
+
+    // Typed literals, so the remote database compares the values as dates and timestamps rather than strings,
+    // both MySQL and PostgreSQL accept the standard DATE '...' and TIMESTAMP '...' syntax.
+    private static String toLiteral(Type type, long value) {
+        if (type.isDate()) {
+            return "DATE '" + LocalDate.ofEpochDay(value) + "'";
+        } else if (type.isDatetime()) {
+            return "TIMESTAMP '" + LocalDateTime.ofEpochSecond(value, 0, ZoneOffset.UTC).format(DATETIME_FORMATTER) +
+                    "'";
+        } else {
+            return Long.toString(value);
         }
     }
 
@@ -154,12 +266,12 @@ public class JDBCScanNode extends ScanNode {
 
     @Override
     public List<TScanRangeLocations> getScanRangeLocations(long maxScanRangeLength) {
-        return null;
+        return scanRangeLocations;
     }
 
     @Override
     public int getNumInstances() {
-        return 1;
+        return scanRangeLocations == null ? 1 : scanRangeLocations.size();
     }
 
     @Override
@@ -734,10 +734,15 @@ public class ConnectProcessor {
             return;
         }
 
-        // dispatch
-        dispatch();
-        // finalize
-        finalizeCommand();
+        try {
+            // dispatch
+            dispatch();
+            // finalize
+            finalizeCommand();
+        } finally {
+            // the response has been flushed
+            channel.releaseBuffer();
+        }
 
         ctx.setCommand(MysqlCommand.COM_SLEEP);
     }
@@ -225,6 +225,7 @@ public class ConnectScheduler {
                     return;
                 }
 
+                context.getMysqlChannel().releaseBuffer();
                 context.setStartTime();
                 ConnectProcessor processor = new ConnectProcessor(context);
                 processor.loop();
@@ -236,6 +237,7 @@ public class ConnectScheduler {
                     LOG.debug("connect processor exception because ", e);
                 }
             } finally {
+                context.getMysqlChannel().releaseBuffer();
                 unregisterConnection(context);
                 context.cleanup();
             }
@@ -477,6 +477,11 @@ public class Coordinator {
         for (int i = 0; i < fragments.size(); i++) {
             fragmentProfiles.add(new RuntimeProfile("Fragment " + i));
             queryProfile.addChild(fragmentProfiles.get(i));
+            Map<String, String> assignmentInfo = coordinatorPreprocessor.getFragmentIdToScanRangeAssignmentInfo()
+                    .get(fragments.get(i).getFragmentId());
+            if (assignmentInfo != null) {
+                assignmentInfo.forEach(fragmentProfiles.get(i)::addInfoString);
+            }
         }
 
         // to keep things simple, make async Cancel() calls wait until plan fragment
@@ -148,6 +148,8 @@ public class CoordinatorPreprocessor {
     // fragment_id -> < be_id -> bucket_count >
     private final Map<PlanFragmentId, Map<Long, Integer>> fragmentIdToBackendIdBucketCountMap = Maps.newHashMap();
     private final Map<PlanFragmentId, List<Integer>> fragmentIdToSeqToInstanceMap = Maps.newHashMap();
+    // fragment_id -> < info_key -> assigned scan bytes of each node >, shown in the fragment profile
+    private final Map<PlanFragmentId, Map<String, String>> fragmentIdToScanRangeAssignmentInfo = Maps.newHashMap();
 
     // used only by channel stream load, records the mapping from channel id to target BE's address
     private final Map<Integer, TNetworkAddress> channelIdToBEHTTP = Maps.newHashMap();
@@ -309,6 +311,10 @@ public class CoordinatorPreprocessor {
         return fragmentIdToSeqToInstanceMap;
     }
 
+    public Map<PlanFragmentId, Map<String, String>> getFragmentIdToScanRangeAssignmentInfo() {
+        return fragmentIdToScanRangeAssignmentInfo;
+    }
+
     public Map<Integer, TNetworkAddress> getChannelIdToBEHTTP() {
         return channelIdToBEHTTP;
     }
@@ -1042,8 +1048,12 @@ public class CoordinatorPreprocessor {
                                 getSelectorComputeNodes(hasComputeNode),
                                 hasComputeNode,
                                 sv.getForceScheduleLocal(),
-                                sv.getHDFSBackendSelectorScanRangeShuffle());
+                                sv.getHDFSBackendSelectorScanRangeShuffle(),
+                                sv.getHDFSBackendSelectorBoundedLoadFactor());
                 selector.computeScanRangeAssignment();
+                fragmentIdToScanRangeAssignmentInfo.computeIfAbsent(scanNode.getFragmentId(), k -> Maps.newTreeMap())
+                        .put("ScanRangeAssignedBytes (id=" + scanNode.getId().asInt() + ")",
+                                selector.getAssignedBytesInfo());
             } else {
                 boolean hasColocate = isColocateFragment(scanNode.getFragment().getPlanRoot());
                 boolean hasBucket =
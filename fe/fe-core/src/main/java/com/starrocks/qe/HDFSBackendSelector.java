@@ -27,6 +27,7 @@ import com.starrocks.catalog.PartitionKey;
 import com.starrocks.common.FeConstants;
 import com.starrocks.common.UserException;
 import com.starrocks.common.util.ConsistentHashRing;
+import com.starrocks.common.util.DebugUtil;
 import com.starrocks.common.util.HashRing;
 import com.starrocks.common.util.RendezvousHashRing;
 import com.starrocks.planner.DeltaLakeScanNode;
@@ -49,10 +50,12 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Hybrid backend selector for hive table.
@@ -81,6 +84,8 @@ public class HDFSBackendSelector implements BackendSelector {
     private boolean forceScheduleLocal;
     private boolean chooseComputeNode;
     private boolean shuffleScanRange;
+    // 0 to disable bounded-load assignment, see assignWithBoundedLoad
+    private double boundedLoadFactor;
     private final int kCandidateNumber = 3;
     private final int kMaxImbalanceRatio = 3;
     private final int kMaxNodeSizeUseRendezvousHashRing = 64;
@@ -141,6 +146,15 @@ public class HDFSBackendSelector implements BackendSelector {
                                FragmentScanRangeAssignment assignment, Map<TNetworkAddress, Long> addressToBackendId,
                                Set<Long> usedBackendIDs, ImmutableCollection<ComputeNode> computeNodes,
                                boolean chooseComputeNode, boolean forceScheduleLocal, boolean shuffleScanRange) {
+        this(scanNode, locations, assignment, addressToBackendId, usedBackendIDs, computeNodes, chooseComputeNode,
+                forceScheduleLocal, shuffleScanRange, 0);
+    }
+
+    public HDFSBackendSelector(ScanNode scanNode, List<TScanRangeLocations> locations,
+                               FragmentScanRangeAssignment assignment, Map<TNetworkAddress, Long> addressToBackendId,
+                               Set<Long> usedBackendIDs, ImmutableCollection<ComputeNode> computeNodes,
+                               boolean chooseComputeNode, boolean forceScheduleLocal, boolean shuffleScanRange,
+                               double boundedLoadFactor) {
         this.scanNode = scanNode;
         this.locations = locations;
         this.assignment = assignment;
@@ -151,6 +165,7 @@ public class HDFSBackendSelector implements BackendSelector {
         this.usedBackendIDs = usedBackendIDs;
         this.hdfsScanRangeHasher = new HdfsScanRangeHasher();
         this.shuffleScanRange = shuffleScanRange;
+        this.boundedLoadFactor = boundedLoadFactor;
     }
 
     private ComputeNode selectLeastScanBytesComputeNode(Collection<ComputeNode> backends, long maxImbalanceBytes) {
@@ -272,6 +287,10 @@ public class HDFSBackendSelector implements BackendSelector {
         if (shuffleScanRange) {
             Collections.shuffle(remoteScanRangeLocations);
         }
+        if (boundedLoadFactor > 0) {
+            assignWithBoundedLoad(hashRing, remoteScanRangeLocations);
+            return;
+        }
         // assign scan ranges.
         for (int i = 0; i < remoteScanRangeLocations.size(); ++i) {
             TScanRangeLocations scanRangeLocations = remoteScanRangeLocations.get(i);
@@ -284,6 +303,61 @@ public class HDFSBackendSelector implements BackendSelector {
         }
     }
 
+    /**
+     * Consistent hashing with bounded loads: a scan range is assigned to the first node in the order of the hash
+     * ring whose assigned bytes are below (1 + boundedLoadFactor) * average bytes, so that the same file is
+     * always scanned by the same node as long as it's not overloaded, which keeps the block cache warm across
+     * queries and only moves the ranges of the added or removed nodes. The ranges of a hot node spill to the
+     * next nodes on the ring, so the skew is bounded by the size of a single scan range.
+     */
+    private void assignWithBoundedLoad(HashRing hashRing, List<TScanRangeLocations> remoteScanRangeLocations) {
+        long totalBytes = 0;
+        for (TScanRangeLocations scanRangeLocations : locations) {
+            totalBytes += scanRangeLocations.scan_range.hdfs_scan_range.getLength();
+        }
+        int numNodes = assignedScansPerComputeNode.size();
+        long capacity = (long) Math.ceil((1 + boundedLoadFactor) * totalBytes / numNodes);
+
+        for (TScanRangeLocations scanRangeLocations : remoteScanRangeLocations) {
+            List<ComputeNode> backends = hashRing.get(scanRangeLocations, kCandidateNumber);
+            ComputeNode node = selectFirstUnderCapacity(backends, capacity);
+            if (node == null && backends.size() < numNodes) {
+                // all the preferred nodes are overloaded, spill to the next nodes on the ring
+                backends = hashRing.get(scanRangeLocations, numNodes);
+                node = selectFirstUnderCapacity(backends, capacity);
+            }
+            if (node == null) {
+                node = selectLeastScanBytesComputeNode(backends, 0);
+            }
+            if (node == null) {
+                throw new RuntimeException("Failed to find backend to execute");
+            }
+            recordScanRangeAssignment(node, scanRangeLocations);
+        }
+    }
+
+    private ComputeNode selectFirstUnderCapacity(List<ComputeNode> backends, long capacity) {
+        for (ComputeNode backend : backends) {
+            if (assignedScansPerComputeNode.get(backend) < capacity) {
+                return backend;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Assigned scan bytes of each node, like "host1:9060=1.000 GB, host2:9060=980.000 MB".
+     */
+    public String getAssignedBytesInfo() {
+        return assignedScansPerComputeNode.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.comparingByKey(Comparator.comparing(ComputeNode::getHost)
+                        .thenComparing(ComputeNode::getBePort)))
+                .map(entry -> entry.getKey().getHost() + ":" + entry.getKey().getBePort() + "=" +
+                        DebugUtil.getPrettyStringBytes(entry.getValue()))
+                .collect(Collectors.joining(", "));
+    }
+
     private void recordScanRangeAssignment(ComputeNode node, TScanRangeLocations scanRangeLocations) {
         TNetworkAddress address = new TNetworkAddress(node.getHost(), node.getBePort());
         usedBackendIDs.add(node.getId());
@@ -27,29 +27,47 @@ import com.starrocks.system.ComputeNode;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Admission control of queries when the resource of the cluster is overloaded.
+ * <p>
+ * The pending queries are admitted one by one in the order of the priority (session variable
+ * query_queue_priority) and then the arrival order. Only the query at the head of the queue is signalled
+ * when the resource may be available, and it hands off to the next head after it is admitted or leaves the queue,
+ * so the waiters are not woken up needlessly.
+ */
 public class QueryQueueManager {
     private static final Logger LOG = LogManager.getLogger(QueryQueueManager.class);
 
+    private static final Comparator<PendingQueryInfo> PENDING_QUERY_COMPARATOR =
+            Comparator.comparingInt((PendingQueryInfo info) -> info.priority).reversed()
+                    .thenComparingLong(info -> info.seqNo);
+
     private static class PendingQueryInfo {
         private final Coordinator coordinator;
         private final ConnectContext connectCtx;
         private final ReentrantLock lock;
         private final Condition condition;
+        private final int priority;
+        private final long seqNo;
         private boolean isCancelled = false;
 
-        private PendingQueryInfo(ConnectContext connectCtx, ReentrantLock lock, Coordinator coordinator) {
+        private PendingQueryInfo(ConnectContext connectCtx, ReentrantLock lock, Coordinator coordinator, long seqNo) {
             Preconditions.checkState(connectCtx != null);
             this.coordinator = coordinator;
             this.connectCtx = connectCtx;
             this.lock = lock;
             this.condition = this.lock.newCondition();
+            this.priority = connectCtx.getSessionVariable().getQueryQueuePriority();
+            this.seqNo = seqNo;
         }
 
         public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
@@ -81,6 +99,9 @@ public class QueryQueueManager {
 
     private final ReentrantLock lock = new ReentrantLock();
     private final Map<ConnectContext, PendingQueryInfo> pendingQueryInfoMap = new ConcurrentHashMap<>();
+    // Guarded by lock.
+    private final PriorityQueue<PendingQueryInfo> pendingQueue = new PriorityQueue<>(PENDING_QUERY_COMPARATOR);
+    private long nextSeqNo = 0;
 
     public void cancelQuery(ConnectContext connectCtx) {
         if (connectCtx == null) {
@@ -121,18 +142,18 @@ public class QueryQueueManager {
         if (!needCheckQueue(coord)) {
             return;
         }
-        if (!enableCheckQueue(coord) || canRunMore()) {
+        // A new query can't overtake the pending queries.
+        if (!enableCheckQueue(coord) || (pendingQueryInfoMap.isEmpty() && canRunMore())) {
             return;
         }
 
         long startMs = System.currentTimeMillis();
         long timeoutMs;
-        PendingQueryInfo info = new PendingQueryInfo(connectCtx, lock, coord);
-        boolean isPending = false;
+        PendingQueryInfo info = null;
 
         try {
             lock.lock();
-            if (!enableCheckQueue(coord) || canRunMore()) {
+            if (!enableCheckQueue(coord) || (pendingQueue.isEmpty() && canRunMore())) {
                 return;
             }
 
@@ -140,13 +161,14 @@ public class QueryQueueManager {
                 throw new UserException("Need be queued but exceed query queue capacity");
             }
 
-            isPending = true;
+            info = new PendingQueryInfo(connectCtx, lock, coord, nextSeqNo++);
             info.connectCtx.setPending(true);
             pendingQueryInfoMap.put(info.connectCtx, info);
+            pendingQueue.add(info);
             MetricRepo.COUNTER_QUERY_QUEUE_PENDING.increase(1L);
             MetricRepo.COUNTER_QUERY_QUEUE_TOTAL.increase(1L);
 
-            while (enableCheckQueue(coord) && !canRunMore()) {
+            while (enableCheckQueue(coord) && !(pendingQueue.peek() == info && canRunMore())) {
                 timeoutMs = startMs + GlobalVariable.getQueryQueuePendingTimeoutSecond() * 1000L;
                 long currentMs = System.currentTimeMillis();
                 if (currentMs >= timeoutMs) {
@@ -154,18 +176,36 @@ public class QueryQueueManager {
                     throw new UserException("Pending timeout");
                 }
 
-                info.await(Math.min(timeoutMs - currentMs, CHECK_INTERVAL_MS), TimeUnit.MILLISECONDS);
+                // Only the head checks the resource periodically, in case the resource is released
+                // without notification. The others wait until they become the head.
+                long waitMs = timeoutMs - currentMs;
+                if (pendingQueue.peek() == info) {
+                    waitMs = Math.min(waitMs, CHECK_INTERVAL_MS);
+                }
+                info.await(waitMs, TimeUnit.MILLISECONDS);
 
                 if (info.isCancelled) {
                     throw new UserException("Cancelled");
                 }
             }
         } finally {
-            if (isPending) {
-                info.connectCtx.auditEventBuilder.setPendingTimeMs(System.currentTimeMillis() - startMs);
+            if (info != null) {
+                long pendingTimeMs = System.currentTimeMillis() - startMs;
+                info.connectCtx.auditEventBuilder.setPendingTimeMs(pendingTimeMs);
                 MetricRepo.COUNTER_QUERY_QUEUE_PENDING.increase(-1L);
+                if (MetricRepo.isInit) {
+                    MetricRepo.HISTO_QUERY_QUEUE_PENDING_TIME.update(pendingTimeMs);
+                }
                 pendingQueryInfoMap.remove(info.connectCtx);
+                pendingQueue.remove(info);
                 info.connectCtx.setPending(false);
+
+                // Hand off to the next pending query. It's always woken up, because it may be waiting for the whole
+                // pending timeout, and it has to check the resource periodically as the head.
+                PendingQueryInfo head = pendingQueue.peek();
+                if (head != null) {
+                    head.signalAfterLock();
+                }
             }
 
             lock.unlock();
@@ -176,13 +216,12 @@ public class QueryQueueManager {
     public void maybeNotifyAfterLock() {
         Preconditions.checkState(lock.isHeldByCurrentThread());
 
-        if (pendingQueryInfoMap.isEmpty()) {
+        PendingQueryInfo head = pendingQueue.peek();
+        if (head == null) {
             return;
         }
         if (canRunMore()) {
-            for (PendingQueryInfo queryInfo : pendingQueryInfoMap.values()) {
-                queryInfo.signalAfterLock();
-            }
+            head.signalAfterLock();
         }
     }
 
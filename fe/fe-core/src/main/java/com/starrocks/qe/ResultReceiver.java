@@ -66,6 +66,8 @@ public class ResultReceiver {
     private final PUniqueId finstId;
     private final Long backendId;
     private Thread currentThread;
+    // reused by the batches of this receiver
+    private TDeserializer deserializer;
 
     public ResultReceiver(TUniqueId tid, Long backendId, TNetworkAddress address, int timeoutMs) {
         this.finstId = new PUniqueId();
@@ -123,8 +125,12 @@ public class ResultReceiver {
 
                 byte[] serialResult = request.getSerializedResult();
                 if (serialResult != null && serialResult.length > 0) {
+                    // The rows of the batch are views of serialResult rather than copies, and they are
+                    // sent to the channel directly if they are larger than the send buffer.
                     TResultBatch resultBatch = new TResultBatch();
-                    TDeserializer deserializer = new TDeserializer();
+                    if (deserializer == null) {
+                        deserializer = new TDeserializer();
+                    }
                     deserializer.deserialize(resultBatch, serialResult);
                     rowBatch.setBatch(resultBatch);
                     rowBatch.setEos(pResult.eos);
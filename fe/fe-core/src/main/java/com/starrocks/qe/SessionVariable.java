@@ -235,6 +235,10 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     public static final String BROADCAST_RIGHT_TABLE_SCALE_FACTOR =
             "broadcast_right_table_scale_factor";
     public static final String NEW_PLANNER_OPTIMIZER_TIMEOUT = "new_planner_optimize_timeout";
+    public static final String ENABLE_OPTIMIZER_PARALLEL_EXPLORE = "enable_optimizer_parallel_explore";
+    public static final String ENABLE_PLAN_CACHE = "enable_plan_cache";
+    public static final String QUERY_QUEUE_PRIORITY = "query_queue_priority";
+    public static final String JDBC_SCAN_SPLIT_NUM = "jdbc_scan_split_num";
     public static final String ENABLE_GROUPBY_USE_OUTPUT_ALIAS = "enable_groupby_use_output_alias";
     public static final String ENABLE_QUERY_DUMP = "enable_query_dump";
 
@@ -398,6 +402,8 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     public static final String DISTINCT_COLUMN_BUCKETS = "count_distinct_column_buckets";
     public static final String ENABLE_DISTINCT_COLUMN_BUCKETIZATION = "enable_distinct_column_bucketization";
     public static final String HDFS_BACKEND_SELECTOR_SCAN_RANGE_SHUFFLE = "hdfs_backend_selector_scan_range_shuffle";
+    public static final String HDFS_BACKEND_SELECTOR_BOUNDED_LOAD_FACTOR =
+            "hdfs_backend_selector_bounded_load_factor";
 
     public static final String SQL_QUOTE_SHOW_CREATE = "sql_quote_show_create";
 
@@ -747,6 +753,26 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     @VariableMgr.VarAttr(name = NEW_PLANNER_OPTIMIZER_TIMEOUT)
     private long optimizerExecuteTimeout = 3000;
 
+    // Experimental, apply the transformation rules of one group expression concurrently in memo optimization.
+    // The explore order and the column ids differ from the serial optimizer, so the plans are not deterministic.
+    @VariableMgr.VarAttr(name = ENABLE_OPTIMIZER_PARALLEL_EXPLORE)
+    private boolean enableOptimizerParallelExplore = false;
+
+    // Reuse the optimized plan of the same query with the same constants across sessions
+    @VariableMgr.VarAttr(name = ENABLE_PLAN_CACHE)
+    private boolean enablePlanCache = false;
+
+    // The queries with higher priority are admitted first by the query queue,
+    // and the queries with the same priority are admitted in arrival order.
+    // Only the users with OPERATE privilege can set it, see PrivilegeChecker.checkSetSystemVariable.
+    @VariableMgr.VarAttr(name = QUERY_QUEUE_PRIORITY)
+    private int queryQueuePriority = 0;
+
+    // The max number of range splits of a JDBC catalog table scan, the splits are scanned in parallel
+    // by the backends. Only the tables with a split column are split, 1 means never split.
+    @VariableMgr.VarAttr(name = JDBC_SCAN_SPLIT_NUM)
+    private int jdbcScanSplitNum = 1;
+
     @VariableMgr.VarAttr(name = ENABLE_QUERY_DUMP)
     private boolean enableQueryDump = false;
 
@@ -1028,6 +1054,11 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     @VariableMgr.VarAttr(name = HDFS_BACKEND_SELECTOR_SCAN_RANGE_SHUFFLE, flag = VariableMgr.INVISIBLE)
     private boolean hdfsBackendSelectorScanRangeShuffle = false;
 
+    // A node is assigned at most (1 + factor) * average bytes of the scan ranges of an external table,
+    // ranges exceeding it go to the next node on the hash ring. 0 to disable.
+    @VariableMgr.VarAttr(name = HDFS_BACKEND_SELECTOR_BOUNDED_LOAD_FACTOR)
+    private double hdfsBackendSelectorBoundedLoadFactor = 0;
+
     @VariableMgr.VarAttr(name = CBO_PUSH_DOWN_DISTINCT_BELOW_WINDOW)
     private boolean cboPushDownDistinctBelowWindow = true;
 
@@ -1455,6 +1486,38 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         this.optimizerExecuteTimeout = optimizerExecuteTimeout;
     }
 
+    public boolean isEnableOptimizerParallelExplore() {
+        return enableOptimizerParallelExplore;
+    }
+
+    public void setEnableOptimizerParallelExplore(boolean enableOptimizerParallelExplore) {
+        this.enableOptimizerParallelExplore = enableOptimizerParallelExplore;
+    }
+
+    public boolean isEnablePlanCache() {
+        return enablePlanCache;
+    }
+
+    public void setEnablePlanCache(boolean enablePlanCache) {
+        this.enablePlanCache = enablePlanCache;
+    }
+
+    public int getQueryQueuePriority() {
+        return queryQueuePriority;
+    }
+
+    public void setQueryQueuePriority(int queryQueuePriority) {
+        this.queryQueuePriority = queryQueuePriority;
+    }
+
+    public int getJdbcScanSplitNum() {
+        return jdbcScanSplitNum;
+    }
+
+    public void setJdbcScanSplitNum(int jdbcScanSplitNum) {
+        this.jdbcScanSplitNum = jdbcScanSplitNum;
+    }
+
     public boolean getEnableGroupbyUseOutputAlias() {
         return enableGroupbyUseOutputAlias;
     }
@@ -1971,6 +2034,10 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         return hdfsBackendSelectorScanRangeShuffle;
     }
 
+    public double getHDFSBackendSelectorBoundedLoadFactor() {
+        return hdfsBackendSelectorBoundedLoadFactor;
+    }
+
     // Serialize to thrift object
     // used for rest api
     public TQueryOptions toThrift() {
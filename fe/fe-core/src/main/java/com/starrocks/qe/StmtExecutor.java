@@ -368,6 +368,7 @@ public class StmtExecutor {
                 if (optHints != null) {
                     SessionVariable sessionVariable = (SessionVariable) sessionVariableBackup.clone();
                     for (String key : optHints.keySet()) {
+                        PrivilegeChecker.checkSetSystemVariable(context, key);
                         VariableMgr.setSystemVariable(sessionVariable,
                                 new SystemVariable(key, new StringLiteral(optHints.get(key))), true);
                     }
@@ -800,15 +801,6 @@ public class StmtExecutor {
                     sendFields(colNames, outputExprs);
                     isSendFields = true;
                 }
-                if (!isProxy && channel.isSendBufferNull()) {
-                    int bufferSize = 0;
-                    for (ByteBuffer row : batch.getBatch().getRows()) {
-                        bufferSize += (row.position() - row.limit());
-                    }
-                    // +8 for header size
-                    channel.initBuffer(bufferSize + 8);
-                }
-
                 for (ByteBuffer row : batch.getBatch().getRows()) {
                     if (isProxy) {
                         proxyResultBuffer.add(row);
@@ -118,6 +118,7 @@ import com.starrocks.common.FeConstants;
 import com.starrocks.common.FeMetaVersion;
 import com.starrocks.common.MetaNotFoundException;
 import com.starrocks.common.Pair;
+import com.starrocks.common.StarRocksFEMetaVersion;
 import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.UserException;
 import com.starrocks.common.io.Writable;
@@ -202,6 +203,7 @@ import com.starrocks.persist.Storage;
 import com.starrocks.persist.TableInfo;
 import com.starrocks.persist.TablePropertyInfo;
 import com.starrocks.persist.TruncateTableInfo;
+import com.starrocks.persist.metablock.SRMetaBlockParallelIO;
 import com.starrocks.plugin.PluginInfo;
 import com.starrocks.plugin.PluginMgr;
 import com.starrocks.privilege.AuthorizationManager;
@@ -382,7 +384,7 @@ public class GlobalStateMgr {
     // For checkpoint and observer memory replayed marker
     private AtomicLong replayedJournalId;
 
-    private static GlobalStateMgr CHECKPOINT = null;
+    private static volatile GlobalStateMgr CHECKPOINT = null;
     private static long checkpointThreadId = -1;
     private Checkpoint checkpointer;
 
@@ -705,10 +707,14 @@ public class GlobalStateMgr {
 
     public static GlobalStateMgr getCurrentState() {
         if (isCheckpointThread()) {
-            // only checkpoint thread itself will go here.
-            // so no need to care about the thread safe.
+            // only checkpoint thread and its image workers in SRMetaBlockParallelIO will go here,
+            // the workers may run concurrently, so the checkpoint instance is created under lock.
             if (CHECKPOINT == null) {
-                CHECKPOINT = new GlobalStateMgr(true);
+                synchronized (GlobalStateMgr.class) {
+                    if (CHECKPOINT == null) {
+                        CHECKPOINT = new GlobalStateMgr(true);
+                    }
+                }
             }
             return CHECKPOINT;
         } else {
@@ -823,7 +829,7 @@ public class GlobalStateMgr {
     }
 
     public static boolean isCheckpointThread() {
-        return Thread.currentThread().getId() == checkpointThreadId;
+        return Thread.currentThread().getId() == checkpointThreadId || SRMetaBlockParallelIO.isCheckpointWorker();
     }
 
     public static PluginMgr getCurrentPluginMgr() {
@@ -1116,11 +1122,12 @@ public class GlobalStateMgr {
             // Log meta_version
             int communityMetaVersion = MetaContext.get().getMetaVersion();
             int starrocksMetaVersion = MetaContext.get().getStarRocksMetaVersion();
+            int starrocksWriteVersion = StarRocksFEMetaVersion.getWriteVersion();
             if (communityMetaVersion < FeConstants.META_VERSION ||
-                    starrocksMetaVersion < FeConstants.STARROCKS_META_VERSION) {
-                editLog.logMetaVersion(new MetaVersion(FeConstants.META_VERSION, FeConstants.STARROCKS_META_VERSION));
+                    starrocksMetaVersion < starrocksWriteVersion) {
+                editLog.logMetaVersion(new MetaVersion(FeConstants.META_VERSION, starrocksWriteVersion));
                 MetaContext.get().setMetaVersion(FeConstants.META_VERSION);
-                MetaContext.get().setStarRocksMetaVersion(FeConstants.STARROCKS_META_VERSION);
+                MetaContext.get().setStarRocksMetaVersion(starrocksWriteVersion);
             }
 
             // Log the first frontend
@@ -1733,8 +1740,8 @@ public class GlobalStateMgr {
         dos.writeInt(-1);
         checksum ^= FeConstants.META_VERSION;
         dos.writeInt(FeConstants.META_VERSION);
-        checksum ^= FeConstants.STARROCKS_META_VERSION;
-        dos.writeInt(FeConstants.STARROCKS_META_VERSION);
+        checksum ^= StarRocksFEMetaVersion.getWriteVersion();
+        dos.writeInt(StarRocksFEMetaVersion.getWriteVersion());
 
         // Write replayed journal id
         checksum ^= replayedJournalId;
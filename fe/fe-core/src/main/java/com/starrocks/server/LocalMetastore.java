@@ -101,6 +101,7 @@ import com.starrocks.common.MarkedCountDownLatch;
 import com.starrocks.common.MetaNotFoundException;
 import com.starrocks.common.NotImplementedException;
 import com.starrocks.common.Pair;
+import com.starrocks.common.StarRocksFEMetaVersion;
 import com.starrocks.common.Status;
 import com.starrocks.common.UserException;
 import com.starrocks.common.util.DynamicPartitionUtil;
@@ -140,6 +141,7 @@ import com.starrocks.persist.ReplicaPersistInfo;
 import com.starrocks.persist.SetReplicaStatusOperationLog;
 import com.starrocks.persist.TableInfo;
 import com.starrocks.persist.TruncateTableInfo;
+import com.starrocks.persist.metablock.SRMetaBlockParallelIO;
 import com.starrocks.privilege.PrivilegeActions;
 import com.starrocks.privilege.PrivilegeType;
 import com.starrocks.qe.ConnectContext;
@@ -334,41 +336,69 @@ public class LocalMetastore implements ConnectorMetadata {
     public long loadDb(DataInputStream dis, long checksum) throws IOException {
         int dbCount = dis.readInt();
         long newChecksum = checksum ^ dbCount;
-        for (long i = 0; i < dbCount; ++i) {
-            Database db = new Database();
-            db.readFields(dis);
-            newChecksum ^= db.getId();
-            idToDb.put(db.getId(), db);
-            fullNameToDb.put(db.getFullName(), db);
-            stateMgr.getGlobalTransactionMgr().addDatabaseTransactionMgr(db.getId());
-            db.getMaterializedViews().forEach(Table::onCreate);
-            db.getHiveTables().forEach(Table::onCreate);
+        if (GlobalStateMgr.getCurrentStateStarRocksJournalVersion() >= StarRocksFEMetaVersion.VERSION_4) {
+            long[] blockChecksum = {newChecksum};
+            SRMetaBlockParallelIO.read(dis, dbCount, in -> {
+                Database db = new Database();
+                db.readFields(in);
+                return db;
+            }, db -> blockChecksum[0] ^= replayDbFromImage(db));
+            newChecksum = blockChecksum[0];
+        } else {
+            for (long i = 0; i < dbCount; ++i) {
+                Database db = new Database();
+                db.readFields(dis);
+                newChecksum ^= replayDbFromImage(db);
+            }
         }
         LOG.info("finished replay databases from image");
         return newChecksum;
     }
 
+    private long replayDbFromImage(Database db) {
+        idToDb.put(db.getId(), db);
+        fullNameToDb.put(db.getFullName(), db);
+        stateMgr.getGlobalTransactionMgr().addDatabaseTransactionMgr(db.getId());
+        db.getMaterializedViews().forEach(Table::onCreate);
+        db.getHiveTables().forEach(Table::onCreate);
+        return db.getId();
+    }
+
     public long saveDb(DataOutputStream dos, long checksum) throws IOException {
         int dbCount = idToDb.size() - 1;
         checksum ^= dbCount;
         dos.writeInt(dbCount);
+        List<Database> dbs = Lists.newArrayListWithCapacity(dbCount);
         for (Map.Entry<Long, Database> entry : idToDb.entrySet()) {
             Database db = entry.getValue();
             String dbName = db.getFullName();
             // Don't write information_schema db meta
             if (!InfoSchemaDb.isInfoSchemaDb(dbName)) {
                 checksum ^= entry.getKey();
-                db.readLock();
-                try {
-                    db.write(dos);
-                } finally {
-                    db.readUnlock();
-                }
+                dbs.add(db);
+            }
+        }
+        // the image header is written with the same version, loadDb reads the layout by it
+        if (StarRocksFEMetaVersion.getWriteVersion() >= StarRocksFEMetaVersion.VERSION_4) {
+            // databases are serialized in parallel, each one is saved as a checksummed block
+            SRMetaBlockParallelIO.write(dos, dbs, LocalMetastore::saveDbWithLock);
+        } else {
+            for (Database db : dbs) {
+                saveDbWithLock(db, dos);
             }
         }
         return checksum;
     }
 
+    private static void saveDbWithLock(Database db, DataOutputStream dos) throws IOException {
+        db.readLock();
+        try {
+            db.write(dos);
+        } finally {
+            db.readUnlock();
+        }
+    }
+
     @Override
     public void createDb(String dbName, Map<String, String> properties) throws DdlException, AlreadyExistsException {
         long id = 0L;
@@ -3393,6 +3423,7 @@ public class LocalMetastore implements ConnectorMetadata {
         boolean isInMemory = partitionInfo.getIsInMemory(partition.getId());
         DataProperty newDataProperty = partitionInfo.getDataProperty(partition.getId());
         partitionInfo.setReplicationNum(partition.getId(), replicationNum);
+        stateMgr.getTabletChecker().markPartitionDirty(partition);
 
         // update table default replication num
         table.setReplicationNum(replicationNum);
@@ -3447,6 +3478,7 @@ public class LocalMetastore implements ConnectorMetadata {
         if (isUnpartitionedTable) {
             Preconditions.checkNotNull(partition);
             partitionInfo.setReplicationNum(partition.getId(), tableProperty.getReplicationNum());
+            stateMgr.getTabletChecker().markPartitionDirty(partition);
         }
 
         // log
@@ -4337,6 +4369,7 @@ public class LocalMetastore implements ConnectorMetadata {
                         SetReplicaStatusOperationLog log =
                                 new SetReplicaStatusOperationLog(backendId, tabletId, status);
                         editLog.logSetReplicaStatus(log);
+                        stateMgr.getTabletChecker().markTabletDirty(tabletId);
                     }
                     LOG.info("set replica {} of tablet {} on backend {} as {}. is replay: {}",
                             replica.getId(), tabletId, backendId, status, isReplay);
@@ -0,0 +1,358 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.starrocks.analysis.FunctionCallExpr;
+import com.starrocks.analysis.InformationFunction;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.Table;
+import com.starrocks.common.Config;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.sql.analyzer.AstToStringBuilder;
+import com.starrocks.sql.ast.QueryStatement;
+import com.starrocks.sql.optimizer.OptExpression;
+import com.starrocks.sql.optimizer.base.ColumnRefFactory;
+import com.starrocks.sql.optimizer.operator.physical.PhysicalOlapScanOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.thrift.TResultSinkType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache the optimized plans of queries which only reference olap tables, shared by all sessions.
+ * <p>
+ * A plan is keyed by the normalized sql of the analyzed statement, which contains the constants, the current
+ * catalog and database, the result sink type and the digest of all session variables. The constants are part of
+ * the key because partition pruning, tablet pruning and constant folding are done by the optimizer, so an
+ * optimized plan can't be reused with other constants bound. So only the re-runs of the same query with the same
+ * constants hit the cache, the constants are not parameterized.
+ * <p>
+ * Only the transformer and the optimizer are skipped on a hit, the fragments are always built from a copy of
+ * the cached physical plan, so the visible versions of the partitions are read when the query is planned, and
+ * the concurrent hits never share the expressions which are modified while the fragments are built.
+ * A cached plan is invalid if the schema, the partitions or the empty partitions of any referenced table have
+ * changed, because the optimizer prunes the empty partitions, and it's removed when the statistics of a referenced
+ * table are changed. The plans which scan olap tables with a limit are not cached, because their tablets are
+ * pruned by the row counts.
+ */
+public class PlanCache {
+    private static final Logger LOG = LogManager.getLogger(PlanCache.class);
+
+    private static final PlanCache INSTANCE = new PlanCache();
+
+    // Functions which are evaluated in FE and depend on the time or the session, the plan of a query
+    // which uses them can't be reused.
+    private static final Set<String> UNCACHEABLE_FUNCTIONS = ImmutableSet.<String>builder()
+            .add("now")
+            .add("current_timestamp")
+            .add("current_date")
+            .add("current_time")
+            .add("curdate")
+            .add("curtime")
+            .add("localtime")
+            .add("localtimestamp")
+            .add("unix_timestamp")
+            .add("utc_timestamp")
+            .add("utc_time")
+            .build();
+
+    private final Cache<Key, CachedPlan> cache = Caffeine.newBuilder()
+            .maximumSize(Config.plan_cache_capacity)
+            .expireAfterWrite(Config.plan_cache_expire_sec, TimeUnit.SECONDS)
+            .build();
+
+    public static PlanCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Build the cache key of the query, return null if the plan of the query can't be cached.
+     */
+    public Key buildKey(QueryStatement queryStmt, ConnectContext session, TResultSinkType resultSinkType) {
+        if (!session.getSessionVariable().isEnablePlanCache() ||
+                session.getSessionVariable().isEnableOptimizerTraceLog()) {
+            return null;
+        }
+        KeyBuilderVisitor visitor = new KeyBuilderVisitor();
+        String sql = visitor.visit(queryStmt);
+        if (!visitor.isCacheable) {
+            return null;
+        }
+        HashCode sessionVariableDigest;
+        try {
+            sessionVariableDigest = Hashing.murmur3_128().hashString(
+                    session.getSessionVariable().getJsonString(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.warn("failed to build plan cache key of session variables", e);
+            return null;
+        }
+        return new Key(sql, session.getCurrentCatalog(), session.getDatabase(), resultSinkType,
+                sessionVariableDigest);
+    }
+
+    /**
+     * Get the cached plan, return null if not found or the referenced tables have changed.
+     *
+     * @param olapTables the tables referenced by the query
+     */
+    public CachedPlan get(Key key, Set<OlapTable> olapTables) {
+        CachedPlan plan = cache.getIfPresent(key);
+        if (plan == null) {
+            return null;
+        }
+        if (!plan.isValid(olapTables)) {
+            cache.invalidate(key);
+            return null;
+        }
+        return plan;
+    }
+
+    /**
+     * @param tables        all the tables referenced by the query
+     * @param tableVersions the versions of the referenced tables taken before the plan is optimized
+     */
+    public void put(Key key, Collection<Table> tables, OptExpression optimizedPlan, ColumnRefFactory columnRefFactory,
+                    List<ColumnRefOperator> outputColumns, Map<Long, TableVersion> tableVersions) {
+        // Only the changes of olap tables can be detected by TableVersion
+        if (!tables.stream().allMatch(Table::isOlapTable)) {
+            return;
+        }
+        // The freshness of materialized views depends on the data of the base tables,
+        // the plan rewritten by materialized views can't be reused
+        if (scanMaterializedView(optimizedPlan)) {
+            return;
+        }
+        // LimitPruneTabletsRule selects the tablets by the row counts of the visible versions
+        if (scanWithLimit(optimizedPlan)) {
+            return;
+        }
+        cache.put(key, new CachedPlan(optimizedPlan, columnRefFactory, outputColumns, tableVersions));
+    }
+
+    public void invalidateTable(long tableId) {
+        cache.asMap().values().removeIf(plan -> plan.tableVersions.containsKey(tableId));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public static Map<Long, TableVersion> getTableVersions(Set<OlapTable> olapTables) {
+        ImmutableMap.Builder<Long, TableVersion> builder = ImmutableMap.builder();
+        for (OlapTable table : olapTables) {
+            builder.put(table.getId(), new TableVersion(table));
+        }
+        return builder.build();
+    }
+
+    // Copy the expression tree, the operators are not modified after optimized and are shared by the copies
+    private static OptExpression copyPlan(OptExpression optExpression) {
+        List<OptExpression> inputs = Lists.newArrayList();
+        for (OptExpression input : optExpression.getInputs()) {
+            inputs.add(copyPlan(input));
+        }
+        OptExpression copy = OptExpression.create(optExpression.getOp(), inputs);
+        copy.setLogicalProperty(optExpression.getLogicalProperty());
+        copy.setStatistics(optExpression.getStatistics());
+        copy.setCost(optExpression.getCost());
+        copy.setPlanCount(optExpression.getPlanCount());
+        copy.setRequiredProperties(optExpression.getRequiredProperties());
+        copy.attachGroupExpression(optExpression.getGroupExpression());
+        return copy;
+    }
+
+    private static boolean scanMaterializedView(OptExpression optExpression) {
+        if (optExpression.getOp() instanceof PhysicalOlapScanOperator &&
+                ((PhysicalOlapScanOperator) optExpression.getOp()).getTable().isMaterializedView()) {
+            return true;
+        }
+        return optExpression.getInputs().stream().anyMatch(PlanCache::scanMaterializedView);
+    }
+
+    private static boolean scanWithLimit(OptExpression optExpression) {
+        if (optExpression.getOp() instanceof PhysicalOlapScanOperator && optExpression.getOp().hasLimit()) {
+            return true;
+        }
+        return optExpression.getInputs().stream().anyMatch(PlanCache::scanWithLimit);
+    }
+
+    private static class KeyBuilderVisitor extends AstToStringBuilder.AST2StringBuilderVisitor {
+        private boolean isCacheable = true;
+
+        @Override
+        public String visitFunctionCall(FunctionCallExpr node, Void context) {
+            if (UNCACHEABLE_FUNCTIONS.contains(node.getFnName().getFunction().toLowerCase())) {
+                isCacheable = false;
+            }
+            return super.visitFunctionCall(node, context);
+        }
+
+        @Override
+        public String visitInformationFunction(InformationFunction node, Void context) {
+            // database(), current_user(), connection_id() etc. are bound to the session
+            isCacheable = false;
+            return super.visitInformationFunction(node, context);
+        }
+    }
+
+    public static class Key {
+        private final String sql;
+        private final String catalog;
+        private final String database;
+        private final TResultSinkType resultSinkType;
+        private final HashCode sessionVariableDigest;
+
+        Key(String sql, String catalog, String database, TResultSinkType resultSinkType,
+            HashCode sessionVariableDigest) {
+            this.sql = sql;
+            this.catalog = catalog;
+            this.database = database;
+            this.resultSinkType = resultSinkType;
+            this.sessionVariableDigest = sessionVariableDigest;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(sql, key.sql) && Objects.equals(catalog, key.catalog) &&
+                    Objects.equals(database, key.database) && resultSinkType == key.resultSinkType &&
+                    Objects.equals(sessionVariableDigest, key.sessionVariableDigest);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, catalog, database, resultSinkType, sessionVariableDigest);
+        }
+    }
+
+    /**
+     * The schema and partitions of an olap table which the optimized plan depends on.
+     * Visible versions are not included, they are read when the fragments are built, but the empty partitions are
+     * pruned by the optimizer, so a load into an empty partition changes the version.
+     */
+    public static class TableVersion {
+        private final long schemaUpdateTime;
+        private final int partitionNum;
+        // Partition ids are increasing, a replaced partition always changes the sum
+        private final long partitionIdSum;
+        private final Set<Long> emptyPartitionIds;
+
+        TableVersion(OlapTable table) {
+            this.schemaUpdateTime = table.lastSchemaUpdateTime.get();
+            long idSum = 0;
+            int num = 0;
+            ImmutableSet.Builder<Long> emptyIds = ImmutableSet.builder();
+            for (Partition partition : table.getPartitions()) {
+                idSum += partition.getId();
+                num++;
+                if (!partition.hasData()) {
+                    emptyIds.add(partition.getId());
+                }
+            }
+            this.partitionNum = num;
+            this.partitionIdSum = idSum;
+            this.emptyPartitionIds = emptyIds.build();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            TableVersion that = (TableVersion) o;
+            return schemaUpdateTime == that.schemaUpdateTime && partitionNum == that.partitionNum &&
+                    partitionIdSum == that.partitionIdSum && emptyPartitionIds.equals(that.emptyPartitionIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(schemaUpdateTime, partitionNum, partitionIdSum, emptyPartitionIds);
+        }
+    }
+
+    public static class CachedPlan {
+        private final OptExpression optimizedPlan;
+        private final ColumnRefFactory columnRefFactory;
+        private final List<ColumnRefOperator> outputColumns;
+        private final Map<Long, TableVersion> tableVersions;
+
+        CachedPlan(OptExpression optimizedPlan, ColumnRefFactory columnRefFactory,
+                   List<ColumnRefOperator> outputColumns, Map<Long, TableVersion> tableVersions) {
+            this.optimizedPlan = optimizedPlan;
+            this.columnRefFactory = columnRefFactory;
+            this.outputColumns = outputColumns;
+            this.tableVersions = tableVersions;
+        }
+
+        /**
+         * Return a copy of the optimized plan, PlanFragmentBuilder changes the children of some expressions,
+         * e.g. merge join, while building the fragments.
+         */
+        public OptExpression getOptimizedPlan() {
+            return copyPlan(optimizedPlan);
+        }
+
+        public ColumnRefFactory getColumnRefFactory() {
+            return columnRefFactory;
+        }
+
+        public List<ColumnRefOperator> getOutputColumns() {
+            return outputColumns;
+        }
+
+        private boolean isValid(Set<OlapTable> olapTables) {
+            if (olapTables.size() != tableVersions.size()) {
+                return false;
+            }
+            for (OlapTable table : olapTables) {
+                TableVersion version = tableVersions.get(table.getId());
+                if (version == null || !version.equals(new TableVersion(table))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
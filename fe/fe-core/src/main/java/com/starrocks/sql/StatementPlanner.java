@@ -18,6 +18,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Sets;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Table;
 import com.starrocks.common.Config;
 import com.starrocks.planner.PlanFragment;
 import com.starrocks.planner.ResultSink;
@@ -37,6 +38,7 @@ import com.starrocks.sql.optimizer.Optimizer;
 import com.starrocks.sql.optimizer.OptimizerTraceUtil;
 import com.starrocks.sql.optimizer.base.ColumnRefFactory;
 import com.starrocks.sql.optimizer.base.ColumnRefSet;
+import com.starrocks.sql.optimizer.base.ConcurrentColumnRefFactory;
 import com.starrocks.sql.optimizer.base.PhysicalPropertySet;
 import com.starrocks.sql.optimizer.transformer.LogicalPlan;
 import com.starrocks.sql.optimizer.transformer.RelationTransformer;
@@ -124,7 +126,8 @@ public class StatementPlanner {
         QueryRelation query = (QueryRelation) relation;
         List<String> colNames = query.getColumnOutputNames();
         //1. Build Logical plan
-        ColumnRefFactory columnRefFactory = new ColumnRefFactory();
+        ColumnRefFactory columnRefFactory = session.getSessionVariable().isEnableOptimizerParallelExplore() ?
+                new ConcurrentColumnRefFactory() : new ColumnRefFactory();
         LogicalPlan logicalPlan;
 
         try (PlannerProfile.ScopedTimer ignored = PlannerProfile.getScopedTimer("Transformer")) {
@@ -163,8 +166,17 @@ public class StatementPlanner {
         QueryRelation query = queryStmt.getQueryRelation();
         List<String> colNames = query.getColumnOutputNames();
 
+        PlanCache.Key cacheKey = PlanCache.getInstance().buildKey(queryStmt, session, resultSinkType);
+        if (cacheKey != null) {
+            ExecPlan plan = createQueryPlanFromCache(queryStmt, cacheKey, session, resultSinkType);
+            if (plan != null) {
+                return plan;
+            }
+        }
+
         //1. Build Logical plan
-        ColumnRefFactory columnRefFactory = new ColumnRefFactory();
+        ColumnRefFactory columnRefFactory = session.getSessionVariable().isEnableOptimizerParallelExplore() ?
+                new ConcurrentColumnRefFactory() : new ColumnRefFactory();
         LogicalPlan logicalPlan;
 
         try (PlannerProfile.ScopedTimer ignored = PlannerProfile.getScopedTimer("Transformer")) {
@@ -180,6 +192,8 @@ public class StatementPlanner {
 
             Set<OlapTable> olapTables = Sets.newHashSet();
             AnalyzerUtils.copyOlapTable(queryStmt, olapTables);
+            Map<Long, PlanCache.TableVersion> tableVersions =
+                    cacheKey == null ? null : PlanCache.getTableVersions(olapTables);
 
             // Only need to re analyze and re transform when schema isn't valid
             if (i > 0 && !isSchemaValid) {
@@ -220,6 +234,11 @@ public class StatementPlanner {
                         t.lastVersionUpdateEndTime.get() < buildFragmentStartTime &&
                                 t.lastVersionUpdateEndTime.get() >= t.lastVersionUpdateStartTime.get());
                 if (isSchemaValid && isPartitionVersionConsistent) {
+                    if (cacheKey != null) {
+                        PlanCache.getInstance().put(cacheKey, AnalyzerUtils.collectAllTable(queryStmt).values(),
+                                optimizedPlan, columnRefFactory,
+                                logicalPlan.getOutputColumn(), tableVersions);
+                    }
                     return plan;
                 }
             }
@@ -229,6 +248,33 @@ public class StatementPlanner {
         return null;
     }
 
+    // Build the fragments from the cached optimized plan, return null if there is no valid cached plan
+    private static ExecPlan createQueryPlanFromCache(QueryStatement queryStmt,
+                                                     PlanCache.Key cacheKey,
+                                                     ConnectContext session,
+                                                     TResultSinkType resultSinkType) {
+        long buildFragmentStartTime = System.currentTimeMillis();
+        // The cached plan holds its own copies of the tables, don't replace the tables of the statement here,
+        // they are copied again if the query has to be planned
+        Set<OlapTable> olapTables = AnalyzerUtils.collectAllTable(queryStmt).values().stream()
+                .filter(Table::isOlapTable).map(t -> (OlapTable) t).collect(Collectors.toSet());
+        PlanCache.CachedPlan cachedPlan = PlanCache.getInstance().get(cacheKey, olapTables);
+        if (cachedPlan == null) {
+            return null;
+        }
+        try (PlannerProfile.ScopedTimer ignored = PlannerProfile.getScopedTimer("ExecPlanBuild")) {
+            ExecPlan plan = PlanFragmentBuilder.createPhysicalPlan(
+                    cachedPlan.getOptimizedPlan(), session, cachedPlan.getOutputColumns(),
+                    cachedPlan.getColumnRefFactory(), queryStmt.getQueryRelation().getColumnOutputNames(),
+                    resultSinkType,
+                    !session.getSessionVariable().isSingleNodeExecPlan());
+            boolean isPartitionVersionConsistent = olapTables.stream().allMatch(t ->
+                    t.lastVersionUpdateEndTime.get() < buildFragmentStartTime &&
+                            t.lastVersionUpdateEndTime.get() >= t.lastVersionUpdateStartTime.get());
+            return isPartitionVersionConsistent ? plan : null;
+        }
+    }
+
     // Lock all database before analyze
     private static void lock(Map<String, Database> dbs) {
         if (dbs == null) {
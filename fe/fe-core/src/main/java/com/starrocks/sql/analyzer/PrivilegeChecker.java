@@ -36,6 +36,7 @@ import com.starrocks.mysql.privilege.PrivPredicate;
 import com.starrocks.mysql.privilege.Privilege;
 import com.starrocks.mysql.privilege.UserProperty;
 import com.starrocks.qe.ConnectContext;
+import com.starrocks.qe.SessionVariable;
 import com.starrocks.server.CatalogMgr;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.ast.AddSqlBlackListStmt;
@@ -105,7 +106,9 @@ import com.starrocks.sql.ast.RefreshTableStmt;
 import com.starrocks.sql.ast.RestoreStmt;
 import com.starrocks.sql.ast.ResumeRoutineLoadStmt;
 import com.starrocks.sql.ast.SelectRelation;
+import com.starrocks.sql.ast.SetListItem;
 import com.starrocks.sql.ast.SetOperationRelation;
+import com.starrocks.sql.ast.SetStmt;
 import com.starrocks.sql.ast.SetUserPropertyStmt;
 import com.starrocks.sql.ast.SetUserPropertyVar;
 import com.starrocks.sql.ast.ShowAlterStmt;
@@ -137,6 +140,7 @@ import com.starrocks.sql.ast.ShowUserPropertyStmt;
 import com.starrocks.sql.ast.StatementBase;
 import com.starrocks.sql.ast.StopRoutineLoadStmt;
 import com.starrocks.sql.ast.SubqueryRelation;
+import com.starrocks.sql.ast.SystemVariable;
 import com.starrocks.sql.ast.TableRelation;
 import com.starrocks.sql.ast.TruncateTableStmt;
 import com.starrocks.sql.ast.UninstallPluginStmt;
@@ -165,6 +169,22 @@ public class PrivilegeChecker {
         new PrivilegeCheckerVisitor().check(statement, session);
     }
 
+    /**
+     * query_queue_priority lets the queries of a session overtake the pending queries of the others,
+     * so it can only be set by the users with OPERATE privilege, or ADMIN/OPERATOR in the old privilege framework.
+     */
+    public static void checkSetSystemVariable(ConnectContext session, String variable) {
+        if (!SessionVariable.QUERY_QUEUE_PRIORITY.equalsIgnoreCase(variable)) {
+            return;
+        }
+        if (session.getGlobalStateMgr().isUsingNewPrivilege()) {
+            PrivilegeCheckerV2.checkStmtOperatePrivilege(session);
+        } else if (!GlobalStateMgr.getCurrentState().getAuth().checkGlobalPriv(session, PrivPredicate.ADMIN)
+                && !GlobalStateMgr.getCurrentState().getAuth().checkGlobalPriv(session, PrivPredicate.OPERATOR)) {
+            ErrorReport.reportSemanticException(ErrorCode.ERR_SPECIFIC_ACCESS_DENIED_ERROR, "ADMIN/OPERATOR");
+        }
+    }
+
     public static boolean checkTblPriv(ConnectContext context,
                                        TableName tableName,
                                        PrivPredicate predicate) {
@@ -195,6 +215,16 @@ public class PrivilegeChecker {
             visit(statement, session);
         }
 
+        @Override
+        public Void visitSetStatement(SetStmt statement, ConnectContext session) {
+            for (SetListItem setVar : statement.getSetListItems()) {
+                if (setVar instanceof SystemVariable) {
+                    checkSetSystemVariable(session, ((SystemVariable) setVar).getVariable());
+                }
+            }
+            return null;
+        }
+
         @Override
         public Void visitShowComputeNodes(ShowComputeNodesStmt statement, ConnectContext session) {
             if (!GlobalStateMgr.getCurrentState().getAuth().checkGlobalPriv(ConnectContext.get(), PrivPredicate.ADMIN)
@@ -1471,6 +1471,7 @@ public class PrivilegeCheckerV2 {
                     if (type != null && type.equals(SetType.GLOBAL)) {
                         checkStmtOperatePrivilege(context);
                     }
+                    PrivilegeChecker.checkSetSystemVariable(context, ((SystemVariable) setVar).getVariable());
                 }
             });
             return null;
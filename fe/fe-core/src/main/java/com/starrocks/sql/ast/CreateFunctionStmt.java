@@ -104,6 +104,19 @@ public class CreateFunctionStmt extends DdlStmt {
                     .put(PrimitiveType.VARCHAR, String.class)
                     .build();
 
+    // scalar UDFs whose arguments and return type are all java primitives are called without boxing,
+    // and the result is null if any argument is null.
+    private static final ImmutableMap<PrimitiveType, Class> PRIMITIVE_TYPE_TO_JAVA_PRIMITIVE_CLASS_TYPE =
+            new ImmutableMap.Builder<PrimitiveType, Class>()
+                    .put(PrimitiveType.BOOLEAN, boolean.class)
+                    .put(PrimitiveType.TINYINT, byte.class)
+                    .put(PrimitiveType.SMALLINT, short.class)
+                    .put(PrimitiveType.INT, int.class)
+                    .put(PrimitiveType.FLOAT, float.class)
+                    .put(PrimitiveType.DOUBLE, double.class)
+                    .put(PrimitiveType.BIGINT, long.class)
+                    .build();
+
     private static class UDFInternalClass {
         public Class clazz = null;
         public Map<String, Method> methods = null;
@@ -190,13 +203,18 @@ public class CreateFunctionStmt extends DdlStmt {
 
         private void checkUdfType(Method method, Type expType, Class ptype, String pname)
                 throws AnalysisException {
+            checkUdfType(method, expType, ptype, pname, PRIMITIVE_TYPE_TO_JAVA_CLASS_TYPE);
+        }
+
+        private void checkUdfType(Method method, Type expType, Class ptype, String pname,
+                                  Map<PrimitiveType, Class> typeToClass) throws AnalysisException {
             if (!(expType instanceof ScalarType)) {
                 throw new AnalysisException(
                         String.format("UDF class '%s' method '%s' does not support non-scalar type '%s'",
                                 clazz.getCanonicalName(), method.getName(), expType));
             }
             ScalarType scalarType = (ScalarType) expType;
-            Class cls = PRIMITIVE_TYPE_TO_JAVA_CLASS_TYPE.get(scalarType.getPrimitiveType());
+            Class cls = typeToClass.get(scalarType.getPrimitiveType());
             if (cls == null) {
                 throw new AnalysisException(
                         String.format("UDF class '%s' method '%s' does not support type '%s'",
@@ -362,6 +380,16 @@ public class CreateFunctionStmt extends DdlStmt {
             Method method = mainClass.getMethod(EVAL_METHOD_NAME, true);
             mainClass.checkMethodNonStaticAndPublic(method);
             mainClass.checkArgumentCount(method, argsDef.getArgTypes().length);
+            if (method.getReturnType().isPrimitive()) {
+                Map<PrimitiveType, Class> typeToClass = PRIMITIVE_TYPE_TO_JAVA_PRIMITIVE_CLASS_TYPE;
+                mainClass.checkUdfType(method, returnType.getType(), method.getReturnType(), RETURN_FIELD_NAME,
+                        typeToClass);
+                for (int i = 0; i < method.getParameters().length; i++) {
+                    Parameter p = method.getParameters()[i];
+                    mainClass.checkUdfType(method, argsDef.getArgTypes()[i], p.getType(), p.getName(), typeToClass);
+                }
+                return;
+            }
             mainClass.checkReturnUdfType(method, returnType.getType());
             for (int i = 0; i < method.getParameters().length; i++) {
                 Parameter p = method.getParameters()[i];
@@ -22,8 +22,10 @@ import com.starrocks.qe.SessionVariable;
 import com.starrocks.qe.VariableMgr;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.optimizer.base.ColumnRefFactory;
+import com.starrocks.sql.optimizer.base.ConcurrentColumnRefFactory;
 import com.starrocks.sql.optimizer.dump.DumpInfo;
 import com.starrocks.sql.optimizer.rule.RuleSet;
+import com.starrocks.sql.optimizer.task.ParallelTaskScheduler;
 import com.starrocks.sql.optimizer.task.SeriallyTaskScheduler;
 import com.starrocks.sql.optimizer.task.TaskContext;
 import com.starrocks.sql.optimizer.task.TaskScheduler;
@@ -65,9 +67,13 @@ public class OptimizerContext {
         this.memo = memo;
         this.ruleSet = new RuleSet();
         this.globalStateMgr = GlobalStateMgr.getCurrentState();
-        this.taskScheduler = SeriallyTaskScheduler.create();
-        this.columnRefFactory = columnRefFactory;
         this.sessionVariable = connectContext.getSessionVariable();
+        // the rules applied concurrently share the column ref factory, only the query planner creates
+        // a thread-safe one, the others are always optimized serially
+        this.taskScheduler = sessionVariable.isEnableOptimizerParallelExplore() &&
+                columnRefFactory instanceof ConcurrentColumnRefFactory ?
+                ParallelTaskScheduler.create() : SeriallyTaskScheduler.create();
+        this.columnRefFactory = columnRefFactory;
         this.dumpInfo = connectContext.getDumpInfo();
         this.cteContext = new CTEContext();
         cteContext.reset();
@@ -443,6 +443,10 @@ public class OutputPropertyDeriver extends PropertyDeriverBase<PhysicalPropertyS
 
     @Override
     public PhysicalPropertySet visitPhysicalJDBCScan(PhysicalJDBCScanOperator node, ExpressionContext context) {
+        // the splits are scanned by multiple backends
+        if (node.getSplitNum() > 1) {
+            return PhysicalPropertySet.EMPTY;
+        }
         return createGatherPropertySet();
     }
 
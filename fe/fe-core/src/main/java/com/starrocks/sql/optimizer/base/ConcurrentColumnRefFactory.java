@@ -0,0 +1,112 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.optimizer.base;
+
+import com.starrocks.analysis.Expr;
+import com.starrocks.catalog.Column;
+import com.starrocks.catalog.Table;
+import com.starrocks.catalog.Type;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ColumnRefFactory shared by the rules which are applied concurrently by ParallelTaskScheduler.
+ * <p>
+ * The ids are allocated in the order the rules ask for them, so they differ from run to run,
+ * and the getters of the whole mappings return read-only snapshots.
+ */
+public class ConcurrentColumnRefFactory extends ColumnRefFactory {
+    @Override
+    public synchronized Map<ColumnRefOperator, Column> getColumnRefToColumns() {
+        return Collections.unmodifiableMap(new HashMap<>(super.getColumnRefToColumns()));
+    }
+
+    @Override
+    public synchronized ColumnRefOperator create(Expr expression, Type type, boolean nullable) {
+        return super.create(expression, type, nullable);
+    }
+
+    @Override
+    public synchronized ColumnRefOperator create(ScalarOperator operator, Type type, boolean nullable) {
+        return super.create(operator, type, nullable);
+    }
+
+    @Override
+    public synchronized ColumnRefOperator create(String name, Type type, boolean nullable) {
+        return super.create(name, type, nullable);
+    }
+
+    @Override
+    public synchronized ColumnRefOperator create(String name, Type type, boolean nullable, boolean isLambdaArg) {
+        return super.create(name, type, nullable, isLambdaArg);
+    }
+
+    @Override
+    public synchronized ColumnRefOperator getColumnRef(int id) {
+        return super.getColumnRef(id);
+    }
+
+    @Override
+    public synchronized Set<ColumnRefOperator> getColumnRefs(ColumnRefSet columnRefSet) {
+        return super.getColumnRefs(columnRefSet);
+    }
+
+    @Override
+    public synchronized List<ColumnRefOperator> getColumnRefs() {
+        return Collections.unmodifiableList(new ArrayList<>(super.getColumnRefs()));
+    }
+
+    @Override
+    public synchronized void updateColumnRefToColumns(ColumnRefOperator columnRef, Column column, Table table) {
+        super.updateColumnRefToColumns(columnRef, column, table);
+    }
+
+    @Override
+    public synchronized Column getColumn(ColumnRefOperator columnRef) {
+        return super.getColumn(columnRef);
+    }
+
+    @Override
+    public synchronized void updateColumnToRelationIds(int columnId, int tableId) {
+        super.updateColumnToRelationIds(columnId, tableId);
+    }
+
+    @Override
+    public synchronized Integer getRelationId(int id) {
+        return super.getRelationId(id);
+    }
+
+    @Override
+    public synchronized int getNextRelationId() {
+        return super.getNextRelationId();
+    }
+
+    @Override
+    public synchronized Map<Integer, Integer> getColumnToRelationIds() {
+        return Collections.unmodifiableMap(new HashMap<>(super.getColumnToRelationIds()));
+    }
+
+    @Override
+    public synchronized Map<ColumnRefOperator, Table> getColumnRefToTable() {
+        return Collections.unmodifiableMap(new HashMap<>(super.getColumnRefToTable()));
+    }
+}
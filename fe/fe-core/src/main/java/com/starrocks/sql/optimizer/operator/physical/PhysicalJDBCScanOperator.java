@@ -28,6 +28,9 @@ import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
 import java.util.Map;
 
 public class PhysicalJDBCScanOperator extends PhysicalScanOperator {
+    // the max number of range splits, the scan isn't split if it's 1
+    private int splitNum = 1;
+
     public PhysicalJDBCScanOperator(Table table,
                                     Map<ColumnRefOperator, Column> colRefToColumnMetaMap,
                                     long limit,
@@ -37,6 +40,14 @@ public class PhysicalJDBCScanOperator extends PhysicalScanOperator {
                 projection);
     }
 
+    public int getSplitNum() {
+        return splitNum;
+    }
+
+    public void setSplitNum(int splitNum) {
+        this.splitNum = splitNum;
+    }
+
     @Override
     public <R, C> R accept(OperatorVisitor<R, C> visitor, C context) {
         return visitor.visitPhysicalJDBCScan(this, context);
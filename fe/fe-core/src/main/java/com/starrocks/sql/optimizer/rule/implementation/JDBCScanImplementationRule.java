@@ -16,6 +16,7 @@
 package com.starrocks.sql.optimizer.rule.implementation;
 
 import com.google.common.collect.Lists;
+import com.starrocks.catalog.JDBCTable;
 import com.starrocks.sql.optimizer.OptExpression;
 import com.starrocks.sql.optimizer.OptimizerContext;
 import com.starrocks.sql.optimizer.operator.OperatorType;
@@ -39,6 +40,11 @@ public class JDBCScanImplementationRule extends ImplementationRule {
                 logical.getLimit(),
                 logical.getPredicate(),
                 logical.getProjection());
+        // the scan with limit reads few rows, it's not worth splitting
+        int splitNum = context.getSessionVariable().getJdbcScanSplitNum();
+        if (splitNum > 1 && !logical.hasLimit() && ((JDBCTable) logical.getTable()).getSplitColumn() != null) {
+            physical.setSplitNum(splitNum);
+        }
 
         OptExpression result = new OptExpression(physical);
         return Lists.newArrayList(result);
@@ -25,6 +25,7 @@ import com.starrocks.catalog.Table;
 import com.starrocks.common.Config;
 import com.starrocks.common.Pair;
 import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.sql.PlanCache;
 import com.starrocks.statistic.StatisticUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -235,6 +236,7 @@ public class CachedStatisticStorage implements StatisticStorage {
             tableStatsCacheKeys.add(new TableStatsCacheKey(table.getId(), partition.getId()));
         }
         tableStatsCache.synchronous().invalidateAll(tableStatsCacheKeys);
+        PlanCache.getInstance().invalidateTable(table.getId());
 
         if (columns == null) {
             return;
@@ -302,6 +304,7 @@ public class CachedStatisticStorage implements StatisticStorage {
             allKeys.add(key);
         }
         histogramCache.synchronous().invalidateAll(allKeys);
+        PlanCache.getInstance().invalidateTable(tableId);
     }
 
     private List<ColumnStatistic> getDefaultColumnStatisticList(List<String> columns) {
@@ -65,23 +65,36 @@ public class ApplyRuleTask extends OptimizerTask {
 
     @Override
     public void execute() {
-        if (groupExpression.hasRuleExplored(rule) ||
-                groupExpression.isUnused()) {
+        if (!isApplicable()) {
             return;
         }
+        applyToMemo(transform());
+    }
+
+    GroupExpression getGroupExpression() {
+        return groupExpression;
+    }
+
+    boolean isApplicable() {
+        return !groupExpression.hasRuleExplored(rule) && !groupExpression.isUnused();
+    }
+
+    /**
+     * Bind the rule pattern against the group expression and apply the rule to every binding.
+     * This step only reads the memo, so the scheduler may run it concurrently for sibling tasks.
+     */
+    List<OptExpression> transform() {
         SessionVariable sessionVariable = context.getOptimizerContext().getSessionVariable();
         // Apply rule and get all new OptExpressions
         Pattern pattern = rule.getPattern();
         Binder binder = new Binder(pattern, groupExpression);
         OptExpression extractExpr = binder.next();
         List<OptExpression> newExpressions = Lists.newArrayList();
-        List<OptExpression> extractExpressions = Lists.newArrayList();
         while (extractExpr != null) {
             if (!rule.check(extractExpr, context.getOptimizerContext())) {
                 extractExpr = binder.next();
                 continue;
             }
-            extractExpressions.add(extractExpr);
             List<OptExpression> targetExpressions = rule.transform(extractExpr, context.getOptimizerContext());
             newExpressions.addAll(targetExpressions);
 
@@ -90,7 +103,16 @@ public class ApplyRuleTask extends OptimizerTask {
 
             extractExpr = binder.next();
         }
+        return newExpressions;
+    }
 
+    /**
+     * Insert the transformed expressions into memo and schedule the follow-up tasks.
+     * This step mutates the memo and must run on the scheduler thread.
+     *
+     * @return false if the group of the group expression has been merged
+     */
+    boolean applyToMemo(List<OptExpression> newExpressions) {
         for (OptExpression expression : newExpressions) {
             // Insert new OptExpression to memo
             Pair<Boolean, GroupExpression> result = context.getOptimizerContext().getMemo().
@@ -98,7 +120,7 @@ public class ApplyRuleTask extends OptimizerTask {
 
             // The group has been merged
             if (groupExpression.hasEmptyRootGroup()) {
-                return;
+                return false;
             }
 
             GroupExpression newGroupExpression = result.second;
@@ -113,5 +135,6 @@ public class ApplyRuleTask extends OptimizerTask {
         }
 
         groupExpression.setRuleExplored(rule);
+        return true;
     }
 }
@@ -0,0 +1,185 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.optimizer.task;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.Lists;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.sql.common.ErrorType;
+import com.starrocks.sql.common.StarRocksPlannerException;
+import com.starrocks.sql.optimizer.GroupExpression;
+import com.starrocks.sql.optimizer.OptExpression;
+import com.starrocks.sql.optimizer.OptimizerContext;
+import com.starrocks.sql.optimizer.base.ConcurrentColumnRefFactory;
+
+import java.util.List;
+import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+
+/**
+ * EXPERIMENTAL: a task scheduler which explores the memo with a work-stealing fork-join pool.
+ * <p>
+ * Tasks are kept in a stack like {@link SeriallyTaskScheduler}. When an {@link ApplyRuleTask} is popped, all the
+ * sibling ApplyRuleTasks of the same group expression (pushed together by {@link OptimizeExpressionTask}) are
+ * popped as a batch, and their pattern binding and rule transformation are executed concurrently in the pool.
+ * The transformed expressions are then copied into memo one task after another on the scheduler thread,
+ * so Memo/Group/GroupExpression are never mutated concurrently.
+ * <p>
+ * It is NOT equivalent to the serial scheduler:
+ * <ul>
+ * <li>the siblings of a batch are transformed before the tasks derived from the earlier ones are executed,
+ * so the memo is explored in a different order, which matters when the search is cut by the timeout</li>
+ * <li>the column refs created by the rules get their ids in the order the threads ask for them, so the ids,
+ * and the plans which depend on them, e.g. EXPLAIN, may differ from run to run</li>
+ * <li>the rules are assumed to only read the memo and the shared context in transform, which is not enforced
+ * for every rule</li>
+ * </ul>
+ * So it's off by default, and only used for queries planned with a {@link ConcurrentColumnRefFactory}.
+ */
+public class ParallelTaskScheduler implements TaskScheduler {
+    private static final ForkJoinPool EXPLORE_POOL = new ForkJoinPool(
+            Runtime.getRuntime().availableProcessors(),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("optimizer-explore-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null, false);
+
+    private final Stack<OptimizerTask> tasks;
+
+    private ParallelTaskScheduler() {
+        tasks = new Stack<>();
+    }
+
+    public static TaskScheduler create() {
+        return new ParallelTaskScheduler();
+    }
+
+    @Override
+    public void executeTasks(TaskContext context) {
+        OptimizerContext optimizerContext = context.getOptimizerContext();
+        long timeout = optimizerContext.getSessionVariable().getOptimizerExecuteTimeout();
+        Stopwatch watch = optimizerContext.getTraceInfo().getStopwatch();
+        boolean isTraceOptimizer = optimizerContext.getTraceInfo().isTraceOptimizer();
+        // Trace info and planner profile are not thread-safe, keep the serial behavior when tracing
+        boolean isParallel = !isTraceOptimizer && !optimizerContext.getSessionVariable().isEnableOptimizerTraceLog();
+        while (!tasks.empty()) {
+            if (SeriallyTaskScheduler.checkTimeout(context, timeout, watch)) {
+                break;
+            }
+            OptimizerTask task = tasks.pop();
+            optimizerContext.setTaskContext(context);
+            if (isTraceOptimizer) {
+                SeriallyTaskScheduler.executeWithRecord(task);
+                continue;
+            }
+
+            // Materialized view rewrite rules keep per-query rewrite state, so they are applied serially
+            if (isParallel && task instanceof ApplyRuleTask && optimizerContext.getCandidateMvs().isEmpty()) {
+                List<ApplyRuleTask> batch = popSiblingRuleTasks((ApplyRuleTask) task);
+                if (batch.size() > 1) {
+                    executeInParallel(batch);
+                } else if (batch.size() == 1) {
+                    batch.get(0).execute();
+                }
+                continue;
+            }
+            task.execute();
+        }
+    }
+
+    @Override
+    public void pushTask(OptimizerTask task) {
+        tasks.push(task);
+    }
+
+    private List<ApplyRuleTask> popSiblingRuleTasks(ApplyRuleTask first) {
+        List<ApplyRuleTask> batch = Lists.newArrayList();
+        if (first.isApplicable()) {
+            batch.add(first);
+        }
+        GroupExpression groupExpression = first.getGroupExpression();
+        while (!tasks.empty() && tasks.peek() instanceof ApplyRuleTask &&
+                ((ApplyRuleTask) tasks.peek()).getGroupExpression() == groupExpression) {
+            ApplyRuleTask sibling = (ApplyRuleTask) tasks.pop();
+            if (sibling.isApplicable()) {
+                batch.add(sibling);
+            }
+        }
+        return batch;
+    }
+
+    private void executeInParallel(List<ApplyRuleTask> batch) {
+        ConnectContext connectContext = ConnectContext.get();
+        List<Callable<List<OptExpression>>> transforms = Lists.newArrayListWithCapacity(batch.size());
+        for (ApplyRuleTask task : batch) {
+            transforms.add(() -> {
+                ConnectContext previous = ConnectContext.get();
+                if (connectContext != null) {
+                    connectContext.setThreadLocalInfo();
+                }
+                try {
+                    return task.transform();
+                } finally {
+                    if (previous != null) {
+                        previous.setThreadLocalInfo();
+                    } else {
+                        ConnectContext.remove();
+                    }
+                }
+            });
+        }
+
+        List<Future<List<OptExpression>>> results = EXPLORE_POOL.invokeAll(transforms);
+        for (int i = 0; i < batch.size(); i++) {
+            List<OptExpression> newExpressions = getResult(results.get(i));
+            ApplyRuleTask task = batch.get(i);
+            // the memo may be changed by the previous task of the batch
+            if (!task.isApplicable()) {
+                continue;
+            }
+            if (!task.applyToMemo(newExpressions)) {
+                // The group has been merged, the transformed expressions of remaining tasks are stale,
+                // push them back to transform them again
+                for (int j = batch.size() - 1; j > i; j--) {
+                    tasks.push(batch.get(j));
+                }
+                return;
+            }
+        }
+    }
+
+    private static List<OptExpression> getResult(Future<List<OptExpression>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StarRocksPlannerException("Optimizer parallel explore is interrupted",
+                    ErrorType.INTERNAL_ERROR);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new StarRocksPlannerException("Optimizer parallel explore failed: " + e.getCause().getMessage(),
+                    ErrorType.INTERNAL_ERROR);
+        }
+    }
+}
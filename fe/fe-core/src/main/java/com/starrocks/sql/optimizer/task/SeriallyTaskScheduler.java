@@ -40,24 +40,7 @@ public class SeriallyTaskScheduler implements TaskScheduler {
         long timeout = context.getOptimizerContext().getSessionVariable().getOptimizerExecuteTimeout();
         Stopwatch watch = context.getOptimizerContext().getTraceInfo().getStopwatch();
         while (!tasks.empty()) {
-            if (timeout > 0 && watch.elapsed(TimeUnit.MILLISECONDS) > timeout) {
-                // Should have at least one valid plan
-                // group will be null when in rewrite phase
-                // memo may be null for rule-based optimizer
-                Memo memo = context.getOptimizerContext().getMemo();
-                Group group = memo == null ? null : memo.getRootGroup();
-                if (group == null || !group.hasBestExpression(context.getRequiredProperty())) {
-                    throw new StarRocksPlannerException("StarRocks planner use long time " + timeout +
-                            " ms in " + (group == null ? "logical" : "memo") + " phase, This probably because " +
-                            "1. FE Full GC, " +
-                            "2. Hive external table fetch metadata took a long time, " +
-                            "3. The SQL is very complex. " +
-                            "You could " +
-                            "1. adjust FE JVM config, " +
-                            "2. try query again, " +
-                            "3. enlarge new_planner_optimize_timeout session variable",
-                            ErrorType.INTERNAL_ERROR);
-                }
+            if (checkTimeout(context, timeout, watch)) {
                 break;
             }
             OptimizerTask task = tasks.pop();
@@ -75,8 +58,35 @@ public class SeriallyTaskScheduler implements TaskScheduler {
         tasks.push(task);
     }
 
+    /**
+     * @return true if the optimizer runs out of time but already has a valid plan,
+     * throws if there is no valid plan
+     */
+    static boolean checkTimeout(TaskContext context, long timeout, Stopwatch watch) {
+        if (timeout <= 0 || watch.elapsed(TimeUnit.MILLISECONDS) <= timeout) {
+            return false;
+        }
+        // Should have at least one valid plan
+        // group will be null when in rewrite phase
+        // memo may be null for rule-based optimizer
+        Memo memo = context.getOptimizerContext().getMemo();
+        Group group = memo == null ? null : memo.getRootGroup();
+        if (group == null || !group.hasBestExpression(context.getRequiredProperty())) {
+            throw new StarRocksPlannerException("StarRocks planner use long time " + timeout +
+                    " ms in " + (group == null ? "logical" : "memo") + " phase, This probably because " +
+                    "1. FE Full GC, " +
+                    "2. Hive external table fetch metadata took a long time, " +
+                    "3. The SQL is very complex. " +
+                    "You could " +
+                    "1. adjust FE JVM config, " +
+                    "2. try query again, " +
+                    "3. enlarge new_planner_optimize_timeout session variable",
+                    ErrorType.INTERNAL_ERROR);
+        }
+        return true;
+    }
 
-    private void executeWithRecord(OptimizerTask task) {
+    static void executeWithRecord(OptimizerTask task) {
         String timerName = "";
         if (task instanceof RewriteTreeTask) {
             timerName = "Optimizer.RuleBaseOptimize." + task.getClass().getSimpleName();
@@ -24,6 +24,8 @@ import com.starrocks.sql.ast.ImportColumnsStmt;
 import com.starrocks.sql.ast.StatementBase;
 import io.trino.sql.parser.ParsingException;
 import io.trino.sql.parser.StatementSplitter;
+import org.antlr.v4.runtime.ANTLRErrorStrategy;
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.DefaultErrorStrategy;
@@ -31,17 +33,26 @@ import org.antlr.v4.runtime.InputMismatchException;
 import org.antlr.v4.runtime.Parser;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.starrocks.sql.common.ErrorMsgProxy.PARSER_ERROR_MSG;
 
 public class SqlParser {
     private static final Logger LOG = LogManager.getLogger(SqlParser.class);
 
+    private static final int DFA_CACHE_CHECK_INTERVAL = 1000;
+    private static final int DFA_CACHE_CHECK_TOKENS = 10000;
+    private static final AtomicLong PARSE_COUNT = new AtomicLong(0);
+
     public static List<StatementBase> parse(String sql, SessionVariable sessionVariable) {
         if (sessionVariable.getSqlDialect().equalsIgnoreCase("trino")) {
             return parseWithTrinoDialect(sql, sessionVariable);
@@ -76,7 +87,7 @@ public class SqlParser {
         List<StatementBase> statements = Lists.newArrayList();
         StarRocksParser parser = parserBuilder(sql, sessionVariable);
         List<StarRocksParser.SingleStatementContext> singleStatementContexts =
-                parser.sqlStatements().singleStatement();
+                parseSqlStatements(parser).singleStatement();
         for (int idx = 0; idx < singleStatementContexts.size(); ++idx) {
             StatementBase statement = (StatementBase) new AstBuilder(sessionVariable.getSqlMode())
                     .visitSingleStatement(singleStatementContexts.get(idx));
@@ -86,6 +97,49 @@ public class SqlParser {
         return statements;
     }
 
+    /**
+     * Parse with the faster SLL prediction mode first, which is enough for almost all the statements.
+     * Only if SLL fails, the statement may be valid but need full context to predict, or it's invalid,
+     * then parse it again with LL prediction mode, which reports the syntax error as usual.
+     */
+    private static StarRocksParser.SqlStatementsContext parseSqlStatements(StarRocksParser parser) {
+        ANTLRErrorStrategy errorStrategy = parser.getErrorHandler();
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.removeErrorListeners();
+        try {
+            return parser.sqlStatements();
+        } catch (ParseCancellationException e) {
+            parser.setErrorHandler(errorStrategy);
+            parser.addErrorListener(new ErrorHandler());
+            // rewind the token stream, the tokens are not lexed again
+            parser.reset();
+            parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+            return parser.sqlStatements();
+        } finally {
+            clearDFACacheIfNeeded(parser);
+        }
+    }
+
+    private static void clearDFACacheIfNeeded(StarRocksParser parser) {
+        int maxStates = Config.sql_parser_dfa_cache_max_states;
+        // Counting the states of all decisions is not free, only count them periodically or after a large sql,
+        // which may add many states at once
+        if (maxStates <= 0 || (PARSE_COUNT.incrementAndGet() % DFA_CACHE_CHECK_INTERVAL != 0 &&
+                parser.getTokenStream().size() < DFA_CACHE_CHECK_TOKENS)) {
+            return;
+        }
+        ParserATNSimulator interpreter = parser.getInterpreter();
+        long numStates = 0;
+        for (DFA dfa : interpreter.decisionToDFA) {
+            numStates += dfa.states.size();
+        }
+        if (numStates > maxStates) {
+            LOG.info("clear sql parser DFA cache, states: {}, limit: {}", numStates, maxStates);
+            interpreter.clearDFA();
+        }
+    }
+
     /**
      * We need not only sqlMode but also other parameters to define the property of parser.
      * Please consider use {@link #parse(String, SessionVariable)}
@@ -1243,11 +1243,13 @@ public class PlanFragmentBuilder {
 
             scanNode.setLimit(node.getLimit());
             scanNode.computeColumnsAndFilters();
+            scanNode.computeSplits(node.getSplitNum());
             scanNode.computeStatistics(optExpression.getStatistics());
 
             context.getScanNodes().add(scanNode);
-            PlanFragment fragment =
-                    new PlanFragment(context.getNextFragmentId(), scanNode, DataPartition.UNPARTITIONED);
+            DataPartition dataPartition =
+                    scanNode.getScanRangeLocations(0) == null ? DataPartition.UNPARTITIONED : DataPartition.RANDOM;
+            PlanFragment fragment = new PlanFragment(context.getNextFragmentId(), scanNode, dataPartition);
             context.getFragments().add(fragment);
             return fragment;
         }
@@ -1327,11 +1329,13 @@ public class PlanFragmentBuilder {
 
             scanNode.setLimit(node.getLimit());
             scanNode.computeColumnsAndFilters();
+            scanNode.computeSplits(node.getSplitNum());
             scanNode.computeStatistics(optExpression.getStatistics());
 
             context.getScanNodes().add(scanNode);
-            PlanFragment fragment =
-                    new PlanFragment(context.getNextFragmentId(), scanNode, DataPartition.UNPARTITIONED);
+            DataPartition dataPartition =
+                    scanNode.getScanRangeLocations(0) == null ? DataPartition.UNPARTITIONED : DataPartition.RANDOM;
+            PlanFragment fragment = new PlanFragment(context.getNextFragmentId(), scanNode, dataPartition);
             context.getFragments().add(fragment);
             return fragment;
         }
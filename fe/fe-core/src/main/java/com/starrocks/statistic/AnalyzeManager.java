@@ -63,6 +63,8 @@ public class AnalyzeManager implements Writable {
     private final Map<Pair<Long, String>, HistogramStatsMeta> histogramStatsMetaMap;
     // ConnectContext of all currently running analyze tasks
     private final Map<Long, ConnectContext> connectionMap = Maps.newConcurrentMap();
+    // tables which are loaded since the last collection on load, table id -> db id, only on leader
+    private final Map<Long, Long> loadedTables = Maps.newConcurrentMap();
     private static final ExecutorService ANALYZE_TASK_THREAD_POOL = ThreadPoolManager.newDaemonFixedThreadPool(
             Config.statistic_collect_concurrency, 100,
             "analyze-task-concurrency-pool", true);
@@ -332,6 +334,33 @@ public class AnalyzeManager implements Writable {
         return ANALYZE_TASK_THREAD_POOL;
     }
 
+    public void recordLoadedTables(TransactionState transactionState) {
+        if (!StatisticAutoCollector.isCollectOnLoadEnabled() || !GlobalStateMgr.getCurrentState().isLeader()) {
+            return;
+        }
+        Database db = GlobalStateMgr.getCurrentState().getDb(transactionState.getDbId());
+        if (null == db || StatisticUtils.statisticDatabaseBlackListCheck(db.getFullName())) {
+            return;
+        }
+        for (long tableId : transactionState.getIdToTableCommitInfos().keySet()) {
+            loadedTables.put(tableId, db.getId());
+        }
+    }
+
+    /**
+     * @return the tables loaded since the last call, table id -> db id
+     */
+    public Map<Long, Long> drainLoadedTables() {
+        Map<Long, Long> tables = Maps.newHashMap();
+        for (Long tableId : loadedTables.keySet()) {
+            Long dbId = loadedTables.remove(tableId);
+            if (dbId != null) {
+                tables.put(tableId, dbId);
+            }
+        }
+        return tables;
+    }
+
     public void updateLoadRows(TransactionState transactionState) {
         Database db = GlobalStateMgr.getCurrentState().getDb(transactionState.getDbId());
         if (null == db || StatisticUtils.statisticDatabaseBlackListCheck(db.getFullName())) {
@@ -15,6 +15,7 @@
 package com.starrocks.statistic;
 
 import com.google.common.collect.Maps;
+import com.starrocks.catalog.Database;
 import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
 import com.starrocks.common.util.DateUtils;
@@ -33,6 +34,7 @@ import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class StatisticAutoCollector extends LeaderDaemon {
@@ -55,7 +57,8 @@ public class StatisticAutoCollector extends LeaderDaemon {
             return;
         }
 
-        if (!checkoutAnalyzeTime(LocalTime.now(TimeUtils.getTimeZone().toZoneId()))) {
+        boolean isAnalyzeTime = checkoutAnalyzeTime(LocalTime.now(TimeUtils.getTimeZone().toZoneId()));
+        if (!isAnalyzeTime && !isCollectOnLoadEnabled()) {
             return;
         }
 
@@ -64,6 +67,13 @@ public class StatisticAutoCollector extends LeaderDaemon {
             return;
         }
 
+        // the loaded partitions are small, collect them at any time
+        collectStatisticsOnLoad();
+
+        if (!isAnalyzeTime) {
+            return;
+        }
+
         initDefaultJob();
 
         if (Config.enable_collect_full_statistic) {
@@ -75,15 +85,7 @@ public class StatisticAutoCollector extends LeaderDaemon {
                             ScheduleStatus.PENDING,
                             LocalDateTime.MIN));
             for (StatisticsCollectJob statsJob : allJobs) {
-                AnalyzeStatus analyzeStatus = new AnalyzeStatus(GlobalStateMgr.getCurrentState().getNextId(),
-                        statsJob.getDb().getId(), statsJob.getTable().getId(), statsJob.getColumns(),
-                        statsJob.getType(), statsJob.getScheduleType(), statsJob.getProperties(), LocalDateTime.now());
-                analyzeStatus.setStatus(StatsConstants.ScheduleStatus.FAILED);
-                GlobalStateMgr.getCurrentAnalyzeMgr().addAnalyzeStatus(analyzeStatus);
-
-                ConnectContext statsConnectCtx = StatisticUtils.buildConnectContext();
-                statsConnectCtx.setThreadLocalInfo();
-                STATISTIC_EXECUTOR.collectStatistics(statsConnectCtx, statsJob, analyzeStatus, true);
+                collectStatistics(statsJob);
             }
             LOG.info("auto collect full statistic on all databases end");
         } else {
@@ -101,6 +103,65 @@ public class StatisticAutoCollector extends LeaderDaemon {
         }
     }
 
+    // the loaded partitions are collected only if the tables are auto collected with full statistics
+    static boolean isCollectOnLoadEnabled() {
+        return Config.enable_statistic_collect_on_load && Config.enable_collect_full_statistic;
+    }
+
+    void collectStatisticsOnLoad() {
+        Map<Long, Long> loadedTables = GlobalStateMgr.getCurrentAnalyzeMgr().drainLoadedTables();
+        if (!isCollectOnLoadEnabled() || loadedTables.isEmpty()) {
+            return;
+        }
+        List<AnalyzeJob> scheduleJobs = GlobalStateMgr.getCurrentAnalyzeMgr().getAllAnalyzeJobList().stream()
+                .filter(j -> j.getScheduleType() == ScheduleType.SCHEDULE).collect(Collectors.toList());
+        if (scheduleJobs.isEmpty()) {
+            return;
+        }
+        LOG.info("collect statistic on {} loaded tables start", loadedTables.size());
+        for (Map.Entry<Long, Long> entry : loadedTables.entrySet()) {
+            AnalyzeJob analyzeJob = getCoveringJob(scheduleJobs, entry.getValue(), entry.getKey());
+            Database db = GlobalStateMgr.getCurrentState().getDb(entry.getValue());
+            if (analyzeJob == null || db == null) {
+                continue;
+            }
+            StatisticsCollectJob statsJob = StatisticsCollectJobFactory.buildStatisticsCollectJobOnLoad(analyzeJob,
+                    db, db.getTable(entry.getKey()));
+            if (statsJob != null) {
+                collectStatistics(statsJob);
+            }
+        }
+        LOG.info("collect statistic on {} loaded tables end", loadedTables.size());
+    }
+
+    // the job of the table is preferred to the job of its database, which is preferred to the job of all databases
+    private static AnalyzeJob getCoveringJob(List<AnalyzeJob> jobs, long dbId, long tableId) {
+        AnalyzeJob dbJob = null;
+        AnalyzeJob allJob = null;
+        for (AnalyzeJob job : jobs) {
+            if (job.getDbId() == StatsConstants.DEFAULT_ALL_ID) {
+                allJob = job;
+            } else if (job.getDbId() == dbId && job.getTableId() == StatsConstants.DEFAULT_ALL_ID) {
+                dbJob = job;
+            } else if (job.getDbId() == dbId && job.getTableId() == tableId) {
+                return job;
+            }
+        }
+        return dbJob != null ? dbJob : allJob;
+    }
+
+    private void collectStatistics(StatisticsCollectJob statsJob) {
+        AnalyzeStatus analyzeStatus = new AnalyzeStatus(GlobalStateMgr.getCurrentState().getNextId(),
+                statsJob.getDb().getId(), statsJob.getTable().getId(), statsJob.getColumns(),
+                statsJob.getType(), statsJob.getScheduleType(), statsJob.getProperties(), LocalDateTime.now());
+        analyzeStatus.setStatus(StatsConstants.ScheduleStatus.FAILED);
+        GlobalStateMgr.getCurrentAnalyzeMgr().addAnalyzeStatus(analyzeStatus);
+
+        ConnectContext statsConnectCtx = StatisticUtils.buildConnectContext();
+        statsConnectCtx.setThreadLocalInfo();
+        STATISTIC_EXECUTOR.collectStatistics(statsConnectCtx, statsJob, analyzeStatus, true);
+    }
+
     private void initDefaultJob() {
         // Add a default sample job if wasn't collect
         List<AnalyzeJob> allAnalyzeJobs = GlobalStateMgr.getCurrentAnalyzeMgr().getAllAnalyzeJobList();
@@ -105,6 +105,53 @@ public class StatisticsCollectJobFactory {
         }
     }
 
+    /**
+     * Build the job to collect the full statistics of the partitions which are updated since the last
+     * collection of a loaded table, the statistics of the other partitions are kept and merged with them.
+     * The columns and properties are taken from the auto analyze job which covers the table.
+     *
+     * @return null if there is nothing to collect, or the table should be left to the auto collection
+     */
+    public static StatisticsCollectJob buildStatisticsCollectJobOnLoad(AnalyzeJob analyzeJob, Database db,
+                                                                       Table table) {
+        if (table == null || !(table.isOlapOrCloudNativeTable() || table.isMaterializedView())) {
+            return null;
+        }
+
+        BasicStatsMeta basicStatsMeta = GlobalStateMgr.getCurrentAnalyzeMgr().getBasicStatsMetaMap().get(table.getId());
+        // sample statistics are collected on the whole table, they can't be updated by partitions
+        if (basicStatsMeta != null && !basicStatsMeta.getType().equals(StatsConstants.AnalyzeType.FULL)) {
+            return null;
+        }
+
+        LocalDateTime statisticsUpdateTime = basicStatsMeta == null ? LocalDateTime.MIN : basicStatsMeta.getUpdateTime();
+        List<Partition> partitionList = new ArrayList<>();
+        long sumDataSize = 0;
+        for (Partition partition : table.getPartitions()) {
+            LocalDateTime partitionUpdateTime = StatisticUtils.getPartitionLastUpdateTime(partition);
+            if (statisticsUpdateTime.isBefore(partitionUpdateTime) && partition.hasData()) {
+                partitionList.add(partition);
+                sumDataSize += partition.getDataSize();
+            }
+        }
+
+        if (partitionList.isEmpty()) {
+            return null;
+        }
+        if (sumDataSize > Config.statistic_collect_on_load_max_data_size) {
+            LOG.debug("statistics job on load skip table: {}, updated data size: {}MB, limit: {}MB",
+                    table.getName(), ByteSizeUnit.BYTES.toMB(sumDataSize),
+                    ByteSizeUnit.BYTES.toMB(Config.statistic_collect_on_load_max_data_size));
+            return null;
+        }
+
+        // the columns are only specified by the job of a single table
+        List<String> columns = analyzeJob.getTableId() == table.getId() ? analyzeJob.getColumns() : null;
+        return buildStatisticsCollectJob(db, table,
+                partitionList.stream().map(Partition::getId).collect(Collectors.toList()), columns,
+                StatsConstants.AnalyzeType.FULL, StatsConstants.ScheduleType.SCHEDULE, analyzeJob.getProperties());
+    }
+
     private static void createJob(List<StatisticsCollectJob> allTableJobMap, AnalyzeJob job,
                                   Database db, Table table, List<String> columns) {
         if (table == null || !(table.isOlapOrCloudNativeTable() || table.isMaterializedView())) {
@@ -229,7 +229,12 @@ public class HeartbeatMgr extends LeaderDaemon {
                     isBackend = false;
                 }
                 if (computeNode != null) {
+                    boolean wasAlive = computeNode.isAlive();
                     boolean isChanged = computeNode.handleHbResponse(hbResponse, isReplay);
+                    if (!isReplay && isBackend && wasAlive != computeNode.isAlive()) {
+                        // the replicas on the backend become unavailable or available again
+                        GlobalStateMgr.getCurrentState().getTabletChecker().markBackendDirty(computeNode.getId());
+                    }
                     if (hbResponse.getStatus() != HbStatus.OK) {
                         // invalid all connections cached in ClientPool
                         ClientPool.backendPool.clearPool(new TNetworkAddress(computeNode.getHost(), computeNode.getBePort()));
@@ -53,6 +53,7 @@ import com.starrocks.catalog.ScalarType;
 import com.starrocks.catalog.Tablet;
 import com.starrocks.cluster.Cluster;
 import com.starrocks.common.AnalysisException;
+import com.starrocks.common.ClientPool;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.FeConstants;
 import com.starrocks.common.FeMetaVersion;
@@ -439,6 +440,10 @@ public class SystemInfoService {
         // log
         GlobalStateMgr.getCurrentState().getEditLog().logDropBackend(droppedBackend);
         LOG.info("finished to drop {}", droppedBackend);
+        ClientPool.asyncBackendPool.removeEndpoint(
+                new TNetworkAddress(droppedBackend.getHost(), droppedBackend.getBePort()));
+        // the replicas on the dropped backend need to be repaired
+        GlobalStateMgr.getCurrentState().getTabletChecker().markBackendDirty(droppedBackend.getId());
 
         // backends is changed, regenerated tablet number metrics
         MetricRepo.generateBackendsTabletMetrics();
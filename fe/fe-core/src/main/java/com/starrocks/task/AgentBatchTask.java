@@ -36,6 +36,8 @@ package com.starrocks.task;
 
 import com.google.common.collect.Lists;
 import com.starrocks.common.ClientPool;
+import com.starrocks.common.Config;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.system.Backend;
 import com.starrocks.thrift.BackendService;
@@ -166,44 +168,95 @@ public class AgentBatchTask implements Runnable {
     @Override
     public void run() {
         for (Long backendId : this.backendIdToTasks.keySet()) {
-            BackendService.Client client = null;
-            TNetworkAddress address = null;
-            boolean ok = false;
-            try {
-                Backend backend = GlobalStateMgr.getCurrentSystemInfo().getBackend(backendId);
-                if (backend == null || !backend.isAlive()) {
-                    continue;
-                }
-                List<AgentTask> tasks = this.backendIdToTasks.get(backendId);
-                // create AgentClient
-                address = new TNetworkAddress(backend.getHost(), backend.getBePort());
-                client = ClientPool.backendPool.borrowObject(address);
-                List<TAgentTaskRequest> agentTaskRequests = new LinkedList<TAgentTaskRequest>();
-                for (AgentTask task : tasks) {
-                    agentTaskRequests.add(toAgentTaskRequest(task));
-                }
-                client.submit_tasks(agentTaskRequests);
-                LOG.info("submit_tasks done");
-                if (LOG.isDebugEnabled()) {
-                    for (AgentTask task : tasks) {
-                        LOG.debug("send task: type[{}], backend[{}], signature[{}]",
-                                task.getTaskType(), backendId, task.getSignature());
-                    }
-                }
-                ok = true;
-            } catch (Exception e) {
-                LOG.warn("task exec error. backend[{}]", backendId, e);
-            } finally {
-                if (ok) {
-                    ClientPool.backendPool.returnObject(address, client);
-                } else {
-                    // TODO: notify tasks rpc failed in trace
-                    ClientPool.backendPool.invalidateObject(address, client);
-                }
+            if (Config.enable_async_agent_task_rpc) {
+                submitTasksAsync(backendId);
+            } else {
+                submitTasks(backendId);
             }
         } // end for backend
     }
 
+    private void submitTasks(long backendId) {
+        BackendService.Client client = null;
+        TNetworkAddress address = null;
+        boolean ok = false;
+        try {
+            Backend backend = GlobalStateMgr.getCurrentSystemInfo().getBackend(backendId);
+            if (backend == null || !backend.isAlive()) {
+                return;
+            }
+            List<AgentTask> tasks = this.backendIdToTasks.get(backendId);
+            // create AgentClient
+            address = new TNetworkAddress(backend.getHost(), backend.getBePort());
+            client = ClientPool.backendPool.borrowObject(address);
+            client.submit_tasks(toAgentTaskRequests(tasks));
+            LOG.info("submit_tasks done");
+            logSentTasks(backendId, tasks);
+            ok = true;
+        } catch (Exception e) {
+            LOG.warn("task exec error. backend[{}]", backendId, e);
+            increaseSubmitFailedCounter();
+        } finally {
+            if (ok) {
+                ClientPool.backendPool.returnObject(address, client);
+            } else {
+                // TODO: notify tasks rpc failed in trace
+                ClientPool.backendPool.invalidateObject(address, client);
+            }
+        }
+    }
+
+    // The tasks are sent without waiting for the response, so the calls to all backends are in flight
+    // at the same time and no thread is blocked on them.
+    private void submitTasksAsync(long backendId) {
+        try {
+            Backend backend = GlobalStateMgr.getCurrentSystemInfo().getBackend(backendId);
+            if (backend == null || !backend.isAlive()) {
+                return;
+            }
+            List<AgentTask> tasks = this.backendIdToTasks.get(backendId);
+            TNetworkAddress address = new TNetworkAddress(backend.getHost(), backend.getBePort());
+            List<TAgentTaskRequest> agentTaskRequests = toAgentTaskRequests(tasks);
+            ClientPool.asyncBackendPool.call(address, client -> client.send_submit_tasks(agentTaskRequests),
+                    BackendService.Client::recv_submit_tasks).whenComplete((result, e) -> {
+                        if (e != null) {
+                            // the tasks are resent when the backend reports that it doesn't have them
+                            LOG.warn("failed to submit {} tasks to backend[{}]", tasks.size(), backendId, e);
+                            increaseSubmitFailedCounter();
+                        } else {
+                            LOG.info("submit_tasks done");
+                            logSentTasks(backendId, tasks);
+                        }
+                    });
+        } catch (Exception e) {
+            LOG.warn("task exec error. backend[{}]", backendId, e);
+            increaseSubmitFailedCounter();
+        }
+    }
+
+    private static void increaseSubmitFailedCounter() {
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_AGENT_TASK_SUBMIT_FAILED.increase(1L);
+        }
+    }
+
+    private List<TAgentTaskRequest> toAgentTaskRequests(List<AgentTask> tasks) {
+        List<TAgentTaskRequest> agentTaskRequests = new LinkedList<TAgentTaskRequest>();
+        for (AgentTask task : tasks) {
+            agentTaskRequests.add(toAgentTaskRequest(task));
+        }
+        return agentTaskRequests;
+    }
+
+    private static void logSentTasks(long backendId, List<AgentTask> tasks) {
+        if (LOG.isDebugEnabled()) {
+            for (AgentTask task : tasks) {
+                LOG.debug("send task: type[{}], backend[{}], signature[{}]",
+                        task.getTaskType(), backendId, task.getSignature());
+            }
+        }
+    }
+
     private TAgentTaskRequest toAgentTaskRequest(AgentTask task) {
         TAgentTaskRequest tAgentTaskRequest = new TAgentTaskRequest();
         tAgentTaskRequest.setProtocol_version(TAgentServiceVersion.V1);
@@ -37,7 +37,6 @@ package com.starrocks.task;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Table;
 import com.starrocks.thrift.TPushType;
@@ -46,80 +45,92 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Task queue
+ * <p>
+ * The tasks are partitioned by backend and then by task type, all levels are concurrent maps, so registering,
+ * removing and diffing the tasks of different backends or types don't block each other, and a task is added or
+ * removed by its signature in O(1). The empty maps of a backend are kept since the number of backends and task
+ * types is small.
  */
 public class AgentTaskQueue {
     private static final Logger LOG = LogManager.getLogger(AgentTaskQueue.class);
 
     // backend id -> (task type -> (signature -> agent task))
-    private static Table<Long, TTaskType, Map<Long, AgentTask>> tasks = HashBasedTable.create();
-    private static int taskNum = 0;
+    private static final Map<Long, Map<TTaskType, Map<Long, AgentTask>>> tasks = new ConcurrentHashMap<>();
+    private static final AtomicInteger taskNum = new AtomicInteger(0);
 
-    public static synchronized void addBatchTask(AgentBatchTask batchTask) {
+    private static Map<Long, AgentTask> getTasks(long backendId, TTaskType type) {
+        Map<TTaskType, Map<Long, AgentTask>> backendTasks = tasks.get(backendId);
+        if (backendTasks == null) {
+            return null;
+        }
+        return backendTasks.get(type);
+    }
+
+    private static Map<Long, AgentTask> getOrCreateTasks(long backendId, TTaskType type) {
+        return tasks.computeIfAbsent(backendId, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(type, k -> new ConcurrentHashMap<>());
+    }
+
+    public static void addBatchTask(AgentBatchTask batchTask) {
         for (AgentTask task : batchTask.getAllTasks()) {
             addTask(task);
         }
     }
 
-    public static synchronized boolean addTask(AgentTask task) {
+    public static boolean addTask(AgentTask task) {
         long backendId = task.getBackendId();
         TTaskType type = task.getTaskType();
-
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, type);
-        if (signatureMap == null) {
-            signatureMap = Maps.newHashMap();
-            tasks.put(backendId, type, signatureMap);
-        }
-
         long signature = task.getSignature();
-        if (signatureMap.containsKey(signature)) {
+        if (getOrCreateTasks(backendId, type).putIfAbsent(signature, task) != null) {
             return false;
         }
-        signatureMap.put(signature, task);
-        ++taskNum;
+        taskNum.incrementAndGet();
         LOG.debug("add task: type[{}], backend[{}], signature[{}]", type, backendId, signature);
         return true;
     }
 
     // remove all task in AgentBatchTask.
     // the caller should make sure all tasks in AgentBatchTask is type of 'type'
-    public static synchronized void removeBatchTask(AgentBatchTask batchTask, TTaskType type) {
+    public static void removeBatchTask(AgentBatchTask batchTask, TTaskType type) {
         for (AgentTask task : batchTask.getAllTasks()) {
             removeTask(task.getBackendId(), type, task.getSignature());
         }
     }
 
-    public static synchronized void removeTask(long backendId, TTaskType type, long signature) {
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, type);
+    public static void removeTask(long backendId, TTaskType type, long signature) {
+        Map<Long, AgentTask> signatureMap = getTasks(backendId, type);
         if (signatureMap == null) {
             return;
         }
-        if (!signatureMap.containsKey(signature)) {
+        if (signatureMap.remove(signature) == null) {
             return;
         }
-        signatureMap.remove(signature);
         LOG.debug("remove task: type[{}], backend[{}], signature[{}]", type, backendId, signature);
-        --taskNum;
+        taskNum.decrementAndGet();
     }
 
     /*
      * we cannot define a push task with only 'backendId', 'signature' and 'TTaskType'
      * add version, and TPushType to help
      */
-    public static synchronized void removePushTask(long backendId, long signature, long version,
-                                                   TPushType pushType, TTaskType taskType) {
-        if (!tasks.contains(backendId, taskType)) {
+    public static void removePushTask(long backendId, long signature, long version,
+                                      TPushType pushType, TTaskType taskType) {
+        Map<Long, AgentTask> signatureMap = getTasks(backendId, taskType);
+        if (signatureMap == null) {
             return;
         }
 
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, taskType);
         AgentTask task = signatureMap.get(signature);
         if (task == null) {
             return;
@@ -130,36 +141,32 @@ public class AgentTaskQueue {
             return;
         }
 
-        signatureMap.remove(signature);
-        LOG.debug("remove task: type[{}], backend[{}], signature[{}]", taskType, backendId, signature);
-        --taskNum;
+        // the task may be replaced concurrently, only remove the one checked
+        if (signatureMap.remove(signature, task)) {
+            LOG.debug("remove task: type[{}], backend[{}], signature[{}]", taskType, backendId, signature);
+            taskNum.decrementAndGet();
+        }
     }
 
     /*
      * we cannot define a push task with only 'backendId', 'signature' and 'TTaskType'
      * add version, and TPushType to help
      */
-    public static synchronized void removePushTaskByTransactionId(long backendId, long transactionId,
-                                                                  TPushType pushType, TTaskType taskType) {
-        if (!tasks.contains(backendId, taskType)) {
-            return;
-        }
-
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, taskType);
+    public static void removePushTaskByTransactionId(long backendId, long transactionId,
+                                                     TPushType pushType, TTaskType taskType) {
+        Map<Long, AgentTask> signatureMap = getTasks(backendId, taskType);
         if (signatureMap == null) {
             return;
         }
 
         int numOfRemove = 0;
-        Iterator<Long> signatureIt = signatureMap.keySet().iterator();
-        while (signatureIt.hasNext()) {
-            Long signature = signatureIt.next();
-            AgentTask agentTask = signatureMap.get(signature);
+        for (Map.Entry<Long, AgentTask> entry : signatureMap.entrySet()) {
+            AgentTask agentTask = entry.getValue();
             if (agentTask instanceof PushTask) {
                 PushTask pushTask = (PushTask) agentTask;
-                if (pushTask.getPushType() == pushType && pushTask.getTransactionId() == transactionId) {
-                    signatureIt.remove();
-                    --taskNum;
+                if (pushTask.getPushType() == pushType && pushTask.getTransactionId() == transactionId
+                        && signatureMap.remove(entry.getKey(), agentTask)) {
+                    taskNum.decrementAndGet();
                     ++numOfRemove;
                 }
             }
@@ -170,16 +177,17 @@ public class AgentTaskQueue {
 
     }
 
-    public static synchronized void removeTaskOfType(TTaskType type, long signature) {
-        // be id -> (signature -> task)
-        Map<Long, Map<Long, AgentTask>> map = tasks.column(type);
-        for (Map<Long, AgentTask> innerMap : map.values()) {
-            innerMap.remove(signature);
+    public static void removeTaskOfType(TTaskType type, long signature) {
+        for (Map<TTaskType, Map<Long, AgentTask>> backendTasks : tasks.values()) {
+            Map<Long, AgentTask> signatureMap = backendTasks.get(type);
+            if (signatureMap != null && signatureMap.remove(signature) != null) {
+                taskNum.decrementAndGet();
+            }
         }
     }
 
-    public static synchronized AgentTask getTask(long backendId, TTaskType type, long signature) {
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, type);
+    public static AgentTask getTask(long backendId, TTaskType type, long signature) {
+        Map<Long, AgentTask> signatureMap = getTasks(backendId, type);
         if (signatureMap == null) {
             return null;
         }
@@ -187,21 +195,21 @@ public class AgentTaskQueue {
     }
 
     // this is just for unit test
-    public static synchronized List<AgentTask> getTask(TTaskType type) {
+    public static List<AgentTask> getTask(TTaskType type) {
         List<AgentTask> res = Lists.newArrayList();
-        for (Map<Long, AgentTask> agentTasks : tasks.column(TTaskType.ALTER).values()) {
-            res.addAll(agentTasks.values());
+        for (Map<TTaskType, Map<Long, AgentTask>> backendTasks : tasks.values()) {
+            res.addAll(backendTasks.getOrDefault(type, Collections.emptyMap()).values());
         }
         return res;
     }
 
-    public static synchronized List<AgentTask> getDiffTasks(long backendId, Map<TTaskType, Set<Long>> runningTasks) {
+    public static List<AgentTask> getDiffTasks(long backendId, Map<TTaskType, Set<Long>> runningTasks) {
         List<AgentTask> diffTasks = new ArrayList<AgentTask>();
-        if (!tasks.containsRow(backendId)) {
+        Map<TTaskType, Map<Long, AgentTask>> backendAllTasks = tasks.get(backendId);
+        if (backendAllTasks == null) {
             return diffTasks;
         }
 
-        Map<TTaskType, Map<Long, AgentTask>> backendAllTasks = tasks.row(backendId);
         for (Map.Entry<TTaskType, Map<Long, AgentTask>> entry : backendAllTasks.entrySet()) {
             TTaskType taskType = entry.getKey();
             Map<Long, AgentTask> tasks = entry.getValue();
@@ -222,49 +230,62 @@ public class AgentTaskQueue {
         return diffTasks;
     }
 
-    public static synchronized void removeReplicaRelatedTasks(long backendId, long tabletId) {
-        if (!tasks.containsRow(backendId)) {
+    public static void removeReplicaRelatedTasks(long backendId, long tabletId) {
+        Map<TTaskType, Map<Long, AgentTask>> backendTasks = tasks.get(backendId);
+        if (backendTasks == null) {
             return;
         }
 
-        Map<TTaskType, Map<Long, AgentTask>> backendTasks = tasks.row(backendId);
-        for (TTaskType type : TTaskType.values()) {
-            if (backendTasks.containsKey(type)) {
-                Map<Long, AgentTask> typeTasks = backendTasks.get(type);
-                if (type == TTaskType.REALTIME_PUSH) {
-                    Iterator<AgentTask> taskIterator = typeTasks.values().iterator();
-                    while (taskIterator.hasNext()) {
-                        PushTask realTimePushTask = (PushTask) taskIterator.next();
-                        if (tabletId == realTimePushTask.getTabletId()) {
-                            taskIterator.remove();
-                        }
-                    }
-                } else {
-                    if (typeTasks.containsKey(tabletId)) {
-                        typeTasks.remove(tabletId);
-                        LOG.debug("remove task: type[{}], backend[{}], signature[{}]", type, backendId, tabletId);
-                        --taskNum;
+        for (Map.Entry<TTaskType, Map<Long, AgentTask>> entry : backendTasks.entrySet()) {
+            TTaskType type = entry.getKey();
+            Map<Long, AgentTask> typeTasks = entry.getValue();
+            if (type == TTaskType.REALTIME_PUSH) {
+                Iterator<AgentTask> taskIterator = typeTasks.values().iterator();
+                while (taskIterator.hasNext()) {
+                    PushTask realTimePushTask = (PushTask) taskIterator.next();
+                    if (tabletId == realTimePushTask.getTabletId()) {
+                        taskIterator.remove();
+                        taskNum.decrementAndGet();
                     }
                 }
+            } else {
+                if (typeTasks.remove(tabletId) != null) {
+                    LOG.debug("remove task: type[{}], backend[{}], signature[{}]", type, backendId, tabletId);
+                    taskNum.decrementAndGet();
+                }
             }
         } // end for types
     }
 
     // only for test now
-    public static synchronized void clearAllTasks() {
+    public static void clearAllTasks() {
         tasks.clear();
-        taskNum = 0;
+        taskNum.set(0);
     }
 
-    public static synchronized int getTaskNum() {
-        return taskNum;
+    public static int getTaskNum() {
+        return taskNum.get();
+    }
+
+    /**
+     * @return number of tasks of each backend and type, the empty ones are excluded
+     */
+    public static Table<Long, TTaskType, Integer> getTaskNumByBackendAndType() {
+        Table<Long, TTaskType, Integer> result = HashBasedTable.create();
+        tasks.forEach((backendId, backendTasks) -> backendTasks.forEach((type, signatureMap) -> {
+            int num = signatureMap.size();
+            if (num > 0) {
+                result.put(backendId, type, num);
+            }
+        }));
+        return result;
     }
 
-    public static synchronized Multimap<Long, Long> getTabletIdsByType(TTaskType type) {
+    public static Multimap<Long, Long> getTabletIdsByType(TTaskType type) {
         Multimap<Long, Long> tabletIds = HashMultimap.create();
-        Map<Long, Map<Long, AgentTask>> taskMap = tasks.column(type);
-        if (taskMap != null) {
-            for (Map<Long, AgentTask> signatureMap : taskMap.values()) {
+        for (Map<TTaskType, Map<Long, AgentTask>> backendTasks : tasks.values()) {
+            Map<Long, AgentTask> signatureMap = backendTasks.get(type);
+            if (signatureMap != null) {
                 for (AgentTask task : signatureMap.values()) {
                     tabletIds.put(task.getDbId(), task.getTabletId());
                 }
@@ -273,34 +294,18 @@ public class AgentTaskQueue {
         return tabletIds;
     }
 
-    public static synchronized int getTaskNum(long backendId, TTaskType type, boolean isFailed) {
+    public static int getTaskNum(long backendId, TTaskType type, boolean isFailed) {
         int taskNum = 0;
         if (backendId != -1) {
-            Map<Long, AgentTask> taskMap = tasks.get(backendId, type);
+            Map<Long, AgentTask> taskMap = getTasks(backendId, type);
             if (taskMap != null) {
-                if (isFailed) {
-                    for (AgentTask task : taskMap.values()) {
-                        if (task.getFailedTimes() > 0) {
-                            ++taskNum;
-                        }
-                    }
-                } else {
-                    taskNum += taskMap.size();
-                }
+                taskNum += getTaskNum(taskMap, isFailed);
             }
         } else {
-            Map<Long, Map<Long, AgentTask>> taskMap = tasks.column(type);
-            if (taskMap != null) {
-                for (Map<Long, AgentTask> signatureMap : taskMap.values()) {
-                    if (isFailed) {
-                        for (AgentTask task : signatureMap.values()) {
-                            if (task.getFailedTimes() > 0) {
-                                ++taskNum;
-                            }
-                        }
-                    } else {
-                        taskNum += signatureMap.size();
-                    }
+            for (Map<TTaskType, Map<Long, AgentTask>> backendTasks : tasks.values()) {
+                Map<Long, AgentTask> signatureMap = backendTasks.get(type);
+                if (signatureMap != null) {
+                    taskNum += getTaskNum(signatureMap, isFailed);
                 }
             }
         }
@@ -310,8 +315,21 @@ public class AgentTaskQueue {
         return taskNum;
     }
 
-    public static synchronized List<AgentTask> getFailedTask(long backendId, TTaskType type) {
-        Map<Long, AgentTask> taskMap = tasks.get(backendId, type);
+    private static int getTaskNum(Map<Long, AgentTask> signatureMap, boolean isFailed) {
+        if (!isFailed) {
+            return signatureMap.size();
+        }
+        int taskNum = 0;
+        for (AgentTask task : signatureMap.values()) {
+            if (task.getFailedTimes() > 0) {
+                ++taskNum;
+            }
+        }
+        return taskNum;
+    }
+
+    public static List<AgentTask> getFailedTask(long backendId, TTaskType type) {
+        Map<Long, AgentTask> taskMap = getTasks(backendId, type);
         List<AgentTask> tasks = Lists.newArrayList();
         if (taskMap != null) {
             for (AgentTask task : taskMap.values()) {
@@ -323,4 +341,3 @@ public class AgentTaskQueue {
         return tasks;
     }
 }
-
@@ -902,7 +902,14 @@ public class DatabaseTransactionMgr {
             }
         }
         Span finishSpan = TraceManager.startSpan("finishTransaction", transactionState.getTxnSpan());
-        db.writeLock();
+        // only lock the tables of the transaction, publish of other tables in the same db can go on
+        List<Long> lockedTableIds = Config.enable_table_level_lock ?
+                Lists.newArrayList(transactionState.getIdToTableCommitInfos().keySet()) : null;
+        if (lockedTableIds != null) {
+            db.writeLockTables(lockedTableIds);
+        } else {
+            db.writeLock();
+        }
         try {
             boolean hasError = false;
             for (TableCommitInfo tableCommitInfo : transactionState.getIdToTableCommitInfos().values()) {
@@ -1047,7 +1054,11 @@ public class DatabaseTransactionMgr {
                 updateCatalogSpan.end();
             }
         } finally {
-            db.writeUnlock();
+            if (lockedTableIds != null) {
+                db.writeUnlockTables(lockedTableIds);
+            } else {
+                db.writeUnlock();
+            }
             finishSpan.end();
         }
         LOG.info("finish transaction {} successfully", transactionState);
@@ -1523,6 +1534,8 @@ public class DatabaseTransactionMgr {
             TransactionLogApplier applier = txnLogApplierFactory.create(table);
             applier.applyVisibleLog(transactionState, tableCommitInfo, db);
         }
+
+        GlobalStateMgr.getCurrentAnalyzeMgr().recordLoadedTables(transactionState);
         return true;
     }
 
@@ -1665,7 +1678,14 @@ public class DatabaseTransactionMgr {
             }
         }
         Span finishSpan = TraceManager.startSpan("finishTransaction", transactionState.getTxnSpan());
-        db.writeLock();
+        // only lock the tables of the transaction, publish of other tables in the same db can go on
+        List<Long> lockedTableIds = Config.enable_table_level_lock ?
+                Lists.newArrayList(transactionState.getIdToTableCommitInfos().keySet()) : null;
+        if (lockedTableIds != null) {
+            db.writeLockTables(lockedTableIds);
+        } else {
+            db.writeLock();
+        }
         finishSpan.addEvent("db_lock");
         try {
             boolean txnOperated = false;
@@ -1691,7 +1711,11 @@ public class DatabaseTransactionMgr {
                 updateCatalogSpan.end();
             }
         } finally {
-            db.writeUnlock();
+            if (lockedTableIds != null) {
+                db.writeUnlockTables(lockedTableIds);
+            } else {
+                db.writeUnlock();
+            }
             finishSpan.end();
         }
         LOG.info("finish transaction {} successfully", transactionState);
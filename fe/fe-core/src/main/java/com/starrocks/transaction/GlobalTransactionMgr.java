@@ -406,14 +406,15 @@ public class GlobalTransactionMgr implements Writable {
         VisibleStateWaiter waiter;
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
-        if (!db.tryWriteLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        List<Long> lockedTableIds = getTableIdsToLock(db, transactionId);
+        if (!tryWriteLockForCommit(db, lockedTableIds, timeoutMillis)) {
             throw new UserException("get database write lock timeout, database="
                     + db.getFullName() + ", timeoutMillis=" + timeoutMillis);
         }
         try {
             waiter = getDatabaseTransactionMgr(db.getId()).commitPreparedTransaction(transactionId);
         } finally {
-            db.writeUnlock();
+            writeUnlockForCommit(db, lockedTableIds);
         }
 
         stopWatch.stop();
@@ -428,6 +429,34 @@ public class GlobalTransactionMgr implements Writable {
         }
     }
 
+    // Return the tables to lock when committing the transaction, or null to lock the whole db
+    private List<Long> getTableIdsToLock(Database db, long transactionId) {
+        if (!Config.enable_table_level_lock) {
+            return null;
+        }
+        TransactionState transactionState = getTransactionState(db.getId(), transactionId);
+        if (transactionState == null || transactionState.getTableIdList() == null ||
+                transactionState.getTableIdList().isEmpty()) {
+            return null;
+        }
+        return transactionState.getTableIdList();
+    }
+
+    private boolean tryWriteLockForCommit(Database db, List<Long> tableIds, long timeoutMillis) {
+        if (tableIds == null) {
+            return db.tryWriteLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        return db.tryWriteLockTables(tableIds, timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void writeUnlockForCommit(Database db, List<Long> tableIds) {
+        if (tableIds == null) {
+            db.writeUnlock();
+        } else {
+            db.writeUnlockTables(tableIds);
+        }
+    }
+
     public boolean commitAndPublishTransaction(Database db, long transactionId,
             List<TabletCommitInfo> tabletCommitInfos, List<TabletFailInfo> tabletFailInfos, long timeoutMillis)
             throws UserException {
@@ -440,7 +469,8 @@ public class GlobalTransactionMgr implements Writable {
             throws UserException {
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
-        if (!db.tryWriteLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        List<Long> lockedTableIds = getTableIdsToLock(db, transactionId);
+        if (!tryWriteLockForCommit(db, lockedTableIds, timeoutMillis)) {
             throw new UserException("get database write lock timeout, database="
                     + db.getOriginName() + ", timeoutMillis=" + timeoutMillis);
         }
@@ -449,7 +479,7 @@ public class GlobalTransactionMgr implements Writable {
             waiter = commitTransaction(db.getId(), transactionId, tabletCommitInfos, tabletFailInfos,
                     txnCommitAttachment);
         } finally {
-            db.writeUnlock();
+            writeUnlockForCommit(db, lockedTableIds);
         }
         stopWatch.stop();
         long publishTimeoutMillis = timeoutMillis - stopWatch.getTime();
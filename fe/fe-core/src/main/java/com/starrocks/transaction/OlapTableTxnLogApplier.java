@@ -23,6 +23,8 @@ import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Replica;
 import com.starrocks.catalog.Tablet;
+import com.starrocks.clone.TabletChecker;
+import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.optimizer.statistics.IDictManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -74,6 +76,7 @@ public class OlapTableTxnLogApplier implements TransactionLogApplier {
         long maxPartitionVersionTime = -1;
 
         table.lastVersionUpdateStartTime.set(System.currentTimeMillis());
+        TabletChecker tabletChecker = GlobalStateMgr.getCurrentState().getTabletChecker();
 
         for (PartitionCommitInfo partitionCommitInfo : commitInfo.getIdToPartitionCommitInfo().values()) {
             long partitionId = partitionCommitInfo.getPartitionId();
@@ -90,6 +93,7 @@ public class OlapTableTxnLogApplier implements TransactionLogApplier {
                     for (Replica replica : ((LocalTablet) tablet).getImmutableReplicas()) {
                         if (txnState.isNewFinish()) {
                             updateReplicaVersion(version, replica, txnState.getFinishState());
+                            markTabletDirtyIfVersionLag(tabletChecker, tablet, replica);
                             continue;
                         }
                         long lastFailedVersion = replica.getLastFailedVersion();
@@ -123,6 +127,7 @@ public class OlapTableTxnLogApplier implements TransactionLogApplier {
                             }
                         }
                         replica.updateVersionInfo(newVersion, lastFailedVersion, lastSucessVersion);
+                        markTabletDirtyIfVersionLag(tabletChecker, tablet, replica);
                     }
                 }
             } // end for indices
@@ -159,4 +164,11 @@ public class OlapTableTxnLogApplier implements TransactionLogApplier {
             }
         }
     }
+
+    // the replica failed to publish this version, let tablet checker repair it without waiting for a full check
+    private static void markTabletDirtyIfVersionLag(TabletChecker tabletChecker, Tablet tablet, Replica replica) {
+        if (replica.getLastFailedVersion() > 0) {
+            tabletChecker.markTabletDirty(tablet.getId());
+        }
+    }
 }
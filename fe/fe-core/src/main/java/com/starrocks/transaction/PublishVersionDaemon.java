@@ -47,10 +47,12 @@ import com.starrocks.catalog.Tablet;
 import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.MetaNotFoundException;
+import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.UserException;
 import com.starrocks.common.util.LeaderDaemon;
 import com.starrocks.lake.Utils;
 import com.starrocks.lake.compaction.Quantiles;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.scheduler.Constants;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.server.RunMode;
@@ -72,8 +74,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 import javax.validation.constraints.NotNull;
 
 public class PublishVersionDaemon extends LeaderDaemon {
@@ -84,9 +89,17 @@ public class PublishVersionDaemon extends LeaderDaemon {
 
     private Executor lakeTaskExecutor;
     private ConcurrentHashSet<Long> publishingLakeTransactions;
+    // olap transactions are finished by the single-thread executor of their databases
+    private final ExecutorService[] olapFinishExecutors;
+    private final Set<Long> finishingOlapTransactions = ConcurrentHashMap.newKeySet();
 
     public PublishVersionDaemon() {
         super("PUBLISH_VERSION", Config.publish_version_interval_ms);
+        olapFinishExecutors = new ExecutorService[Math.max(1, Config.publish_version_finish_threads)];
+        for (int i = 0; i < olapFinishExecutors.length; i++) {
+            olapFinishExecutors[i] = ThreadPoolManager.newDaemonFixedThreadPool(1, Integer.MAX_VALUE,
+                    "publish-version-finish-" + i, false);
+        }
     }
 
     @Override
@@ -144,9 +157,18 @@ public class PublishVersionDaemon extends LeaderDaemon {
         return publishingLakeTransactions;
     }
 
-    private void publishVersionForOlapTable(List<TransactionState> readyTransactionStates) throws UserException {
+    private @NotNull Executor getOlapFinishExecutor(long dbId) {
+        return olapFinishExecutors[(int) (dbId % olapFinishExecutors.length)];
+    }
+
+    void publishVersionForOlapTable(List<TransactionState> readyTransactionStates) {
         GlobalTransactionMgr globalTransactionMgr = GlobalStateMgr.getCurrentGlobalTransactionMgr();
 
+        // the transactions being finished are handled again in the next loop if they are still not visible
+        readyTransactionStates = readyTransactionStates.stream()
+                .filter(txn -> !finishingOlapTransactions.contains(txn.getTransactionId()))
+                .collect(Collectors.toList());
+
         // every backend-transaction identified a single task
         AgentBatchTask batchTask = new AgentBatchTask();
         // traverse all ready transactions and dispatch the version publish task to all backends
@@ -165,91 +187,122 @@ public class PublishVersionDaemon extends LeaderDaemon {
             AgentTaskExecutor.submit(batchTask);
         }
 
-        // FIXME(murphy) refresh the mv in new publish mechanism
-        if (Config.enable_new_publish_mechanism) {
-            publishVersionNew(globalTransactionMgr, readyTransactionStates);
-            return;
-        }
-
-        // try to finish the transaction, if failed just retry in next loop
+        // Try to finish the transactions, if failed just retry in next loop.
+        // The transactions of a database are finished by the same thread in the order of commit, so the
+        // versions are visible in order, and the transactions of different databases are finished in parallel
+        // instead of waiting for each other on this daemon thread.
         for (TransactionState transactionState : readyTransactionStates) {
-            Map<Long, PublishVersionTask> transTasks = transactionState.getPublishVersionTasks();
-            Set<Long> publishErrorReplicaIds = Sets.newHashSet();
-            Set<Long> unfinishedBackends = Sets.newHashSet();
-            boolean allTaskFinished = true;
-            for (PublishVersionTask publishVersionTask : transTasks.values()) {
-                if (publishVersionTask.isFinished()) {
-                    // sometimes backend finish publish version task, but it maybe failed to change
-                    // transaction id to version for some tablets,
-                    // and it will upload the failed tablet info to fe and fe will deal with them
-                    Set<Long> errReplicas = publishVersionTask.getErrorReplicas();
-                    if (!errReplicas.isEmpty()) {
-                        publishErrorReplicaIds.addAll(errReplicas);
-                    }
-                } else {
-                    allTaskFinished = false;
-                    // Publish version task may succeed and finish in quorum replicas
-                    // but not finish in one replica.
-                    // here collect the backendId that do not finish publish version
-                    unfinishedBackends.add(publishVersionTask.getBackendId());
-                }
+            long txnId = transactionState.getTransactionId();
+            if (!finishingOlapTransactions.add(txnId)) {
+                continue;
             }
-            boolean shouldFinishTxn = true;
-            if (!allTaskFinished) {
-                shouldFinishTxn = globalTransactionMgr.canTxnFinished(transactionState,
-                        publishErrorReplicaIds, unfinishedBackends);
+            try {
+                getOlapFinishExecutor(transactionState.getDbId()).execute(() -> {
+                    try {
+                        finishOlapTransaction(globalTransactionMgr, transactionState);
+                    } catch (Throwable t) {
+                        LOG.warn("errors while finish transaction {}", txnId, t);
+                    } finally {
+                        // it's retried in the next loop if it's still not visible
+                        finishingOlapTransactions.remove(txnId);
+                    }
+                });
+            } catch (Throwable t) {
+                finishingOlapTransactions.remove(txnId);
+                LOG.warn("failed to submit the finish of transaction {}", txnId, t);
             }
+        }
+    }
 
-            if (shouldFinishTxn) {
-                globalTransactionMgr.finishTransaction(transactionState.getDbId(), transactionState.getTransactionId(),
-                        publishErrorReplicaIds);
-                if (transactionState.getTransactionStatus() != TransactionStatus.VISIBLE) {
-                    transactionState.updateSendTaskTime();
-                    LOG.debug("publish version for transaction {} failed, has {} error replicas during publish",
-                            transactionState, publishErrorReplicaIds.size());
-                } else {
-                    for (PublishVersionTask task : transactionState.getPublishVersionTasks().values()) {
-                        AgentTaskQueue.removeTask(task.getBackendId(), TTaskType.PUBLISH_VERSION, task.getSignature());
-                    }
-                    // clear publish version tasks to reduce memory usage when state changed to visible.
-                    transactionState.clearAfterPublished();
+    void finishOlapTransaction(GlobalTransactionMgr globalTransactionMgr, TransactionState transactionState)
+            throws UserException {
+        if (Config.enable_new_publish_mechanism) {
+            finishTransactionNew(globalTransactionMgr, transactionState);
+        } else {
+            finishTransaction(globalTransactionMgr, transactionState);
+        }
+    }
 
-                    // Refresh materialized view when base table update transaction has been visible if necessary
-                    refreshMvIfNecessary(transactionState);
-                }
-            }
-        } // end for readyTransactionStates
+    boolean isFinishingOlapTransaction(long txnId) {
+        return finishingOlapTransactions.contains(txnId);
     }
 
-    private void publishVersionNew(GlobalTransactionMgr globalTransactionMgr, List<TransactionState> txns) {
-        for (TransactionState transactionState : txns) {
-            Set<Long> publishErrorReplicas = Sets.newHashSet();
-            if (!transactionState.allPublishTasksFinishedOrQuorumWaitTimeout(publishErrorReplicas)) {
-                continue;
-            }
-            try {
-                if (transactionState.checkCanFinish()) {
-                    globalTransactionMgr.finishTransactionNew(transactionState, publishErrorReplicas);
-                }
-                if (transactionState.getTransactionStatus() != TransactionStatus.VISIBLE) {
-                    transactionState.updateSendTaskTime();
-                    LOG.debug("publish version for transaction {} failed, has {} error replicas during publish",
-                            transactionState, transactionState.getErrorReplicas().size());
-                } else {
-                    for (PublishVersionTask task : transactionState.getPublishVersionTasks().values()) {
-                        AgentTaskQueue.removeTask(task.getBackendId(), TTaskType.PUBLISH_VERSION, task.getSignature());
-                    }
-                    // clear publish version tasks to reduce memory usage when state changed to visible.
-                    transactionState.clearAfterPublished();
-                    // Refresh materialized view when base table update transaction has been visible if necessary
-                    refreshMvIfNecessary(transactionState);
+    private void finishTransaction(GlobalTransactionMgr globalTransactionMgr, TransactionState transactionState)
+            throws UserException {
+        Map<Long, PublishVersionTask> transTasks = transactionState.getPublishVersionTasks();
+        Set<Long> publishErrorReplicaIds = Sets.newHashSet();
+        Set<Long> unfinishedBackends = Sets.newHashSet();
+        boolean allTaskFinished = true;
+        for (PublishVersionTask publishVersionTask : transTasks.values()) {
+            if (publishVersionTask.isFinished()) {
+                // sometimes backend finish publish version task, but it maybe failed to change
+                // transaction id to version for some tablets,
+                // and it will upload the failed tablet info to fe and fe will deal with them
+                Set<Long> errReplicas = publishVersionTask.getErrorReplicas();
+                if (!errReplicas.isEmpty()) {
+                    publishErrorReplicaIds.addAll(errReplicas);
                 }
-            } catch (UserException e) {
-                LOG.error("errors while publish version to all backends", e);
+            } else {
+                allTaskFinished = false;
+                // Publish version task may succeed and finish in quorum replicas
+                // but not finish in one replica.
+                // here collect the backendId that do not finish publish version
+                unfinishedBackends.add(publishVersionTask.getBackendId());
+            }
+        }
+        boolean shouldFinishTxn = true;
+        if (!allTaskFinished) {
+            shouldFinishTxn = globalTransactionMgr.canTxnFinished(transactionState,
+                    publishErrorReplicaIds, unfinishedBackends);
+        }
+
+        if (shouldFinishTxn) {
+            globalTransactionMgr.finishTransaction(transactionState.getDbId(), transactionState.getTransactionId(),
+                    publishErrorReplicaIds);
+            if (transactionState.getTransactionStatus() != TransactionStatus.VISIBLE) {
+                transactionState.updateSendTaskTime();
+                LOG.debug("publish version for transaction {} failed, has {} error replicas during publish",
+                        transactionState, publishErrorReplicaIds.size());
+            } else {
+                onTransactionVisible(transactionState);
             }
         }
     }
 
+    private void finishTransactionNew(GlobalTransactionMgr globalTransactionMgr, TransactionState transactionState)
+            throws UserException {
+        Set<Long> publishErrorReplicas = Sets.newHashSet();
+        if (!transactionState.allPublishTasksFinishedOrQuorumWaitTimeout(publishErrorReplicas)) {
+            return;
+        }
+        if (transactionState.checkCanFinish()) {
+            globalTransactionMgr.finishTransactionNew(transactionState, publishErrorReplicas);
+        }
+        if (transactionState.getTransactionStatus() != TransactionStatus.VISIBLE) {
+            transactionState.updateSendTaskTime();
+            LOG.debug("publish version for transaction {} failed, has {} error replicas during publish",
+                    transactionState, transactionState.getErrorReplicas().size());
+        } else {
+            onTransactionVisible(transactionState);
+        }
+    }
+
+    private void onTransactionVisible(TransactionState transactionState) {
+        for (PublishVersionTask task : transactionState.getPublishVersionTasks().values()) {
+            AgentTaskQueue.removeTask(task.getBackendId(), TTaskType.PUBLISH_VERSION, task.getSignature());
+        }
+        // clear publish version tasks to reduce memory usage when state changed to visible.
+        transactionState.clearAfterPublished();
+        if (MetricRepo.isInit) {
+            long now = System.currentTimeMillis();
+            MetricRepo.HISTO_TXN_PUBLISH_LATENCY.update(now - transactionState.getCommitTime());
+            MetricRepo.HISTO_TXN_VISIBLE_LATENCY.update(now - transactionState.getPrepareTime());
+        }
+
+        // Refresh materialized view when base table update transaction has been visible if necessary
+        refreshMvIfNecessary(transactionState);
+    }
+
     boolean isLakeTableTransaction(TransactionState transactionState) {
         if (transactionState.getTableIdList().isEmpty()) {
             return false;
@@ -36,6 +36,7 @@ package com.starrocks.catalog;
 
 import com.google.common.collect.Lists;
 import com.starrocks.catalog.MaterializedIndex.IndexState;
+import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
 import com.starrocks.common.jmockit.Deencapsulation;
 import com.starrocks.persist.CreateTableInfo;
@@ -56,6 +57,10 @@ import java.io.FileOutputStream;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 public class DatabaseTest {
@@ -116,6 +121,100 @@ public class DatabaseTest {
         }
     }
 
+    private boolean tryLockInOtherThread(Callable<Boolean> tryLock, Runnable unlock) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(() -> {
+                boolean locked = tryLock.call();
+                if (locked) {
+                    unlock.run();
+                }
+                return locked;
+            }).get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void createTables(long... tableIds) {
+        for (long tableId : tableIds) {
+            db.createTable(new OlapTable(tableId, "table" + tableId, new LinkedList<>(), KeysType.AGG_KEYS,
+                    new SinglePartitionInfo(), new RandomDistributionInfo(10)));
+        }
+    }
+
+    @Test
+    public void tableLockTest() throws Exception {
+        createTables(1L, 2L, 3L);
+        List<Long> tables = Lists.newArrayList(2L, 1L);
+        List<Long> otherTables = Lists.newArrayList(3L);
+        List<Long> overlappedTables = Lists.newArrayList(3L, 1L);
+        boolean enableTableLevelLock = Config.enable_table_level_lock;
+        Config.enable_table_level_lock = true;
+        try {
+            db.writeLockTables(tables);
+            try {
+                // writers of other tables are not blocked
+                Assert.assertTrue(tryLockInOtherThread(() -> db.tryWriteLockTables(otherTables, 0, TimeUnit.SECONDS),
+                        () -> db.writeUnlockTables(otherTables)));
+                Assert.assertFalse(tryLockInOtherThread(
+                        () -> db.tryWriteLockTables(overlappedTables, 10, TimeUnit.MILLISECONDS),
+                        () -> db.writeUnlockTables(overlappedTables)));
+                // db readers and db writers are blocked
+                Assert.assertFalse(tryLockInOtherThread(() -> db.tryReadLock(10, TimeUnit.MILLISECONDS),
+                        db::readUnlock));
+                Assert.assertFalse(tryLockInOtherThread(() -> db.tryWriteLock(0, TimeUnit.SECONDS), db::writeUnlock));
+                // the table writer itself can take the db read lock
+                db.readLock();
+                db.readUnlock();
+            } finally {
+                db.writeUnlockTables(tables);
+            }
+
+            db.writeLockTables(otherTables);
+            try {
+                // table 1 is locked, and then it fails to lock table 3
+                Assert.assertFalse(tryLockInOtherThread(
+                        () -> db.tryWriteLockTables(overlappedTables, 10, TimeUnit.MILLISECONDS),
+                        () -> db.writeUnlockTables(overlappedTables)));
+            } finally {
+                db.writeUnlockTables(otherTables);
+            }
+            // the partially acquired locks are released after failure
+            Assert.assertTrue(tryLockInOtherThread(() -> db.tryWriteLock(0, TimeUnit.SECONDS), db::writeUnlock));
+            Assert.assertTrue(tryLockInOtherThread(() -> db.tryWriteLockTables(overlappedTables, 0, TimeUnit.SECONDS),
+                    () -> db.writeUnlockTables(overlappedTables)));
+
+            // db readers block table writers, but not other db readers
+            db.readLock();
+            try {
+                Assert.assertTrue(tryLockInOtherThread(() -> db.tryReadLock(0, TimeUnit.SECONDS), db::readUnlock));
+                Assert.assertFalse(tryLockInOtherThread(
+                        () -> db.tryWriteLockTables(otherTables, 10, TimeUnit.MILLISECONDS),
+                        () -> db.writeUnlockTables(otherTables)));
+            } finally {
+                db.readUnlock();
+            }
+            Assert.assertTrue(tryLockInOtherThread(() -> db.tryWriteLockTables(otherTables, 0, TimeUnit.SECONDS),
+                    () -> db.writeUnlockTables(otherTables)));
+
+            // the config is changed while a db reader holds the lock, it's still released on unlock
+            db.readLock();
+            Config.enable_table_level_lock = false;
+            db.readUnlock();
+            Assert.assertTrue(tryLockInOtherThread(() -> db.tryWriteLockTables(otherTables, 0, TimeUnit.SECONDS),
+                    () -> db.writeUnlockTables(otherTables)));
+        } finally {
+            Config.enable_table_level_lock = enableTableLevelLock;
+        }
+
+        // the lock of a dropped table is removed
+        Map<Long, ?> tableLocks = Deencapsulation.getField(db, "tableLocks");
+        Assert.assertTrue(tableLocks.containsKey(3L));
+        db.dropTable("table3");
+        Assert.assertFalse(tableLocks.containsKey(3L));
+    }
+
     @Test
     public void createAndDropPartitionTest() {
         Assert.assertEquals("dbTest", db.getOriginName());
@@ -0,0 +1,104 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.catalog;
+
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.Replica.ReplicaState;
+import com.starrocks.thrift.TStorageMedium;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class TabletInvertedIndexTest {
+
+    private TabletInvertedIndex invertedIndex;
+
+    @Before
+    public void setUp() {
+        invertedIndex = new TabletInvertedIndex();
+    }
+
+    private static Replica newReplica(long replicaId, long backendId) {
+        return new Replica(replicaId, backendId, 1L, 0, 0L, 0L, ReplicaState.NORMAL, 0, 0);
+    }
+
+    @Test
+    public void testAddAndDelete() {
+        invertedIndex.addTablet(1L, new TabletMeta(10, 20, 30, 40, 1, TStorageMedium.HDD));
+        invertedIndex.addTablet(2L, new TabletMeta(10, 20, 30, 40, 1, TStorageMedium.SSD));
+        invertedIndex.addReplica(1L, newReplica(101L, 1001L));
+        invertedIndex.addReplica(1L, newReplica(102L, 1002L));
+        invertedIndex.addReplica(2L, newReplica(201L, 1001L));
+
+        Assert.assertEquals(2, invertedIndex.getTabletNum());
+        Assert.assertEquals(3, invertedIndex.getReplicaNum());
+        Assert.assertTrue(invertedIndex.estimateMemoryUsage() > 0);
+        Assert.assertEquals(Long.valueOf(1L), invertedIndex.getTabletIdByReplica(102L));
+        Assert.assertEquals(102L, invertedIndex.getReplica(1L, 1002L).getId());
+        Assert.assertEquals(2, invertedIndex.getReplicasByTabletId(1L).size());
+        Assert.assertEquals(2, invertedIndex.getTabletNumByBackendId(1001L));
+        Assert.assertEquals(Lists.newArrayList(2L),
+                invertedIndex.getTabletIdsByBackendIdAndStorageMedium(1001L, TStorageMedium.SSD));
+        Map<TStorageMedium, Long> replicaNum = invertedIndex.getReplicaNumByBeIdAndStorageMedium(1001L);
+        Assert.assertEquals(Long.valueOf(1L), replicaNum.get(TStorageMedium.HDD));
+        Assert.assertEquals(Long.valueOf(1L), replicaNum.get(TStorageMedium.SSD));
+
+        invertedIndex.deleteReplica(1L, 1002L);
+        Assert.assertNull(invertedIndex.getReplica(1L, 1002L));
+        Assert.assertNull(invertedIndex.getTabletIdByReplica(102L));
+        Assert.assertEquals(0, invertedIndex.getTabletNumByBackendId(1002L));
+        Assert.assertEquals(2, invertedIndex.getReplicaNum());
+
+        invertedIndex.deleteTablet(1L);
+        Assert.assertNull(invertedIndex.getTabletMeta(1L));
+        Assert.assertTrue(invertedIndex.getReplicasByTabletId(1L).isEmpty());
+        Assert.assertEquals(Lists.newArrayList(2L), invertedIndex.getTabletIdsByBackendId(1001L));
+        Assert.assertEquals(1, invertedIndex.getTabletNum());
+        Assert.assertEquals(1, invertedIndex.getReplicaNum());
+    }
+
+    @Test
+    public void testConcurrentModifyAndRead() throws Exception {
+        int numThreads = 4;
+        int tabletsPerThread = 1000;
+        List<Thread> threads = Lists.newArrayList();
+        for (int t = 0; t < numThreads; t++) {
+            long base = (long) t * tabletsPerThread;
+            threads.add(new Thread(() -> {
+                for (long tabletId = base; tabletId < base + tabletsPerThread; tabletId++) {
+                    invertedIndex.addTablet(tabletId, new TabletMeta(10, 20, 30, 40, 1, TStorageMedium.HDD));
+                    for (long backendId = 0; backendId < 3; backendId++) {
+                        invertedIndex.addReplica(tabletId, newReplica(tabletId * 3 + backendId, backendId));
+                    }
+                    // readers never block on writers
+                    invertedIndex.getTabletNumByBackendId(tabletId % 3);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(numThreads * tabletsPerThread, invertedIndex.getTabletNum());
+        Assert.assertEquals(numThreads * tabletsPerThread * 3, invertedIndex.getReplicaNum());
+        for (long backendId = 0; backendId < 3; backendId++) {
+            Assert.assertEquals(numThreads * tabletsPerThread, invertedIndex.getTabletNumByBackendId(backendId));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.clone;
+
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.LocalTablet;
+import com.starrocks.catalog.LocalTablet.TabletStatus;
+import com.starrocks.catalog.MaterializedIndex;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.Tablet;
+import com.starrocks.common.Config;
+import com.starrocks.common.FeConstants;
+import com.starrocks.common.Pair;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.system.SystemInfoService;
+import com.starrocks.utframe.StarRocksAssert;
+import com.starrocks.utframe.UtFrameUtils;
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+public class TabletCheckerTest {
+    private static ConnectContext connectContext;
+    private static StarRocksAssert starRocksAssert;
+    private static List<Long> tabletIds;
+
+    // the tablets reported as unhealthy by the mocked health check
+    private final Set<Long> unhealthyTabletIds = ConcurrentHashMap.newKeySet();
+    private final int maxSchedulingTablets = Config.tablet_sched_max_scheduling_tablets;
+    private TabletScheduler tabletScheduler;
+    private TabletChecker tabletChecker;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        FeConstants.runningUnitTest = true;
+        UtFrameUtils.createMinStarRocksCluster();
+        connectContext = UtFrameUtils.createDefaultCtx();
+        starRocksAssert = new StarRocksAssert(connectContext);
+        starRocksAssert.withDatabase("test").useDatabase("test")
+                .withTable("CREATE TABLE test.tbl1 (k1 int, v1 int)\n" +
+                        "DISTRIBUTED BY HASH (k1) BUCKETS 4\n" +
+                        "PROPERTIES('replication_num' = '1');");
+        Database db = GlobalStateMgr.getCurrentState().getDb("test");
+        OlapTable table = (OlapTable) db.getTable("tbl1");
+        Partition partition = table.getPartitions().iterator().next();
+        tabletIds = partition.getMaterializedIndices(MaterializedIndex.IndexExtState.VISIBLE).stream()
+                .flatMap(idx -> idx.getTablets().stream())
+                .map(Tablet::getId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Before
+    public void setUp() {
+        new MockUp<LocalTablet>() {
+            @Mock
+            public Pair<TabletStatus, TabletSchedCtx.Priority> getHealthStatusWithPriority(Invocation invocation,
+                    SystemInfoService systemInfoService, long visibleVersion, int replicationNum,
+                    List<Long> aliveBeIdsInCluster) {
+                LocalTablet tablet = invocation.getInvokedInstance();
+                if (unhealthyTabletIds.contains(tablet.getId())) {
+                    // ready to be repaired without a source replica
+                    return Pair.create(TabletStatus.REPLICA_REDUNDANT, TabletSchedCtx.Priority.VERY_HIGH);
+                }
+                return Pair.create(TabletStatus.HEALTHY, TabletSchedCtx.Priority.NORMAL);
+            }
+        };
+
+        GlobalStateMgr globalStateMgr = GlobalStateMgr.getCurrentState();
+        TabletSchedulerStat stat = new TabletSchedulerStat();
+        tabletScheduler = new TabletScheduler(globalStateMgr, GlobalStateMgr.getCurrentSystemInfo(),
+                GlobalStateMgr.getCurrentInvertedIndex(), stat);
+        tabletChecker = new TabletChecker(globalStateMgr, GlobalStateMgr.getCurrentSystemInfo(), tabletScheduler,
+                stat);
+        // the first round is a full check, all tablets are healthy
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(0, tabletScheduler.getPendingNum());
+    }
+
+    @After
+    public void tearDown() {
+        Config.tablet_sched_max_scheduling_tablets = maxSchedulingTablets;
+    }
+
+    @Test
+    public void testCheckDirtyTablets() {
+        unhealthyTabletIds.add(tabletIds.get(0));
+        unhealthyTabletIds.add(tabletIds.get(1));
+        tabletChecker.markTabletDirty(tabletIds.get(0));
+        tabletChecker.runAfterCatalogReady();
+
+        // the marked tablet is scheduled
+        Assert.assertTrue(tabletScheduler.containsTablet(tabletIds.get(0)));
+        // the unmarked one waits for the next full check
+        Assert.assertFalse(tabletScheduler.containsTablet(tabletIds.get(1)));
+        Assert.assertEquals(0, tabletChecker.getDirtyTabletNum());
+    }
+
+    @Test
+    public void testCheckDirtyTabletsExceedLimit() {
+        // the scheduler accepts 2 tablets
+        Config.tablet_sched_max_scheduling_tablets = 1;
+        unhealthyTabletIds.addAll(tabletIds);
+        tabletChecker.markTabletsDirty(tabletIds);
+        tabletChecker.runAfterCatalogReady();
+
+        Assert.assertEquals(2, tabletScheduler.getPendingNum());
+        // the rest are checked again in the next round
+        Assert.assertEquals(2, tabletChecker.getDirtyTabletNum());
+    }
+
+    @Test
+    public void testMarkPartitionDirty() {
+        unhealthyTabletIds.addAll(tabletIds);
+        Database db = GlobalStateMgr.getCurrentState().getDb("test");
+        OlapTable table = (OlapTable) db.getTable("tbl1");
+        tabletChecker.markPartitionDirty(table.getPartitions().iterator().next());
+        Assert.assertEquals(tabletIds.size(), tabletChecker.getDirtyTabletNum());
+        tabletChecker.runAfterCatalogReady();
+
+        for (long tabletId : tabletIds) {
+            Assert.assertTrue(tabletScheduler.containsTablet(tabletId));
+        }
+        Assert.assertEquals(0, tabletChecker.getDirtyTabletNum());
+    }
+}
@@ -29,8 +29,10 @@ import com.starrocks.common.jmockit.Deencapsulation;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.system.Backend;
 import com.starrocks.system.SystemInfoService;
+import com.starrocks.task.AgentBatchTask;
 import com.starrocks.thrift.TDisk;
 import com.starrocks.thrift.TStorageMedium;
+import mockit.Delegate;
 import mockit.Expectations;
 import mockit.Mocked;
 import org.apache.commons.lang3.tuple.Triple;
@@ -47,6 +49,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class TabletSchedulerTest {
@@ -217,6 +222,88 @@ public class TabletSchedulerTest {
         Assert.assertEquals(bslots.get(1L).peekSlot(11), bslots.get(1L).getSlotTotal(11));
     }
 
+    @Test
+    public void testCloneBandwidthThrottle() throws SchedException {
+        long oldBandwidth = Config.tablet_sched_clone_bandwidth_per_path_mb;
+        try {
+            TabletScheduler.PathSlot pathSlot = new TabletScheduler.PathSlot(Arrays.asList(11L, 12L), 8);
+            Config.tablet_sched_clone_bandwidth_per_path_mb = 0;
+            // no limit
+            Assert.assertEquals(11, pathSlot.takeSlot(11, 100L * 1024 * 1024 * 1024));
+            Assert.assertEquals(11, pathSlot.takeSlot(11, 100L * 1024 * 1024 * 1024));
+            freeSlotNTimes(2, pathSlot, 11);
+
+            Config.tablet_sched_clone_bandwidth_per_path_mb = 1;
+            // 50s and 50s of bandwidth, the second one can still be reserved within the burst
+            Assert.assertEquals(12, pathSlot.takeSlot(12, 50L * 1024 * 1024));
+            Assert.assertEquals(12, pathSlot.takeSlot(12, 50L * 1024 * 1024));
+            // the bandwidth is reserved for 100s ahead
+            Assert.assertEquals(-1, pathSlot.takeSlot(12, 1024));
+            Assert.assertEquals(6, pathSlot.peekSlot(12));
+            // the tasks without copy size and other paths are not throttled
+            Assert.assertEquals(12, pathSlot.takeSlot(12));
+            Assert.assertEquals(11, pathSlot.takeSlot(11, 1024));
+        } finally {
+            Config.tablet_sched_clone_bandwidth_per_path_mb = oldBandwidth;
+        }
+    }
+
+    @Test
+    public void testScheduleTabletsOfTablesInParallel() {
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        new Expectations() {
+            {
+                globalStateMgr.getDbIncludeRecycleBin(anyLong);
+                minTimes = 0;
+                result = new Delegate<Database>() {
+                    Database getDbIncludeRecycleBin(long dbId) {
+                        threadNames.add(Thread.currentThread().getName());
+                        if (dbId == 2L) {
+                            // escapes the handling of the single tablet and fails the whole shard
+                            throw new AssertionError("unexpected error");
+                        }
+                        return null;
+                    }
+                };
+            }
+        };
+
+        int oldThreadNum = Config.tablet_sched_schedule_thread_num;
+        Config.tablet_sched_schedule_thread_num = 2;
+        try {
+            TabletScheduler tabletScheduler =
+                    new TabletScheduler(globalStateMgr, systemInfoService, tabletInvertedIndex, tabletSchedulerStat);
+            List<TabletSchedCtx> tabletCtxs = new ArrayList<>();
+            // tablets 101-102 of table 11 in db 1, tablets 103-104 of table 12 in db 2
+            for (long tabletId = 101; tabletId <= 104; tabletId++) {
+                long dbId = tabletId <= 102 ? 1L : 2L;
+                TabletSchedCtx ctx = new TabletSchedCtx(TabletSchedCtx.Type.REPAIR, dbId, dbId + 10, 21L, 31L,
+                        tabletId, System.currentTimeMillis());
+                ctx.setOrigPriority(TabletSchedCtx.Priority.NORMAL);
+                Assert.assertEquals(TabletScheduler.AddResult.ADDED, tabletScheduler.addTablet(ctx, false));
+                tabletCtxs.add(ctx);
+            }
+            // taken out of the pending queue to be scheduled
+            Deencapsulation.setField(tabletScheduler, "pendingTablets", new PriorityQueue<>());
+
+            Deencapsulation.invoke(tabletScheduler, "scheduleTablets", tabletCtxs, new AgentBatchTask());
+
+            Assert.assertTrue(threadNames.stream().allMatch(name -> name.startsWith("tablet-scheduler-worker")));
+            // the tablets of table 11 are discarded because the db doesn't exist
+            Assert.assertEquals(TabletSchedCtx.State.CANCELLED, tabletCtxs.get(0).getState());
+            Assert.assertEquals(TabletSchedCtx.State.CANCELLED, tabletCtxs.get(1).getState());
+            // the failed shard of table 12 is finalized, including the tablet not scheduled yet
+            Assert.assertEquals(TabletSchedCtx.State.UNEXPECTED, tabletCtxs.get(2).getState());
+            Assert.assertEquals(TabletSchedCtx.State.UNEXPECTED, tabletCtxs.get(3).getState());
+            for (TabletSchedCtx ctx : tabletCtxs) {
+                Assert.assertFalse(tabletScheduler.containsTablet(ctx.getTabletId()));
+            }
+            Assert.assertEquals(4, tabletScheduler.getHistoryNum());
+        } finally {
+            Config.tablet_sched_schedule_thread_num = oldThreadNum;
+        }
+    }
+
     @Test
     public void testGetTabletsNumInScheduleForEachCG() {
         TabletScheduler tabletScheduler =
@@ -52,6 +52,7 @@ import com.starrocks.thrift.TTransmitDataResult;
 import com.starrocks.thrift.TUniqueId;
 import com.starrocks.utframe.UtFrameUtils;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
+import org.apache.thrift.TApplicationException;
 import org.apache.thrift.TException;
 import org.apache.thrift.TProcessor;
 import org.junit.AfterClass;
@@ -63,6 +64,9 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public class GenericPoolTest {
     static GenericPool<BackendService.Client> backendService;
@@ -296,4 +300,60 @@ public class GenericPoolTest {
         }
         Assert.assertTrue(flag);
     }
+
+    @Test
+    public void testAsyncPool() throws Exception {
+        AsyncThriftClientPool<BackendService.Client> asyncPool =
+                new AsyncThriftClientPool<>("BackendService", 1, 2, 10000);
+        TNetworkAddress address = new TNetworkAddress(ip, port);
+        List<CompletableFuture<TFetchDataResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(asyncPool.call(address,
+                    client -> client.send_fetch_data(new TFetchDataParams(InternalServiceVersion.V1, new TUniqueId())),
+                    BackendService.Client::recv_fetch_data));
+        }
+        for (CompletableFuture<TFetchDataResult> future : futures) {
+            Assert.assertEquals(123, future.get(10, TimeUnit.SECONDS).getPacket_num());
+        }
+        // the calls are pipelined on the shared connections
+        Assert.assertTrue(asyncPool.getNumConnections(address) <= 2);
+
+        // the server fails to write the null result, the connection is still usable
+        CompletableFuture<TAgentResult> failed = asyncPool.call(address,
+                client -> client.send_submit_tasks(new ArrayList<>()), BackendService.Client::recv_submit_tasks);
+        try {
+            failed.get(10, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof TApplicationException);
+        }
+        Assert.assertEquals(123, asyncPool.call(address,
+                client -> client.send_fetch_data(new TFetchDataParams(InternalServiceVersion.V1, new TUniqueId())),
+                BackendService.Client::recv_fetch_data).get(10, TimeUnit.SECONDS).getPacket_num());
+
+        // the connections are closed when the endpoint is removed, and opened again by the next call
+        asyncPool.removeEndpoint(address);
+        Assert.assertEquals(0, asyncPool.getNumConnections(address));
+        Assert.assertEquals(123, asyncPool.call(address,
+                client -> client.send_fetch_data(new TFetchDataParams(InternalServiceVersion.V1, new TUniqueId())),
+                BackendService.Client::recv_fetch_data).get(10, TimeUnit.SECONDS).getPacket_num());
+        Assert.assertEquals(1, asyncPool.getNumConnections(address));
+    }
+
+    @Test
+    public void testAsyncPoolConnectFailed() throws Exception {
+        AsyncThriftClientPool<BackendService.Client> asyncPool =
+                new AsyncThriftClientPool<>("BackendService", 1, 2, 1000);
+        TNetworkAddress address = new TNetworkAddress(ip, UtFrameUtils.findValidPort());
+        CompletableFuture<TFetchDataResult> future = asyncPool.call(address,
+                client -> client.send_fetch_data(new TFetchDataParams(InternalServiceVersion.V1, new TUniqueId())),
+                BackendService.Client::recv_fetch_data);
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            // pass
+        }
+        Assert.assertEquals(0, asyncPool.getNumConnections(address));
+    }
 }
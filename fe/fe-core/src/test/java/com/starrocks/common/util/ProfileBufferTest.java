@@ -0,0 +1,87 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common.util;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class ProfileBufferTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static byte[] newData(int length, int value) {
+        byte[] data = new byte[length];
+        Arrays.fill(data, (byte) value);
+        return data;
+    }
+
+    @Test
+    public void testAppendAndEvict() {
+        ProfileBuffer buffer = new ProfileBuffer(ByteBuffer.allocateDirect(100));
+        ProfileBuffer.Slot slot1 = buffer.append(newData(40, 1));
+        ProfileBuffer.Slot slot2 = buffer.append(newData(40, 2));
+        Assert.assertEquals(2, buffer.getNumSlots());
+        Assert.assertEquals(80, buffer.getUsedBytes());
+        Assert.assertArrayEquals(newData(40, 1), buffer.read(slot1));
+
+        // wrap around and overwrite the oldest one
+        ProfileBuffer.Slot slot3 = buffer.append(newData(30, 3));
+        Assert.assertTrue(slot1.isEvicted());
+        Assert.assertFalse(slot2.isEvicted());
+        Assert.assertArrayEquals(newData(40, 2), buffer.read(slot2));
+        Assert.assertArrayEquals(newData(30, 3), buffer.read(slot3));
+
+        // overwrite slot2, which is after the write position
+        ProfileBuffer.Slot slot4 = buffer.append(newData(50, 4));
+        Assert.assertTrue(slot2.isEvicted());
+        Assert.assertArrayEquals(newData(30, 3), buffer.read(slot3));
+        Assert.assertArrayEquals(newData(50, 4), buffer.read(slot4));
+        Assert.assertEquals(80, buffer.getUsedBytes());
+
+        // wrap around, the space at the end is wasted
+        ProfileBuffer.Slot slot5 = buffer.append(newData(25, 5));
+        Assert.assertTrue(slot3.isEvicted());
+        Assert.assertFalse(slot4.isEvicted());
+        Assert.assertArrayEquals(newData(25, 5), buffer.read(slot5));
+
+        // too large
+        Assert.assertNull(buffer.append(newData(101, 6)));
+
+        buffer.removeOldest();
+        buffer.removeOldest();
+        Assert.assertTrue(slot5.isEvicted());
+        Assert.assertEquals(0, buffer.getNumSlots());
+        Assert.assertEquals(0, buffer.getUsedBytes());
+        // the whole buffer can be used after all slots are removed
+        ProfileBuffer.Slot slot7 = buffer.append(newData(100, 7));
+        Assert.assertArrayEquals(newData(100, 7), buffer.read(slot7));
+    }
+
+    @Test
+    public void testMemoryMappedFile() throws Exception {
+        File file = new File(folder.getRoot(), "profile_buffer");
+        ProfileBuffer buffer = ProfileBuffer.create(1024, file.getAbsolutePath());
+        Assert.assertTrue(file.exists());
+        Assert.assertEquals(1024, buffer.getCapacity());
+        ProfileBuffer.Slot slot = buffer.append(newData(1000, 1));
+        Assert.assertArrayEquals(newData(1000, 1), buffer.read(slot));
+    }
+}
@@ -0,0 +1,156 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.starrocks.common.Config;
+import com.starrocks.connector.hive.HiveColumnStats;
+import com.starrocks.connector.hive.HiveCommonStats;
+import com.starrocks.connector.hive.HivePartitionStats;
+import com.starrocks.connector.hive.Partition;
+import com.starrocks.connector.hive.RemoteFileInputFormat;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class LocalDiskCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LocalDiskCache<Partition> newPartitionCache(Path dir, long capacity, long expireAfterWriteSec) {
+        return new LocalDiskCache<>(dir, capacity, expireAfterWriteSec, Partition.class,
+                MoreExecutors.directExecutor());
+    }
+
+    private static Partition newPartition(String path) {
+        return new Partition(ImmutableMap.of(Partition.TRANSIENT_LAST_DDL_TIME, "1000"),
+                RemoteFileInputFormat.PARQUET, null, path, true);
+    }
+
+    @Test
+    public void testPutAndReload() throws Exception {
+        Path dir = folder.newFolder().toPath();
+        LocalDiskCache<Partition> cache = newPartitionCache(dir, 1024 * 1024, -1);
+        cache.put("db\u0001tbl\u0001a", newPartition("hdfs://path/a"));
+        cache.put("db\u0001tbl\u0001b", newPartition("hdfs://path/b"));
+        cache.put("db\u0001tbl2\u0001a", newPartition("hdfs://path2/a"));
+        Assert.assertNull(cache.get("db\u0001tbl\u0001c"));
+        Partition partition = cache.get("db\u0001tbl\u0001a");
+        Assert.assertEquals("hdfs://path/a", partition.getFullPath());
+        Assert.assertEquals(RemoteFileInputFormat.PARQUET, partition.getInputFormat());
+        Assert.assertEquals(1000, partition.getModifiedTime());
+
+        // restart
+        cache = newPartitionCache(dir, 1024 * 1024, -1);
+        Assert.assertNull(cache.get("db\u0001tbl\u0001a"));
+        cache.loadIndex();
+        Assert.assertEquals(3, cache.size());
+        Assert.assertEquals("hdfs://path/b", cache.get("db\u0001tbl\u0001b").getFullPath());
+
+        cache.invalidateIf(key -> key.startsWith("db\u0001tbl\u0001"));
+        Assert.assertNull(cache.get("db\u0001tbl\u0001a"));
+        Assert.assertNotNull(cache.get("db\u0001tbl2\u0001a"));
+
+        cache = newPartitionCache(dir, 1024 * 1024, -1);
+        cache.loadIndex();
+        Assert.assertEquals(1, cache.size());
+        cache.invalidateAll();
+        cache = newPartitionCache(dir, 1024 * 1024, -1);
+        cache.loadIndex();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidateWhileLoading() throws Exception {
+        Path dir = folder.newFolder().toPath();
+        LocalDiskCache<Partition> cache = newPartitionCache(dir, 1024 * 1024, -1);
+        cache.put("db\u0001tbl\u0001a", newPartition("hdfs://path/a"));
+        cache.put("db\u0001tbl\u0001b", newPartition("hdfs://path/b"));
+        cache.put("db\u0001tbl2\u0001a", newPartition("hdfs://path2/a"));
+
+        // restart, and invalidate the table before its files are indexed
+        cache = newPartitionCache(dir, 1024 * 1024, -1);
+        cache.beginLoading();
+        cache.invalidateIf(key -> key.startsWith("db\u0001tbl\u0001"));
+        // put after the invalidation
+        cache.put("db\u0001tbl\u0001b", newPartition("hdfs://path/b2"));
+        cache.loadIndex();
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNull(cache.get("db\u0001tbl\u0001a"));
+        Assert.assertEquals("hdfs://path/b2", cache.get("db\u0001tbl\u0001b").getFullPath());
+        Assert.assertNotNull(cache.get("db\u0001tbl2\u0001a"));
+
+        // the invalidated files are deleted
+        cache = newPartitionCache(dir, 1024 * 1024, -1);
+        cache.loadIndex();
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNull(cache.get("db\u0001tbl\u0001a"));
+    }
+
+    @Test
+    public void testDeleteCatalog() throws Exception {
+        String diskCachePath = Config.connector_metadata_disk_cache_path;
+        Config.connector_metadata_disk_cache_path = folder.newFolder().getAbsolutePath();
+        try {
+            Path catalogDir = Paths.get(Config.connector_metadata_disk_cache_path, "hive_catalog");
+            Path otherCatalogDir = Paths.get(Config.connector_metadata_disk_cache_path, "other_catalog");
+            newPartitionCache(catalogDir.resolve("partitions"), 1024 * 1024, -1)
+                    .put("a", newPartition("hdfs://path/a"));
+            newPartitionCache(otherCatalogDir.resolve("partitions"), 1024 * 1024, -1)
+                    .put("a", newPartition("hdfs://path/a"));
+
+            LocalDiskCache.deleteCatalog("hive_catalog");
+            Assert.assertFalse(Files.exists(catalogDir));
+            Assert.assertTrue(Files.exists(otherCatalogDir));
+            LocalDiskCache.deleteCatalog("not_exist_catalog");
+        } finally {
+            Config.connector_metadata_disk_cache_path = diskCachePath;
+        }
+    }
+
+    @Test
+    public void testExpireAndEvict() throws Exception {
+        Path dir = folder.newFolder().toPath();
+        LocalDiskCache<Partition> cache = newPartitionCache(dir, 1024 * 1024, 0);
+        cache.put("a", newPartition("hdfs://path/a"));
+        Thread.sleep(10);
+        Assert.assertNull(cache.get("a"));
+
+        // the capacity only fits about one entry
+        cache = newPartitionCache(folder.newFolder().toPath(), 200, -1);
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, newPartition("hdfs://path/" + i));
+        }
+        Assert.assertTrue(cache.size() < 10);
+    }
+
+    @Test
+    public void testInfiniteStatistics() throws Exception {
+        LocalDiskCache<HivePartitionStats> cache = new LocalDiskCache<>(folder.newFolder().toPath(), 1024 * 1024,
+                -1, HivePartitionStats.class, MoreExecutors.directExecutor());
+        cache.put("a", new HivePartitionStats(new HiveCommonStats(10, 100),
+                ImmutableMap.of("col", new HiveColumnStats())));
+        HivePartitionStats stats = cache.get("a");
+        Assert.assertEquals(10, stats.getCommonStats().getRowNums());
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, stats.getColumnStats().get("col").getMin(), 0);
+        Assert.assertEquals(Double.POSITIVE_INFINITY, stats.getColumnStats().get("col").getMax(), 0);
+    }
+}
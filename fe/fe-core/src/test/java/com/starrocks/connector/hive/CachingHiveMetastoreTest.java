@@ -15,6 +15,7 @@
 
 package com.starrocks.connector.hive;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.starrocks.analysis.StringLiteral;
 import com.starrocks.catalog.Database;
@@ -22,22 +23,33 @@ import com.starrocks.catalog.HivePartitionKey;
 import com.starrocks.catalog.HiveTable;
 import com.starrocks.catalog.PrimitiveType;
 import com.starrocks.catalog.ScalarType;
+import com.starrocks.common.Config;
+import com.starrocks.connector.LocalDiskCache;
 import com.starrocks.connector.PartitionUtil;
 import com.starrocks.connector.exception.StarRocksConnectorException;
+import mockit.Mock;
+import mockit.MockUp;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
 import static com.starrocks.connector.hive.RemoteFileInputFormat.ORC;
+import static com.starrocks.connector.hive.RemoteFileInputFormat.PARQUET;
 import static org.apache.hadoop.hive.common.StatsSetupConst.TOTAL_SIZE;
 
 public class CachingHiveMetastoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private HiveMetaClient client;
     private HiveMetastore metastore;
     private ExecutorService executor;
@@ -125,6 +137,35 @@ public class CachingHiveMetastoreTest {
         Assert.assertEquals("100", partition.getParameters().get(TOTAL_SIZE));
     }
 
+    @Test
+    public void testReloadPartitionFromMetastore() throws Exception {
+        String diskCachePath = Config.connector_metadata_disk_cache_path;
+        Config.connector_metadata_disk_cache_path = folder.newFolder().getAbsolutePath();
+        // the partition on disk is stale
+        new MockUp<LocalDiskCache<Partition>>() {
+            @Mock
+            public Partition get(String key) {
+                return new Partition(ImmutableMap.of(), PARQUET, null, "hdfs://stale", true);
+            }
+        };
+        try {
+            CachingHiveMetastore cachingHiveMetastore = CachingHiveMetastore.createCatalogLevelInstance(
+                    metastore, newDirectExecutorService(), expireAfterWriteSec, refreshAfterWriteSec, 1000, false,
+                    "hive_catalog");
+            HivePartitionName partitionName = HivePartitionName.of("db1", "tbl1", Lists.newArrayList("par1"));
+            Assert.assertEquals(PARQUET, cachingHiveMetastore.getPartition(
+                    "db1", "tbl1", Lists.newArrayList("par1")).getInputFormat());
+
+            // the refresh goes to the metastore instead of the disk cache
+            cachingHiveMetastore.partitionCache.refresh(partitionName);
+            Partition partition = cachingHiveMetastore.getPartition("db1", "tbl1", Lists.newArrayList("par1"));
+            Assert.assertEquals(ORC, partition.getInputFormat());
+            Assert.assertEquals("100", partition.getParameters().get(TOTAL_SIZE));
+        } finally {
+            Config.connector_metadata_disk_cache_path = diskCachePath;
+        }
+    }
+
     @Test
     public void testGetPartitionByNames() {
         CachingHiveMetastore cachingHiveMetastore = new CachingHiveMetastore(
@@ -26,24 +26,34 @@ import com.starrocks.connector.iceberg.cost.IcebergMetricsReporter;
 import mockit.Expectations;
 import mockit.Mocked;
 import org.apache.iceberg.BaseTable;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.catalog.Namespace;
 import org.apache.iceberg.catalog.TableIdentifier;
 import org.apache.iceberg.hive.HiveTableOperations;
 import org.apache.iceberg.hive.IcebergHiveCatalog;
 import org.apache.thrift.TException;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.starrocks.catalog.Table.TableType.ICEBERG;
 
 public class IcebergMetadataTest {
     private static final String CATALOG_NAME = "IcebergCatalog";
 
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
     @Test
     public void testListDatabaseNames(@Mocked IcebergCatalog icebergCatalog) {
         new Expectations() {
@@ -311,4 +321,45 @@ public class IcebergMetadataTest {
         };
         metadata.dropDb("iceberg_db", true);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testListPartitionNames(@Mocked IcebergCatalog icebergCatalog) throws Exception {
+        PartitionSpec spec = PartitionSpec.builderFor(TableTestBase.SCHEMA).identity("data").build();
+        File tableDir = temp.newFolder();
+        tableDir.delete();
+        TestTables.TestTable table = TestTables.create(tableDir, "test_partitions", TableTestBase.SCHEMA, spec, 1);
+        try {
+            // the first manifest only contains one partition, the second one contains two partitions
+            table.newFastAppend().appendFile(newDataFile(spec, "a", "data=x")).commit();
+            table.newFastAppend()
+                    .appendFile(newDataFile(spec, "b", "data=y"))
+                    .appendFile(newDataFile(spec, "c", "data=x"))
+                    .commit();
+
+            new Expectations() {
+                {
+                    icebergCatalog.loadTable(TableIdentifier.of("db", "tbl"));
+                    result = table;
+                    icebergCatalog.getIcebergCatalogType();
+                    result = IcebergCatalogType.HIVE_CATALOG;
+                }
+            };
+
+            IcebergMetadata metadata = new IcebergMetadata(CATALOG_NAME, icebergCatalog);
+            List<String> partitionNames = metadata.listPartitionNames("db", "tbl").stream()
+                    .sorted().collect(Collectors.toList());
+            Assert.assertEquals(Lists.newArrayList("data=x", "data=y"), partitionNames);
+        } finally {
+            TestTables.clearTables();
+        }
+    }
+
+    private static DataFile newDataFile(PartitionSpec spec, String name, String partitionPath) {
+        return DataFiles.builder(spec)
+                .withPath("/path/to/data-" + name + ".parquet")
+                .withFileSizeInBytes(10)
+                .withPartitionPath(partitionPath)
+                .withRecordCount(2)
+                .build();
+    }
+}
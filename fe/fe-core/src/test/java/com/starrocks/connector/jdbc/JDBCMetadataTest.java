@@ -21,8 +21,10 @@ import com.starrocks.catalog.Database;
 import com.starrocks.catalog.JDBCResource;
 import com.starrocks.catalog.JDBCTable;
 import com.starrocks.catalog.Table;
+import com.starrocks.qe.ConnectContext;
 import mockit.Expectations;
 import mockit.Mocked;
+import mockit.Verifications;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -58,13 +60,7 @@ public class JDBCMetadataTest {
         dbResult.addColumn("TABLE_CAT", Arrays.asList("information_schema", "mysql", "test"));
         tableResult = new MockResultSet("tables");
         tableResult.addColumn("TABLE_NAME", Arrays.asList("tbl1", "tbl2", "tbl3"));
-        columnResult = new MockResultSet("columns");
-        columnResult.addColumn("DATA_TYPE", Arrays.asList(Types.INTEGER, Types.DECIMAL, Types.CHAR, Types.VARCHAR));
-        columnResult.addColumn("TYPE_NAME", Arrays.asList("INTEGER", "DECIMAL", "CHAR", "VARCHAR"));
-        columnResult.addColumn("COLUMN_SIZE", Arrays.asList(4, 10, 10, 10));
-        columnResult.addColumn("DECIMAL_DIGITS", Arrays.asList(0, 2, 0, 0));
-        columnResult.addColumn("COLUMN_NAME", Arrays.asList("a", "b", "c", "d"));
-        columnResult.addColumn("IS_NULLABLE", Arrays.asList("YES", "NO", "NO", "NO"));
+        columnResult = newColumnResult();
         properties = new HashMap<>();
         properties.put(DRIVER_CLASS, "com.mysql.cj.jdbc.Driver");
         properties.put(JDBCResource.URI, "jdbc:mysql://127.0.0.1:3306");
@@ -96,6 +92,24 @@ public class JDBCMetadataTest {
     }
 
 
+    private static MockResultSet newColumnResult() {
+        MockResultSet columnResult = new MockResultSet("columns");
+        columnResult.addColumn("DATA_TYPE", Arrays.asList(Types.INTEGER, Types.DECIMAL, Types.CHAR, Types.VARCHAR));
+        columnResult.addColumn("TYPE_NAME", Arrays.asList("INTEGER", "DECIMAL", "CHAR", "VARCHAR"));
+        columnResult.addColumn("COLUMN_SIZE", Arrays.asList(4, 10, 10, 10));
+        columnResult.addColumn("DECIMAL_DIGITS", Arrays.asList(0, 2, 0, 0));
+        columnResult.addColumn("COLUMN_NAME", Arrays.asList("a", "b", "c", "d"));
+        columnResult.addColumn("IS_NULLABLE", Arrays.asList("YES", "NO", "NO", "NO"));
+        return columnResult;
+    }
+
+    private static MockResultSet newKeyResult() {
+        MockResultSet keyResult = new MockResultSet("keys");
+        keyResult.addColumn("COLUMN_NAME", Arrays.asList("a"));
+        keyResult.addColumn("KEY_SEQ", Arrays.asList(1));
+        return keyResult;
+    }
+
     @Test
     public void testListDatabaseNames() {
         try {
@@ -142,4 +156,65 @@ public class JDBCMetadataTest {
             Assert.fail();
         }
     }
+
+    @Test
+    public void testGetTableWithSplitRange() throws Exception {
+        MockResultSet keyResult = newKeyResult();
+        MockResultSet rangeResult = new MockResultSet("range");
+        rangeResult.addColumn("min", Arrays.asList(1L));
+        rangeResult.addColumn("max", Arrays.asList(1000L));
+        new Expectations() {
+            {
+                connection.getMetaData().getPrimaryKeys("test", null, "tbl1");
+                result = keyResult;
+                minTimes = 0;
+
+                connection.createStatement().executeQuery("SELECT MIN(`a`), MAX(`a`) FROM `test`.`tbl1`");
+                result = rangeResult;
+                minTimes = 0;
+            }
+        };
+
+        ConnectContext context = new ConnectContext();
+        context.getSessionVariable().setJdbcScanSplitNum(4);
+        context.setThreadLocalInfo();
+        try {
+            JDBCMetadata jdbcMetadata = new JDBCMetadata(properties);
+            JDBCTable table = (JDBCTable) jdbcMetadata.getTable("test", "tbl1");
+            Assert.assertEquals("a", table.getSplitColumn().getName());
+            // the range isn't queried until a scan is split
+            new Verifications() {
+                {
+                    connection.createStatement();
+                    times = 0;
+                }
+            };
+
+            Assert.assertArrayEquals(new long[] {1L, 1000L}, table.getSplitRange());
+            Assert.assertArrayEquals(new long[] {1L, 1000L}, table.getSplitRange());
+
+            // the table is loaded again by the next query, the range is cached by the metadata of the catalog
+            new Expectations() {
+                {
+                    connection.getMetaData().getColumns("test", null, "tbl1", "%");
+                    result = newColumnResult();
+                    minTimes = 0;
+
+                    connection.getMetaData().getPrimaryKeys("test", null, "tbl1");
+                    result = newKeyResult();
+                    minTimes = 0;
+                }
+            };
+            table = (JDBCTable) jdbcMetadata.getTable("test", "tbl1");
+            Assert.assertArrayEquals(new long[] {1L, 1000L}, table.getSplitRange());
+            new Verifications() {
+                {
+                    connection.createStatement();
+                    times = 1;
+                }
+            };
+        } finally {
+            ConnectContext.remove();
+        }
+    }
 }
@@ -19,6 +19,7 @@ import com.starrocks.common.Config;
 import com.starrocks.common.io.DataOutputBuffer;
 import com.starrocks.common.io.Text;
 import com.starrocks.journal.bdbje.BDBJEJournal;
+import com.starrocks.utframe.MockJournal;
 import mockit.Expectations;
 import mockit.Mocked;
 import org.apache.commons.lang3.StringUtils;
@@ -59,6 +60,7 @@ public class JournalWriterTest {
         Config.edit_log_roll_num = 50000;
         Config.metadata_journal_max_batch_size_mb = 100;
         Config.metadata_journal_max_batch_cnt = 100;
+        Config.metadata_journal_enable_pipelined_commit = false;
     }
 
     private DataOutputBuffer makeBuffer(int size) throws IOException {
@@ -336,4 +338,33 @@ public class JournalWriterTest {
         Assert.assertFalse(task2.get());
         Assert.assertEquals(0, journalQueue.size());
     }
+
+    @Test
+    public void testPipelinedCommit() throws Exception {
+        Config.metadata_journal_enable_pipelined_commit = true;
+        MockJournal mockJournal = new MockJournal();
+        BlockingQueue<JournalTask> queue = new ArrayBlockingQueue<>(100);
+        JournalWriter pipelinedWriter = new JournalWriter(mockJournal, queue);
+        pipelinedWriter.nextVisibleJournalId = 1;
+
+        // batch 1 is committed in committer thread
+        JournalTask task1 = new JournalTask(makeBuffer(10), -1);
+        JournalTask task2 = new JournalTask(makeBuffer(10), -1);
+        queue.add(task1);
+        queue.add(task2);
+        pipelinedWriter.writeOneBatch();
+        Assert.assertTrue(task1.get());
+        Assert.assertTrue(task2.get());
+        Assert.assertEquals(0, queue.size());
+
+        // batch 2 waits for batch 1 before committing
+        JournalTask task3 = new JournalTask(makeBuffer(10), -1);
+        queue.add(task3);
+        pipelinedWriter.writeOneBatch();
+        Assert.assertEquals(3, pipelinedWriter.nextVisibleJournalId);
+        Assert.assertEquals(2, pipelinedWriter.rollJournalCounter);
+        Assert.assertTrue(task3.get());
+        Assert.assertEquals(3, mockJournal.getMaxJournalId());
+        pipelinedWriter.close();
+    }
 }
@@ -265,4 +265,36 @@ public class ReportHandlerTest {
             Assert.assertEquals(TStatusCode.INTERNAL_ERROR, res.getStatus().getStatus_code());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCoalesceReports() throws TException {
+        Backend be = new Backend(10001, "host1", 8000);
+        new MockUp<SystemInfoService>() {
+            @Mock
+            public Backend getBackendWithBePort(String host, int bePort) {
+                return be;
+            }
+        };
+
+        // the handler is not started, the reports are pending
+        ReportHandler handler = new ReportHandler();
+        TBackend tbe = new TBackend();
+        tbe.setHost(be.getHost());
+        tbe.setBe_port(be.getBePort());
+        for (int i = 0; i < 3; i++) {
+            TReportRequest req = new TReportRequest();
+            req.setResource_usage(genResourceUsage(1, 2L, 3L, 100 + i));
+            req.setBackend(tbe);
+            Assert.assertEquals(TStatusCode.OK, handler.handleReport(req).getStatus().getStatus_code());
+        }
+        // only the latest resource usage report of the backend is kept
+        Assert.assertEquals(1, handler.getPendingTaskNum());
+
+        TReportRequest req = new TReportRequest();
+        req.setTablets(new HashMap<>());
+        req.setReport_version(1);
+        req.setBackend(tbe);
+        Assert.assertEquals(TStatusCode.OK, handler.handleReport(req).getStatus().getStatus_code());
+        Assert.assertEquals(2, handler.getPendingTaskNum());
+    }
+}
@@ -17,6 +17,7 @@
 
 package com.starrocks.mysql;
 
+import com.starrocks.common.Config;
 import mockit.Delegate;
 import mockit.Expectations;
 import mockit.Mocked;
@@ -28,6 +29,8 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
 
 public class MysqlChannelTest {
     int packetId = 0;
@@ -244,6 +247,19 @@ public class MysqlChannelTest {
                         return writeLen;
                     }
                 };
+
+                channel.write((ByteBuffer[]) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    long fakeWrite(ByteBuffer[] buffers) {
+                        long writeLen = 0;
+                        for (ByteBuffer buffer : buffers) {
+                            writeLen += buffer.remaining();
+                            buffer.position(buffer.limit());
+                        }
+                        return writeLen;
+                    }
+                };
             }
         };
 
@@ -255,6 +271,49 @@ public class MysqlChannelTest {
         channel1.sendOnePacket(buf);
     }
 
+    @Test
+    public void testSendLargePacketWithBufferedData() throws IOException {
+        List<Long> gatheringWriteLens = new ArrayList<>();
+        new Expectations() {
+            {
+                channel.write((ByteBuffer[]) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    long fakeWrite(ByteBuffer[] buffers) {
+                        long writeLen = 0;
+                        for (ByteBuffer buffer : buffers) {
+                            writeLen += buffer.remaining();
+                            buffer.position(buffer.limit());
+                        }
+                        gatheringWriteLens.add(writeLen);
+                        return writeLen;
+                    }
+                };
+            }
+        };
+
+        MysqlChannel channel1 = new MysqlChannel(channel);
+        channel1.sendOnePacket(ByteBuffer.allocate(100));
+        int largeLen = Config.mysql_send_buffer_size + 1;
+        channel1.sendOnePacket(ByteBuffer.allocate(largeLen));
+
+        // The buffered packet, the header and the large packet are sent by one gathering write.
+        Assert.assertEquals(1, gatheringWriteLens.size());
+        Assert.assertEquals(4 + 100 + 4 + largeLen, gatheringWriteLens.get(0).longValue());
+        channel1.releaseBuffer();
+    }
+
+    @Test
+    public void testReleaseBufferNotFlushed() throws IOException {
+        MysqlSendBufferPool pool = MysqlSendBufferPool.getInstance();
+        MysqlChannel channel1 = new MysqlChannel(channel);
+        channel1.sendOnePacket(ByteBuffer.allocate(100));
+        int numIdleBuffers = pool.getNumIdleBuffers();
+        // the buffer is returned even if the command fails before the response is flushed
+        channel1.releaseBuffer();
+        Assert.assertEquals(Math.min(numIdleBuffers + 1, Config.mysql_send_buffer_pool_size), pool.getNumIdleBuffers());
+    }
+
     @Test(expected = IOException.class)
     public void testSendException() throws IOException {
         // mock
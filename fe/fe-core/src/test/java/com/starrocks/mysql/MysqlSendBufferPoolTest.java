@@ -0,0 +1,76 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.mysql;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class MysqlSendBufferPoolTest {
+
+    @Test
+    public void testBorrowAndRelease() {
+        MysqlSendBufferPool pool = new MysqlSendBufferPool(1024, 1, 2);
+        ByteBuffer buffer1 = pool.borrow();
+        ByteBuffer buffer2 = pool.borrow();
+        Assert.assertTrue(buffer1.isDirect());
+        Assert.assertEquals(1024, buffer1.capacity());
+        Assert.assertNotSame(buffer1, buffer2);
+
+        buffer1.put((byte) 1);
+        pool.release(buffer1);
+        // exceed the max idle buffers
+        pool.release(buffer2);
+        Assert.assertEquals(1, pool.getNumIdleBuffers());
+
+        // the idle buffer is reused and cleared
+        ByteBuffer buffer3 = pool.borrow();
+        Assert.assertSame(buffer1, buffer3);
+        Assert.assertEquals(0, buffer3.position());
+        Assert.assertEquals(0, pool.getNumIdleBuffers());
+
+        // buffers of other sizes are not pooled
+        pool.release(ByteBuffer.allocate(10));
+        Assert.assertEquals(0, pool.getNumIdleBuffers());
+    }
+
+    @Test
+    public void testBoundedDirectMemory() {
+        MysqlSendBufferPool pool = new MysqlSendBufferPool(1024, 1, 2);
+        ByteBuffer buffer1 = pool.borrow();
+        ByteBuffer buffer2 = pool.borrow();
+        Assert.assertEquals(2, pool.getNumDirectBuffers());
+
+        // fall back to heap buffer when the direct buffers reach the limit
+        ByteBuffer buffer3 = pool.borrow();
+        Assert.assertFalse(buffer3.isDirect());
+        Assert.assertEquals(1024, buffer3.capacity());
+        Assert.assertEquals(2, pool.getNumDirectBuffers());
+
+        // heap buffers are not pooled
+        pool.release(buffer3);
+        Assert.assertEquals(0, pool.getNumIdleBuffers());
+
+        // the buffer exceeding the max idle buffers is released
+        pool.release(buffer1);
+        pool.release(buffer2);
+        Assert.assertEquals(1, pool.getNumIdleBuffers());
+        Assert.assertEquals(1, pool.getNumDirectBuffers());
+        Assert.assertTrue(pool.borrow().isDirect());
+        Assert.assertTrue(pool.borrow().isDirect());
+        Assert.assertFalse(pool.borrow().isDirect());
+    }
+}
@@ -0,0 +1,81 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.persist.metablock;
+
+import com.starrocks.common.io.Text;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SRMetaBlockParallelIOTest {
+
+    private byte[] writeStrings(List<String> strings) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream dos = new DataOutputStream(bytes)) {
+            SRMetaBlockParallelIO.write(dos, strings, (str, out) -> Text.writeString(out, str));
+            dos.writeLong(-1L);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void testWriteAndReadInOrder() throws Exception {
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            strings.add("db_" + i);
+        }
+        byte[] image = writeStrings(strings);
+
+        List<String> result = new ArrayList<>();
+        try (DataInputStream dis = new DataInputStream(new ByteArrayInputStream(image))) {
+            SRMetaBlockParallelIO.read(dis, strings.size(), Text::readString, result::add);
+            // the following data of the image can still be read
+            Assert.assertEquals(-1L, dis.readLong());
+        }
+        Assert.assertEquals(strings, result);
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        byte[] image = writeStrings(new ArrayList<>());
+        List<String> result = new ArrayList<>();
+        try (DataInputStream dis = new DataInputStream(new ByteArrayInputStream(image))) {
+            SRMetaBlockParallelIO.read(dis, 0, Text::readString, result::add);
+            Assert.assertEquals(-1L, dis.readLong());
+        }
+        Assert.assertTrue(result.isEmpty());
+    }
+
+    @Test(expected = IOException.class)
+    public void testChecksumMismatch() throws Exception {
+        List<String> strings = new ArrayList<>();
+        strings.add("petals on a wet black bough");
+        byte[] image = writeStrings(strings);
+        // corrupt the data of the block, after length(int) and checksum(long)
+        image[Integer.BYTES + Long.BYTES + 5] ^= 0x1;
+
+        try (DataInputStream dis = new DataInputStream(new ByteArrayInputStream(image))) {
+            SRMetaBlockParallelIO.read(dis, strings.size(), Text::readString, str -> {
+            });
+        }
+    }
+}
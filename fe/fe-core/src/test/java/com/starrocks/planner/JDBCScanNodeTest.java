@@ -0,0 +1,63 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.planner;
+
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.Type;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class JDBCScanNodeTest {
+
+    @Test
+    public void testGetSplitPredicates() {
+        List<String> predicates = JDBCScanNode.getSplitPredicates("id", Type.BIGINT, 0, 99, 4);
+        Assert.assertEquals(Lists.newArrayList(
+                "id < 25 OR id IS NULL",
+                "id >= 25 AND id < 50",
+                "id >= 50 AND id < 75",
+                "id >= 75"), predicates);
+
+        // fewer values than splits
+        predicates = JDBCScanNode.getSplitPredicates("id", Type.INT, 10, 12, 8);
+        Assert.assertEquals(Lists.newArrayList(
+                "id < 11 OR id IS NULL",
+                "id >= 11 AND id < 12",
+                "id >= 12"), predicates);
+
+        // a single value can't be split
+        Assert.assertTrue(JDBCScanNode.getSplitPredicates("id", Type.INT, 10, 10, 8).isEmpty());
+        Assert.assertTrue(JDBCScanNode.getSplitPredicates("id", Type.BIGINT, Long.MIN_VALUE, Long.MAX_VALUE, 8)
+                .isEmpty());
+    }
+
+    @Test
+    public void testGetDateSplitPredicates() {
+        long lower = LocalDate.parse("2023-01-01").toEpochDay();
+        long upper = LocalDate.parse("2023-01-04").toEpochDay();
+        List<String> predicates = JDBCScanNode.getSplitPredicates("`dt`", Type.DATE, lower, upper, 2);
+        Assert.assertEquals(Lists.newArrayList(
+                "`dt` < DATE '2023-01-03' OR `dt` IS NULL",
+                "`dt` >= DATE '2023-01-03'"), predicates);
+
+        predicates = JDBCScanNode.getSplitPredicates("ts", Type.DATETIME, 0, 3600, 2);
+        Assert.assertEquals(Lists.newArrayList(
+                "ts < TIMESTAMP '1970-01-01 00:30:01' OR ts IS NULL",
+                "ts >= TIMESTAMP '1970-01-01 00:30:01'"), predicates);
+    }
+}
@@ -411,6 +411,8 @@ public class PseudoCluster {
 
         ClientPool.heartbeatPool = cluster.heartBeatPool;
         ClientPool.backendPool = cluster.backendThriftPool;
+        // the mocked backends only serve the blocking client pool
+        Config.enable_async_agent_task_rpc = false;
         BrpcProxy.setInstance(cluster.brpcProxy);
 
         GlobalStateMgr.getCurrentState().setStarOSAgent(new PseudoStarOSAgent());
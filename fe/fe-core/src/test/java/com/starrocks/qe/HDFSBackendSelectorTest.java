@@ -175,4 +175,54 @@ public class HDFSBackendSelectorTest {
             System.out.printf("%s -> %d bytes\n", entry.getKey(), entry.getValue());
         }
     }
+
+    @Test
+    public void testHdfsScanNodeBoundedLoad() throws Exception {
+        new Expectations() {
+            {
+                hdfsScanNode.getId();
+                result = scanNodeId;
+                hiveTable.getTableLocation();
+                result = "hdfs://dfs00/dataset/";
+            }
+        };
+
+        int scanRangeNumber = 100;
+        int scanRangeSize = 10000;
+        int hostNumber = 4;
+        double boundedLoadFactor = 0.1;
+        // every tenth file is 10 times larger
+        List<TScanRangeLocations> locations = createScanRanges(scanRangeNumber, scanRangeSize);
+        long totalBytes = 0;
+        for (int i = 0; i < scanRangeNumber; i++) {
+            THdfsScanRange scanRange = locations.get(i).scan_range.hdfs_scan_range;
+            if (i % 10 == 0) {
+                scanRange.setLength(scanRangeSize * 10);
+            }
+            totalBytes += scanRange.getLength();
+        }
+        List<ComputeNode> computeNodes = createComputeNodes(hostNumber);
+
+        FragmentScanRangeAssignment assignment = new FragmentScanRangeAssignment();
+        HDFSBackendSelector selector =
+                new HDFSBackendSelector(hdfsScanNode, locations, assignment, new HashMap<>(), new HashSet<>(),
+                        ImmutableList.copyOf(computeNodes), false, false, false, boundedLoadFactor);
+        selector.computeScanRangeAssignment();
+
+        // the load of a node may exceed the capacity by one scan range at most
+        long maxBytes = (long) ((1 + boundedLoadFactor) * totalBytes / hostNumber) + scanRangeSize * 10;
+        Map<TNetworkAddress, Long> stats = computeHostReadBytes(assignment, scanNodeId);
+        Assert.assertEquals(hostNumber, stats.size());
+        for (Map.Entry<TNetworkAddress, Long> entry : stats.entrySet()) {
+            Assert.assertTrue(entry.getValue() <= maxBytes);
+        }
+        Assert.assertFalse(selector.getAssignedBytesInfo().isEmpty());
+
+        // the same files are always assigned to the same nodes
+        FragmentScanRangeAssignment otherAssignment = new FragmentScanRangeAssignment();
+        new HDFSBackendSelector(hdfsScanNode, locations, otherAssignment, new HashMap<>(), new HashSet<>(),
+                ImmutableList.copyOf(computeNodes), false, false, false, boundedLoadFactor)
+                .computeScanRangeAssignment();
+        Assert.assertEquals(assignment, otherAssignment);
+    }
 }
@@ -42,7 +42,11 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 public class QueryQueueManagerTest {
@@ -230,6 +234,103 @@ public class QueryQueueManagerTest {
         manager.maybeNotify();
     }
 
+    @Test
+    public void testWaitInPriorityOrder() throws InterruptedException {
+        QueryQueueManager manager = QueryQueueManager.getInstance();
+        ConnectContext lowPriorityCtx = new ConnectContext();
+        ConnectContext highPriorityCtx = new ConnectContext();
+        highPriorityCtx.getSessionVariable().setQueryQueuePriority(1);
+
+        mockCoordinatorNeedCheckQueue();
+        mockCoordinatorEnableCheckQueue();
+        // Each call of canRunMore consumes one of the permits.
+        AtomicInteger permits = new AtomicInteger(0);
+        new MockUp<QueryQueueManager>() {
+            @Mock
+            public boolean canRunMore() {
+                return permits.getAndUpdate(n -> Math.max(0, n - 1)) > 0;
+            }
+        };
+
+        GlobalVariable.setEnableQueryQueueSelect(true);
+        GlobalVariable.setQueryQueuePendingTimeoutSecond(300);
+        GlobalVariable.setQueryQueueMaxQueuedQueries(10);
+        List<Thread> threads = new ArrayList<>();
+        for (ConnectContext connectCtx : ImmutableList.of(lowPriorityCtx, highPriorityCtx)) {
+            Thread thread = new Thread(() -> {
+                try {
+                    manager.maybeWait(connectCtx, coordinator);
+                } catch (UserException | InterruptedException e) {
+                    Assert.fail("Unexpected exception");
+                }
+            });
+            thread.start();
+            threads.add(thread);
+            Awaitility.await().atMost(1, TimeUnit.SECONDS).until(connectCtx::isPending);
+        }
+        Assert.assertEquals(2, manager.numPendingQueries());
+
+        // One permit for the notification and one for the head, only the query with higher priority is admitted,
+        // though it comes later.
+        permits.set(2);
+        manager.maybeNotify();
+        Awaitility.await().atMost(1, TimeUnit.SECONDS).until(() -> !highPriorityCtx.isPending());
+        Assert.assertTrue(lowPriorityCtx.isPending());
+        Assert.assertEquals(1, manager.numPendingQueries());
+
+        permits.set(2);
+        manager.maybeNotify();
+        Awaitility.await().atMost(1, TimeUnit.SECONDS).until(() -> !lowPriorityCtx.isPending());
+        Assert.assertEquals(0, manager.numPendingQueries());
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    @Test
+    public void testHandOffToNextHead() throws Exception {
+        QueryQueueManager manager = QueryQueueManager.getInstance();
+        ConnectContext headCtx = new ConnectContext();
+        ConnectContext nextCtx = new ConnectContext();
+
+        mockCoordinatorNeedCheckQueue();
+        mockCoordinatorEnableCheckQueue();
+        AtomicBoolean canRunMore = new AtomicBoolean(false);
+        new MockUp<QueryQueueManager>() {
+            @Mock
+            public boolean canRunMore() {
+                return canRunMore.get();
+            }
+        };
+
+        GlobalVariable.setEnableQueryQueueSelect(true);
+        GlobalVariable.setQueryQueuePendingTimeoutSecond(300);
+        GlobalVariable.setQueryQueueMaxQueuedQueries(10);
+        // the results of the waiting threads are checked in the test thread
+        FutureTask<Void> headTask = new FutureTask<>(() -> {
+            manager.maybeWait(headCtx, coordinator);
+            return null;
+        });
+        new Thread(headTask).start();
+        Awaitility.await().atMost(1, TimeUnit.SECONDS).until(headCtx::isPending);
+        FutureTask<Void> nextTask = new FutureTask<>(() -> {
+            manager.maybeWait(nextCtx, coordinator);
+            return null;
+        });
+        new Thread(nextTask).start();
+        Awaitility.await().atMost(1, TimeUnit.SECONDS).until(nextCtx::isPending);
+
+        // The head leaves while the resource is still overloaded, the next head is woken up and starts
+        // to check the resource periodically, so it's admitted without any notification.
+        manager.cancelQuery(headCtx);
+        ExecutionException e = Assert.assertThrows(ExecutionException.class, () -> headTask.get(1, TimeUnit.SECONDS));
+        Assert.assertTrue(e.getCause() instanceof UserException);
+        canRunMore.set(true);
+        Awaitility.await().atMost(3, TimeUnit.SECONDS).until(() -> !nextCtx.isPending());
+        nextTask.get(1, TimeUnit.SECONDS);
+        Assert.assertEquals(0, manager.numPendingQueries());
+    }
+
     @Test
     public void testCanRunMore() {
         QueryQueueManager manager = QueryQueueManager.getInstance();
@@ -24,9 +24,12 @@ import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.PartitionInfo;
 import com.starrocks.catalog.Table;
+import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.FeConstants;
+import com.starrocks.common.StarRocksFEMetaVersion;
 import com.starrocks.common.util.UUIDUtil;
+import com.starrocks.meta.MetaContext;
 import com.starrocks.persist.EditLog;
 import com.starrocks.persist.ModifyPartitionInfo;
 import com.starrocks.qe.ConnectContext;
@@ -39,6 +42,10 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -127,4 +134,35 @@ public class LocalMetaStoreTest {
         LocalMetastore localMetastore = connectContext.getGlobalStateMgr().getLocalMetastore();
         localMetastore.getPartitionIdToStorageMediumMap();
     }
+
+    @Test
+    public void testSaveAndLoadDb() throws Exception {
+        LocalMetastore localMetastore = connectContext.getGlobalStateMgr().getLocalMetastore();
+        long dbId = localMetastore.getDb("test").getId();
+        MetaContext metaContext = new MetaContext();
+        metaContext.setMetaVersion(FeConstants.META_VERSION);
+        metaContext.setThreadLocalInfo();
+        try {
+            for (boolean enableImageDbBlocks : new boolean[] {false, true}) {
+                Config.enable_image_db_blocks = enableImageDbBlocks;
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                long checksum = localMetastore.saveDb(new DataOutputStream(out), 0);
+
+                // the layout is read by the version of the image
+                metaContext.setStarRocksMetaVersion(StarRocksFEMetaVersion.getWriteVersion());
+                LocalMetastore loadedMetastore = new LocalMetastore(connectContext.getGlobalStateMgr(), null, null, null);
+                Assert.assertEquals(checksum, loadedMetastore.loadDb(
+                        new DataInputStream(new ByteArrayInputStream(out.toByteArray())), 0));
+                Database db = loadedMetastore.getDb("test");
+                Assert.assertEquals(dbId, db.getId());
+                Assert.assertNotNull(db.getTable("t1"));
+            }
+            Assert.assertEquals(StarRocksFEMetaVersion.VERSION_4, StarRocksFEMetaVersion.getWriteVersion());
+            Config.enable_image_db_blocks = false;
+            Assert.assertEquals(StarRocksFEMetaVersion.VERSION_3, StarRocksFEMetaVersion.getWriteVersion());
+        } finally {
+            Config.enable_image_db_blocks = false;
+            MetaContext.remove();
+        }
+    }
 }
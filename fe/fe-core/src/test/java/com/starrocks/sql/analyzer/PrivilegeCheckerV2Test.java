@@ -1303,6 +1303,16 @@ public class PrivilegeCheckerV2Test {
                 "Access denied; you need (at least one of) the OPERATE privilege(s) for this operation");
     }
 
+    @Test
+    public void testSetQueryQueuePriority() throws Exception {
+        ctxToRoot();
+        verifyGrantRevoke(
+                "SET query_queue_priority = 1",
+                "grant OPERATE on system to test",
+                "revoke OPERATE on system from test",
+                "Access denied; you need (at least one of) the OPERATE privilege(s) for this operation");
+    }
+
     @Test
     public void testExecuteAs() throws Exception {
         verifyGrantRevoke(
@@ -17,6 +17,7 @@ package com.starrocks.sql.parser;
 
 import com.google.common.collect.Lists;
 import com.starrocks.common.Config;
+import com.starrocks.qe.SessionVariable;
 import com.starrocks.qe.SqlModeHelper;
 import com.starrocks.sql.ast.StatementBase;
 import org.antlr.v4.runtime.BaseErrorListener;
@@ -65,9 +66,13 @@ public class ParserBench {
         sql = generateSQL();
     }
 
-    @Param({"SLL", "LL"})
+    // TWO_STAGE is the production path of SqlParser, SLL first and LL only on failure
+    @Param({"SLL", "LL", "TWO_STAGE"})
     public String mode;
 
+    @Param({"INSERT_VALUES", "IN_LIST", "WIDE_SELECT", "CASE_WHEN"})
+    public String statement;
+
     @Param({"100", "1000", "5000", "10000"})
     public int times;
 
@@ -78,11 +83,53 @@ public class ParserBench {
     public boolean isLimit;
 
     @Benchmark
-    public void parseInsertIntoValues() {
-        parseSql(sql);
+    public void parseStatement() {
+        if (mode.equals("TWO_STAGE")) {
+            parseSqlWithSqlParser(sql);
+        } else {
+            parseSql(sql);
+        }
     }
 
     private String generateSQL() {
+        switch (statement) {
+            case "IN_LIST":
+                return generateInListSQL();
+            case "WIDE_SELECT":
+                return generateWideSelectSQL();
+            case "CASE_WHEN":
+                return generateCaseWhenSQL();
+            default:
+                return generateInsertValuesSQL();
+        }
+    }
+
+    private String generateInListSQL() {
+        StringJoiner values = new StringJoiner(",", "(", ")");
+        for (int i = 0; i < times; i++) {
+            values.add(isRightSql ? String.valueOf(i) : "K" + i);
+        }
+        return "SELECT * FROM t0 WHERE v1 IN " + values + " AND v2 NOT IN (1, 2, 3);";
+    }
+
+    private String generateWideSelectSQL() {
+        StringJoiner columns = new StringJoiner(", ");
+        for (int i = 0; i < times; i++) {
+            columns.add("sum(c" + i + ") AS " + (isRightSql ? "s" : "K.") + i);
+        }
+        return "SELECT k1, " + columns + " FROM t0 JOIN t1 ON t0.k1 = t1.k1 GROUP BY k1 ORDER BY k1 LIMIT 10;";
+    }
+
+    private String generateCaseWhenSQL() {
+        StringBuilder caseWhen = new StringBuilder("CASE");
+        for (int i = 0; i < times; i++) {
+            caseWhen.append(" WHEN v1 = ").append(i).append(" THEN '").append(i).append("'");
+        }
+        caseWhen.append(isRightSql ? " ELSE 'other' END" : " ELSE 'other'");
+        return "SELECT " + caseWhen + " FROM t0;";
+    }
+
+    private String generateInsertValuesSQL() {
         List<String> wrongValues = Lists.newArrayList("K0.14044384266968246155471433667116798460483551025390625",
                 "-1869445626", "K0.17698452552099786", "K127", "k-366217216");
         List<String> rightValues = Lists.newArrayList("0.14044384266968246155471433667116798460483551025390625",
@@ -117,4 +164,15 @@ public class ParserBench {
                 .visitSingleStatement(sqlStatements.singleStatement(0));
     }
 
+    private StatementBase parseSqlWithSqlParser(String sql) {
+        SessionVariable sessionVariable = new SessionVariable();
+        sessionVariable.setParseTokensLimit(isLimit ? 100000000 : Integer.MAX_VALUE);
+        try {
+            return SqlParser.parse(sql, sessionVariable).get(0);
+        } catch (ParsingException e) {
+            // the wrong sql is expected to fail
+            return null;
+        }
+    }
+
 }
@@ -20,6 +20,7 @@ import com.starrocks.analysis.CompoundPredicate;
 import com.starrocks.analysis.Expr;
 import com.starrocks.analysis.FunctionCallExpr;
 import com.starrocks.analysis.JoinOperator;
+import com.starrocks.common.Config;
 import com.starrocks.common.Pair;
 import com.starrocks.qe.SessionVariable;
 import com.starrocks.qe.SqlModeHelper;
@@ -37,6 +38,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.List;
+import java.util.StringJoiner;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
@@ -106,6 +108,33 @@ class ParserTest {
         }
     }
 
+    @Test
+    void testParseLargeSqlWithDFACacheLimit() {
+        int maxStates = Config.sql_parser_dfa_cache_max_states;
+        Config.sql_parser_dfa_cache_max_states = 1;
+        try {
+            StringJoiner values = new StringJoiner(",", "(", ")");
+            for (int i = 0; i < 5000; i++) {
+                values.add(String.valueOf(i));
+            }
+            SessionVariable sessionVariable = new SessionVariable();
+            // the DFA cache is cleared after each large sql, the following parse still works
+            for (int i = 0; i < 2; i++) {
+                QueryStatement stmt = (QueryStatement) SqlParser.parse(
+                        "select * from t0 where v1 in " + values + " and v2 = 1", sessionVariable).get(0);
+                Assert.assertNotNull(stmt.getQueryRelation());
+            }
+            try {
+                SqlParser.parse("select * from t0 where v1 in " + values + " and", sessionVariable);
+                fail("sql should fail to parse.");
+            } catch (ParsingException e) {
+                assertContains(e.getMessage(), "Getting syntax error");
+            }
+        } finally {
+            Config.sql_parser_dfa_cache_max_states = maxStates;
+        }
+    }
+
     @Test
     void testInvalidDbName() {
         String sql = "use a.b.c";
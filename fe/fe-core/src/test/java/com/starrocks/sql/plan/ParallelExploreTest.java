@@ -0,0 +1,81 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.plan;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelExploreTest extends PlanTestBase {
+
+    @Before
+    public void before() {
+        connectContext.getSessionVariable().setEnableOptimizerParallelExplore(true);
+    }
+
+    @After
+    public void after() {
+        connectContext.getSessionVariable().setEnableOptimizerParallelExplore(false);
+    }
+
+    @Test
+    public void testMultiJoin() throws Exception {
+        String sql = "select * from t0 join t1 on t0.v1 = t1.v4 join t2 on t1.v5 = t2.v7 " +
+                "join t3 on t2.v8 = t3.v10 where t0.v2 > 1";
+        String plan = getFragmentPlan(sql);
+        Assert.assertEquals(plan, 3, countOf(plan, "HASH JOIN"));
+        assertContains(plan, "TABLE: t0", "TABLE: t1", "TABLE: t2", "TABLE: t3");
+    }
+
+    @Test
+    public void testSameJoinCountAsSerial() throws Exception {
+        String sql = "select t0.v1, sum(t3.v12) from t0 join t1 on t0.v1 = t1.v4 " +
+                "left join t2 on t1.v5 = t2.v7 join t3 on t0.v3 = t3.v10 group by t0.v1";
+        String parallelPlan = getFragmentPlan(sql);
+
+        connectContext.getSessionVariable().setEnableOptimizerParallelExplore(false);
+        String serialPlan = getFragmentPlan(sql);
+        Assert.assertEquals(countOf(serialPlan, "HASH JOIN"), countOf(parallelPlan, "HASH JOIN"));
+        Assert.assertEquals(countOf(serialPlan, "AGGREGATE"), countOf(parallelPlan, "AGGREGATE"));
+    }
+
+    @Test
+    public void testSamePlanAcrossRuns() throws Exception {
+        String sql = "select t0.v1, count(t1.v5) from t0 join t1 on t0.v1 = t1.v4 where t1.v6 > 1 group by t0.v1";
+        connectContext.getSessionVariable().setEnableOptimizerParallelExplore(false);
+        String serialPlan = normalizeColumnIds(getFragmentPlan(sql));
+
+        // the column ids are not deterministic in parallel explore, but the plans are the same except them
+        connectContext.getSessionVariable().setEnableOptimizerParallelExplore(true);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(serialPlan, normalizeColumnIds(getFragmentPlan(sql)));
+        }
+    }
+
+    private static String normalizeColumnIds(String plan) {
+        return plan.replaceAll("\\b\\d+: ", "?: ").replaceAll("<slot \\d+>", "<slot ?>");
+    }
+
+    private static int countOf(String plan, String pattern) {
+        int count = 0;
+        int index = plan.indexOf(pattern);
+        while (index >= 0) {
+            count++;
+            index = plan.indexOf(pattern, index + pattern.length());
+        }
+        return count;
+    }
+}
@@ -0,0 +1,178 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.plan;
+
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
+import com.starrocks.common.FeConstants;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.qe.SessionVariable;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.sql.PlanCache;
+import com.starrocks.utframe.UtFrameUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class PlanCacheTest extends PlanTestBase {
+
+    @Before
+    public void before() {
+        PlanCache.getInstance().invalidateAll();
+        connectContext.getSessionVariable().setEnablePlanCache(true);
+    }
+
+    @After
+    public void after() {
+        connectContext.getSessionVariable().setEnablePlanCache(false);
+        PlanCache.getInstance().invalidateAll();
+    }
+
+    @Test
+    public void testReuseCachedPlan() throws Exception {
+        String sql = "select v1, sum(v3) from t0 where v2 = 1 group by v1";
+        String plan = getFragmentPlan(sql);
+        Assert.assertEquals(1, PlanCache.getInstance().size());
+
+        String cachedPlan = getFragmentPlan(sql);
+        Assert.assertEquals(1, PlanCache.getInstance().size());
+        Assert.assertEquals(plan, cachedPlan);
+
+        // different constants are different plans
+        String otherPlan = getFragmentPlan("select v1, sum(v3) from t0 where v2 = 2 group by v1");
+        Assert.assertEquals(2, PlanCache.getInstance().size());
+        assertContains(otherPlan, "2: v2 = 2");
+    }
+
+    @Test
+    public void testSessionVariableChanged() throws Exception {
+        String sql = "select * from t0 join t1 on t0.v1 = t1.v4";
+        getFragmentPlan(sql);
+        connectContext.getSessionVariable().setNewPlanerAggStage(2);
+        try {
+            getFragmentPlan(sql);
+            Assert.assertEquals(2, PlanCache.getInstance().size());
+        } finally {
+            connectContext.getSessionVariable().setNewPlanerAggStage(0);
+        }
+    }
+
+    @Test
+    public void testUncacheableQuery() throws Exception {
+        getFragmentPlan("select * from t0 where v1 < unix_timestamp(now())");
+        getFragmentPlan("select database(), v1 from t0");
+        Assert.assertEquals(0, PlanCache.getInstance().size());
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        String sql = "select v4 from t1 where v5 > 10";
+        getFragmentPlan(sql);
+        Assert.assertEquals(1, PlanCache.getInstance().size());
+
+        OlapTable t1 = (OlapTable) GlobalStateMgr.getCurrentState().getDb("test").getTable("t1");
+        // statistics of t1 changed
+        PlanCache.getInstance().invalidateTable(t1.getId());
+        Assert.assertEquals(0, PlanCache.getInstance().size());
+
+        getFragmentPlan(sql);
+        long lastSchemaUpdateTime = t1.lastSchemaUpdateTime.get();
+        t1.lastSchemaUpdateTime.set(System.currentTimeMillis());
+        try {
+            // schema changed, the cached plan is invalid and replaced
+            String plan = getFragmentPlan(sql);
+            assertContains(plan, "TABLE: t1");
+            Assert.assertEquals(1, PlanCache.getInstance().size());
+        } finally {
+            t1.lastSchemaUpdateTime.set(lastSchemaUpdateTime);
+        }
+    }
+
+    @Test
+    public void testLoadIntoEmptyPartition() throws Exception {
+        String sql = "select count(*) from lineitem_partition where L_SHIPDATE >= '1993-01-01'";
+        OlapTable table = (OlapTable) GlobalStateMgr.getCurrentState().getDb("test").getTable("lineitem_partition");
+        Partition partition = table.getPartition("p1993");
+        long visibleVersion = partition.getVisibleVersion();
+        long visibleVersionTime = partition.getVisibleVersionTime();
+        // the empty partitions are only pruned out of unit test mode
+        FeConstants.runningUnitTest = false;
+        try {
+            assertContains(getFragmentPlan(sql), "partitions=0/7");
+            Assert.assertEquals(1, PlanCache.getInstance().size());
+
+            // the partition is loaded between two runs, the plan which pruned it can't be reused
+            partition.setVisibleVersion(visibleVersion + 1, System.currentTimeMillis());
+            assertContains(getFragmentPlan(sql), "partitions=1/7");
+            Assert.assertEquals(1, PlanCache.getInstance().size());
+        } finally {
+            partition.setVisibleVersion(visibleVersion, visibleVersionTime);
+            FeConstants.runningUnitTest = true;
+        }
+    }
+
+    @Test
+    public void testScanWithLimit() throws Exception {
+        // the tablets are pruned by the row counts, the plan isn't cached
+        getFragmentPlan("select * from t0 limit 10");
+        Assert.assertEquals(0, PlanCache.getInstance().size());
+    }
+
+    @Test
+    public void testConcurrentHitsOnMergeJoin() throws Exception {
+        String sql = "select a.v1, b.v2 from t0 a join t0 b on a.v3 = b.v3";
+        connectContext.getSessionVariable().setJoinImplementationMode("merge");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            String expectedPlan = getFragmentPlan(sql);
+            assertContains(expectedPlan, "MERGE JOIN");
+            Assert.assertEquals(1, PlanCache.getInstance().size());
+
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                SessionVariable sessionVariable = (SessionVariable) connectContext.getSessionVariable().clone();
+                String database = connectContext.getDatabase();
+                futures.add(executor.submit(() -> {
+                    ConnectContext ctx = UtFrameUtils.createDefaultCtx();
+                    ctx.setSessionVariable(sessionVariable);
+                    ctx.setDatabase(database);
+                    // every hit builds the fragments from its own copy of the cached plan
+                    for (int j = 0; j < 50; j++) {
+                        String plan = UtFrameUtils.getFragmentPlan(ctx, sql);
+                        if (!expectedPlan.equals(plan)) {
+                            return plan;
+                        }
+                    }
+                    return expectedPlan;
+                }));
+            }
+            for (Future<String> future : futures) {
+                Assert.assertEquals(expectedPlan, future.get());
+            }
+            Assert.assertEquals(1, PlanCache.getInstance().size());
+        } finally {
+            executor.shutdownNow();
+            connectContext.getSessionVariable().setJoinImplementationMode("auto");
+            connectContext.setThreadLocalInfo();
+        }
+    }
+}
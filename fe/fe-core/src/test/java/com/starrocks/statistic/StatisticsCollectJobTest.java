@@ -23,6 +23,7 @@ import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Table;
 import com.starrocks.common.Config;
 import com.starrocks.common.jmockit.Deencapsulation;
+import com.starrocks.qe.ConnectContext;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.plan.PlanTestNoneDBBase;
 import com.starrocks.utframe.UtFrameUtils;
@@ -757,4 +758,125 @@ public class StatisticsCollectJobTest extends PlanTestNoneDBBase {
         }
     }
 
+    @Test
+    public void testAnalyzeOnLoad() {
+        Database db = GlobalStateMgr.getCurrentState().getDb("test");
+        OlapTable table = (OlapTable) db.getTable("t0_stats_partition");
+        List<Long> loadedPartitionIds = table.getPartitions().stream().filter(Partition::hasData)
+                .map(Partition::getId).collect(Collectors.toList());
+        Assert.assertEquals(1, loadedPartitionIds.size());
+        AnalyzeJob allDbJob = new AnalyzeJob(StatsConstants.DEFAULT_ALL_ID, StatsConstants.DEFAULT_ALL_ID, null,
+                StatsConstants.AnalyzeType.FULL, StatsConstants.ScheduleType.SCHEDULE, Maps.newHashMap(),
+                StatsConstants.ScheduleStatus.PENDING, LocalDateTime.MIN);
+
+        // no statistics, collect the partitions with data
+        StatisticsCollectJob job = StatisticsCollectJobFactory.buildStatisticsCollectJobOnLoad(allDbJob, db, table);
+        Assert.assertTrue(job instanceof FullStatisticsCollectJob);
+        Assert.assertEquals(loadedPartitionIds, Deencapsulation.getField(job, "partitionIdList"));
+        Assert.assertEquals("[v1, v2, v3, v4, v5]", job.getColumns().toString());
+
+        // only collect the partitions updated after the last collection, with the columns of the table job
+        BasicStatsMeta fullMeta = new BasicStatsMeta(db.getId(), table.getId(), null,
+                StatsConstants.AnalyzeType.FULL, LocalDateTime.MIN, Maps.newHashMap());
+        GlobalStateMgr.getCurrentAnalyzeMgr().addBasicStatsMeta(fullMeta);
+        AnalyzeJob tableJob = new AnalyzeJob(db.getId(), table.getId(), Lists.newArrayList("v1", "v2"),
+                StatsConstants.AnalyzeType.FULL, StatsConstants.ScheduleType.SCHEDULE,
+                ImmutableMap.of(StatsConstants.STATISTIC_AUTO_COLLECT_RATIO, "0.5"),
+                StatsConstants.ScheduleStatus.PENDING, LocalDateTime.MIN);
+        job = StatisticsCollectJobFactory.buildStatisticsCollectJobOnLoad(tableJob, db, table);
+        Assert.assertEquals(loadedPartitionIds, Deencapsulation.getField(job, "partitionIdList"));
+        Assert.assertEquals("[v1, v2]", job.getColumns().toString());
+        Assert.assertEquals(tableJob.getProperties(), job.getProperties());
+
+        GlobalStateMgr.getCurrentAnalyzeMgr().addBasicStatsMeta(new BasicStatsMeta(db.getId(), table.getId(), null,
+                StatsConstants.AnalyzeType.FULL, LocalDateTime.now().plusHours(1), Maps.newHashMap()));
+        Assert.assertNull(StatisticsCollectJobFactory.buildStatisticsCollectJobOnLoad(allDbJob, db, table));
+
+        // sample statistics are not partitioned
+        GlobalStateMgr.getCurrentAnalyzeMgr().addBasicStatsMeta(new BasicStatsMeta(db.getId(), table.getId(), null,
+                StatsConstants.AnalyzeType.SAMPLE, LocalDateTime.MIN, Maps.newHashMap()));
+        Assert.assertNull(StatisticsCollectJobFactory.buildStatisticsCollectJobOnLoad(allDbJob, db, table));
+
+        // too large
+        GlobalStateMgr.getCurrentAnalyzeMgr().addBasicStatsMeta(fullMeta);
+        long maxDataSize = Config.statistic_collect_on_load_max_data_size;
+        Config.statistic_collect_on_load_max_data_size = -1;
+        try {
+            Assert.assertNull(StatisticsCollectJobFactory.buildStatisticsCollectJobOnLoad(allDbJob, db, table));
+        } finally {
+            Config.statistic_collect_on_load_max_data_size = maxDataSize;
+        }
+    }
+
+    @Test
+    public void testCollectOnLoadGating() {
+        Database db = GlobalStateMgr.getCurrentState().getDb("test");
+        OlapTable table = (OlapTable) db.getTable("t0_stats_partition");
+        List<StatisticsCollectJob> collectedJobs = new ArrayList<>();
+        new MockUp<StatisticExecutor>() {
+            @Mock
+            public AnalyzeStatus collectStatistics(ConnectContext statsConnectCtx, StatisticsCollectJob statsJob,
+                                                   AnalyzeStatus analyzeStatus, boolean refreshAsync) {
+                collectedJobs.add(statsJob);
+                return analyzeStatus;
+            }
+        };
+        AnalyzeManager analyzeManager = GlobalStateMgr.getCurrentAnalyzeMgr();
+        Map<Long, Long> loadedTables = Deencapsulation.getField(analyzeManager, "loadedTables");
+        StatisticAutoCollector collector = new StatisticAutoCollector();
+
+        boolean enableCollectOnLoad = Config.enable_statistic_collect_on_load;
+        boolean enableCollectFull = Config.enable_collect_full_statistic;
+        List<AnalyzeJob> jobs = new ArrayList<>();
+        try {
+            Config.enable_statistic_collect_on_load = true;
+            Config.enable_collect_full_statistic = true;
+            // no auto analyze job covers the table
+            AnalyzeJob otherDbJob = new AnalyzeJob(db.getId() + 1000, StatsConstants.DEFAULT_ALL_ID, null,
+                    StatsConstants.AnalyzeType.FULL, StatsConstants.ScheduleType.SCHEDULE, Maps.newHashMap(),
+                    StatsConstants.ScheduleStatus.PENDING, LocalDateTime.MIN);
+            AnalyzeJob onceJob = new AnalyzeJob(db.getId(), table.getId(), null,
+                    StatsConstants.AnalyzeType.FULL, StatsConstants.ScheduleType.ONCE, Maps.newHashMap(),
+                    StatsConstants.ScheduleStatus.PENDING, LocalDateTime.MIN);
+            jobs.add(otherDbJob);
+            jobs.add(onceJob);
+            jobs.forEach(analyzeManager::addAnalyzeJob);
+            loadedTables.put(table.getId(), db.getId());
+            collector.collectStatisticsOnLoad();
+            Assert.assertTrue(collectedJobs.isEmpty());
+            Assert.assertTrue(loadedTables.isEmpty());
+
+            // the job of the database covers the table
+            AnalyzeJob dbJob = new AnalyzeJob(db.getId(), StatsConstants.DEFAULT_ALL_ID, null,
+                    StatsConstants.AnalyzeType.FULL, StatsConstants.ScheduleType.SCHEDULE,
+                    ImmutableMap.of(StatsConstants.STATISTIC_AUTO_COLLECT_RATIO, "0.5"),
+                    StatsConstants.ScheduleStatus.PENDING, LocalDateTime.MIN);
+            jobs.add(dbJob);
+            analyzeManager.addAnalyzeJob(dbJob);
+            loadedTables.put(table.getId(), db.getId());
+            collector.collectStatisticsOnLoad();
+            Assert.assertEquals(1, collectedJobs.size());
+            Assert.assertEquals(table.getId(), collectedJobs.get(0).getTable().getId());
+            Assert.assertEquals(dbJob.getProperties(), collectedJobs.get(0).getProperties());
+
+            // full statistics are not auto collected
+            collectedJobs.clear();
+            Config.enable_collect_full_statistic = false;
+            loadedTables.put(table.getId(), db.getId());
+            collector.collectStatisticsOnLoad();
+            Assert.assertTrue(collectedJobs.isEmpty());
+
+            // disabled
+            Config.enable_collect_full_statistic = true;
+            Config.enable_statistic_collect_on_load = false;
+            loadedTables.put(table.getId(), db.getId());
+            collector.collectStatisticsOnLoad();
+            Assert.assertTrue(collectedJobs.isEmpty());
+        } finally {
+            Config.enable_statistic_collect_on_load = enableCollectOnLoad;
+            Config.enable_collect_full_statistic = enableCollectFull;
+            jobs.forEach(job -> analyzeManager.removeAnalyzeJob(job.getId()));
+            loadedTables.clear();
+        }
+    }
 }
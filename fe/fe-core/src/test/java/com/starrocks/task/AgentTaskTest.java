@@ -246,6 +246,43 @@ public class AgentTaskTest {
         Assert.assertEquals(0, AgentTaskQueue.getTaskNum());
     }
 
+    @Test
+    public void agentTaskQueueConcurrentTest() throws Exception {
+        AgentTaskQueue.clearAllTasks();
+        int numThreads = 4;
+        int tasksPerThread = 1000;
+        List<Thread> threads = Lists.newArrayList();
+        for (int t = 0; t < numThreads; t++) {
+            long backendId = t % 2 == 0 ? backendId1 : backendId2;
+            long base = (long) t * tasksPerThread;
+            threads.add(new Thread(() -> {
+                for (long tabletId = base; tabletId < base + tasksPerThread; tabletId++) {
+                    AgentTaskQueue.addTask(new DropReplicaTask(backendId, tabletId, schemaHash1, false));
+                    AgentTaskQueue.getDiffTasks(backendId, new HashMap<>());
+                    // remove half of them
+                    if (tabletId % 2 == 0) {
+                        AgentTaskQueue.removeTask(backendId, TTaskType.DROP, tabletId);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(numThreads * tasksPerThread / 2, AgentTaskQueue.getTaskNum());
+        Assert.assertEquals(Integer.valueOf(numThreads * tasksPerThread / 4),
+                AgentTaskQueue.getTaskNumByBackendAndType().get(backendId1, TTaskType.DROP));
+        Assert.assertNull(AgentTaskQueue.getTaskNumByBackendAndType().get(backendId1, TTaskType.CREATE));
+
+        AgentTaskQueue.removeReplicaRelatedTasks(backendId2, tasksPerThread + 1);
+        AgentTaskQueue.removeTaskOfType(TTaskType.DROP, 1);
+        Assert.assertEquals(numThreads * tasksPerThread / 2 - 2, AgentTaskQueue.getTaskNum());
+        Assert.assertEquals(numThreads * tasksPerThread / 2 - 2, AgentTaskQueue.getTaskNum(-1, TTaskType.DROP, false));
+        AgentTaskQueue.clearAllTasks();
+    }
+
     @Test
     public void failedAgentTaskTest() {
         AgentTaskQueue.clearAllTasks();
@@ -0,0 +1,89 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.transaction;
+
+import com.google.common.collect.Lists;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.transaction.TransactionState.LoadJobSourceType;
+import com.starrocks.transaction.TransactionState.TxnCoordinator;
+import com.starrocks.transaction.TransactionState.TxnSourceType;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class PublishVersionDaemonTest {
+
+    private static TransactionState newTransaction(long dbId, long txnId) {
+        TransactionState transactionState = new TransactionState(dbId, new ArrayList<>(), txnId, "label_" + txnId,
+                null, LoadJobSourceType.FRONTEND, new TxnCoordinator(TxnSourceType.FE, "127.0.0.1"), -1, 60000);
+        // the publish tasks have been sent
+        transactionState.setHasSendTask(true);
+        return transactionState;
+    }
+
+    @Test
+    public void testFinishDatabasesInParallel() throws Exception {
+        CountDownLatch db2Finished = new CountDownLatch(1);
+        AtomicBoolean db2FinishedFirst = new AtomicBoolean(false);
+        List<Long> db1FinishOrder = Collections.synchronizedList(new ArrayList<>());
+        new MockUp<GlobalStateMgr>() {
+            @Mock
+            public GlobalTransactionMgr getCurrentGlobalTransactionMgr() {
+                return null;
+            }
+        };
+        new MockUp<PublishVersionDaemon>() {
+            @Mock
+            void finishOlapTransaction(GlobalTransactionMgr globalTransactionMgr, TransactionState transactionState)
+                    throws Exception {
+                if (transactionState.getDbId() == 2) {
+                    db2Finished.countDown();
+                    return;
+                }
+                if (transactionState.getTransactionId() == 1) {
+                    // db 2 isn't blocked by the first transaction of db 1
+                    db2FinishedFirst.set(db2Finished.await(10, TimeUnit.SECONDS));
+                } else if (transactionState.getTransactionId() == 4) {
+                    throw new RuntimeException("finish failed");
+                }
+                db1FinishOrder.add(transactionState.getTransactionId());
+            }
+        };
+
+        PublishVersionDaemon daemon = new PublishVersionDaemon();
+        daemon.publishVersionForOlapTable(Lists.newArrayList(newTransaction(1, 1), newTransaction(1, 2),
+                newTransaction(2, 3), newTransaction(1, 4)));
+
+        long deadline = System.currentTimeMillis() + 20000;
+        while (System.currentTimeMillis() < deadline && (daemon.isFinishingOlapTransaction(1) ||
+                daemon.isFinishingOlapTransaction(2) || daemon.isFinishingOlapTransaction(3) ||
+                daemon.isFinishingOlapTransaction(4))) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(db2FinishedFirst.get());
+        // the transactions of a database are finished in order
+        Assert.assertEquals(Lists.newArrayList(1L, 2L), db1FinishOrder);
+        // the failed transaction is retried in the next round
+        Assert.assertFalse(daemon.isFinishingOlapTransaction(4));
+    }
+}
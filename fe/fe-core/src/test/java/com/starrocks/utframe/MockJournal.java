@@ -20,6 +20,7 @@ import com.google.common.collect.Maps;
 import com.starrocks.common.io.DataOutputBuffer;
 import com.starrocks.ha.HAProtocol;
 import com.starrocks.journal.Journal;
+import com.starrocks.journal.JournalBatch;
 import com.starrocks.journal.JournalCursor;
 import com.starrocks.journal.JournalEntity;
 import com.starrocks.journal.JournalException;
@@ -115,6 +116,24 @@ public class MockJournal implements Journal {
         staggingEntityMap.clear();
     }
 
+    @Override
+    public JournalBatch batchWriteDetach() throws InterruptedException, JournalException {
+        Map<Long, JournalEntity> detached = staggingEntityMap;
+        staggingEntityMap = new HashedMap();
+        return new JournalBatch() {
+            @Override
+            public void commit() {
+                values.putAll(detached);
+                nextJournalId.addAndGet(detached.size());
+            }
+
+            @Override
+            public void abort() {
+                detached.clear();
+            }
+        };
+    }
+
     @Override
     public String getPrefix() {
         return "";
@@ -238,6 +238,8 @@ public class UtFrameUtils {
         try {
             ClientPool.heartbeatPool = new MockGenericPool.HeatBeatPool("heartbeat");
             ClientPool.backendPool = new MockGenericPool.BackendThriftPool("backend");
+            // the mocked backends only serve the blocking client pool
+            Config.enable_async_agent_task_rpc = false;
 
             startFEServer("fe/mocked/test/" + UUID.randomUUID().toString() + "/", startBDB);
 
@@ -27,6 +27,24 @@ public class BrokerConfig extends ConfigBase {
     
     @ConfField
     public static int hdfs_write_buffer_size_kb = 1024;
+
+    /**
+     * Number of chunks read ahead for each reader once it is read sequentially, 0 to disable read-ahead.
+     */
+    @ConfField
+    public static int hdfs_read_ahead_chunks = 4;
+
+    @ConfField
+    public static int hdfs_read_ahead_chunk_size_kb = 4096;
+
+    /**
+     * Memory of the read-ahead buffers shared by all readers, a reader reads on demand if they are exhausted.
+     */
+    @ConfField
+    public static int hdfs_read_ahead_buffer_pool_size_mb = 256;
+
+    @ConfField
+    public static int hdfs_read_ahead_threads = 16;
     
     @ConfField
     public static int client_expire_seconds = 300;
@@ -21,7 +21,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
-import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.log4j.Logger;
 
@@ -65,18 +64,18 @@ public class ClientContextManager {
         fdToClientMap.putIfAbsent(fd, clientId);
     }
     
-    public synchronized void putNewInputStream(String clientId, TBrokerFD fd, FSDataInputStream fsDataInputStream, 
+    public synchronized void putNewInputStream(String clientId, TBrokerFD fd, ReadAheadInputStream inputStream,
             BrokerFileSystem brokerFileSystem) {
         if (!clientContexts.containsKey(clientId)) {
             clientContexts.putIfAbsent(clientId, new ClientResourceContext(clientId));
         }
         ClientResourceContext clientContext = clientContexts.get(clientId);
         clientContext.updateClientLastPingTime();
-        clientContext.putInputStream(fd, fsDataInputStream, brokerFileSystem);
+        clientContext.putInputStream(fd, inputStream, brokerFileSystem);
         fdToClientMap.putIfAbsent(fd, clientId);
     }
     
-    public synchronized FSDataInputStream getFsDataInputStream(TBrokerFD fd) {
+    public synchronized ReadAheadInputStream getInputStream(TBrokerFD fd) {
         String clientId = fdToClientMap.get(fd);
         if (clientId == null) {
             throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR, 
@@ -84,8 +83,7 @@ public class ClientContextManager {
         }
         ClientResourceContext clientContext = clientContexts.get(clientId);
         clientContext.updateClientLastPingTime();
-        FSDataInputStream fsDataInputStream = clientContext.getInputStream(fd);
-        return fsDataInputStream;
+        return clientContext.getInputStream(fd);
     }
     
     public synchronized FSDataOutputStream getFsDataOutputStream(TBrokerFD fd) {
@@ -179,16 +177,16 @@ public class ClientContextManager {
     
     private static class BrokerInputStream {
         
-        private final FSDataInputStream inputStream;
+        private final ReadAheadInputStream inputStream;
         private final BrokerFileSystem brokerFileSystem;
         
-        public BrokerInputStream(FSDataInputStream inputStream, BrokerFileSystem brokerFileSystem) {
+        public BrokerInputStream(ReadAheadInputStream inputStream, BrokerFileSystem brokerFileSystem) {
             this.inputStream = inputStream;
             this.brokerFileSystem = brokerFileSystem;
             this.brokerFileSystem.updateLastUpdateAccessTime();
         }
         
-        public FSDataInputStream getInputStream() {
+        public ReadAheadInputStream getInputStream() {
             this.brokerFileSystem.updateLastUpdateAccessTime();
             return inputStream;
         }
@@ -212,7 +210,7 @@ public class ClientContextManager {
             this.lastPingTimestamp = System.currentTimeMillis();
         }
         
-        public void putInputStream(TBrokerFD fd, FSDataInputStream inputStream, BrokerFileSystem fileSystem) {
+        public void putInputStream(TBrokerFD fd, ReadAheadInputStream inputStream, BrokerFileSystem fileSystem) {
             inputStreams.putIfAbsent(fd, new BrokerInputStream(inputStream, fileSystem));
         }
         
@@ -220,7 +218,7 @@ public class ClientContextManager {
             outputStreams.putIfAbsent(fd, new BrokerOutputStream(outputStream, fileSystem));
         }
         
-        public FSDataInputStream getInputStream(TBrokerFD fd) {
+        public ReadAheadInputStream getInputStream(TBrokerFD fd) {
             BrokerInputStream brokerInputStream = inputStreams.get(fd);
             if (brokerInputStream != null) {
                 return brokerInputStream.getInputStream();
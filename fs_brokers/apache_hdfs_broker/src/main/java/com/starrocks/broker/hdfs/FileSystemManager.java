@@ -42,6 +42,7 @@ import com.starrocks.thrift.TBrokerFileStatus;
 import com.starrocks.thrift.TBrokerOperationStatusCode;
 
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.CommonConfigurationKeysPublic;
@@ -73,6 +74,7 @@ import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -166,6 +168,12 @@ public class FileSystemManager {
     private static final String FS_TOS_IMPL = "fs.tos.impl";
 
     private ScheduledExecutorService handleManagementPool = Executors.newScheduledThreadPool(2);
+    // read ahead the files which are read sequentially, shared by all readers
+    private ExecutorService readAheadPool = Executors.newFixedThreadPool(BrokerConfig.hdfs_read_ahead_threads,
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("read-ahead-%d").build());
+    private ReadAheadInputStream.BufferPool readAheadBufferPool = new ReadAheadInputStream.BufferPool(
+            BrokerConfig.hdfs_read_ahead_chunk_size_kb << 10,
+            (BrokerConfig.hdfs_read_ahead_buffer_pool_size_mb << 10) / BrokerConfig.hdfs_read_ahead_chunk_size_kb);
 
     private int readBufferSize = 128 << 10; // 128k
     private int writeBufferSize = 128 << 10; // 128k
@@ -959,10 +967,11 @@ public class FileSystemManager {
         BrokerFileSystem fileSystem = getFileSystem(path, properties);
         try {
             FSDataInputStream fsDataInputStream = fileSystem.getDFSFileSystem().open(inputFilePath, readBufferSize);
-            fsDataInputStream.seek(startOffset);
+            ReadAheadInputStream inputStream = new ReadAheadInputStream(fsDataInputStream, startOffset,
+                    readAheadPool, readAheadBufferPool, BrokerConfig.hdfs_read_ahead_chunks);
             UUID uuid = UUID.randomUUID();
             TBrokerFD fd = parseUUIDToFD(uuid);
-            clientContextManager.putNewInputStream(clientId, fd, fsDataInputStream, fileSystem);
+            clientContextManager.putNewInputStream(clientId, fd, inputStream, fileSystem);
             return fd;
         } catch (IOException e) {
             logger.error("errors while open path", e);
@@ -972,51 +981,19 @@ public class FileSystemManager {
     }
 
     public ByteBuffer pread(TBrokerFD fd, long offset, long length) {
-        FSDataInputStream fsDataInputStream = clientContextManager.getFsDataInputStream(fd);
-        synchronized (fsDataInputStream) {
-            long currentStreamOffset;
-            try {
-                currentStreamOffset = fsDataInputStream.getPos();
-            } catch (IOException e) {
-                logger.error("errors while get file pos from output stream", e);
-                throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
-                        "errors while get file pos from output stream");
-            }
-            if (currentStreamOffset != offset) {
-                // it's ok, when reading some format like parquet, it is not a sequential read
-                logger.debug("invalid offset, current read offset is "
-                        + currentStreamOffset + " is not equal to request offset "
-                        + offset + " seek to it");
-                try {
-                    fsDataInputStream.seek(offset);
-                } catch (IOException e) {
-                    throw new BrokerException(TBrokerOperationStatusCode.INVALID_INPUT_OFFSET,
-                            e, "current read offset {} is not equal to {}, and could not seek to it",
-                            currentStreamOffset, offset);
-                }
-            }
-            byte[] buf;
-            if (length > readBufferSize) {
-                buf = new byte[readBufferSize];
-            } else {
-                buf = new byte[(int) length];
-            }
-            try {
-                int readLength = readByteArrayFully(fsDataInputStream, buf);
-                if (readLength < 0) {
-                    throw new BrokerException(TBrokerOperationStatusCode.END_OF_FILE,
-                            "end of file reached");
-                }
-                if (logger.isDebugEnabled()) {
-                    logger.debug(
-                            "read buffer from input stream, buffer size:" + buf.length + ", read length:" + readLength);
-                }
-                return ByteBuffer.wrap(buf, 0, readLength);
-            } catch (IOException e) {
-                logger.error("errors while read data from stream", e);
-                throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
-                        e, "errors while read data from stream");
+        ReadAheadInputStream inputStream = clientContextManager.getInputStream(fd);
+        int readLength = (int) Math.min(length, readBufferSize);
+        try {
+            ByteBuffer buf = inputStream.read(offset, readLength);
+            if (logger.isDebugEnabled()) {
+                logger.debug("read buffer from input stream, offset:" + offset + ", buffer size:" + readLength
+                        + ", read length:" + buf.remaining());
             }
+            return buf;
+        } catch (IOException e) {
+            logger.error("errors while read data from stream", e);
+            throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
+                    e, "errors while read data from stream");
         }
     }
 
@@ -1026,17 +1003,15 @@ public class FileSystemManager {
     }
 
     public void closeReader(TBrokerFD fd) {
-        FSDataInputStream fsDataInputStream = clientContextManager.getFsDataInputStream(fd);
-        synchronized (fsDataInputStream) {
-            try {
-                fsDataInputStream.close();
-            } catch (IOException e) {
-                logger.error("errors while close file input stream", e);
-                throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
-                        e, "errors while close file input stream");
-            } finally {
-                clientContextManager.removeInputStream(fd);
-            }
+        ReadAheadInputStream inputStream = clientContextManager.getInputStream(fd);
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            logger.error("errors while close file input stream", e);
+            throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
+                    e, "errors while close file input stream");
+        } finally {
+            clientContextManager.removeInputStream(fd);
         }
     }
 
@@ -1101,18 +1076,6 @@ public class FileSystemManager {
         return new TBrokerFD(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
     }
 
-    private int readByteArrayFully(FSDataInputStream is, byte[] dest) throws IOException {
-        int readLength = 0;
-        while (readLength < dest.length) {
-            int n = is.read(dest, readLength, dest.length - readLength);
-            if (n <= 0) {
-                break;
-            }
-            readLength += n;
-        }
-        return readLength;
-    }
-
     class FileSystemExpirationChecker implements Runnable {
         @Override
         public void run() {
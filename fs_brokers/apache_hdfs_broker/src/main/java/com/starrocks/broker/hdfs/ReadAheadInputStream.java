@@ -0,0 +1,270 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.starrocks.broker.hdfs;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reader of a file opened by broker, which reads ahead the following chunks when the file is read sequentially.
+ *
+ * All reads are positional reads, the stream is never seeked. After SEQUENTIAL_READS_THRESHOLD continuous
+ * reads, the next chunks are read asynchronously into buffers borrowed from a bounded pool shared by all
+ * readers, so the following preads are served from memory while the remote storage is read in background.
+ * If the pool is exhausted, the reader just reads the data on demand. A random read drops all prefetched chunks.
+ */
+public class ReadAheadInputStream implements Closeable {
+    static final int SEQUENTIAL_READS_THRESHOLD = 2;
+
+    /**
+     * Buffers of fixed size for the prefetched chunks, at most maxBuffers are in use at the same time.
+     */
+    public static class BufferPool {
+        private final int chunkSize;
+        private final int maxBuffers;
+        private final ConcurrentLinkedQueue<byte[]> freeBuffers = new ConcurrentLinkedQueue<>();
+        // buffers allocated and not discarded
+        private final AtomicInteger numBuffers = new AtomicInteger(0);
+
+        public BufferPool(int chunkSize, int maxBuffers) {
+            this.chunkSize = chunkSize;
+            this.maxBuffers = maxBuffers;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        // return null if all buffers are in use
+        byte[] borrow() {
+            byte[] buffer = freeBuffers.poll();
+            if (buffer != null) {
+                return buffer;
+            }
+            if (numBuffers.incrementAndGet() > maxBuffers) {
+                numBuffers.decrementAndGet();
+                return null;
+            }
+            return new byte[chunkSize];
+        }
+
+        void giveBack(byte[] buffer) {
+            freeBuffers.offer(buffer);
+        }
+
+        // the buffer may be still written by a running read, it is left to GC
+        void discard() {
+            numBuffers.decrementAndGet();
+        }
+
+        int getNumFreeBuffers() {
+            return freeBuffers.size();
+        }
+
+        int getNumBuffers() {
+            return numBuffers.get();
+        }
+    }
+
+    private static class Chunk {
+        private final long offset;
+        private final byte[] buffer;
+        private final Future<Integer> future;
+
+        Chunk(long offset, byte[] buffer, Future<Integer> future) {
+            this.offset = offset;
+            this.buffer = buffer;
+            this.future = future;
+        }
+
+        // wait and return the number of bytes read into the chunk
+        int await() throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for read-ahead");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+        }
+    }
+
+    private final FSDataInputStream inputStream;
+    private final ExecutorService executor;
+    private final BufferPool bufferPool;
+    private final int maxChunks;
+
+    // the offset of the next read if the file is read sequentially
+    private long nextOffset;
+    private int sequentialReads = 0;
+    // end of the file, known once a read returns less than requested
+    private long endOffset = Long.MAX_VALUE;
+    // prefetched chunks, continuous and in the order of offset
+    private final Deque<Chunk> chunks = new ArrayDeque<>();
+    private boolean closed = false;
+
+    public ReadAheadInputStream(FSDataInputStream inputStream, long startOffset, ExecutorService executor,
+                                BufferPool bufferPool, int maxChunks) {
+        this.inputStream = inputStream;
+        this.nextOffset = startOffset;
+        this.executor = executor;
+        this.bufferPool = bufferPool;
+        this.maxChunks = maxChunks;
+    }
+
+    public FSDataInputStream getInputStream() {
+        return inputStream;
+    }
+
+    /**
+     * Read at most length bytes from offset, return an empty buffer at the end of file.
+     */
+    public synchronized ByteBuffer read(long offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("stream is closed");
+        }
+        if (offset == nextOffset) {
+            sequentialReads++;
+        } else {
+            // it's ok, when reading some format like parquet, it is not a sequential read
+            sequentialReads = 0;
+            releaseChunks();
+        }
+
+        byte[] buf = new byte[length];
+        int readLength = 0;
+        if (maxChunks > 0 && sequentialReads >= SEQUENTIAL_READS_THRESHOLD) {
+            try {
+                readLength = readFromChunks(offset, buf);
+            } catch (IOException e) {
+                releaseChunks();
+                throw e;
+            }
+            prefetch(offset + length);
+        }
+        if (readLength < length && offset + readLength < endOffset) {
+            int n = readFully(offset + readLength, buf, readLength, length - readLength);
+            if (n < length - readLength) {
+                endOffset = offset + readLength + n;
+            }
+            readLength += n;
+        }
+        nextOffset = offset + readLength;
+        return ByteBuffer.wrap(buf, 0, readLength);
+    }
+
+    private int readFromChunks(long offset, byte[] buf) throws IOException {
+        // drop the chunks before offset
+        int chunkSize = bufferPool.getChunkSize();
+        while (!chunks.isEmpty() && chunks.peekFirst().offset + chunkSize <= offset) {
+            release(chunks.pollFirst());
+        }
+        if (!chunks.isEmpty() && chunks.peekFirst().offset > offset) {
+            releaseChunks();
+        }
+        prefetch(offset);
+
+        int readLength = 0;
+        while (readLength < buf.length && !chunks.isEmpty()) {
+            Chunk chunk = chunks.peekFirst();
+            int valid = chunk.await();
+            if (valid < chunkSize) {
+                endOffset = Math.min(endOffset, chunk.offset + valid);
+            }
+            int start = (int) (offset + readLength - chunk.offset);
+            int n = Math.min(valid - start, buf.length - readLength);
+            if (n <= 0) {
+                break;
+            }
+            System.arraycopy(chunk.buffer, start, buf, readLength, n);
+            readLength += n;
+            if (start + n == chunkSize) {
+                release(chunks.pollFirst());
+            }
+        }
+        return readLength;
+    }
+
+    // read ahead the chunks from offset until there are maxChunks chunks or no buffer is available
+    private void prefetch(long offset) {
+        int chunkSize = bufferPool.getChunkSize();
+        long chunkOffset = chunks.isEmpty() ? offset : chunks.peekLast().offset + chunkSize;
+        while (chunks.size() < maxChunks && chunkOffset < endOffset) {
+            byte[] buffer = bufferPool.borrow();
+            if (buffer == null) {
+                return;
+            }
+            final long position = chunkOffset;
+            Future<Integer> future = executor.submit(() -> readFully(position, buffer, 0, buffer.length));
+            chunks.addLast(new Chunk(chunkOffset, buffer, future));
+            chunkOffset += chunkSize;
+        }
+    }
+
+    private int readFully(long position, byte[] buf, int off, int len) throws IOException {
+        int readLength = 0;
+        while (readLength < len) {
+            int n = inputStream.read(position + readLength, buf, off + readLength, len - readLength);
+            if (n <= 0) {
+                break;
+            }
+            readLength += n;
+        }
+        return readLength;
+    }
+
+    private void release(Chunk chunk) {
+        if (chunk.future.isDone()) {
+            bufferPool.giveBack(chunk.buffer);
+        } else {
+            chunk.future.cancel(false);
+            bufferPool.discard();
+        }
+    }
+
+    private void releaseChunks() {
+        while (!chunks.isEmpty()) {
+            release(chunks.pollFirst());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        releaseChunks();
+        inputStream.close();
+    }
+}
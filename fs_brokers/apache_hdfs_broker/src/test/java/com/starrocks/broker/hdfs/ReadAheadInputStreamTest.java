@@ -0,0 +1,114 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.starrocks.broker.hdfs;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ReadAheadInputStreamTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileSystem fs;
+    private Path path;
+    private byte[] data;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        fs = FileSystem.getLocal(new Configuration());
+        path = new Path(new File(folder.getRoot(), "data").getAbsolutePath());
+        data = new byte[100000];
+        new Random(0).nextBytes(data);
+        try (FSDataOutputStream out = fs.create(path)) {
+            out.write(data);
+        }
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    private void assertRead(ReadAheadInputStream in, long offset, int length) throws Exception {
+        ByteBuffer buf = in.read(offset, length);
+        int expectLength = (int) Math.max(0, Math.min(length, data.length - offset));
+        Assert.assertEquals(expectLength, buf.remaining());
+        for (int i = 0; i < expectLength; i++) {
+            Assert.assertEquals(data[(int) offset + i], buf.get(buf.position() + i));
+        }
+    }
+
+    @Test
+    public void testSequentialRead() throws Exception {
+        ReadAheadInputStream.BufferPool pool = new ReadAheadInputStream.BufferPool(4096, 8);
+        try (ReadAheadInputStream in = new ReadAheadInputStream(fs.open(path), 0, executor, pool, 4)) {
+            for (long offset = 0; offset < data.length; offset += 3000) {
+                assertRead(in, offset, 3000);
+            }
+            // end of file
+            assertRead(in, data.length, 3000);
+            Assert.assertTrue(pool.getNumBuffers() > 0);
+        }
+        Assert.assertEquals(pool.getNumBuffers(), pool.getNumFreeBuffers());
+    }
+
+    @Test
+    public void testRandomRead() throws Exception {
+        ReadAheadInputStream.BufferPool pool = new ReadAheadInputStream.BufferPool(4096, 8);
+        try (ReadAheadInputStream in = new ReadAheadInputStream(fs.open(path), 0, executor, pool, 4)) {
+            assertRead(in, 0, 5000);
+            assertRead(in, 5000, 5000);
+            assertRead(in, 10000, 5000);
+            // jump back, the prefetched chunks are dropped
+            assertRead(in, 100, 5000);
+            assertRead(in, 99000, 5000);
+            assertRead(in, 50000, 1);
+            assertRead(in, 50001, 10000);
+            assertRead(in, 60001, 10000);
+        }
+    }
+
+    @Test
+    public void testBufferPoolExhausted() throws Exception {
+        ReadAheadInputStream.BufferPool pool = new ReadAheadInputStream.BufferPool(4096, 1);
+        try (ReadAheadInputStream in1 = new ReadAheadInputStream(fs.open(path), 0, executor, pool, 4);
+                ReadAheadInputStream in2 = new ReadAheadInputStream(fs.open(path), 0, executor, pool, 4)) {
+            for (long offset = 0; offset < data.length; offset += 7000) {
+                assertRead(in1, offset, 7000);
+                assertRead(in2, offset, 7000);
+            }
+            Assert.assertEquals(1, pool.getNumBuffers());
+        }
+    }
+}
@@ -338,6 +338,12 @@ struct TBinlogScanRange {
   11: optional Types.TBinlogOffset offset
 }
 
+// A range split of the JDBC table scan
+struct TJDBCScanRange {
+  // the predicate on the split column, appended to the filters of TJDBCScanNode
+  1: optional string split_predicate
+}
+
 // Specification of an individual data range which is held in its entirety
 // by a storage server
 struct TScanRange {
@@ -351,6 +357,9 @@ struct TScanRange {
   20: optional THdfsScanRange hdfs_scan_range
   
   30: optional TBinlogScanRange binlog_scan_range
+
+  // scan range for jdbc
+  40: optional TJDBCScanRange jdbc_scan_range
 }
 
 struct TMySQLScanNode {
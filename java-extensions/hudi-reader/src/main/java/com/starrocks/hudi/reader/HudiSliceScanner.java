@@ -15,8 +15,8 @@
 package com.starrocks.hudi.reader;
 
 import com.starrocks.jni.connector.ColumnType;
-import com.starrocks.jni.connector.ColumnValue;
 import com.starrocks.jni.connector.ConnectorScanner;
+import com.starrocks.jni.connector.OffHeapColumnVector;
 import com.starrocks.jni.connector.SelectedFields;
 import com.starrocks.utils.loader.ThreadContextClassLoader;
 import org.apache.hadoop.conf.Configuration;
@@ -26,8 +26,16 @@ import org.apache.hadoop.hive.serde2.Deserializer;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.StructField;
 import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.BooleanObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.DoubleObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.FloatObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.IntObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.LongObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.ShortObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.StringObjectInspector;
 import org.apache.hadoop.io.ArrayWritable;
 import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapred.FileSplit;
 import org.apache.hadoop.mapred.InputFormat;
 import org.apache.hadoop.mapred.JobConf;
@@ -75,9 +83,16 @@ public class HudiSliceScanner extends ConnectorScanner {
     private ObjectInspector[] fieldInspectors;
     private StructField[] structFields;
     private Deserializer deserializer;
+    // resolved by the column types and the field inspectors once the reader is opened
+    private FieldAppender[] fieldAppenders;
     private final int fetchSize;
     private final ClassLoader classLoader;
 
+    // Append a non-null field of a row to the column vector.
+    interface FieldAppender {
+        void append(OffHeapColumnVector vector, Object fieldData);
+    }
+
     public HudiSliceScanner(int fetchSize, Map<String, String> params) {
         this.fetchSize = fetchSize;
         this.basePath = params.get("base_path");
@@ -188,11 +203,70 @@ public class HudiSliceScanner extends ConnectorScanner {
 
         deserializer = getDeserializer(jobConf, properties, serde);
         rowInspector = getTableObjectInspector(deserializer);
+        fieldAppenders = new FieldAppender[requiredFields.length];
         for (int i = 0; i < requiredFields.length; i++) {
             StructField field = rowInspector.getStructFieldRef(requiredFields[i]);
             structFields[i] = field;
             fieldInspectors[i] = field.getFieldObjectInspector();
+            fieldAppenders[i] = createFieldAppender(requiredTypes[i], fieldInspectors[i]);
+        }
+    }
+
+    // The primitive fields are read by the typed inspectors and appended to the vectors directly,
+    // without boxing the values and creating a ColumnValue for each of them.
+    // The other fields are unpacked by HudiColumnValue.
+    static FieldAppender createFieldAppender(ColumnType type, ObjectInspector inspector) {
+        switch (type.getTypeValue()) {
+            case BOOLEAN:
+                if (inspector instanceof BooleanObjectInspector) {
+                    BooleanObjectInspector oi = (BooleanObjectInspector) inspector;
+                    return (vector, data) -> vector.appendBoolean(oi.get(data));
+                }
+                break;
+            case SHORT:
+                if (inspector instanceof ShortObjectInspector) {
+                    ShortObjectInspector oi = (ShortObjectInspector) inspector;
+                    return (vector, data) -> vector.appendShort(oi.get(data));
+                }
+                break;
+            case INT:
+                if (inspector instanceof IntObjectInspector) {
+                    IntObjectInspector oi = (IntObjectInspector) inspector;
+                    return (vector, data) -> vector.appendInt(oi.get(data));
+                }
+                break;
+            case LONG:
+                if (inspector instanceof LongObjectInspector) {
+                    LongObjectInspector oi = (LongObjectInspector) inspector;
+                    return (vector, data) -> vector.appendLong(oi.get(data));
+                }
+                break;
+            case FLOAT:
+                if (inspector instanceof FloatObjectInspector) {
+                    FloatObjectInspector oi = (FloatObjectInspector) inspector;
+                    return (vector, data) -> vector.appendFloat(oi.get(data));
+                }
+                break;
+            case DOUBLE:
+                if (inspector instanceof DoubleObjectInspector) {
+                    DoubleObjectInspector oi = (DoubleObjectInspector) inspector;
+                    return (vector, data) -> vector.appendDouble(oi.get(data));
+                }
+                break;
+            case STRING:
+                if (inspector instanceof StringObjectInspector) {
+                    StringObjectInspector oi = (StringObjectInspector) inspector;
+                    return (vector, data) -> {
+                        // the bytes of Text are utf-8 encoded, copy them without decoding
+                        Text text = oi.getPrimitiveWritableObject(data);
+                        vector.appendBinary(text.getBytes(), 0, text.getLength());
+                    };
+                }
+                break;
+            default:
+                break;
         }
+        return (vector, data) -> vector.appendValue(new HudiColumnValue(inspector, data));
     }
 
     @Override
@@ -227,6 +301,7 @@ public class HudiSliceScanner extends ConnectorScanner {
         try (ThreadContextClassLoader ignored = new ThreadContextClassLoader(classLoader)) {
             NullWritable key = reader.createKey();
             ArrayWritable value = reader.createValue();
+            OffHeapColumnVector[] vectors = getOffHeapTable().vectors;
             int numRows = 0;
             for (; numRows < getTableSize(); numRows++) {
                 if (!reader.next(key, value)) {
@@ -235,12 +310,7 @@ public class HudiSliceScanner extends ConnectorScanner {
                 Object rowData = deserializer.deserialize(value);
                 for (int i = 0; i < requiredFields.length; i++) {
                     Object fieldData = rowInspector.getStructFieldData(rowData, structFields[i]);
-                    if (fieldData == null) {
-                        appendData(i, null);
-                    } else {
-                        ColumnValue fieldValue = new HudiColumnValue(fieldInspectors[i], fieldData);
-                        appendData(i, fieldValue);
-                    }
+                    appendField(vectors[i], fieldAppenders[i], fieldData);
                 }
             }
             return numRows;
@@ -251,6 +321,15 @@ public class HudiSliceScanner extends ConnectorScanner {
         }
     }
 
+    static void appendField(OffHeapColumnVector vector, FieldAppender appender, Object fieldData) {
+        if (fieldData == null) {
+            // the null of struct type also appends nulls to the children
+            vector.appendValue(null);
+        } else {
+            appender.append(vector, fieldData);
+        }
+    }
+
     private InputFormat<?, ?> createInputFormat(Configuration conf, String inputFormat) throws Exception {
         Class<?> clazz = conf.getClassByName(inputFormat);
         Class<? extends InputFormat<?, ?>> cls =
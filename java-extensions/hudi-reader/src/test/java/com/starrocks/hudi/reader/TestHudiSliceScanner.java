@@ -1,12 +1,27 @@
 package com.starrocks.hudi.reader;
 
+import com.starrocks.jni.connector.ColumnType;
+import com.starrocks.jni.connector.OffHeapColumnVector;
 import com.starrocks.jni.connector.OffHeapTable;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.serde2.io.DoubleWritable;
+import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.net.URL;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -309,4 +324,71 @@ insert into test_hudi_mor5 values('AA1', 20, 1, "1", cast(date_format("2021-01-0
         Map<String, String> params = case5CreateScanTestParams();
         runScanOnParams(params);
     }
+
+    private static OffHeapColumnVector appendFields(String type, ObjectInspector inspector, Object... fields) {
+        ColumnType columnType = new ColumnType("c", type);
+        OffHeapColumnVector vector = new OffHeapColumnVector(fields.length, columnType);
+        HudiSliceScanner.FieldAppender appender = HudiSliceScanner.createFieldAppender(columnType, inspector);
+        for (Object field : fields) {
+            HudiSliceScanner.appendField(vector, appender, field);
+        }
+        return vector;
+    }
+
+    @Test
+    public void testAppendPrimitiveFields() {
+        OffHeapColumnVector vector = appendFields("int", PrimitiveObjectInspectorFactory.writableIntObjectInspector,
+                new IntWritable(7), null, new IntWritable(Integer.MIN_VALUE));
+        Assert.assertEquals(7, vector.getInt(0));
+        Assert.assertTrue(vector.isNullAt(1));
+        Assert.assertEquals(Integer.MIN_VALUE, vector.getInt(2));
+        vector.close();
+
+        vector = appendFields("double", PrimitiveObjectInspectorFactory.writableDoubleObjectInspector,
+                null, new DoubleWritable(-1.5));
+        Assert.assertTrue(vector.isNullAt(0));
+        Assert.assertEquals(-1.5, vector.getDouble(1), 0);
+        vector.close();
+
+        vector = appendFields("string", PrimitiveObjectInspectorFactory.writableStringObjectInspector,
+                new Text("hello"), null, new Text("中文"));
+        Assert.assertEquals("hello", vector.getUTF8String(0));
+        Assert.assertTrue(vector.isNullAt(1));
+        Assert.assertEquals("中文", vector.getUTF8String(2));
+        vector.close();
+    }
+
+    @Test
+    public void testAppendDecimalFields() {
+        OffHeapColumnVector vector = appendFields("decimal(10,2)",
+                PrimitiveObjectInspectorFactory.writableHiveDecimalObjectInspector,
+                new HiveDecimalWritable(HiveDecimal.create("123.45")), null,
+                new HiveDecimalWritable(HiveDecimal.create("-0.01")));
+        Assert.assertEquals("123.45", vector.getUTF8String(0));
+        Assert.assertTrue(vector.isNullAt(1));
+        Assert.assertEquals("-0.01", vector.getUTF8String(2));
+        vector.close();
+    }
+
+    @Test
+    public void testAppendTimestampFields() {
+        // the INT64 timestamps of parquet are read as longs
+        long micros = 1672531200123456L;
+        OffHeapColumnVector vector = appendFields("timestamp-micros",
+                PrimitiveObjectInspectorFactory.writableLongObjectInspector, new LongWritable(micros), null);
+        LocalDateTime expected = LocalDateTime.ofInstant(Instant.ofEpochSecond(micros / 1000000), ZoneId.systemDefault());
+        Assert.assertEquals(expected.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
+                vector.getUTF8String(0));
+        Assert.assertTrue(vector.isNullAt(1));
+        vector.close();
+
+        long millis = 1672531200123L;
+        vector = appendFields("timestamp-millis", PrimitiveObjectInspectorFactory.writableLongObjectInspector,
+                null, new LongWritable(millis));
+        expected = LocalDateTime.ofInstant(Instant.ofEpochSecond(millis / 1000), ZoneId.systemDefault());
+        Assert.assertTrue(vector.isNullAt(0));
+        Assert.assertEquals(expected.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
+                vector.getUTF8String(1));
+        vector.close();
+    }
 }
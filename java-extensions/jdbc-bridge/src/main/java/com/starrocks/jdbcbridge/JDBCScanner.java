@@ -14,14 +14,21 @@
 
 package com.starrocks.jdbcbridge;
 
+import com.starrocks.jni.connector.ColumnType;
+import com.starrocks.jni.connector.OffHeapColumnVector;
+import com.starrocks.jni.connector.OffHeapTable;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
-import java.lang.reflect.Array;
+import java.math.BigDecimal;
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,9 +41,21 @@ public class JDBCScanner {
     private ResultSet resultSet;
     private ResultSetMetaData resultSetMetaData;
     private List<String> resultColumnClassNames;
-    private List<Object[]> resultChunk;
+    private ColumnType[] resultColumnTypes;
+    private String[] resultColumnNames;
+    // resolved by the column class names when the scanner is opened
+    private ColumnAppender[] columnAppenders;
+    private OffHeapTable resultTable;
     private int resultNumRows = 0;
 
+    // Append the value of a result set column to an off-heap column vector by the typed getter,
+    // the getters convert the value to the target type in the driver,
+    // for example,FLOAT type in oracle gives java.lang.Double type in resultSetMetaData,
+    // but the result type is BigDecimal when we getObject from resultSet.
+    interface ColumnAppender {
+        void append(ResultSet resultSet, int columnIndex, OffHeapColumnVector vector) throws SQLException;
+    }
+
     public JDBCScanner(String driverLocation, JDBCScanContext scanContext) {
         this.driverLocation = driverLocation;
         this.scanContext = scanContext;
@@ -53,6 +72,8 @@ public class JDBCScanner {
             config.setMaximumPoolSize(scanContext.getConnectionPoolSize());
             config.setMinimumIdle(scanContext.getMinimumIdleConnections());
             config.setIdleTimeout(scanContext.getConnectionIdleTimeoutMs());
+            // the pool size caps the connections of a url, the other scanners wait for a free one
+            config.setConnectionTimeout(scanContext.getConnectionTimeoutMs());
             dataSource = new HikariDataSource(config);
             return dataSource;
         });
@@ -63,12 +84,133 @@ public class JDBCScanner {
         statement.execute(scanContext.getSql());
         resultSet = statement.getResultSet();
         resultSetMetaData = resultSet.getMetaData();
-        resultColumnClassNames = new ArrayList<>(resultSetMetaData.getColumnCount());
-        resultChunk = new ArrayList<>(resultSetMetaData.getColumnCount());
-        for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
-            resultColumnClassNames.add(resultSetMetaData.getColumnClassName(i));
-            Class<?> clazz = Class.forName(resultSetMetaData.getColumnClassName(i));
-            resultChunk.add((Object[]) Array.newInstance(clazz, scanContext.getStatementFetchSize()));
+        int columnCount = resultSetMetaData.getColumnCount();
+        resultColumnClassNames = new ArrayList<>(columnCount);
+        resultColumnTypes = new ColumnType[columnCount];
+        resultColumnNames = new String[columnCount];
+        columnAppenders = new ColumnAppender[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            String className = resultSetMetaData.getColumnClassName(i);
+            resultColumnClassNames.add(className);
+            resultColumnNames[i - 1] = resultSetMetaData.getColumnLabel(i);
+            resultColumnTypes[i - 1] = new ColumnType(resultColumnNames[i - 1], getColumnTypeValue(className));
+            columnAppenders[i - 1] = getColumnAppender(className);
+        }
+    }
+
+    private static ColumnType.TypeValue getColumnTypeValue(String className) {
+        switch (className) {
+            case "java.lang.Boolean":
+                return ColumnType.TypeValue.BOOLEAN;
+            case "java.lang.Short":
+                return ColumnType.TypeValue.SHORT;
+            case "java.lang.Integer":
+                return ColumnType.TypeValue.INT;
+            case "java.lang.Long":
+                return ColumnType.TypeValue.LONG;
+            case "java.lang.Float":
+                return ColumnType.TypeValue.FLOAT;
+            case "java.lang.Double":
+                return ColumnType.TypeValue.DOUBLE;
+            default:
+                // converted from string by BE
+                return ColumnType.TypeValue.STRING;
+        }
+    }
+
+    static ColumnAppender getColumnAppender(String className) {
+        switch (className) {
+            case "java.lang.Boolean":
+                return (rs, i, vector) -> {
+                    boolean value = rs.getBoolean(i);
+                    if (rs.wasNull()) {
+                        vector.appendNull();
+                    } else {
+                        vector.appendBoolean(value);
+                    }
+                };
+            case "java.lang.Short":
+                return (rs, i, vector) -> {
+                    short value = rs.getShort(i);
+                    if (rs.wasNull()) {
+                        vector.appendNull();
+                    } else {
+                        vector.appendShort(value);
+                    }
+                };
+            case "java.lang.Integer":
+                return (rs, i, vector) -> {
+                    int value = rs.getInt(i);
+                    if (rs.wasNull()) {
+                        vector.appendNull();
+                    } else {
+                        vector.appendInt(value);
+                    }
+                };
+            case "java.lang.Long":
+                return (rs, i, vector) -> {
+                    long value = rs.getLong(i);
+                    if (rs.wasNull()) {
+                        vector.appendNull();
+                    } else {
+                        vector.appendLong(value);
+                    }
+                };
+            case "java.lang.Float":
+                return (rs, i, vector) -> {
+                    float value = rs.getFloat(i);
+                    if (rs.wasNull()) {
+                        vector.appendNull();
+                    } else {
+                        vector.appendFloat(value);
+                    }
+                };
+            case "java.lang.Double":
+                return (rs, i, vector) -> {
+                    double value = rs.getDouble(i);
+                    if (rs.wasNull()) {
+                        vector.appendNull();
+                    } else {
+                        vector.appendDouble(value);
+                    }
+                };
+            case "java.lang.String":
+                return (rs, i, vector) -> appendString(vector, rs.getString(i));
+            case "java.math.BigDecimal":
+                return (rs, i, vector) -> {
+                    BigDecimal value = rs.getBigDecimal(i);
+                    appendString(vector, value == null ? null : value.toString());
+                };
+            case "java.sql.Date":
+                return (rs, i, vector) -> {
+                    // Date.toString() is 'yyyy-mm-dd', and unlike SimpleDateFormat it's thread safe
+                    Date value = rs.getDate(i);
+                    appendString(vector, value == null ? null : value.toString());
+                };
+            case "java.sql.Timestamp":
+                return (rs, i, vector) -> {
+                    Timestamp value = rs.getTimestamp(i);
+                    appendString(vector, value == null ? null : value.toString());
+                };
+            case "java.time.LocalDateTime":
+                return (rs, i, vector) -> {
+                    LocalDateTime value = rs.getObject(i, LocalDateTime.class);
+                    appendString(vector, value == null ? null : JDBCUtil.formatLocalDatetime(value));
+                };
+            default:
+                // the type is checked by BE
+                return (rs, i, vector) -> {
+                    Object value = rs.getObject(i);
+                    appendString(vector, value == null ? null : value.toString());
+                };
+        }
+    }
+
+    private static void appendString(OffHeapColumnVector vector, String value) {
+        if (value == null) {
+            vector.appendNull();
+        } else {
+            vector.appendString(value);
         }
     }
 
@@ -81,39 +223,32 @@ public class JDBCScanner {
         return resultSet.next();
     }
 
-    // return columnar chunk
-    public List<Object[]> getNextChunk() throws Exception {
+    // return the meta address of the off-heap columnar chunk, which is released by releaseOffHeapTable
+    public long getNextOffHeapChunk() throws Exception {
         int chunkSize = scanContext.getStatementFetchSize();
-        int columnCount = resultSetMetaData.getColumnCount();
+        int columnCount = columnAppenders.length;
+        resultTable = new OffHeapTable(resultColumnTypes, resultColumnNames, chunkSize);
         resultNumRows = 0;
-        do {
-            for (int i = 0; i < columnCount; i++) {
-                Object[] dataColumn = resultChunk.get(i);
-                Object resultObject = resultSet.getObject(i + 1);
-                // in some cases, the real java class type of result is not consistent with the type from
-                // resultSetMetadata,
-                // for example,FLOAT type in oracle gives java.lang.Double type in resultSetMetaData,
-                // but the result type is BigDecimal when we getObject from resultSet.
-                // So we choose to convert the value to the target type here.
-                if (resultObject == null) {
-                    dataColumn[resultNumRows] = null;
-                } else if (dataColumn instanceof Short[]) {
-                    dataColumn[resultNumRows] = ((Number) resultObject).shortValue();
-                } else if (dataColumn instanceof Integer[]) {
-                    dataColumn[resultNumRows] = ((Number) resultObject).intValue();
-                } else if (dataColumn instanceof Long[]) {
-                    dataColumn[resultNumRows] = ((Number) resultObject).longValue();
-                } else if (dataColumn instanceof Float[]) {
-                    dataColumn[resultNumRows] = ((Number) resultObject).floatValue();
-                } else if (dataColumn instanceof Double[]) {
-                    dataColumn[resultNumRows] = ((Number) resultObject).doubleValue();
-                } else {
-                    dataColumn[resultNumRows] = resultObject;
+        try {
+            do {
+                for (int i = 0; i < columnCount; i++) {
+                    columnAppenders[i].append(resultSet, i + 1, resultTable.vectors[i]);
                 }
-            }
-            resultNumRows++;
-        } while (resultNumRows < chunkSize && resultSet.next());
-        return resultChunk;
+                resultNumRows++;
+            } while (resultNumRows < chunkSize && resultSet.next());
+        } catch (Exception e) {
+            releaseOffHeapTable();
+            throw e;
+        }
+        resultTable.setNumRows(resultNumRows);
+        return resultTable.getMetaNativeAddress();
+    }
+
+    public void releaseOffHeapTable() {
+        if (resultTable != null) {
+            resultTable.close();
+            resultTable = null;
+        }
     }
 
     public int getResultNumRows() {
@@ -122,6 +257,7 @@ public class JDBCScanner {
 
 
     public void close() throws Exception {
+        releaseOffHeapTable();
         if (resultSet != null) {
             resultSet.close();
         }
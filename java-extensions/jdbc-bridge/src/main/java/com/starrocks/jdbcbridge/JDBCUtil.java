@@ -18,15 +18,21 @@ import java.sql.Date;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
 
 public class JDBCUtil {
     private static final SimpleDateFormat FORMAT = new SimpleDateFormat("yyyy-MM-dd");
-    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // the fraction is kept up to microseconds, which is the precision of DATETIME in StarRocks
+    private static final DateTimeFormatter DATETIME_FORMATTER = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd HH:mm:ss")
+            .appendFraction(ChronoField.NANO_OF_SECOND, 0, 6, true)
+            .toFormatter();
     // format Date to 'YYYY-MM-dd'
     static String formatDate(Date date) {
         return FORMAT.format(date);
     }
-    // format LocalDateTime to 'yyyy-MM-dd HH:mm:ss'
+    // format LocalDateTime to 'yyyy-MM-dd HH:mm:ss[.SSSSSS]', the fraction is omitted if it's zero
     static String formatLocalDatetime(LocalDateTime localDateTime) {
         return DATETIME_FORMATTER.format(localDateTime);
     }
@@ -0,0 +1,146 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.jdbcbridge;
+
+import com.starrocks.jni.connector.ColumnType;
+import com.starrocks.jni.connector.OffHeapColumnVector;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+public class JDBCScannerTest {
+
+    // A result set of one column, every getter returns the value, and wasNull() tells whether it's null
+    private static ResultSet resultSetOf(Object value) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("wasNull")) {
+                        return value == null;
+                    }
+                    if (value != null) {
+                        return value;
+                    }
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == boolean.class) {
+                        return false;
+                    } else if (returnType == short.class) {
+                        return (short) 0;
+                    } else if (returnType == int.class) {
+                        return 0;
+                    } else if (returnType == long.class) {
+                        return 0L;
+                    } else if (returnType == float.class) {
+                        return 0.0f;
+                    } else if (returnType == double.class) {
+                        return 0.0;
+                    }
+                    return null;
+                });
+    }
+
+    private static OffHeapColumnVector append(String className, ColumnType.TypeValue type, Object... values)
+            throws Exception {
+        OffHeapColumnVector vector = new OffHeapColumnVector(values.length, new ColumnType("c", type));
+        JDBCScanner.ColumnAppender appender = JDBCScanner.getColumnAppender(className);
+        for (Object value : values) {
+            appender.append(resultSetOf(value), 1, vector);
+        }
+        return vector;
+    }
+
+    @Test
+    public void testAppendPrimitives() throws Exception {
+        OffHeapColumnVector vector = append("java.lang.Boolean", ColumnType.TypeValue.BOOLEAN, true, null);
+        Assert.assertTrue(vector.getBoolean(0));
+        Assert.assertTrue(vector.isNullAt(1));
+        vector.close();
+
+        vector = append("java.lang.Short", ColumnType.TypeValue.SHORT, (short) 7, null);
+        Assert.assertEquals(7, vector.getShort(0));
+        Assert.assertTrue(vector.isNullAt(1));
+        vector.close();
+
+        // 0 is not null
+        vector = append("java.lang.Integer", ColumnType.TypeValue.INT, 0, null, Integer.MAX_VALUE);
+        Assert.assertFalse(vector.isNullAt(0));
+        Assert.assertEquals(0, vector.getInt(0));
+        Assert.assertTrue(vector.isNullAt(1));
+        Assert.assertEquals(Integer.MAX_VALUE, vector.getInt(2));
+        vector.close();
+
+        vector = append("java.lang.Long", ColumnType.TypeValue.LONG, Long.MIN_VALUE, null);
+        Assert.assertEquals(Long.MIN_VALUE, vector.getLong(0));
+        Assert.assertTrue(vector.isNullAt(1));
+        vector.close();
+
+        vector = append("java.lang.Float", ColumnType.TypeValue.FLOAT, 1.5f, null);
+        Assert.assertEquals(1.5f, vector.getFloat(0), 0);
+        Assert.assertTrue(vector.isNullAt(1));
+        vector.close();
+
+        vector = append("java.lang.Double", ColumnType.TypeValue.DOUBLE, -2.25, null);
+        Assert.assertEquals(-2.25, vector.getDouble(0), 0);
+        Assert.assertTrue(vector.isNullAt(1));
+        vector.close();
+    }
+
+    @Test
+    public void testAppendStrings() throws Exception {
+        OffHeapColumnVector vector = append("java.lang.String", ColumnType.TypeValue.STRING, "abc", null, "中文");
+        Assert.assertEquals("abc", vector.getUTF8String(0));
+        Assert.assertTrue(vector.isNullAt(1));
+        Assert.assertEquals("中文", vector.getUTF8String(2));
+        vector.close();
+
+        vector = append("java.math.BigDecimal", ColumnType.TypeValue.STRING, new BigDecimal("123.4500"), null);
+        Assert.assertEquals("123.4500", vector.getUTF8String(0));
+        Assert.assertTrue(vector.isNullAt(1));
+        vector.close();
+
+        vector = append("java.sql.Date", ColumnType.TypeValue.STRING, Date.valueOf("2023-01-02"), null);
+        Assert.assertEquals("2023-01-02", vector.getUTF8String(0));
+        Assert.assertTrue(vector.isNullAt(1));
+        vector.close();
+
+        vector = append("java.sql.Timestamp", ColumnType.TypeValue.STRING,
+                Timestamp.valueOf("2023-01-02 03:04:05.123456"), null);
+        Assert.assertEquals("2023-01-02 03:04:05.123456", vector.getUTF8String(0));
+        Assert.assertTrue(vector.isNullAt(1));
+        vector.close();
+    }
+
+    @Test
+    public void testAppendLocalDateTime() throws Exception {
+        OffHeapColumnVector vector = append("java.time.LocalDateTime", ColumnType.TypeValue.STRING,
+                LocalDateTime.of(2023, 1, 2, 3, 4, 5),
+                LocalDateTime.of(2023, 1, 2, 3, 4, 5, 123456000),
+                LocalDateTime.of(2023, 1, 2, 3, 4, 5, 100000000),
+                // nanoseconds are truncated to microseconds
+                LocalDateTime.of(2023, 1, 2, 3, 4, 5, 123456789),
+                null);
+        Assert.assertEquals("2023-01-02 03:04:05", vector.getUTF8String(0));
+        Assert.assertEquals("2023-01-02 03:04:05.123456", vector.getUTF8String(1));
+        Assert.assertEquals("2023-01-02 03:04:05.1", vector.getUTF8String(2));
+        Assert.assertEquals("2023-01-02 03:04:05.123456", vector.getUTF8String(3));
+        Assert.assertTrue(vector.isNullAt(4));
+        vector.close();
+    }
+}
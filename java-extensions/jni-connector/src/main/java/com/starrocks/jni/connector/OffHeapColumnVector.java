@@ -319,13 +319,17 @@ public class OffHeapColumnVector {
 
     public int appendString(String str) {
         byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
-        return appendByteArray(bytes, 0, str.length());
+        return appendByteArray(bytes, 0, bytes.length);
     }
 
     public int appendBinary(byte[] binary) {
         return appendByteArray(binary, 0, binary.length);
     }
 
+    public int appendBinary(byte[] binary, int offset, int length) {
+        return appendByteArray(binary, offset, length);
+    }
+
     private int appendByteArray(byte[] value, int offset, int length) {
         int copiedOffset = arrayData().appendBytes(length, value, offset);
         reserve(elementsAppended + 1);
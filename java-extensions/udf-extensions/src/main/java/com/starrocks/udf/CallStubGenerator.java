@@ -30,10 +30,14 @@ import static org.objectweb.asm.Opcodes.ALOAD;
 import static org.objectweb.asm.Opcodes.ANEWARRAY;
 import static org.objectweb.asm.Opcodes.ARETURN;
 import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.BALOAD;
 import static org.objectweb.asm.Opcodes.F_APPEND;
 import static org.objectweb.asm.Opcodes.F_CHOP;
 import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.IALOAD;
+import static org.objectweb.asm.Opcodes.IASTORE;
 import static org.objectweb.asm.Opcodes.ICONST_0;
+import static org.objectweb.asm.Opcodes.IFNE;
 import static org.objectweb.asm.Opcodes.IF_ICMPGE;
 import static org.objectweb.asm.Opcodes.ILOAD;
 import static org.objectweb.asm.Opcodes.INTEGER;
@@ -290,7 +294,130 @@ public class CallStubGenerator {
         private final Method udfEvaluate;
     }
 
+    // generate batch evaluate for the methods with primitive parameters and return type,
+    // a row is null if any argument is null, and evaluate is not called for it.
+    //    public class CallStub {
+    //        public static void batchCallV(int rows, UDF obj, byte[] nulls, int[] var1, long[] var2, int[] res) {
+    //            for (int i = 0; i < rows; ++i) {
+    //                if (nulls[i] == 0) {
+    //                    res[i] = obj.evaluate(var1[i], var2[i]);
+    //                }
+    //            }
+    //        }
+    //    }
+    private static class PrimitiveBatchCallEvaluateGenerator {
+        PrimitiveBatchCallEvaluateGenerator(Class<?> clazz, Method evaluate) {
+            this.udfClazz = clazz;
+            this.udfEvaluate = evaluate;
+        }
+
+        private final Class<?> udfClazz;
+        private final Method udfEvaluate;
+
+        // the locals don't change in the loop, so the frames can be computed by ASM
+        // without loading any class.
+        private final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+
+        private void declareCallStubClazz() {
+            writer.visit(V1_8, ACC_PUBLIC, CLAZZ_NAME, null, "java/lang/Object", null);
+        }
+
+        private void genBatchEvaluate() {
+            final Class<?>[] parameters = udfEvaluate.getParameterTypes();
+            final Class<?> returnType = udfEvaluate.getReturnType();
+            StringBuilder desc = new StringBuilder("(");
+            desc.append("I");
+            desc.append(Type.getDescriptor(udfClazz));
+            desc.append("[B");
+            for (Class<?> parameter : parameters) {
+                desc.append("[").append(Type.getDescriptor(parameter));
+            }
+            desc.append("[").append(Type.getDescriptor(returnType));
+            desc.append(")V");
+
+            final MethodVisitor batchCall =
+                    writer.visitMethod(ACC_PUBLIC + ACC_STATIC, "batchCallV", desc.toString(), null,
+                            new String[] {"java/lang/Exception"});
+            batchCall.visitCode();
+
+            // local var0: rows, var1: UDF handle, var2: nulls, var3...varn: arguments, then result and i
+            int padding = 3;
+            int resIndex = padding + parameters.length;
+            int iIndex = resIndex + 1;
+
+            batchCall.visitInsn(ICONST_0);
+            batchCall.visitVarInsn(ISTORE, iIndex);
+
+            final Label loop = new Label();
+            final Label next = new Label();
+            final Label end = new Label();
+            batchCall.visitLabel(loop);
+            batchCall.visitVarInsn(ILOAD, iIndex);
+            batchCall.visitVarInsn(ILOAD, 0);
+            batchCall.visitJumpInsn(IF_ICMPGE, end);
+
+            // skip null rows
+            batchCall.visitVarInsn(ALOAD, 2);
+            batchCall.visitVarInsn(ILOAD, iIndex);
+            batchCall.visitInsn(BALOAD);
+            batchCall.visitJumpInsn(IFNE, next);
+
+            // res[i] = obj.evaluate(var1[i], ...)
+            batchCall.visitVarInsn(ALOAD, resIndex);
+            batchCall.visitVarInsn(ILOAD, iIndex);
+            batchCall.visitVarInsn(ALOAD, 1);
+            for (int i = 0; i < parameters.length; i++) {
+                batchCall.visitVarInsn(ALOAD, i + padding);
+                batchCall.visitVarInsn(ILOAD, iIndex);
+                batchCall.visitInsn(Type.getType(parameters[i]).getOpcode(IALOAD));
+            }
+            batchCall.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(udfClazz), udfEvaluate.getName(),
+                    Type.getMethodDescriptor(udfEvaluate), false);
+            batchCall.visitInsn(Type.getType(returnType).getOpcode(IASTORE));
+
+            batchCall.visitLabel(next);
+            batchCall.visitIincInsn(iIndex, 1);
+            batchCall.visitJumpInsn(GOTO, loop);
+
+            batchCall.visitLabel(end);
+            batchCall.visitInsn(RETURN);
+
+            // arguments of evaluate are at most two slots each, plus res, i, obj
+            int maxStack = 3 + 2 * parameters.length + 1;
+            batchCall.visitMaxs(maxStack, iIndex + 1);
+            batchCall.visitEnd();
+        }
+
+        private void finish() {
+            writer.visitEnd();
+        }
+
+        private byte[] getByteCode() {
+            return writer.toByteArray();
+        }
+    }
+
+    public static boolean isPrimitiveSignature(Method method) {
+        if (!method.getReturnType().isPrimitive() || method.getReturnType() == void.class) {
+            return false;
+        }
+        for (Class<?> type : method.getParameterTypes()) {
+            if (!type.isPrimitive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static byte[] generateScalarCallStub(Class<?> clazz, Method method) {
+        if (isPrimitiveSignature(method)) {
+            final PrimitiveBatchCallEvaluateGenerator generator =
+                    new PrimitiveBatchCallEvaluateGenerator(clazz, method);
+            generator.declareCallStubClazz();
+            generator.genBatchEvaluate();
+            generator.finish();
+            return generator.getByteCode();
+        }
         final BatchCallEvaluateGenerator generator = new BatchCallEvaluateGenerator(clazz, method);
         generator.declareCallStubClazz();
         generator.genBatchUpdateSingle();
@@ -156,4 +156,44 @@ public class CallStubGeneratorTest {
             Assert.assertEquals(expects[i], res[i]);
         }
     }
+
+    public static class PrimitiveAdd {
+        public long evaluate(int v1, long v2, double v3) {
+            return v1 + v2 + (long) v3;
+        }
+    }
+
+    @Test
+    public void testPrimitiveScalarCallStub()
+            throws NoSuchMethodException, ClassNotFoundException, InvocationTargetException, IllegalAccessException {
+        Class<?> clazz = PrimitiveAdd.class;
+        final String genClassName = CallStubGenerator.CLAZZ_NAME.replace("/", ".");
+        Method m = clazz.getMethod("evaluate", int.class, long.class, double.class);
+        Assert.assertTrue(CallStubGenerator.isPrimitiveSignature(m));
+        final byte[] updates =
+                CallStubGenerator.generateScalarCallStub(clazz, m);
+
+        ClassLoader classLoader = new TestClassLoader(genClassName, updates);
+        final Class<?> stubClazz = classLoader.loadClass(genClassName);
+        Method batchCall = getFirstMethod(stubClazz, "batchCallV");
+
+        int testSize = 1000;
+        byte[] nulls = new byte[testSize];
+        int[] inputs1 = new int[testSize];
+        long[] inputs2 = new long[testSize];
+        double[] inputs3 = new double[testSize];
+        long[] res = new long[testSize];
+        for (int i = 0; i < testSize; i++) {
+            nulls[i] = (byte) (i % 3 == 0 ? 1 : 0);
+            inputs1[i] = i;
+            inputs2[i] = i * 10L;
+            inputs3[i] = i * 100;
+        }
+
+        batchCall.invoke(null, testSize, new PrimitiveAdd(), nulls, inputs1, inputs2, inputs3, res);
+        for (int i = 0; i < testSize; i++) {
+            // evaluate is not called for the null rows
+            Assert.assertEquals(i % 3 == 0 ? 0 : i * 111L, res[i]);
+        }
+    }
 }